@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * A {@link ChatMemory} storing the conversations in a relational database.
+ * <p>
+ * Messages are stored in an append-only table, one row per message, and indexed by
+ * conversation id and insertion order, so that the last N messages of a conversation are
+ * read without loading its full history. Appends are written with JDBC batch updates. The
+ * table is created on startup unless the schema initialization is disabled.
+ *
+ * @see AbstractBufferedChatMemory
+ * @since 1.0.0
+ */
+public class JdbcChatMemory extends AbstractBufferedChatMemory implements InitializingBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(JdbcChatMemory.class);
+
+	public static final String DEFAULT_TABLE_NAME = "ai_chat_memory";
+
+	private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+	};
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final String tableName;
+
+	private final boolean initializeSchema;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final String insertSql;
+
+	private final String selectSql;
+
+	private final String deleteSql;
+
+	private JdbcChatMemory(Builder builder) {
+		super(builder.options);
+		this.jdbcTemplate = builder.jdbcTemplate;
+		this.tableName = builder.tableName;
+		this.initializeSchema = builder.initializeSchema;
+		this.insertSql = "INSERT INTO " + this.tableName
+				+ " (conversation_id, message_type, content, metadata, created_at) VALUES (?, ?, ?, ?, ?)";
+		this.selectSql = "SELECT message_type, content, metadata FROM " + this.tableName
+				+ " WHERE conversation_id = ? ORDER BY id DESC LIMIT ?";
+		this.deleteSql = "DELETE FROM " + this.tableName + " WHERE conversation_id = ?";
+	}
+
+	public static Builder builder(JdbcTemplate jdbcTemplate) {
+		return new Builder(jdbcTemplate);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (!this.initializeSchema) {
+			logger.debug("Skipping the schema initialization for the table: {}", this.tableName);
+			return;
+		}
+		this.jdbcTemplate.execute(String.format("""
+				CREATE TABLE IF NOT EXISTS %s (
+					id BIGSERIAL PRIMARY KEY,
+					conversation_id VARCHAR(255) NOT NULL,
+					message_type VARCHAR(16) NOT NULL,
+					content TEXT,
+					metadata TEXT,
+					created_at TIMESTAMP NOT NULL
+				)""", this.tableName));
+		this.jdbcTemplate
+			.execute(String.format("CREATE INDEX IF NOT EXISTS %s_conversation_idx ON %s (conversation_id, id)",
+					this.tableName, this.tableName));
+	}
+
+	@Override
+	protected void doAdd(Map<String, List<Message>> messages) {
+		Timestamp now = Timestamp.from(Instant.now());
+		List<Object[]> rows = new ArrayList<>();
+		messages.forEach((conversationId, conversationMessages) -> {
+			for (Message message : conversationMessages) {
+				rows.add(new Object[] { conversationId, message.getMessageType().name(), message.getContent(),
+						toJson(message.getMetadata()), now });
+			}
+		});
+		this.jdbcTemplate.batchUpdate(this.insertSql, rows);
+	}
+
+	@Override
+	protected List<Message> doGet(String conversationId, int lastN) {
+		if (lastN <= 0) {
+			return List.of();
+		}
+		List<Message> messages = this.jdbcTemplate.query(this.selectSql, (rs,
+				rowNum) -> toMessage(MessageType.valueOf(rs.getString(1)), rs.getString(2), fromJson(rs.getString(3))),
+				conversationId, lastN);
+		Collections.reverse(messages);
+		return messages;
+	}
+
+	@Override
+	protected void doClear(String conversationId) {
+		this.jdbcTemplate.update(this.deleteSql, conversationId);
+	}
+
+	private String toJson(Map<String, Object> metadata) {
+		if (CollectionUtils.isEmpty(metadata)) {
+			return null;
+		}
+		try {
+			return this.objectMapper.writeValueAsString(metadata);
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Failed to serialize the message metadata", ex);
+		}
+	}
+
+	private Map<String, Object> fromJson(String json) {
+		if (json == null) {
+			return null;
+		}
+		try {
+			return this.objectMapper.readValue(json, METADATA_TYPE);
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Failed to deserialize the message metadata", ex);
+		}
+	}
+
+	public static class Builder {
+
+		private final JdbcTemplate jdbcTemplate;
+
+		private String tableName = DEFAULT_TABLE_NAME;
+
+		private boolean initializeSchema = true;
+
+		private Options options = Options.writeThrough();
+
+		private Builder(JdbcTemplate jdbcTemplate) {
+			Assert.notNull(jdbcTemplate, "The jdbcTemplate must not be null!");
+			this.jdbcTemplate = jdbcTemplate;
+		}
+
+		public Builder withTableName(String tableName) {
+			Assert.hasText(tableName, "The tableName must not be empty!");
+			this.tableName = tableName;
+			return this;
+		}
+
+		public Builder withInitializeSchema(boolean initializeSchema) {
+			this.initializeSchema = initializeSchema;
+			return this;
+		}
+
+		/**
+		 * @param options the write batching and near-cache options.
+		 */
+		public Builder withOptions(Options options) {
+			Assert.notNull(options, "The options must not be null!");
+			this.options = options;
+			return this;
+		}
+
+		public JdbcChatMemory build() {
+			return new JdbcChatMemory(this);
+		}
+
+	}
+
+}
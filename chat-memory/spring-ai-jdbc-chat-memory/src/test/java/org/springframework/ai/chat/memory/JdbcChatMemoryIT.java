@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+public class JdbcChatMemoryIT {
+
+	@Container
+	@SuppressWarnings("resource")
+	static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16").withUsername("postgres")
+		.withPassword("postgres");
+
+	static HikariDataSource dataSource;
+
+	static JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	static void setUp() {
+		dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(postgresContainer.getJdbcUrl());
+		dataSource.setUsername("postgres");
+		dataSource.setPassword("postgres");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		dataSource.close();
+	}
+
+	private JdbcChatMemory chatMemory(AbstractBufferedChatMemory.Options options) {
+		JdbcChatMemory chatMemory = JdbcChatMemory.builder(jdbcTemplate).withOptions(options).build();
+		chatMemory.afterPropertiesSet();
+		return chatMemory;
+	}
+
+	@Test
+	public void addGetAndClear() {
+		JdbcChatMemory chatMemory = chatMemory(AbstractBufferedChatMemory.Options.writeThrough());
+
+		chatMemory.add("jdbc-1", List.of(new UserMessage("question"), new AssistantMessage("answer")));
+		chatMemory.add("jdbc-2", new UserMessage("other"));
+
+		List<Message> messages = chatMemory.get("jdbc-1", 10);
+		assertThat(messages).extracting(Message::getContent).containsExactly("question", "answer");
+		assertThat(messages).extracting(Message::getMessageType)
+			.containsExactly(MessageType.USER, MessageType.ASSISTANT);
+		assertThat(chatMemory.get("jdbc-1", 1)).extracting(Message::getContent).containsExactly("answer");
+
+		chatMemory.clear("jdbc-1");
+		assertThat(chatMemory.get("jdbc-1", 10)).isEmpty();
+		assertThat(chatMemory.get("jdbc-2", 10)).hasSize(1);
+	}
+
+	@Test
+	public void batchedWritesAreVisibleAfterFlush() {
+		JdbcChatMemory chatMemory = chatMemory(AbstractBufferedChatMemory.Options.writeThrough()
+			.withBatching(100, Duration.ofMinutes(1))
+			.withNearCache(100, 10, Duration.ofMinutes(5)));
+
+		IntStream.range(0, 20).forEach(i -> chatMemory.add("jdbc-3", new UserMessage("m" + i)));
+		assertThat(chatMemory.get("jdbc-3", 2)).extracting(Message::getContent).containsExactly("m18", "m19");
+
+		chatMemory.close();
+
+		JdbcChatMemory other = chatMemory(AbstractBufferedChatMemory.Options.writeThrough());
+		assertThat(other.get("jdbc-3", 100)).hasSize(20);
+	}
+
+}
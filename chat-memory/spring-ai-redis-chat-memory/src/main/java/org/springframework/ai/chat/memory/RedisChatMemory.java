@@ -0,0 +1,193 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.JedisPooled;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ChatMemory} storing the conversations in Redis.
+ * <p>
+ * Each conversation is an append-only Redis list of JSON encoded messages, so that the
+ * last N messages are read with a single {@code LRANGE} without loading the full history.
+ * The appends of a batch are sent in a single pipeline. The lists can be trimmed to a
+ * maximum number of messages and expire after a time-to-live.
+ *
+ * @see AbstractBufferedChatMemory
+ * @since 1.0.0
+ */
+public class RedisChatMemory extends AbstractBufferedChatMemory {
+
+	public static final String DEFAULT_KEY_PREFIX = "chat-memory:";
+
+	private final JedisPooled jedis;
+
+	private final String keyPrefix;
+
+	private final int maxMessages;
+
+	private final Duration timeToLive;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private RedisChatMemory(Builder builder) {
+		super(builder.options);
+		this.jedis = builder.jedis;
+		this.keyPrefix = builder.keyPrefix;
+		this.maxMessages = builder.maxMessages;
+		this.timeToLive = builder.timeToLive;
+	}
+
+	public static Builder builder(JedisPooled jedis) {
+		return new Builder(jedis);
+	}
+
+	@Override
+	protected void doAdd(Map<String, List<Message>> messages) {
+		try (AbstractPipeline pipeline = this.jedis.pipelined()) {
+			messages.forEach((conversationId, conversationMessages) -> {
+				String key = key(conversationId);
+				pipeline.rpush(key, conversationMessages.stream().map(this::toJson).toArray(String[]::new));
+				if (this.maxMessages > 0) {
+					pipeline.ltrim(key, -this.maxMessages, -1);
+				}
+				if (this.timeToLive != null) {
+					pipeline.pexpire(key, this.timeToLive.toMillis());
+				}
+			});
+			pipeline.sync();
+		}
+	}
+
+	@Override
+	protected List<Message> doGet(String conversationId, int lastN) {
+		if (lastN <= 0) {
+			return List.of();
+		}
+		List<String> values = this.jedis.lrange(key(conversationId), -lastN, -1);
+		List<Message> messages = new ArrayList<>(values.size());
+		for (String value : values) {
+			messages.add(fromJson(value));
+		}
+		return messages;
+	}
+
+	@Override
+	protected void doClear(String conversationId) {
+		this.jedis.del(key(conversationId));
+	}
+
+	private String key(String conversationId) {
+		return this.keyPrefix + conversationId;
+	}
+
+	private String toJson(Message message) {
+		try {
+			return this.objectMapper.writeValueAsString(
+					new StoredMessage(message.getMessageType(), message.getContent(), message.getMetadata()));
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Failed to serialize the message", ex);
+		}
+	}
+
+	private Message fromJson(String json) {
+		try {
+			StoredMessage stored = this.objectMapper.readValue(json, StoredMessage.class);
+			return toMessage(stored.type(), stored.content(), stored.metadata());
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Failed to deserialize the message", ex);
+		}
+	}
+
+	private record StoredMessage(MessageType type, String content, Map<String, Object> metadata) {
+	}
+
+	public static class Builder {
+
+		private final JedisPooled jedis;
+
+		private String keyPrefix = DEFAULT_KEY_PREFIX;
+
+		private int maxMessages;
+
+		private Duration timeToLive;
+
+		private Options options = Options.writeThrough();
+
+		private Builder(JedisPooled jedis) {
+			Assert.notNull(jedis, "The jedis client must not be null!");
+			this.jedis = jedis;
+		}
+
+		public Builder withKeyPrefix(String keyPrefix) {
+			Assert.notNull(keyPrefix, "The keyPrefix must not be null!");
+			this.keyPrefix = keyPrefix;
+			return this;
+		}
+
+		/**
+		 * @param maxMessages the maximum number of messages kept per conversation, the
+		 * oldest messages are trimmed on write.
+		 */
+		public Builder withMaxMessages(int maxMessages) {
+			Assert.isTrue(maxMessages > 0, "The maxMessages must be greater than 0!");
+			this.maxMessages = maxMessages;
+			return this;
+		}
+
+		/**
+		 * @param timeToLive the time after the last write when a conversation expires, of
+		 * at least one millisecond. Null, the default, keeps the conversations without
+		 * expiry.
+		 */
+		public Builder withTimeToLive(Duration timeToLive) {
+			// a zero PEXPIRE deletes the key right away
+			Assert.isTrue(timeToLive == null || timeToLive.toMillis() > 0,
+					"The timeToLive must be at least one millisecond!");
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		/**
+		 * @param options the write batching and near-cache options.
+		 */
+		public Builder withOptions(Options options) {
+			Assert.notNull(options, "The options must not be null!");
+			this.options = options;
+			return this;
+		}
+
+		public RedisChatMemory build() {
+			return new RedisChatMemory(this);
+		}
+
+	}
+
+}
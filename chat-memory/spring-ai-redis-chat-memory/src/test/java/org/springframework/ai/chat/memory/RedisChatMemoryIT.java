@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.redis.testcontainers.RedisStackContainer;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import redis.clients.jedis.JedisPooled;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+public class RedisChatMemoryIT {
+
+	@Container
+	static RedisStackContainer redisContainer = new RedisStackContainer(
+			RedisStackContainer.DEFAULT_IMAGE_NAME.withTag(RedisStackContainer.DEFAULT_TAG));
+
+	private JedisPooled jedis() {
+		return new JedisPooled(redisContainer.getHost(), redisContainer.getFirstMappedPort());
+	}
+
+	@Test
+	public void addGetAndClear() {
+		RedisChatMemory chatMemory = RedisChatMemory.builder(jedis()).build();
+
+		chatMemory.add("redis-1", List.of(new UserMessage("question"), new AssistantMessage("answer")));
+
+		List<Message> messages = chatMemory.get("redis-1", 10);
+		assertThat(messages).extracting(Message::getContent).containsExactly("question", "answer");
+		assertThat(messages).extracting(Message::getMessageType)
+			.containsExactly(MessageType.USER, MessageType.ASSISTANT);
+		assertThat(chatMemory.get("redis-1", 1)).extracting(Message::getContent).containsExactly("answer");
+
+		chatMemory.clear("redis-1");
+		assertThat(chatMemory.get("redis-1", 10)).isEmpty();
+	}
+
+	@Test
+	public void trimsAndBatchesWrites() {
+		RedisChatMemory chatMemory = RedisChatMemory.builder(jedis())
+			.withMaxMessages(5)
+			.withTimeToLive(Duration.ofMinutes(5))
+			.withOptions(AbstractBufferedChatMemory.Options.writeThrough().withBatching(100, Duration.ofMinutes(1)))
+			.build();
+
+		IntStream.range(0, 20).forEach(i -> chatMemory.add("redis-2", new UserMessage("m" + i)));
+		chatMemory.close();
+
+		RedisChatMemory other = RedisChatMemory.builder(jedis()).build();
+		assertThat(other.get("redis-2", 100)).extracting(Message::getContent)
+			.containsExactly("m15", "m16", "m17", "m18", "m19");
+	}
+
+	@Test
+	public void rejectsTimeToLiveExpiringImmediately() {
+		var builder = RedisChatMemory.builder(jedis());
+
+		assertThatThrownBy(() -> builder.withTimeToLive(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> builder.withTimeToLive(Duration.ofNanos(1)))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> builder.withTimeToLive(Duration.ofSeconds(-1)))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
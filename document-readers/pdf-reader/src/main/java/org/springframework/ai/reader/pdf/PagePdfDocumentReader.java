@@ -16,11 +16,32 @@
 package org.springframework.ai.reader.pdf;
 
 import java.awt.Rectangle;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
 import org.apache.pdfbox.pdfparser.PDFParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -33,7 +54,9 @@ import org.springframework.ai.reader.pdf.config.PdfDocumentReaderConfig;
 import org.springframework.ai.reader.pdf.layout.PDFLayoutTextStripperByArea;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -41,6 +64,11 @@ import org.springframework.util.StringUtils;
  * into a single output document. Use {@link PdfDocumentReaderConfig} for customization
  * options. The default configuration is: - pagesPerDocument = 1 - pageTopMargin = 0 -
  * pageBottomMargin = 0
+ * <p>
+ * A PDF file is read from the file system on demand, rather than loaded in memory, and is
+ * only open while its documents are read. The pages can be extracted by several threads,
+ * see {@link PdfDocumentReaderConfig.Builder#withParallelism(int)}, and the documents can
+ * be read lazily with {@link #stream()}.
  *
  * @author Christian Tzolov
  */
@@ -50,13 +78,20 @@ public class PagePdfDocumentReader implements DocumentReader {
 
 	private static final String PDF_PAGE_REGION = "pdfPageRegion";
 
+	/**
+	 * Maximum number of consecutive pages extracted by a parallel task.
+	 */
+	private static final int PAGES_PER_TASK = 8;
+
 	public static final String METADATA_START_PAGE_NUMBER = "page_number";
 
 	public static final String METADATA_END_PAGE_NUMBER = "end_page_number";
 
 	public static final String METADATA_FILE_NAME = "file_name";
 
-	private final PDDocument document;
+	private final File file;
+
+	private final byte[] content;
 
 	private PdfDocumentReaderConfig config;
 
@@ -77,11 +112,16 @@ public class PagePdfDocumentReader implements DocumentReader {
 	public PagePdfDocumentReader(Resource pdfResource, PdfDocumentReaderConfig config) {
 
 		try {
-
-			PDFParser pdfParser = new PDFParser(
-					new org.apache.pdfbox.io.RandomAccessReadBuffer(pdfResource.getInputStream()));
-			this.document = pdfParser.parse();
-
+			if (pdfResource.isFile()) {
+				this.file = pdfResource.getFile();
+				this.content = null;
+			}
+			else {
+				this.file = null;
+				try (InputStream inputStream = pdfResource.getInputStream()) {
+					this.content = StreamUtils.copyToByteArray(inputStream);
+				}
+			}
 			this.resourceFileName = pdfResource.getFilename();
 			this.config = config;
 		}
@@ -90,88 +130,317 @@ public class PagePdfDocumentReader implements DocumentReader {
 		}
 	}
 
+	/**
+	 * Parse a new handle of the PDF document, read from the file or from the shared
+	 * content.
+	 */
+	private PDDocument load() throws IOException {
+		PDFParser pdfParser = new PDFParser((this.file != null) ? new RandomAccessReadBufferedFile(this.file)
+				: new RandomAccessReadBuffer(this.content));
+		return pdfParser.parse();
+	}
+
 	@Override
 	public List<Document> get() {
+		try (Stream<Document> documents = stream()) {
+			return documents.collect(Collectors.toList());
+		}
+	}
 
-		List<Document> readDocuments = new ArrayList<>();
+	/**
+	 * Lazily read the documents, each group of pages being emitted once its pages are
+	 * extracted. The stream must be closed, to release the PDF document handles and the
+	 * extraction threads.
+	 * @return the stream of documents, in the page order.
+	 */
+	public Stream<Document> stream() {
+		PDDocument document;
 		try {
-			var pdfTextStripper = new PDFLayoutTextStripperByArea();
+			document = load();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		PageTexts pageTexts;
+		try {
+			pageTexts = (this.config.parallelism > 1) ? new ParallelPageTexts(document)
+					: new SequentialPageTexts(document);
+		}
+		catch (RuntimeException ex) {
+			close(document);
+			throw ex;
+		}
+		return StreamSupport.stream(new PageGroupSpliterator(document, pageTexts), false).onClose(() -> {
+			pageTexts.close();
+			close(document);
+		});
+	}
 
-			int pageNumber = 0;
-			int pagesPerDocument = 0;
-			int startPageNumber = pageNumber;
+	private void close(PDDocument document) {
+		try {
+			document.close();
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to close a PDF document handle", ex);
+		}
+	}
 
-			List<String> pageTextGroupList = new ArrayList<>();
+	/**
+	 * Extract the formatted text of a page.
+	 * @return the formatted text, or null when the page has no text.
+	 */
+	private String extractPageText(PDFLayoutTextStripperByArea pdfTextStripper, PDPage page, int pageNumber)
+			throws IOException {
 
-			int totalPages = this.document.getDocumentCatalog().getPages().getCount();
-			int logFrequency = totalPages > 10 ? totalPages / 10 : 1; // if less than 10
-																		// pages, print
-																		// each iteration
-			int counter = 0;
+		int x0 = (int) page.getMediaBox().getLowerLeftX();
+		int xW = (int) page.getMediaBox().getWidth();
 
-			for (PDPage page : this.document.getDocumentCatalog().getPages()) {
-				if (counter % logFrequency == 0 && counter / logFrequency < 10) {
-					logger.info("Processing PDF page: {}", (counter + 1));
-				}
-				counter++;
+		int y0 = (int) page.getMediaBox().getLowerLeftY() + this.config.pageTopMargin;
+		int yW = (int) page.getMediaBox().getHeight() - (this.config.pageTopMargin + this.config.pageBottomMargin);
 
-				pagesPerDocument++;
+		pdfTextStripper.addRegion(PDF_PAGE_REGION, new Rectangle(x0, y0, xW, yW));
+		pdfTextStripper.extractRegions(page);
+		var pageText = pdfTextStripper.getTextForRegion(PDF_PAGE_REGION);
+		pdfTextStripper.removeRegion(PDF_PAGE_REGION);
 
-				if (this.config.pagesPerDocument != PdfDocumentReaderConfig.ALL_PAGES
-						&& pagesPerDocument >= this.config.pagesPerDocument) {
-					pagesPerDocument = 0;
+		return StringUtils.hasText(pageText) ? this.config.pageExtractedTextFormatter.format(pageText, pageNumber)
+				: null;
+	}
 
-					var aggregatedPageTextGroup = pageTextGroupList.stream().collect(Collectors.joining());
-					if (StringUtils.hasText(aggregatedPageTextGroup)) {
-						readDocuments.add(toDocument(aggregatedPageTextGroup, startPageNumber, pageNumber));
-					}
-					pageTextGroupList.clear();
+	private Document toDocument(String docText, int startPageNumber, int endPageNumber) {
 
-					startPageNumber = pageNumber + 1;
-				}
-				int x0 = (int) page.getMediaBox().getLowerLeftX();
-				int xW = (int) page.getMediaBox().getWidth();
+		Document doc = new Document(docText);
+		doc.getMetadata().put(METADATA_START_PAGE_NUMBER, startPageNumber);
+		if (startPageNumber != endPageNumber) {
+			doc.getMetadata().put(METADATA_END_PAGE_NUMBER, endPageNumber);
+		}
+		doc.getMetadata().put(METADATA_FILE_NAME, this.resourceFileName);
+
+		return doc;
+	}
+
+	/**
+	 * The formatted texts of the pages, in the page order.
+	 */
+	private interface PageTexts extends AutoCloseable {
+
+		/**
+		 * @return the text of the next page, or null when the page has no text.
+		 */
+		String next() throws IOException;
+
+		@Override
+		void close();
+
+	}
+
+	/**
+	 * Extracts the pages one after the other from the document of the stream.
+	 */
+	private final class SequentialPageTexts implements PageTexts {
+
+		private final Iterator<PDPage> pages;
+
+		private PDFLayoutTextStripperByArea pdfTextStripper;
+
+		private int pageNumber;
+
+		SequentialPageTexts(PDDocument document) {
+			this.pages = document.getPages().iterator();
+		}
+
+		@Override
+		public String next() throws IOException {
+			if (this.pdfTextStripper == null) {
+				this.pdfTextStripper = new PDFLayoutTextStripperByArea();
+			}
+			return extractPageText(this.pdfTextStripper, this.pages.next(), this.pageNumber++);
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+	/**
+	 * Extracts ranges of consecutive pages on a pool of threads, each one with its own
+	 * document handle, a bounded number of ranges ahead of the consumer.
+	 */
+	private final class ParallelPageTexts implements PageTexts {
 
-				int y0 = (int) page.getMediaBox().getLowerLeftY() + this.config.pageTopMargin;
-				int yW = (int) page.getMediaBox().getHeight()
-						- (this.config.pageTopMargin + this.config.pageBottomMargin);
+		private final int totalPages;
 
-				pdfTextStripper.addRegion(PDF_PAGE_REGION, new Rectangle(x0, y0, xW, yW));
-				pdfTextStripper.extractRegions(page);
-				var pageText = pdfTextStripper.getTextForRegion(PDF_PAGE_REGION);
+		private final int pagesPerTask;
 
-				if (StringUtils.hasText(pageText)) {
+		private final ExecutorService executor;
 
-					pageText = this.config.pageExtractedTextFormatter.format(pageText, pageNumber);
+		private final Queue<PDDocument> documentHandles = new ConcurrentLinkedQueue<>();
 
-					pageTextGroupList.add(pageText);
+		private final ThreadLocal<PDDocument> documentHandle = ThreadLocal.withInitial(() -> {
+			try {
+				PDDocument documentHandle = load();
+				this.documentHandles.add(documentHandle);
+				return documentHandle;
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+
+		private final Deque<Future<List<String>>> tasks = new ArrayDeque<>();
+
+		private int nextTaskPage;
+
+		private Iterator<String> current = Collections.emptyIterator();
+
+		ParallelPageTexts(PDDocument document) {
+			this.totalPages = document.getNumberOfPages();
+			this.pagesPerTask = Math.max(1, Math.min(PAGES_PER_TASK, this.totalPages / config.parallelism));
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("pdf-page-reader-");
+			threadFactory.setDaemon(true);
+			this.executor = Executors.newFixedThreadPool(config.parallelism, threadFactory);
+		}
+
+		@Override
+		public String next() throws IOException {
+			while (!this.current.hasNext()) {
+				while (this.tasks.size() < 2 * config.parallelism && this.nextTaskPage < this.totalPages) {
+					int from = this.nextTaskPage;
+					int to = Math.min(from + this.pagesPerTask, this.totalPages);
+					this.tasks.add(this.executor.submit(() -> extract(from, to)));
+					this.nextTaskPage = to;
 				}
-				pageNumber++;
-				pdfTextStripper.removeRegion(PDF_PAGE_REGION);
+				this.current = await(this.tasks.poll()).iterator();
 			}
-			if (!CollectionUtils.isEmpty(pageTextGroupList)) {
-				readDocuments.add(toDocument(pageTextGroupList.stream().collect(Collectors.joining()), startPageNumber,
-						pageNumber));
+			return this.current.next();
+		}
+
+		private List<String> extract(int from, int to) throws IOException {
+			PDDocument documentHandle = this.documentHandle.get();
+			var pdfTextStripper = new PDFLayoutTextStripperByArea();
+			List<String> pageTexts = new ArrayList<>(to - from);
+			for (int pageNumber = from; pageNumber < to; pageNumber++) {
+				pageTexts.add(extractPageText(pdfTextStripper, documentHandle.getPage(pageNumber), pageNumber));
 			}
-			logger.info("Processing {} pages", totalPages);
-			return readDocuments;
+			return pageTexts;
+		}
 
+		private List<String> await(Future<List<String>> task) throws IOException {
+			try {
+				return task.get();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while extracting the PDF pages", ex);
+			}
+			catch (ExecutionException ex) {
+				Throwable cause = (ex.getCause() instanceof UncheckedIOException uncheckedIOException)
+						? uncheckedIOException.getCause() : ex.getCause();
+				if (cause instanceof IOException ioException) {
+					throw ioException;
+				}
+				throw new IllegalStateException("Failed to extract the PDF pages", cause);
+			}
 		}
-		catch (IOException e) {
-			throw new RuntimeException(e);
+
+		@Override
+		public void close() {
+			this.executor.shutdownNow();
+			try {
+				this.executor.awaitTermination(1, TimeUnit.MINUTES);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			this.documentHandles.forEach(PagePdfDocumentReader.this::close);
 		}
+
 	}
 
-	private Document toDocument(String docText, int startPageNumber, int endPageNumber) {
+	/**
+	 * Groups the page texts into documents, emitting a document once its last page is
+	 * extracted.
+	 */
+	private final class PageGroupSpliterator extends Spliterators.AbstractSpliterator<Document> {
 
-		Document doc = new Document(docText);
-		doc.getMetadata().put(METADATA_START_PAGE_NUMBER, startPageNumber);
-		if (startPageNumber != endPageNumber) {
-			doc.getMetadata().put(METADATA_END_PAGE_NUMBER, endPageNumber);
+		private final PageTexts pageTexts;
+
+		private final int totalPages;
+
+		// if less than 10 pages, print each iteration
+		private final int logFrequency;
+
+		private final List<String> pageTextGroupList = new ArrayList<>();
+
+		private int pageNumber = 0;
+
+		private int pagesPerDocument = 0;
+
+		private int startPageNumber = 0;
+
+		private boolean completed;
+
+		PageGroupSpliterator(PDDocument document, PageTexts pageTexts) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.pageTexts = pageTexts;
+			this.totalPages = document.getNumberOfPages();
+			this.logFrequency = this.totalPages > 10 ? this.totalPages / 10 : 1;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Document> action) {
+			try {
+				while (this.pageNumber < this.totalPages) {
+					if (this.pageNumber % this.logFrequency == 0 && this.pageNumber / this.logFrequency < 10) {
+						logger.info("Processing PDF page: {}", (this.pageNumber + 1));
+					}
+
+					Document document = null;
+					this.pagesPerDocument++;
+
+					if (config.pagesPerDocument != PdfDocumentReaderConfig.ALL_PAGES
+							&& this.pagesPerDocument >= config.pagesPerDocument) {
+						this.pagesPerDocument = 0;
+
+						var aggregatedPageTextGroup = String.join("", this.pageTextGroupList);
+						if (StringUtils.hasText(aggregatedPageTextGroup)) {
+							document = toDocument(aggregatedPageTextGroup, this.startPageNumber, this.pageNumber);
+						}
+						this.pageTextGroupList.clear();
+
+						this.startPageNumber = this.pageNumber + 1;
+					}
+
+					var pageText = this.pageTexts.next();
+					if (pageText != null) {
+						this.pageTextGroupList.add(pageText);
+					}
+					this.pageNumber++;
+
+					if (document != null) {
+						action.accept(document);
+						return true;
+					}
+				}
+			}
+			catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+
+			if (this.completed) {
+				return false;
+			}
+			this.completed = true;
+			logger.info("Processing {} pages", this.totalPages);
+			if (!CollectionUtils.isEmpty(this.pageTextGroupList)) {
+				action
+					.accept(toDocument(String.join("", this.pageTextGroupList), this.startPageNumber, this.pageNumber));
+				return true;
+			}
+			return false;
 		}
-		doc.getMetadata().put(METADATA_FILE_NAME, this.resourceFileName);
 
-		return doc;
 	}
 
 }
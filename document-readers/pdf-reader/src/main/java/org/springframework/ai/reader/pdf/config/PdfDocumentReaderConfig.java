@@ -40,6 +40,8 @@ public class PdfDocumentReaderConfig {
 
 	public final ExtractedTextFormatter pageExtractedTextFormatter;
 
+	public final int parallelism;
+
 	/**
 	 * Start building a new configuration.
 	 * @return The entry point for creating a new configuration.
@@ -62,6 +64,7 @@ public class PdfDocumentReaderConfig {
 		this.pageTopMargin = builder.pageTopMargin;
 		this.pageExtractedTextFormatter = builder.pageExtractedTextFormatter;
 		this.reversedParagraphPosition = builder.reversedParagraphPosition;
+		this.parallelism = builder.parallelism;
 	}
 
 	public static class Builder {
@@ -76,6 +79,8 @@ public class PdfDocumentReaderConfig {
 
 		private boolean reversedParagraphPosition = false;
 
+		private int parallelism = 1;
+
 		private Builder() {
 		}
 
@@ -136,6 +141,19 @@ public class PdfDocumentReaderConfig {
 			return this;
 		}
 
+		/**
+		 * Number of threads extracting the pages of the {@link PagePdfDocumentReader},
+		 * each one with its own handle of the PDF document. The documents keep the page
+		 * order. Defaults to 1, extracting the pages on the caller thread.
+		 * @param parallelism the number of page extraction threads.
+		 * @return this builder
+		 */
+		public Builder withParallelism(int parallelism) {
+			Assert.isTrue(parallelism >= 1, "Parallelism must be >= 1.");
+			this.parallelism = parallelism;
+			return this;
+		}
+
 		/**
 		 * {@return the immutable configuration}
 		 */
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.reader.pdf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.springframework.ai.reader.ExtractedTextFormatter;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Compares the single scan of {@link ExtractedTextFormatter#format(String, int)} with the
+ * regular expressions of its utility methods, on the pages of a sample PDF.
+ * <p>
+ * Run with the test classpath: {@code java ExtractedTextFormatterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractedTextFormatterBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean leftAlignment;
+
+	private final List<String> pages = new ArrayList<>();
+
+	private ExtractedTextFormatter formatter;
+
+	@Setup
+	public void setup() throws IOException {
+		try (PDDocument document = Loader.loadPDF(new ClassPathResource("sample1.pdf").getContentAsByteArray())) {
+			var stripper = new PDFTextStripper();
+			for (int page = 1; page <= document.getNumberOfPages(); page++) {
+				stripper.setStartPage(page);
+				stripper.setEndPage(page);
+				this.pages.add(stripper.getText(document));
+			}
+		}
+		this.formatter = ExtractedTextFormatter.builder()
+			.withLeftAlignment(this.leftAlignment)
+			.withNumberOfTopTextLinesToDelete(1)
+			.withNumberOfBottomTextLinesToDelete(1)
+			.build();
+	}
+
+	@Benchmark
+	public void singleScan(Blackhole blackhole) {
+		for (int page = 0; page < this.pages.size(); page++) {
+			blackhole.consume(this.formatter.format(this.pages.get(page), page));
+		}
+	}
+
+	@Benchmark
+	public void regularExpressions(Blackhole blackhole) {
+		for (String page : this.pages) {
+			String text = ExtractedTextFormatter.trimAdjacentBlankLines(page);
+			text = ExtractedTextFormatter.deleteTopTextLines(text, 1);
+			text = ExtractedTextFormatter.deleteBottomTextLines(text, 1);
+			if (this.leftAlignment) {
+				text = ExtractedTextFormatter.alignToLeft(text);
+			}
+			blackhole.consume(text);
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ExtractedTextFormatterBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
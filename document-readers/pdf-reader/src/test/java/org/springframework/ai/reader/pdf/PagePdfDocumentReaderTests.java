@@ -15,16 +15,24 @@
  */
 package org.springframework.ai.reader.pdf;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.reader.ExtractedTextFormatter;
 import org.springframework.ai.reader.pdf.config.PdfDocumentReaderConfig;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * @author Christian Tzolov
@@ -56,4 +64,71 @@ public class PagePdfDocumentReaderTests {
 				List.of("Page  1 of 4", "Page  2 of 4", "Page  3 of 4", "Page  4 of 4", "PDF  Bookmark   Sample"));
 	}
 
+	@Test
+	public void parallelReadKeepsThePageOrderAndMetadata() {
+		for (int pagesPerDocument : new int[] { 1, 2, PdfDocumentReaderConfig.ALL_PAGES }) {
+			List<Document> expected = new PagePdfDocumentReader("classpath:/sample1.pdf",
+					PdfDocumentReaderConfig.builder().withPagesPerDocument(pagesPerDocument).build())
+				.get();
+
+			List<Document> docs = new PagePdfDocumentReader("classpath:/sample1.pdf",
+					PdfDocumentReaderConfig.builder().withPagesPerDocument(pagesPerDocument).withParallelism(2).build())
+				.get();
+
+			assertThat(docs).extracting(Document::getContent)
+				.containsExactlyElementsOf(expected.stream().map(Document::getContent).toList());
+			assertThat(docs).extracting(Document::getMetadata)
+				.containsExactlyElementsOf(expected.stream().map(Document::getMetadata).toList());
+		}
+	}
+
+	@Test
+	public void inMemoryResourceRead() throws IOException {
+		byte[] content = new ClassPathResource("sample1.pdf").getContentAsByteArray();
+
+		List<Document> docs = new PagePdfDocumentReader(new ByteArrayResource(content),
+				PdfDocumentReaderConfig.builder().withParallelism(2).build())
+			.get();
+
+		assertThat(docs).extracting(Document::getContent)
+			.containsExactlyElementsOf(new PagePdfDocumentReader("classpath:/sample1.pdf").get()
+				.stream()
+				.map(Document::getContent)
+				.toList());
+	}
+
+	@Test
+	public void lazyStream() {
+		PagePdfDocumentReader pdfReader = new PagePdfDocumentReader("classpath:/sample1.pdf",
+				PdfDocumentReaderConfig.builder().withParallelism(2).build());
+
+		try (Stream<Document> docs = pdfReader.stream()) {
+			assertThat(docs.findFirst()).hasValueSatisfying(doc -> assertThat(doc.getMetadata())
+				.containsEntry(PagePdfDocumentReader.METADATA_START_PAGE_NUMBER, 1));
+		}
+	}
+
+	@Test
+	public void fileHandlesAreClosedOnceRead() throws IOException {
+		Path fileDescriptors = Path.of("/proc/self/fd");
+		assumeTrue(Files.isDirectory(fileDescriptors), "Requires the /proc file system.");
+
+		long openFiles = countOpenFiles(fileDescriptors);
+		List<PagePdfDocumentReader> pdfReaders = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			PagePdfDocumentReader pdfReader = new PagePdfDocumentReader("classpath:/sample1.pdf",
+					PdfDocumentReaderConfig.builder().withParallelism(i % 2 + 1).build());
+			assertThat(pdfReader.get()).isNotEmpty();
+			pdfReaders.add(pdfReader);
+		}
+
+		assertThat(countOpenFiles(fileDescriptors)).isLessThan(openFiles + 10);
+	}
+
+	private static long countOpenFiles(Path fileDescriptors) throws IOException {
+		try (Stream<Path> files = Files.list(fileDescriptors)) {
+			return files.count();
+		}
+	}
+
 }
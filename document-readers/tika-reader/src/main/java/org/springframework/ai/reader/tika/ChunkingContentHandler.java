@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.reader.tika;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Collects the body text of the XHTML output of a Tika parser into chunks, emitted at the
+ * character limit, at the section headings, and at the boundaries of the embedded
+ * resources.
+ *
+ * @since 1.0.0
+ */
+class ChunkingContentHandler extends DefaultHandler {
+
+	private static final Set<String> HEADINGS = Set.of("h1", "h2", "h3", "h4", "h5", "h6");
+
+	/**
+	 * Receives the text chunks.
+	 */
+	interface ChunkListener {
+
+		/**
+		 * @param text the text of the chunk.
+		 * @param embeddedResource the path of the embedded resource of the text, or null
+		 * for the text of the container document.
+		 */
+		void onChunk(String text, String embeddedResource) throws SAXException;
+
+	}
+
+	private final int maxCharacters;
+
+	private final boolean splitOnSections;
+
+	private final ChunkListener listener;
+
+	private final StringBuilder text = new StringBuilder();
+
+	private final Deque<String> embeddedResources = new ArrayDeque<>();
+
+	private int bodyDepth;
+
+	ChunkingContentHandler(int maxCharacters, boolean splitOnSections, ChunkListener listener) {
+		this.maxCharacters = maxCharacters;
+		this.splitOnSections = splitOnSections;
+		this.listener = listener;
+	}
+
+	/**
+	 * Emit the text collected so far, and collect the text of an embedded resource.
+	 * @param resourceName the name of the embedded resource.
+	 */
+	void startEmbeddedResource(String resourceName) throws SAXException {
+		flush();
+		String parent = this.embeddedResources.peek();
+		this.embeddedResources.push((parent != null) ? parent + "/" + resourceName : resourceName);
+	}
+
+	/**
+	 * Emit the text of the embedded resource, and resume collecting the text of its
+	 * container.
+	 */
+	void endEmbeddedResource() throws SAXException {
+		flush();
+		this.embeddedResources.pop();
+	}
+
+	@Override
+	public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+		String name = elementName(localName, qName);
+		if ("body".equals(name)) {
+			this.bodyDepth++;
+		}
+		else if (this.splitOnSections && this.bodyDepth > 0 && HEADINGS.contains(name)) {
+			flush();
+		}
+	}
+
+	@Override
+	public void endElement(String uri, String localName, String qName) {
+		if ("body".equals(elementName(localName, qName))) {
+			this.bodyDepth--;
+		}
+	}
+
+	@Override
+	public void characters(char[] ch, int start, int length) throws SAXException {
+		if (this.bodyDepth > 0) {
+			this.text.append(ch, start, length);
+			while (this.maxCharacters > 0 && this.text.length() >= this.maxCharacters) {
+				int end = splitIndex();
+				emit(this.text.substring(0, end));
+				this.text.delete(0, end);
+			}
+		}
+	}
+
+	@Override
+	public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+		characters(ch, start, length);
+	}
+
+	@Override
+	public void endDocument() throws SAXException {
+		flush();
+	}
+
+	/**
+	 * @return the end of the next chunk, after the last whitespace of the second half of
+	 * the character limit, or at the limit when there is none.
+	 */
+	private int splitIndex() {
+		for (int i = this.maxCharacters; i > this.maxCharacters / 2; i--) {
+			if (Character.isWhitespace(this.text.charAt(i - 1))) {
+				return i;
+			}
+		}
+		return this.maxCharacters;
+	}
+
+	private void flush() throws SAXException {
+		emit(this.text.toString());
+		this.text.setLength(0);
+	}
+
+	private void emit(String chunk) throws SAXException {
+		if (!chunk.isBlank()) {
+			this.listener.onChunk(chunk, this.embeddedResources.peek());
+		}
+	}
+
+	private static String elementName(String localName, String qName) {
+		return (localName == null || localName.isEmpty()) ? qName : localName;
+	}
+
+}
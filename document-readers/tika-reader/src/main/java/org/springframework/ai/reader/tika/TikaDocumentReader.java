@@ -19,12 +19,29 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.extractor.EmbeddedDocumentExtractor;
 import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
 import org.apache.tika.parser.AutoDetectParser;
 import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
 import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.EmbeddedContentHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
 
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.DocumentReader;
@@ -44,6 +61,11 @@ import org.springframework.util.StringUtils;
  * If you require more specialized handling for PDFs, consider using the
  * PagePdfDocumentReader or ParagraphPdfDocumentReader.
  *
+ * Large documents can be read incrementally with {@link #stream()} or
+ * {@link #read(Consumer)}, splitting the extracted text into several documents as
+ * configured by the {@link TikaDocumentReaderConfig}, so that the extracted text is never
+ * held in memory at once.
+ *
  * @author Christian Tzolov
  */
 
@@ -54,6 +76,21 @@ public class TikaDocumentReader implements DocumentReader {
 	 */
 	public static final String METADATA_SOURCE = "source";
 
+	/**
+	 * Metadata key representing the path of the embedded resource of a streamed document,
+	 * such as an archive entry or a mail attachment.
+	 */
+	public static final String METADATA_EMBEDDED_RESOURCE = "embedded_resource";
+
+	/**
+	 * Metadata key representing the index of a streamed document.
+	 */
+	public static final String METADATA_CHUNK_INDEX = "chunk_index";
+
+	private static final Logger logger = LoggerFactory.getLogger(TikaDocumentReader.class);
+
+	private static final Object END = new Object();
+
 	/**
 	 * Parser to automatically detect the type of document and extract text.
 	 */
@@ -84,6 +121,11 @@ public class TikaDocumentReader implements DocumentReader {
 	 */
 	private final ExtractedTextFormatter textFormatter;
 
+	/**
+	 * Configuration of the streaming mode.
+	 */
+	private final TikaDocumentReaderConfig config;
+
 	/**
 	 * Constructor initializing the reader with a given resource URL.
 	 * @param resourceUrl URL to the resource
@@ -128,12 +170,30 @@ public class TikaDocumentReader implements DocumentReader {
 	 * @param textFormatter Formatter for the extracted text
 	 */
 	public TikaDocumentReader(Resource resource, ContentHandler contentHandler, ExtractedTextFormatter textFormatter) {
+		this(resource, contentHandler, textFormatter, TikaDocumentReaderConfig.defaultConfig());
+	}
+
+	/**
+	 * Constructor initializing the reader with a resource, a text formatter and the
+	 * configuration of the streaming mode.
+	 * @param resource Resource pointing to the document
+	 * @param textFormatter Formatter for the extracted text
+	 * @param config Configuration of the streaming mode
+	 */
+	public TikaDocumentReader(Resource resource, ExtractedTextFormatter textFormatter,
+			TikaDocumentReaderConfig config) {
+		this(resource, new BodyContentHandler(-1), textFormatter, config);
+	}
+
+	private TikaDocumentReader(Resource resource, ContentHandler contentHandler, ExtractedTextFormatter textFormatter,
+			TikaDocumentReaderConfig config) {
 		this.parser = new AutoDetectParser();
 		this.handler = contentHandler;
 		this.metadata = new Metadata();
 		this.context = new ParseContext();
 		this.resource = resource;
 		this.textFormatter = textFormatter;
+		this.config = config;
 	}
 
 	/**
@@ -151,6 +211,73 @@ public class TikaDocumentReader implements DocumentReader {
 		}
 	}
 
+	/**
+	 * Extracts the documents from the resource incrementally, on the calling thread. Each
+	 * document is passed to the consumer as soon as its text is extracted.
+	 * @param consumer the consumer of the extracted {@link Document}s
+	 */
+	public void read(Consumer<Document> consumer) {
+		var chunkIndex = new int[1];
+		var handler = new ChunkingContentHandler(this.config.maxCharactersPerDocument, this.config.splitOnSections,
+				(text, embeddedResource) -> {
+					Document doc = toDocument(text);
+					doc.getMetadata().put(METADATA_CHUNK_INDEX, chunkIndex[0]++);
+					if (embeddedResource != null) {
+						doc.getMetadata().put(METADATA_EMBEDDED_RESOURCE, embeddedResource);
+					}
+					try {
+						consumer.accept(doc);
+					}
+					catch (RuntimeException ex) {
+						// Some parsers swallow the runtime exceptions of the handler, a
+						// SAXException stops them all.
+						throw new ConsumerException(ex);
+					}
+				});
+
+		var context = new ParseContext();
+		context.set(Parser.class, this.parser);
+		if (this.config.splitOnEmbeddedResources) {
+			context.set(EmbeddedDocumentExtractor.class, new SplittingEmbeddedDocumentExtractor(handler, context));
+		}
+
+		try (InputStream stream = this.resource.getInputStream()) {
+			this.parser.parse(stream, handler, new Metadata(), context);
+		}
+		catch (Exception e) {
+			throw unwrapConsumerException(e);
+		}
+	}
+
+	private static RuntimeException unwrapConsumerException(Exception e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConsumerException consumerException) {
+				return (RuntimeException) consumerException.getCause();
+			}
+		}
+		return (e instanceof RuntimeException runtimeException) ? runtimeException : new RuntimeException(e);
+	}
+
+	/**
+	 * Lazily extracts the documents from the resource. The resource is parsed on the
+	 * executor of the {@link TikaDocumentReaderConfig}, a bounded number of documents
+	 * ahead of the stream consumer. Closing the stream stops the parsing.
+	 * @return the stream of extracted {@link Document}s
+	 */
+	public Stream<Document> stream() {
+		var documents = new DocumentQueue(this.config.prefetch);
+		this.config.executor.execute(() -> {
+			try {
+				read(documents::put);
+				documents.complete(END);
+			}
+			catch (Throwable ex) {
+				documents.complete(ex);
+			}
+		});
+		return StreamSupport.stream(documents, false).onClose(documents::cancel);
+	}
+
 	/**
 	 * Converts the given text to a {@link Document}.
 	 * @param docText Text to be converted
@@ -182,4 +309,146 @@ public class TikaDocumentReader implements DocumentReader {
 		}
 	}
 
+	/**
+	 * Parses the embedded resources of a container into their own documents.
+	 */
+	private final class SplittingEmbeddedDocumentExtractor implements EmbeddedDocumentExtractor {
+
+		private final ChunkingContentHandler chunkingHandler;
+
+		private final ParseContext context;
+
+		SplittingEmbeddedDocumentExtractor(ChunkingContentHandler chunkingHandler, ParseContext context) {
+			this.chunkingHandler = chunkingHandler;
+			this.context = context;
+		}
+
+		@Override
+		public boolean shouldParseEmbedded(Metadata metadata) {
+			return true;
+		}
+
+		@Override
+		public void parseEmbedded(InputStream stream, ContentHandler handler, Metadata metadata, boolean outputHtml)
+				throws SAXException, IOException {
+			String resourceName = Objects.requireNonNullElse(metadata.get(TikaCoreProperties.RESOURCE_NAME_KEY),
+					"embedded");
+			this.chunkingHandler.startEmbeddedResource(resourceName);
+			try {
+				parser.parse(stream, new EmbeddedContentHandler(handler), metadata, this.context);
+			}
+			catch (TikaException ex) {
+				// Like the default extractor, skip the embedded resources failing to
+				// parse.
+				logger.warn("Failed to parse the embedded resource {} of {}", resourceName, resourceName(), ex);
+			}
+			finally {
+				this.chunkingHandler.endEmbeddedResource();
+			}
+		}
+
+	}
+
+	/**
+	 * Carries a failure of the document consumer through the parser.
+	 */
+	private static final class ConsumerException extends SAXException {
+
+		ConsumerException(RuntimeException cause) {
+			super(cause);
+		}
+
+	}
+
+	/**
+	 * Hands the documents over from the parsing thread to the stream consumer.
+	 */
+	private static final class DocumentQueue extends Spliterators.AbstractSpliterator<Document> {
+
+		private final BlockingQueue<Object> queue;
+
+		private volatile boolean cancelled;
+
+		private boolean completed;
+
+		DocumentQueue(int capacity) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			// One more slot for the completion signal.
+			this.queue = new ArrayBlockingQueue<>(capacity + 1);
+		}
+
+		void put(Document document) {
+			offer(document);
+		}
+
+		/**
+		 * @param signal {@link #END} or the parsing failure.
+		 */
+		void complete(Object signal) {
+			try {
+				offer(signal);
+			}
+			catch (CancellationException ex) {
+				// The consumer is gone.
+			}
+		}
+
+		private void offer(Object element) {
+			try {
+				do {
+					checkCancelled();
+				}
+				while (!this.queue.offer(element, 100, TimeUnit.MILLISECONDS));
+				if (this.cancelled) {
+					// The stream was closed while the element was being queued.
+					this.queue.clear();
+					checkCancelled();
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException("Interrupted while streaming the documents");
+			}
+		}
+
+		private void checkCancelled() {
+			if (this.cancelled) {
+				throw new CancellationException("The document stream is closed");
+			}
+		}
+
+		void cancel() {
+			this.cancelled = true;
+			this.queue.clear();
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Document> action) {
+			if (this.completed) {
+				return false;
+			}
+			Object element;
+			try {
+				element = this.queue.take();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while reading the documents", ex);
+			}
+			if (element instanceof Document document) {
+				action.accept(document);
+				return true;
+			}
+			this.completed = true;
+			if (element instanceof RuntimeException ex) {
+				throw ex;
+			}
+			if (element instanceof Throwable ex) {
+				throw new RuntimeException(ex);
+			}
+			return false;
+		}
+
+	}
+
 }
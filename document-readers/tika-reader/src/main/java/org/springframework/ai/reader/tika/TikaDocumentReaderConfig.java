@@ -0,0 +1,155 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.reader.tika;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * Configuration of the streaming mode of the {@link TikaDocumentReader}, see
+ * {@link TikaDocumentReader#stream()}.
+ *
+ * @since 1.0.0
+ */
+public class TikaDocumentReaderConfig {
+
+	public static final int UNLIMITED = 0;
+
+	public final int maxCharactersPerDocument;
+
+	public final boolean splitOnSections;
+
+	public final boolean splitOnEmbeddedResources;
+
+	public final int prefetch;
+
+	public final Executor executor;
+
+	/**
+	 * Start building a new configuration.
+	 * @return The entry point for creating a new configuration.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * {@return the default config}
+	 */
+	public static TikaDocumentReaderConfig defaultConfig() {
+		return builder().build();
+	}
+
+	private TikaDocumentReaderConfig(Builder builder) {
+		this.maxCharactersPerDocument = builder.maxCharactersPerDocument;
+		this.splitOnSections = builder.splitOnSections;
+		this.splitOnEmbeddedResources = builder.splitOnEmbeddedResources;
+		this.prefetch = builder.prefetch;
+		this.executor = (builder.executor != null) ? builder.executor : defaultExecutor();
+	}
+
+	private static Executor defaultExecutor() {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("tika-reader-");
+		executor.setDaemon(true);
+		return executor;
+	}
+
+	public static class Builder {
+
+		private int maxCharactersPerDocument = 10_000;
+
+		private boolean splitOnSections = false;
+
+		private boolean splitOnEmbeddedResources = true;
+
+		private int prefetch = 16;
+
+		private Executor executor;
+
+		private Builder() {
+		}
+
+		/**
+		 * Maximum number of characters of a document, the text being split at a
+		 * whitespace when possible. 0 stands for unlimited. Defaults to 10000.
+		 * @param maxCharactersPerDocument the maximum number of characters of a document.
+		 * @return this builder
+		 */
+		public Builder withMaxCharactersPerDocument(int maxCharactersPerDocument) {
+			Assert.isTrue(maxCharactersPerDocument >= 0, "Max characters per document must be a positive value.");
+			this.maxCharactersPerDocument = maxCharactersPerDocument;
+			return this;
+		}
+
+		/**
+		 * Start a new document at each heading. Defaults to false.
+		 * @param splitOnSections to split the text on the section headings or not.
+		 * @return this builder
+		 */
+		public Builder withSplitOnSections(boolean splitOnSections) {
+			this.splitOnSections = splitOnSections;
+			return this;
+		}
+
+		/**
+		 * Emit the text of each embedded resource of a container, such as the entries of
+		 * an archive or the attachments of a mail, in its own documents. Defaults to
+		 * true.
+		 * @param splitOnEmbeddedResources to split the text on the embedded resources or
+		 * not.
+		 * @return this builder
+		 */
+		public Builder withSplitOnEmbeddedResources(boolean splitOnEmbeddedResources) {
+			this.splitOnEmbeddedResources = splitOnEmbeddedResources;
+			return this;
+		}
+
+		/**
+		 * Number of documents extracted ahead of the stream consumer. Defaults to 16.
+		 * @param prefetch the number of documents extracted ahead of the consumer.
+		 * @return this builder
+		 */
+		public Builder withPrefetch(int prefetch) {
+			Assert.isTrue(prefetch >= 1, "Prefetch must be >= 1.");
+			this.prefetch = prefetch;
+			return this;
+		}
+
+		/**
+		 * Executor parsing the documents of the streams. Share a bounded executor between
+		 * the readers to parse many files concurrently with a fixed number of threads.
+		 * Defaults to a new thread per stream.
+		 * @param executor the executor parsing the documents.
+		 * @return this builder
+		 */
+		public Builder withExecutor(Executor executor) {
+			Assert.notNull(executor, "Executor must not be null.");
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * {@return the immutable configuration}
+		 */
+		public TikaDocumentReaderConfig build() {
+			return new TikaDocumentReaderConfig(this);
+		}
+
+	}
+
+}
@@ -15,10 +15,31 @@
  */
 package org.springframework.ai.reader.tika;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import org.springframework.ai.document.Document;
+import org.springframework.ai.reader.ExtractedTextFormatter;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author Christian Tzolov
@@ -45,4 +66,114 @@ public class TikaDocumentReaderTests {
 		assertThat(doc.getContent()).contains(contentSnipped);
 	}
 
+	@Test
+	public void streamSplitsTheTextAtTheCharacterLimit() {
+		Resource resource = new DefaultResourceLoader().getResource("classpath:/word-sample.docx");
+		var config = TikaDocumentReaderConfig.builder().withMaxCharactersPerDocument(500).withPrefetch(2).build();
+
+		String text = new TikaDocumentReader(resource, ExtractedTextFormatter.defaults(), config).get()
+			.get(0)
+			.getContent();
+
+		List<Document> docs;
+		try (var stream = new TikaDocumentReader(resource, ExtractedTextFormatter.defaults(), config).stream()) {
+			docs = stream.toList();
+		}
+
+		assertThat(docs).hasSizeGreaterThan(1);
+		for (int i = 0; i < docs.size(); i++) {
+			assertThat(docs.get(i).getContent()).hasSizeLessThanOrEqualTo(500);
+			assertThat(docs.get(i).getMetadata()).containsEntry(TikaDocumentReader.METADATA_CHUNK_INDEX, i)
+				.containsEntry(TikaDocumentReader.METADATA_SOURCE, "word-sample.docx");
+		}
+		assertThat(docs.get(0).getContent()).startsWith("Demonstration of DOCX support in calibre");
+		// Unlike get(), the names of the embedded images are not part of the text.
+		assertThat(text.replaceAll("\\s", ""))
+			.startsWith(docs.stream().map(Document::getContent).collect(Collectors.joining()).replaceAll("\\s", ""));
+	}
+
+	@Test
+	public void closingTheStreamStopsTheParsing() throws InterruptedException {
+		Resource resource = new DefaultResourceLoader().getResource("classpath:/word-sample.docx");
+		var parsed = new CountDownLatch(1);
+		Executor executor = task -> new Thread(() -> {
+			task.run();
+			parsed.countDown();
+		}).start();
+		var config = TikaDocumentReaderConfig.builder()
+			.withMaxCharactersPerDocument(50)
+			.withPrefetch(1)
+			.withExecutor(executor)
+			.build();
+
+		try (var stream = new TikaDocumentReader(resource, ExtractedTextFormatter.defaults(), config).stream()) {
+			assertThat(stream.iterator().next().getMetadata()).containsEntry(TikaDocumentReader.METADATA_CHUNK_INDEX,
+					0);
+		}
+
+		assertThat(parsed.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void readRethrowsTheConsumerFailure() {
+		Resource resource = new DefaultResourceLoader().getResource("classpath:/word-sample.docx");
+		var config = TikaDocumentReaderConfig.builder().withMaxCharactersPerDocument(50).build();
+		var failure = new IllegalStateException("Consumer failure");
+		var calls = new AtomicInteger();
+
+		assertThatThrownBy(
+				() -> new TikaDocumentReader(resource, ExtractedTextFormatter.defaults(), config).read(doc -> {
+					calls.incrementAndGet();
+					throw failure;
+				}))
+			.isSameAs(failure);
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	public void readSplitsTheTextAtTheSections() {
+		var config = TikaDocumentReaderConfig.builder()
+			.withMaxCharactersPerDocument(TikaDocumentReaderConfig.UNLIMITED)
+			.withSplitOnSections(true)
+			.build();
+		var reader = new TikaDocumentReader(new DefaultResourceLoader().getResource("classpath:/word-sample.docx"),
+				ExtractedTextFormatter.defaults(), config);
+
+		List<Document> docs = new ArrayList<>();
+		reader.read(docs::add);
+
+		assertThat(docs).hasSizeGreaterThan(1);
+	}
+
+	@Test
+	public void streamSplitsTheEmbeddedResources() throws IOException {
+		var bytes = new ByteArrayOutputStream();
+		try (var zip = new ZipOutputStream(bytes)) {
+			zip.putNextEntry(new ZipEntry("first.txt"));
+			zip.write("The first entry.".getBytes(StandardCharsets.UTF_8));
+			zip.putNextEntry(new ZipEntry("second.txt"));
+			zip.write("The second entry.".getBytes(StandardCharsets.UTF_8));
+		}
+		var resource = new ByteArrayResource(bytes.toByteArray()) {
+			@Override
+			public String getFilename() {
+				return "entries.zip";
+			}
+		};
+
+		List<Document> docs;
+		try (var stream = new TikaDocumentReader(resource, ExtractedTextFormatter.defaults(),
+				TikaDocumentReaderConfig.defaultConfig())
+			.stream()) {
+			docs = stream.toList();
+		}
+
+		assertThat(docs).hasSize(2);
+		assertThat(docs.get(0).getContent()).contains("The first entry.");
+		assertThat(docs.get(0).getMetadata()).containsEntry(TikaDocumentReader.METADATA_EMBEDDED_RESOURCE, "first.txt");
+		assertThat(docs.get(1).getContent()).contains("The second entry.");
+		assertThat(docs.get(1).getMetadata()).containsEntry(TikaDocumentReader.METADATA_EMBEDDED_RESOURCE,
+				"second.txt");
+	}
+
 }
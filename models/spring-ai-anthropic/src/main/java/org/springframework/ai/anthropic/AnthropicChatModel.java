@@ -28,12 +28,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.anthropic.api.AnthropicApi;
 import org.springframework.ai.anthropic.api.AnthropicApi.AnthropicMessage;
+import org.springframework.ai.anthropic.api.AnthropicApi.CacheControl;
 import org.springframework.ai.anthropic.api.AnthropicApi.ChatCompletionRequest;
 import org.springframework.ai.anthropic.api.AnthropicApi.ChatCompletionResponse;
 import org.springframework.ai.anthropic.api.AnthropicApi.ContentBlock;
 import org.springframework.ai.anthropic.api.AnthropicApi.ContentBlock.ContentBlockType;
 import org.springframework.ai.anthropic.api.AnthropicApi.Role;
 import org.springframework.ai.anthropic.metadata.AnthropicChatResponseMetadata;
+import org.springframework.ai.chat.messages.CacheBreakpoint;
+import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.MessageType;
 import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
 import org.springframework.ai.chat.model.ChatModel;
@@ -44,6 +47,7 @@ import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.model.function.AbstractFunctionCallSupport;
 import org.springframework.ai.model.function.FunctionCallbackContext;
+import org.springframework.ai.retry.ReactiveRetry;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
@@ -87,6 +91,11 @@ public class AnthropicChatModel extends
 	 */
 	public final RetryTemplate retryTemplate;
 
+	/**
+	 * The retry of the streaming API calls.
+	 */
+	private ReactiveRetry streamRetry = RetryUtils.DEFAULT_REACTIVE_RETRY;
+
 	/**
 	 * Construct a new {@link AnthropicChatModel} instance.
 	 * @param anthropicApi the lower-level API for the Anthropic service.
@@ -142,6 +151,15 @@ public class AnthropicChatModel extends
 		this.retryTemplate = retryTemplate;
 	}
 
+	/**
+	 * @param streamRetry the retry of the streaming API calls, before their first
+	 * response. Defaults to {@link RetryUtils#DEFAULT_REACTIVE_RETRY}.
+	 */
+	public void setStreamRetry(ReactiveRetry streamRetry) {
+		Assert.notNull(streamRetry, "StreamRetry must not be null");
+		this.streamRetry = streamRetry;
+	}
+
 	@Override
 	public ChatResponse call(Prompt prompt) {
 
@@ -158,16 +176,15 @@ public class AnthropicChatModel extends
 
 		ChatCompletionRequest request = createRequest(prompt, true);
 
-		return this.retryTemplate.execute(ctx -> {
+		Flux<ChatCompletionResponse> response = this.streamRetry
+			.execute(() -> this.anthropicApi.chatCompletionStream(request));
 
-			Flux<ChatCompletionResponse> response = this.anthropicApi.chatCompletionStream(request);
+		return response
+			.switchMap(chatCompletionResponse -> handleFunctionCallOrReturnStream(request,
+					Flux.just(ResponseEntity.of(Optional.of(chatCompletionResponse)))))
+			.map(ResponseEntity::getBody)
+			.map(this::toChatResponse);
 
-			return response
-				.switchMap(chatCompletionResponse -> handleFunctionCallOrReturnStream(request,
-						Flux.just(ResponseEntity.of(Optional.of(chatCompletionResponse)))))
-				.map(ResponseEntity::getBody)
-				.map(this::toChatResponse);
-		});
 	}
 
 	private ChatResponse toChatResponse(ChatCompletionResponse chatCompletion) {
@@ -214,14 +231,22 @@ public class AnthropicChatModel extends
 						.toList();
 					contents.addAll(mediaContent);
 				}
+				if (CacheBreakpoint.isMarked(m)) {
+					// The cached prefix ends with the last content block of the message.
+					int last = contents.size() - 1;
+					contents.set(last, contents.get(last).withCacheControl(CacheControl.EPHEMERAL));
+				}
 				return new AnthropicMessage(contents, Role.valueOf(m.getMessageType().name()));
 			})
 			.toList();
 
-		String systemPrompt = prompt.getInstructions()
+		List<Message> systemMessages = prompt.getInstructions()
 			.stream()
 			.filter(m -> m.getMessageType() == MessageType.SYSTEM)
-			.map(m -> m.getContent())
+			.toList();
+
+		String systemPrompt = systemMessages.stream()
+			.map(Message::getContent)
 			.collect(Collectors.joining(System.lineSeparator()));
 
 		ChatCompletionRequest request = new ChatCompletionRequest(this.defaultOptions.getModel(), userMessages,
@@ -253,9 +278,24 @@ public class AnthropicChatModel extends
 			request = ChatCompletionRequest.from(request).withTools(tools).build();
 		}
 
+		if (systemMessages.stream().anyMatch(CacheBreakpoint::isMarked)) {
+			request = ChatCompletionRequest.from(request).withSystemBlocks(toSystemBlocks(systemMessages)).build();
+		}
+
 		return request;
 	}
 
+	/**
+	 * The system messages as text content blocks, marking the {@link CacheBreakpoint
+	 * cache breakpoints}.
+	 */
+	private List<ContentBlock> toSystemBlocks(List<Message> systemMessages) {
+		return systemMessages.stream().map(m -> {
+			ContentBlock contentBlock = new ContentBlock(m.getContent());
+			return CacheBreakpoint.isMarked(m) ? contentBlock.withCacheControl(CacheControl.EPHEMERAL) : contentBlock;
+		}).toList();
+	}
+
 	private List<AnthropicApi.Tool> getFunctionTools(Set<String> functionNames) {
 		return this.resolveFunctionCallbacks(functionNames).stream().map(functionCallback -> {
 			var description = functionCallback.getDescription();
@@ -274,22 +314,14 @@ public class AnthropicChatModel extends
 			.filter(c -> c.type() == ContentBlock.ContentBlockType.TOOL_USE)
 			.toList();
 
-		List<ContentBlock> toolResults = new ArrayList<>();
-
-		for (ContentBlock toolToUse : toolToUseList) {
+		List<String> functionResponses = callFunctions(toolToUseList, ContentBlock::name,
+				toolToUse -> ModelOptionsUtils.toJsonString(toolToUse.input()));
 
-			var functionCallId = toolToUse.id();
-			var functionName = toolToUse.name();
-			var functionArguments = toolToUse.input();
-
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
-
-			String functionResponse = this.functionCallbackRegister.get(functionName)
-				.call(ModelOptionsUtils.toJsonString(functionArguments));
+		List<ContentBlock> toolResults = new ArrayList<>();
 
-			toolResults.add(new ContentBlock(ContentBlockType.TOOL_RESULT, functionCallId, functionResponse));
+		for (int i = 0; i < toolToUseList.size(); i++) {
+			toolResults.add(new ContentBlock(ContentBlockType.TOOL_RESULT, toolToUseList.get(i).id(),
+					functionResponses.get(i)));
 		}
 
 		// Add the function response to the conversation.
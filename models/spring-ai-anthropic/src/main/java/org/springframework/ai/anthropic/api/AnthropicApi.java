@@ -21,12 +21,14 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.springframework.ai.anthropic.api.StreamHelper.ChatCompletionResponseBuilder;
 import org.springframework.ai.model.ModelDescription;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.retry.RetryUtils;
+import org.springframework.ai.util.api.ServerSentEventJsonDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
@@ -37,9 +39,11 @@ import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
@@ -65,7 +69,14 @@ public class AnthropicApi {
 
 	public static final String DEFAULT_ANTHROPIC_BETA_VERSION = "tools-2024-04-04";
 
-	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
+	/**
+	 * The beta version enabling the prompt caching, added to the requests with
+	 * {@link CacheControl cache breakpoints}.
+	 */
+	public static final String PROMPT_CACHING_BETA_VERSION = "prompt-caching-2024-07-31";
+
+	private static final ServerSentEventJsonDecoder<StreamEvent> SSE_DECODER = new ServerSentEventJsonDecoder<>(
+			StreamEvent.class);
 
 	private final RestClient restClient;
 
@@ -210,12 +221,15 @@ public class AnthropicApi {
 	 * return tool_use content blocks that represent the model's use of those tools. You
 	 * can then run those tools using the tool input generated by the model and then
 	 * optionally return results back to the model using tool_result content blocks.
+	 * @param systemBlocks The system prompt as text content blocks, for example to mark
+	 * cache breakpoints. Sent as the system prompt instead of the text one when set.
 	 */
 	@JsonInclude(Include.NON_NULL)
 	public record ChatCompletionRequest( // @formatter:off
 		@JsonProperty("model") String model,
 		@JsonProperty("messages") List<AnthropicMessage> messages,
-		@JsonProperty("system") String system,
+		// serialized by systemPrompt(), as text or as content blocks
+		@JsonProperty(value = "system", access = Access.WRITE_ONLY) String system,
 		@JsonProperty("max_tokens") Integer maxTokens,
 		@JsonProperty("metadata") Metadata metadata,
 		@JsonProperty("stop_sequences") List<String> stopSequences,
@@ -223,9 +237,17 @@ public class AnthropicApi {
 		@JsonProperty("temperature") Float temperature,
 		@JsonProperty("top_p") Float topP,
 		@JsonProperty("top_k") Integer topK,
-		@JsonProperty("tools") List<Tool> tools) {
+		@JsonProperty("tools") List<Tool> tools,
+		@JsonIgnore List<ContentBlock> systemBlocks) {
 		// @formatter:on
 
+		public ChatCompletionRequest(String model, List<AnthropicMessage> messages, String system, Integer maxTokens,
+				Metadata metadata, List<String> stopSequences, Boolean stream, Float temperature, Float topP,
+				Integer topK, List<Tool> tools) {
+			this(model, messages, system, maxTokens, metadata, stopSequences, stream, temperature, topP, topK, tools,
+					null);
+		}
+
 		public ChatCompletionRequest(String model, List<AnthropicMessage> messages, String system, Integer maxTokens,
 				Float temperature, Boolean stream) {
 			this(model, messages, system, maxTokens, null, null, stream, temperature, null, null, null);
@@ -236,6 +258,24 @@ public class AnthropicApi {
 			this(model, messages, system, maxTokens, null, stopSequences, stream, temperature, null, null, null);
 		}
 
+		/**
+		 * @return the system prompt sent, the content blocks when set or else the text.
+		 */
+		@JsonProperty("system")
+		private Object systemPrompt() {
+			return (this.systemBlocks != null) ? this.systemBlocks : this.system;
+		}
+
+		/**
+		 * @return whether a system or message content block marks a cache breakpoint.
+		 */
+		public boolean hasCacheControl() {
+			return Stream
+				.concat(Stream.ofNullable(this.systemBlocks).flatMap(List::stream),
+						Stream.ofNullable(this.messages).flatMap(List::stream).flatMap(m -> m.content().stream()))
+				.anyMatch(block -> block.cacheControl() != null);
+		}
+
 		/**
 		 * @param userId An external identifier for the user who is associated with the
 		 * request. This should be a uuid, hash value, or other opaque identifier.
@@ -279,6 +319,8 @@ public class AnthropicApi {
 
 		private List<Tool> tools;
 
+		private List<ContentBlock> systemBlocks;
+
 		private ChatCompletionRequestBuilder() {
 		}
 
@@ -294,6 +336,7 @@ public class AnthropicApi {
 			this.topP = request.topP;
 			this.topK = request.topK;
 			this.tools = request.tools;
+			this.systemBlocks = request.systemBlocks;
 		}
 
 		public ChatCompletionRequestBuilder withModel(ChatModel model) {
@@ -316,6 +359,16 @@ public class AnthropicApi {
 			return this;
 		}
 
+		/**
+		 * @param systemBlocks the system prompt as text content blocks, for example to
+		 * mark cache breakpoints.
+		 * @return this builder.
+		 */
+		public ChatCompletionRequestBuilder withSystemBlocks(List<ContentBlock> systemBlocks) {
+			this.systemBlocks = systemBlocks;
+			return this;
+		}
+
 		public ChatCompletionRequestBuilder withMaxTokens(Integer maxTokens) {
 			this.maxTokens = maxTokens;
 			return this;
@@ -358,7 +411,7 @@ public class AnthropicApi {
 
 		public ChatCompletionRequest build() {
 			return new ChatCompletionRequest(model, messages, system, maxTokens, metadata, stopSequences, stream,
-					temperature, topP, topK, tools);
+					temperature, topP, topK, tools, systemBlocks);
 		}
 
 	}
@@ -395,6 +448,8 @@ public class AnthropicApi {
 	 * @param text The text of the message. Applicable for "text" types only.
 	 * @param index The index of the content block. Applicable only for streaming
 	 * responses.
+	 * @param cacheControl The prompt caching breakpoint. The prompt prefix ending with
+	 * this content block is cached.
 	 */
 	@JsonInclude(Include.NON_NULL)
 	public record ContentBlock( // @formatter:off
@@ -412,34 +467,51 @@ public class AnthropicApi {
 
 		// tool_result response only
 		@JsonProperty("tool_use_id") String toolUseId,
-		@JsonProperty("content") String content
+		@JsonProperty("content") String content,
+
+		// prompt caching breakpoint, request only
+		@JsonProperty("cache_control") CacheControl cacheControl
 		) {
 		// @formatter:on
 
+		public ContentBlock(ContentBlockType type, Source source, String text, Integer index, String id, String name,
+				Map<String, Object> input, String toolUseId, String content) {
+			this(type, source, text, index, id, name, input, toolUseId, content, null);
+		}
+
 		public ContentBlock(String mediaType, String data) {
 			this(new Source(mediaType, data));
 		}
 
 		public ContentBlock(Source source) {
-			this(ContentBlockType.IMAGE, source, null, null, null, null, null, null, null);
+			this(ContentBlockType.IMAGE, source, null, null, null, null, null, null, null, null);
 		}
 
 		public ContentBlock(String text) {
-			this(ContentBlockType.TEXT, null, text, null, null, null, null, null, null);
+			this(ContentBlockType.TEXT, null, text, null, null, null, null, null, null, null);
 		}
 
 		// Tool result
 		public ContentBlock(ContentBlockType type, String toolUseId, String content) {
-			this(type, null, null, null, null, null, null, toolUseId, content);
+			this(type, null, null, null, null, null, null, toolUseId, content, null);
 		}
 
 		public ContentBlock(ContentBlockType type, Source source, String text, Integer index) {
-			this(type, source, text, index, null, null, null, null, null);
+			this(type, source, text, index, null, null, null, null, null, null);
 		}
 
 		// Tool use input JSON delta streaming
 		public ContentBlock(ContentBlockType type, String id, String name, Map<String, Object> input) {
-			this(type, null, null, null, id, name, input, null, null);
+			this(type, null, null, null, id, name, input, null, null, null);
+		}
+
+		/**
+		 * @param cacheControl the cache control of the content block.
+		 * @return a copy of this content block, with the given cache control.
+		 */
+		public ContentBlock withCacheControl(CacheControl cacheControl) {
+			return new ContentBlock(this.type, this.source, this.text, this.index, this.id, this.name, this.input,
+					this.toolUseId, this.content, cacheControl);
 		}
 
 		/**
@@ -507,6 +579,21 @@ public class AnthropicApi {
 		}
 	}
 
+	/**
+	 * Prompt caching breakpoint of a content block.
+	 *
+	 * @param type The type of cache, only "ephemeral" is supported.
+	 */
+	@JsonInclude(Include.NON_NULL)
+	public record CacheControl(@JsonProperty("type") String type) {
+
+		/**
+		 * The ephemeral cache control, cached for a few minutes.
+		 */
+		public static final CacheControl EPHEMERAL = new CacheControl("ephemeral");
+
+	}
+
 	@JsonInclude(Include.NON_NULL)
 	public record Tool(// @formatter:off
 		@JsonProperty("name") String name,
@@ -546,12 +633,21 @@ public class AnthropicApi {
 	 *
 	 * @param inputTokens The number of input tokens which were used.
 	 * @param outputTokens The number of output tokens which were used. completion).
+	 * @param cacheCreationInputTokens The number of input tokens written to the prompt
+	 * cache.
+	 * @param cacheReadInputTokens The number of input tokens read from the prompt cache.
 	 */
 	@JsonInclude(Include.NON_NULL)
 	public record Usage( // @formatter:off
 		 @JsonProperty("input_tokens") Integer inputTokens,
-		 @JsonProperty("output_tokens") Integer outputTokens) {
+		 @JsonProperty("output_tokens") Integer outputTokens,
+		 @JsonProperty("cache_creation_input_tokens") Integer cacheCreationInputTokens,
+		 @JsonProperty("cache_read_input_tokens") Integer cacheReadInputTokens) {
 		 // @formatter:off
+
+		public Usage(Integer inputTokens, Integer outputTokens) {
+			this(inputTokens, outputTokens, null, null);
+		}
 	}
 
 
@@ -655,7 +751,7 @@ public class AnthropicApi {
 
 		private String name;
 
-		private String partialJson = "";
+		private final StringBuilder partialJson = new StringBuilder();
 
 		private List<ContentBlockStartEvent.ContentBlockToolUse> toolContentBlocks = new ArrayList<>();
 
@@ -689,18 +785,18 @@ public class AnthropicApi {
 		}
 
 		ToolUseAggregationEvent appendPartialJson(String partialJson) {
-			this.partialJson = this.partialJson + partialJson;
+			this.partialJson.append(partialJson);
 			return this;
 		}
 
 		void squashIntoContentBlock() {
 			Map<String, Object> map = (StringUtils.hasText(this.partialJson))
-					? ModelOptionsUtils.jsonToMap(this.partialJson) : Map.of();
+					? ModelOptionsUtils.jsonToMap(this.partialJson.toString()) : Map.of();
 			this.toolContentBlocks.add(new ContentBlockStartEvent.ContentBlockToolUse("tool_use", this.id, this.name, map));
 			this.index = null;
 			this.id = null;
 			this.name = null;
-			this.partialJson = "";
+			this.partialJson.setLength(0);
 		}
 
 		@Override
@@ -855,6 +951,7 @@ public class AnthropicApi {
 
 		return this.restClient.post()
 			.uri("/v1/messages")
+			.headers(headers -> addBetaVersions(headers, chatRequest))
 			.body(chatRequest)
 			.retrieve()
 			.toEntity(ChatCompletionResponse.class);
@@ -879,12 +976,12 @@ public class AnthropicApi {
 
 		return this.webClient.post()
 			.uri("/v1/messages")
+			.headers(headers -> addBetaVersions(headers, chatRequest))
 			.body(Mono.just(chatRequest), ChatCompletionRequest.class)
 			.retrieve()
-			.bodyToFlux(String.class)
-			.takeUntil(SSE_DONE_PREDICATE)
-			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, StreamEvent.class))
+			.bodyToFlux(DataBuffer.class)
+			// decodes the SSE events, up to the "[DONE]" event.
+			.transform(SSE_DECODER::decode)
 			// Detect if the chunk is part of a streaming function call.
 			.map(event -> {
 				if (this.streamHelper.isToolUseStart(event)) {
@@ -900,15 +997,22 @@ public class AnthropicApi {
 				}
 				return !isInsideTool.get();
 			})
-			// Merging the window chunks into a single chunk.
-			.concatMapIterable(window -> {
-				Mono<StreamEvent> monoChunk = window.reduce(new ToolUseAggregationEvent(),
-						this.streamHelper::mergeToolUseEvents);
-				return List.of(monoChunk);
-			})
-			.flatMap(mono -> mono)
+			// Merging the window chunks into a single chunk, the tool use input JSON
+			// being
+			// appended to the aggregation event of the window.
+			.concatMap(window -> window.reduceWith(ToolUseAggregationEvent::new, this.streamHelper::mergeToolUseEvents))
 			.map(event -> streamHelper.eventToChatCompletionResponse(event, chatCompletionReference))
 			.filter(chatCompletionResponse -> chatCompletionResponse.type() != null);
 	}
 
+	/**
+	 * The default headers enable the tools beta only, the prompt caching beta is added to
+	 * the requests marking cache breakpoints.
+	 */
+	private static void addBetaVersions(HttpHeaders headers, ChatCompletionRequest chatRequest) {
+		if (chatRequest.hasCacheControl()) {
+			headers.set(HEADER_ANTHROPIC_BETA, DEFAULT_ANTHROPIC_BETA_VERSION + "," + PROMPT_CACHING_BETA_VERSION);
+		}
+	}
+
 }
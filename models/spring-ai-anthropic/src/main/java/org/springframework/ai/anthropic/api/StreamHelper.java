@@ -176,8 +176,9 @@ public class StreamHelper {
 			}
 
 			if (messageDeltaEvent.usage() != null) {
-				var totalUsage = new Usage(contentBlockReference.get().usage.inputTokens(),
-						messageDeltaEvent.usage().outputTokens());
+				Usage startUsage = contentBlockReference.get().usage;
+				var totalUsage = new Usage(startUsage.inputTokens(), messageDeltaEvent.usage().outputTokens(),
+						startUsage.cacheCreationInputTokens(), startUsage.cacheReadInputTokens());
 				contentBlockReference.get().withUsage(totalUsage);
 			}
 		}
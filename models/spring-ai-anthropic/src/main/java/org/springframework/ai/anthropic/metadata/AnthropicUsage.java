@@ -57,6 +57,18 @@ public class AnthropicUsage implements Usage {
 		return this.getPromptTokens() + this.getGenerationTokens();
 	}
 
+	@Override
+	public Long getCacheReadTokens() {
+		Integer cacheReadTokens = getUsage().cacheReadInputTokens();
+		return (cacheReadTokens != null) ? cacheReadTokens.longValue() : 0L;
+	}
+
+	@Override
+	public Long getCacheWriteTokens() {
+		Integer cacheWriteTokens = getUsage().cacheCreationInputTokens();
+		return (cacheWriteTokens != null) ? cacheWriteTokens.longValue() : 0L;
+	}
+
 	@Override
 	public String toString() {
 		return getUsage().toString();
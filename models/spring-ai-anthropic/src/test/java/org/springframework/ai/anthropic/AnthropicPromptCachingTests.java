@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.anthropic;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.anthropic.api.AnthropicApi;
+import org.springframework.ai.anthropic.api.AnthropicApi.CacheControl;
+import org.springframework.ai.anthropic.api.AnthropicApi.ContentBlock;
+import org.springframework.ai.chat.messages.CacheBreakpoint;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.RetryUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class AnthropicPromptCachingTests {
+
+	private static final String RESPONSE = """
+			{
+				"id": "msg_1",
+				"type": "message",
+				"role": "assistant",
+				"content": [{ "type": "text", "text": "Hello" }],
+				"model": "claude-3-5-sonnet-20240620",
+				"stop_reason": "end_turn",
+				"usage": {
+					"input_tokens": 12,
+					"output_tokens": 5,
+					"cache_creation_input_tokens": 0,
+					"cache_read_input_tokens": 1800
+				}
+			}
+			""";
+
+	@Test
+	void unmarkedSystemMessagesAreJoined() {
+		AnthropicChatModel chatModel = new AnthropicChatModel(new AnthropicApi("TEST"));
+
+		var request = chatModel.createRequest(new Prompt(List.of(new SystemMessage("one"), new SystemMessage("two"))),
+				false);
+
+		assertThat(request.system()).isEqualTo("one" + System.lineSeparator() + "two");
+		assertThat(request.systemBlocks()).isNull();
+		assertThat(request.hasCacheControl()).isFalse();
+	}
+
+	@Test
+	void cacheBreakpointsAreMappedToCacheControl() {
+		AnthropicChatModel chatModel = new AnthropicChatModel(new AnthropicApi("TEST"));
+
+		var request = chatModel.createRequest(new Prompt(List.of(new SystemMessage("instructions"),
+				CacheBreakpoint.mark(new SystemMessage("context")), CacheBreakpoint.mark(new UserMessage("question")))),
+				false);
+
+		assertThat(request.hasCacheControl()).isTrue();
+		assertThat(request.systemBlocks()).containsExactly(new ContentBlock("instructions"),
+				new ContentBlock("context").withCacheControl(CacheControl.EPHEMERAL));
+		assertThat(request.messages().get(0).content())
+			.containsExactly(new ContentBlock("question").withCacheControl(CacheControl.EPHEMERAL));
+	}
+
+	@Test
+	void cachedTokensAreReported() {
+		RestClient.Builder restClientBuilder = RestClient.builder();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restClientBuilder).build();
+		AnthropicApi anthropicApi = new AnthropicApi("http://localhost", "TEST", AnthropicApi.DEFAULT_ANTHROPIC_VERSION,
+				restClientBuilder, RetryUtils.DEFAULT_RESPONSE_ERROR_HANDLER);
+		AnthropicChatModel chatModel = new AnthropicChatModel(anthropicApi);
+
+		server.expect(requestTo("http://localhost/v1/messages"))
+			.andExpect(method(HttpMethod.POST))
+			.andExpect(header("anthropic-beta", containsString("prompt-caching")))
+			.andExpect(jsonPath("$.system[0].text").value("context"))
+			.andExpect(jsonPath("$.system[0].cache_control.type").value("ephemeral"))
+			.andRespond(withSuccess(RESPONSE, MediaType.APPLICATION_JSON));
+
+		ChatResponse response = chatModel
+			.call(new Prompt(List.of(CacheBreakpoint.mark(new SystemMessage("context")), new UserMessage("Hi"))));
+
+		server.verify();
+		Usage usage = response.getMetadata().getUsage();
+		assertThat(usage.getPromptTokens()).isEqualTo(12);
+		assertThat(usage.getCacheReadTokens()).isEqualTo(1800);
+		assertThat(usage.getCacheWriteTokens()).isZero();
+	}
+
+	@Test
+	void requestsWithoutBreakpointsDoNotEnablePromptCaching() {
+		RestClient.Builder restClientBuilder = RestClient.builder();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restClientBuilder).build();
+		AnthropicApi anthropicApi = new AnthropicApi("http://localhost", "TEST", AnthropicApi.DEFAULT_ANTHROPIC_VERSION,
+				restClientBuilder, RetryUtils.DEFAULT_RESPONSE_ERROR_HANDLER);
+		AnthropicChatModel chatModel = new AnthropicChatModel(anthropicApi);
+
+		server.expect(requestTo("http://localhost/v1/messages"))
+			.andExpect(header("anthropic-beta", AnthropicApi.DEFAULT_ANTHROPIC_BETA_VERSION))
+			.andExpect(jsonPath("$.system").value("instructions"))
+			.andExpect(jsonPath("$.temperature").value(0.5))
+			.andRespond(withSuccess(RESPONSE, MediaType.APPLICATION_JSON));
+
+		chatModel.call(new Prompt(List.of(new SystemMessage("instructions"), new UserMessage("Hi")),
+				AnthropicChatOptions.builder().withTemperature(0.5f).build()));
+
+		server.verify();
+	}
+
+}
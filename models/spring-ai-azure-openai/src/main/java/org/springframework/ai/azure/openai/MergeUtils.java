@@ -22,12 +22,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import com.azure.ai.openai.models.AzureChatEnhancements;
 import com.azure.ai.openai.models.AzureChatExtensionsMessageContext;
 import com.azure.ai.openai.models.ChatChoice;
 import com.azure.ai.openai.models.ChatChoiceLogProbabilityInfo;
 import com.azure.ai.openai.models.ChatCompletions;
 import com.azure.ai.openai.models.ChatCompletionsFunctionToolCall;
 import com.azure.ai.openai.models.ChatCompletionsToolCall;
+import com.azure.ai.openai.models.ChatFinishDetails;
 import com.azure.ai.openai.models.ChatResponseMessage;
 import com.azure.ai.openai.models.ChatRole;
 import com.azure.ai.openai.models.CompletionsFinishReason;
@@ -327,4 +329,265 @@ public class MergeUtils {
 		return new FunctionCall(name, arguments);
 	}
 
+	/**
+	 * Mutable accumulator merging a window of streamed ChatCompletions into a single
+	 * ChatCompletions instance. Follows the merge rules of
+	 * {@link #mergeChatCompletions(ChatCompletions, ChatCompletions)}, but appends the
+	 * message contents and the function call arguments to buffers and creates the merged
+	 * instance only once, when {@link #build() built}. Not thread-safe.
+	 */
+	public static class ChatCompletionsAccumulator {
+
+		private int count;
+
+		private ChatCompletions first;
+
+		private String id;
+
+		private OffsetDateTime createdAt;
+
+		private CompletionsUsage usage;
+
+		private List<ContentFilterResultsForPrompt> promptFilterResults = new ArrayList<>();
+
+		private String systemFingerprint;
+
+		private boolean hasChoice;
+
+		private int index;
+
+		private CompletionsFinishReason finishReason;
+
+		private ChatChoiceLogProbabilityInfo logprobs;
+
+		private ContentFilterResultsForChoice contentFilterResults;
+
+		private ChatFinishDetails finishDetails;
+
+		private AzureChatEnhancements enhancements;
+
+		private final MessageBuffer message = new MessageBuffer();
+
+		private final MessageBuffer delta = new MessageBuffer();
+
+		/**
+		 * Add the next ChatCompletions of the stream.
+		 * @param chatCompletions the ChatCompletions to add.
+		 */
+		public void add(ChatCompletions chatCompletions) {
+			Assert.isTrue(this.id != null || chatCompletions.getId() != null, "");
+			if (this.count++ == 0) {
+				this.first = chatCompletions;
+			}
+			this.id = (this.id != null ? this.id : chatCompletions.getId());
+			if (this.createdAt == null || chatCompletions.getCreatedAt().isAfter(this.createdAt)) {
+				this.createdAt = chatCompletions.getCreatedAt();
+			}
+			this.usage = (chatCompletions.getUsage() != null ? chatCompletions.getUsage() : this.usage);
+			this.promptFilterResults = (chatCompletions.getPromptFilterResults() != null
+					? chatCompletions.getPromptFilterResults() : this.promptFilterResults);
+			this.systemFingerprint = (chatCompletions.getSystemFingerprint() != null
+					? chatCompletions.getSystemFingerprint() : this.systemFingerprint);
+
+			if (CollectionUtils.isEmpty(chatCompletions.getChoices())) {
+				return;
+			}
+			ChatChoice choice = chatCompletions.getChoices().get(0);
+			this.index = (this.hasChoice ? Math.max(this.index, choice.getIndex()) : choice.getIndex());
+			this.hasChoice = true;
+			this.finishReason = (this.finishReason != null ? this.finishReason : choice.getFinishReason());
+			this.logprobs = (this.logprobs != null ? this.logprobs : choice.getLogprobs());
+			this.contentFilterResults = (this.contentFilterResults != null ? this.contentFilterResults
+					: choice.getContentFilterResults());
+			this.finishDetails = (this.finishDetails != null ? this.finishDetails : choice.getFinishDetails());
+			this.enhancements = (this.enhancements != null ? this.enhancements : choice.getEnhancements());
+			this.message.add(choice.getMessage());
+			this.delta.add(choice.getDelta());
+		}
+
+		/**
+		 * @return the ChatCompletions merging all the added ones.
+		 */
+		public ChatCompletions build() {
+			if (this.count == 0) {
+				return emptyChatCompletions();
+			}
+			if (this.count == 1) {
+				// Nothing to merge.
+				return this.first;
+			}
+			List<ChatChoice> choices = new ArrayList<>();
+			if (this.hasChoice) {
+				ChatChoice choice = newInstance(chatChoiceConstructorArgumentTypes, ChatChoice.class, this.logprobs,
+						this.index, this.finishReason);
+				setField(choice, "message", this.message.build());
+				setField(choice, "delta", this.delta.build());
+				setField(choice, "contentFilterResults", this.contentFilterResults);
+				setField(choice, "finishDetails", this.finishDetails);
+				setField(choice, "enhancements", this.enhancements);
+				choices = List.of(choice);
+			}
+
+			ChatCompletions instance = newInstance(chatCompletionsConstructorArgumentTypes0, ChatCompletions.class,
+					this.id, this.createdAt, choices, this.usage);
+			setField(instance, "promptFilterResults", this.promptFilterResults);
+			setField(instance, "systemFingerprint", this.systemFingerprint);
+			return instance;
+		}
+
+	}
+
+	/**
+	 * The fragments of a streamed ChatResponseMessage.
+	 */
+	private static class MessageBuffer {
+
+		private boolean present;
+
+		private ChatRole role;
+
+		private StringBuilder content;
+
+		private List<ToolCallBuffer> toolCalls;
+
+		private FunctionCallBuffer functionCall;
+
+		private AzureChatExtensionsMessageContext context;
+
+		void add(ChatResponseMessage message) {
+			if (message == null) {
+				return;
+			}
+			this.present = true;
+			this.role = (this.role != null ? this.role : message.getRole());
+			if (message.getContent() != null) {
+				if (this.content == null) {
+					this.content = new StringBuilder(message.getContent());
+				}
+				else {
+					this.content.append(message.getContent());
+				}
+			}
+			if (!CollectionUtils.isEmpty(message.getToolCalls())) {
+				if (this.toolCalls == null) {
+					// The first tool calls are all kept.
+					this.toolCalls = new ArrayList<>();
+					for (ChatCompletionsToolCall toolCall : message.getToolCalls()) {
+						this.toolCalls.add(new ToolCallBuffer(toolCall));
+					}
+				}
+				else {
+					ChatCompletionsToolCall toolCall = message.getToolCalls().get(0);
+					if (toolCall.getId() == null && !this.toolCalls.isEmpty()) {
+						this.toolCalls.get(this.toolCalls.size() - 1).append(toolCall);
+					}
+					else {
+						this.toolCalls.add(new ToolCallBuffer(toolCall));
+					}
+				}
+			}
+			if (message.getFunctionCall() != null) {
+				if (this.functionCall == null) {
+					this.functionCall = new FunctionCallBuffer(message.getFunctionCall());
+				}
+				else {
+					this.functionCall.append(message.getFunctionCall());
+				}
+			}
+			this.context = (this.context != null ? this.context : message.getContext());
+		}
+
+		ChatResponseMessage build() {
+			if (!this.present) {
+				return null;
+			}
+			ChatResponseMessage instance = newInstance(chatResponseMessageConstructorArgumentTypes,
+					ChatResponseMessage.class, this.role, (this.content != null ? this.content.toString() : null));
+			List<ChatCompletionsToolCall> mergedToolCalls = new ArrayList<>();
+			if (this.toolCalls != null) {
+				for (ToolCallBuffer toolCall : this.toolCalls) {
+					mergedToolCalls.add(toolCall.build());
+				}
+			}
+			setField(instance, "toolCalls", mergedToolCalls);
+			setField(instance, "functionCall", (this.functionCall != null ? this.functionCall.build() : null));
+			setField(instance, "context", this.context);
+			return instance;
+		}
+
+	}
+
+	/**
+	 * The fragments of a streamed ChatCompletionsToolCall.
+	 */
+	private static class ToolCallBuffer {
+
+		private final ChatCompletionsToolCall first;
+
+		private String id;
+
+		private FunctionCallBuffer function;
+
+		ToolCallBuffer(ChatCompletionsToolCall toolCall) {
+			this.first = toolCall;
+			this.id = toolCall.getId();
+		}
+
+		void append(ChatCompletionsToolCall toolCall) {
+			Assert.isTrue(Objects.equals(this.first.getType(), toolCall.getType()),
+					"Cannot merge different type of AccessibleChatCompletionsToolCall");
+			if (!"function".equals(toolCall.getType())) {
+				throw new UnsupportedOperationException("Only function chat completion tool is supported");
+			}
+			if (this.function == null) {
+				this.function = new FunctionCallBuffer(((ChatCompletionsFunctionToolCall) this.first).getFunction());
+			}
+			this.id = (this.id != null ? this.id : toolCall.getId());
+			this.function.append(((ChatCompletionsFunctionToolCall) toolCall).getFunction());
+		}
+
+		ChatCompletionsToolCall build() {
+			if (this.function == null) {
+				// Never merged.
+				return this.first;
+			}
+			return new ChatCompletionsFunctionToolCall(this.id, this.function.build());
+		}
+
+	}
+
+	/**
+	 * The fragments of a streamed FunctionCall.
+	 */
+	private static class FunctionCallBuffer {
+
+		private String name;
+
+		private StringBuilder arguments;
+
+		FunctionCallBuffer(FunctionCall functionCall) {
+			this.name = functionCall.getName();
+			if (functionCall.getArguments() != null) {
+				this.arguments = new StringBuilder(functionCall.getArguments());
+			}
+		}
+
+		void append(FunctionCall functionCall) {
+			this.name = (this.name != null ? this.name : functionCall.getName());
+			if (functionCall.getArguments() != null) {
+				if (this.arguments == null) {
+					this.arguments = new StringBuilder(functionCall.getArguments());
+				}
+				else {
+					this.arguments.append(functionCall.getArguments());
+				}
+			}
+		}
+
+		FunctionCall build() {
+			return new FunctionCall(this.name, (this.arguments != null ? this.arguments.toString() : null));
+		}
+
+	}
+
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.bedrock.anthropic3;
+
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Usage} implementation for the Bedrock Anthropic 3 API, including the prompt
+ * cache tokens.
+ *
+ * @since 1.0.0
+ */
+public class Anthropic3Usage implements Usage {
+
+	public static Anthropic3Usage from(AnthropicUsage usage) {
+		return new Anthropic3Usage(usage);
+	}
+
+	private final AnthropicUsage usage;
+
+	protected Anthropic3Usage(AnthropicUsage usage) {
+		Assert.notNull(usage, "AnthropicUsage must not be null");
+		this.usage = usage;
+	}
+
+	protected AnthropicUsage getUsage() {
+		return this.usage;
+	}
+
+	@Override
+	public Long getPromptTokens() {
+		return toLong(getUsage().inputTokens());
+	}
+
+	@Override
+	public Long getGenerationTokens() {
+		return toLong(getUsage().outputTokens());
+	}
+
+	@Override
+	public Long getCacheReadTokens() {
+		return toLong(getUsage().cacheReadInputTokens());
+	}
+
+	@Override
+	public Long getCacheWriteTokens() {
+		return toLong(getUsage().cacheCreationInputTokens());
+	}
+
+	private static Long toLong(Integer tokens) {
+		return (tokens != null) ? tokens.longValue() : 0L;
+	}
+
+	@Override
+	public String toString() {
+		return getUsage().toString();
+	}
+
+}
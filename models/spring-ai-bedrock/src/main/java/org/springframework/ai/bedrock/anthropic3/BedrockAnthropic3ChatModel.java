@@ -27,6 +27,8 @@ import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi;
 import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatRequest;
 import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatResponse;
 import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatStreamingResponse.StreamingType;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicUsage;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.CacheControl;
 import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.ChatCompletionMessage;
 import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.ChatCompletionMessage.Role;
 import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.MediaContent;
@@ -34,9 +36,13 @@ import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.model.StreamingChatModel;
+import org.springframework.ai.chat.messages.CacheBreakpoint;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.MessageType;
 import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.EmptyUsage;
+import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.model.ModelOptionsUtils;
@@ -78,7 +84,8 @@ public class BedrockAnthropic3ChatModel implements ChatModel, StreamingChatModel
 
 		AnthropicChatResponse response = this.anthropicChatApi.chatCompletion(request);
 
-		return new ChatResponse(List.of(new Generation(response.content().get(0).text())));
+		return new ChatResponse(List.of(new Generation(response.content().get(0).text())),
+				toMetadata(response, response.usage()));
 	}
 
 	@Override
@@ -89,25 +96,36 @@ public class BedrockAnthropic3ChatModel implements ChatModel, StreamingChatModel
 		Flux<Anthropic3ChatBedrockApi.AnthropicChatStreamingResponse> fluxResponse = this.anthropicChatApi
 			.chatCompletionStream(request);
 
-		AtomicReference<Integer> inputTokens = new AtomicReference<>(0);
+		AtomicReference<AnthropicChatResponse> message = new AtomicReference<>();
 		return fluxResponse.map(response -> {
 			if (response.type() == StreamingType.MESSAGE_START) {
-				inputTokens.set(response.message().usage().inputTokens());
+				message.set(response.message());
 			}
 			String content = response.type() == StreamingType.CONTENT_BLOCK_DELTA ? response.delta().text() : "";
 
 			var generation = new Generation(content);
 
 			if (response.type() == StreamingType.MESSAGE_DELTA) {
-				generation = generation.withGenerationMetadata(ChatGenerationMetadata
-					.from(response.delta().stopReason(), new Anthropic3ChatBedrockApi.AnthropicUsage(inputTokens.get(),
-							response.usage().outputTokens())));
+				AnthropicUsage inputUsage = (message.get() != null && message.get().usage() != null)
+						? message.get().usage() : new AnthropicUsage(0, 0);
+				AnthropicUsage usage = new AnthropicUsage(inputUsage.inputTokens(), response.usage().outputTokens(),
+						inputUsage.cacheCreationInputTokens(), inputUsage.cacheReadInputTokens());
+				generation = generation
+					.withGenerationMetadata(ChatGenerationMetadata.from(response.delta().stopReason(), usage));
+				return new ChatResponse(List.of(generation), toMetadata(message.get(), usage));
 			}
 
 			return new ChatResponse(List.of(generation));
 		});
 	}
 
+	private static ChatResponseMetadata toMetadata(AnthropicChatResponse message, AnthropicUsage usage) {
+		String id = (message != null) ? message.id() : null;
+		String model = (message != null) ? message.model() : null;
+		return new Anthropic3ChatResponseMetadata(id, model,
+				(usage != null) ? Anthropic3Usage.from(usage) : new EmptyUsage());
+	}
+
 	/**
 	 * Accessible for testing.
 	 */
@@ -127,6 +145,13 @@ public class BedrockAnthropic3ChatModel implements ChatModel, StreamingChatModel
 			request = ModelOptionsUtils.merge(updatedRuntimeOptions, request, AnthropicChatRequest.class);
 		}
 
+		List<MediaContent> cachedSystemContext = toCachedAnthropicSystemContext(prompt);
+		if (cachedSystemContext != null) {
+			request = new AnthropicChatRequest(request.messages(), request.system(), request.temperature(),
+					request.maxTokens(), request.topK(), request.topP(), request.stopSequences(),
+					request.anthropicVersion(), cachedSystemContext);
+		}
+
 		return request;
 	}
 
@@ -144,6 +169,30 @@ public class BedrockAnthropic3ChatModel implements ChatModel, StreamingChatModel
 			.collect(Collectors.joining(System.lineSeparator()));
 	}
 
+	/**
+	 * Extracts system context from prompt as text contents, when some of the system
+	 * messages are marked as {@link CacheBreakpoint cache breakpoints}.
+	 * @param prompt The prompt.
+	 * @return The system context contents, or {@code null} if no system message is
+	 * marked.
+	 */
+	private List<MediaContent> toCachedAnthropicSystemContext(Prompt prompt) {
+
+		List<Message> systemMessages = prompt.getInstructions()
+			.stream()
+			.filter(m -> m.getMessageType() == MessageType.SYSTEM)
+			.toList();
+
+		if (systemMessages.stream().noneMatch(CacheBreakpoint::isMarked)) {
+			return null;
+		}
+
+		return systemMessages.stream().map(m -> {
+			MediaContent content = new MediaContent(m.getContent());
+			return CacheBreakpoint.isMarked(m) ? content.withCacheControl(CacheControl.EPHEMERAL) : content;
+		}).toList();
+	}
+
 	/**
 	 * Extracts list of messages from prompt.
 	 * @param prompt The prompt.
@@ -164,6 +213,11 @@ public class BedrockAnthropic3ChatModel implements ChatModel, StreamingChatModel
 						.toList();
 					contents.addAll(mediaContent);
 				}
+				if (CacheBreakpoint.isMarked(message)) {
+					// The cached prefix ends with the last content of the message.
+					int last = contents.size() - 1;
+					contents.set(last, contents.get(last).withCacheControl(CacheControl.EPHEMERAL));
+				}
 				return new ChatCompletionMessage(contents, Role.valueOf(message.getMessageType().name()));
 			})
 			.toList();
@@ -186,4 +240,38 @@ public class BedrockAnthropic3ChatModel implements ChatModel, StreamingChatModel
 		return Anthropic3ChatOptions.fromOptions(this.defaultOptions);
 	}
 
+	/**
+	 * The response metadata, providing the id, the model and the usage of the message.
+	 */
+	private static final class Anthropic3ChatResponseMetadata extends ChatResponseMetadata.DefaultChatResponseMetadata {
+
+		private final String id;
+
+		private final String model;
+
+		private final Usage usage;
+
+		Anthropic3ChatResponseMetadata(String id, String model, Usage usage) {
+			this.id = id;
+			this.model = model;
+			this.usage = usage;
+		}
+
+		@Override
+		public String getId() {
+			return (this.id != null) ? this.id : "";
+		}
+
+		@Override
+		public String getModel() {
+			return (this.model != null) ? this.model : "";
+		}
+
+		@Override
+		public Usage getUsage() {
+			return this.usage;
+		}
+
+	}
+
 }
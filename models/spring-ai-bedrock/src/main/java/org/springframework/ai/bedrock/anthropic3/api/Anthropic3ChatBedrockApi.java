@@ -15,9 +15,11 @@
  */
 package org.springframework.ai.bedrock.anthropic3.api;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatRequest;
 import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatResponse;
@@ -141,17 +143,34 @@ public class Anthropic3ChatBedrockApi extends
 	 * @param stopSequences (defaults to "\n\nHuman:") Configure up to four sequences that the model recognizes. After a
 	 * stop sequence, the model stops generating further tokens. The returned text doesn't contain the stop sequence.
 	 * @param anthropicVersion The version of the model to use. The default value is bedrock-2023-05-31.
+	 * @param systemContents The system prompt as text contents, for example to mark cache breakpoints. Sent as the
+	 * system prompt instead of the text one when set.
 	 */
 	@JsonInclude(Include.NON_NULL)
 	public record AnthropicChatRequest(
 			@JsonProperty("messages") List<ChatCompletionMessage> messages,
-			@JsonProperty("system") String system,
+			// serialized by systemPrompt(), as text or as contents
+			@JsonProperty(value = "system", access = Access.WRITE_ONLY) String system,
 			@JsonProperty("temperature") Float temperature,
 			@JsonProperty("max_tokens") Integer maxTokens,
 			@JsonProperty("top_k") Integer topK,
 			@JsonProperty("top_p") Float topP,
 			@JsonProperty("stop_sequences") List<String> stopSequences,
-			@JsonProperty("anthropic_version") String anthropicVersion) {
+			@JsonProperty("anthropic_version") String anthropicVersion,
+			@JsonIgnore List<MediaContent> systemContents) {
+
+		public AnthropicChatRequest(List<ChatCompletionMessage> messages, String system, Float temperature,
+				Integer maxTokens, Integer topK, Float topP, List<String> stopSequences, String anthropicVersion) {
+			this(messages, system, temperature, maxTokens, topK, topP, stopSequences, anthropicVersion, null);
+		}
+
+		/**
+		 * @return the system prompt sent, the contents when set or else the text.
+		 */
+		@JsonProperty("system")
+		private Object systemPrompt() {
+			return (this.systemContents != null) ? this.systemContents : this.system;
+		}
 
 		public static Builder builder(List<ChatCompletionMessage> messages) {
 			return new Builder(messages);
@@ -166,6 +185,7 @@ public class Anthropic3ChatBedrockApi extends
 			private Float topP;
 			private List<String> stopSequences;
 			private String anthropicVersion;
+			private List<MediaContent> systemContents;
 
 			private Builder(List<ChatCompletionMessage> messages) {
 				this.messages = messages;
@@ -175,6 +195,16 @@ public class Anthropic3ChatBedrockApi extends
 				this.system = system;
 				return this;
 			}
+
+			/**
+			 * @param systemContents the system prompt as text contents, for example to mark cache breakpoints.
+			 * @return this builder.
+			 */
+			public Builder withSystemContents(List<MediaContent> systemContents) {
+				this.systemContents = systemContents;
+				return this;
+			}
+
 			public Builder withTemperature(Float temperature) {
 				this.temperature = temperature;
 				return this;
@@ -214,7 +244,8 @@ public class Anthropic3ChatBedrockApi extends
 						topK,
 						topP,
 						stopSequences,
-						anthropicVersion
+						anthropicVersion,
+						systemContents
 				);
 			}
 		}
@@ -226,16 +257,23 @@ public class Anthropic3ChatBedrockApi extends
 	 * @param text The text of the message. Applicable for "text" types only.
 	 * @param index The index of the content block. Applicable only for streaming
 	 * responses.
+	 * @param cacheControl The prompt caching breakpoint. The prompt prefix ending with
+	 * this content is cached.
 	 */
 	@JsonInclude(Include.NON_NULL)
 	public record MediaContent( // @formatter:off
 		@JsonProperty("type") Type type,
 		@JsonProperty("source") Source source,
 		@JsonProperty("text") String text,
-		@JsonProperty("index") Integer index // applicable only for streaming responses.
+		@JsonProperty("index") Integer index, // applicable only for streaming responses.
+		@JsonProperty("cache_control") CacheControl cacheControl // request only.
 		) {
 		// @formatter:on
 
+		public MediaContent(Type type, Source source, String text, Integer index) {
+			this(type, source, text, index, null);
+		}
+
 		public MediaContent(String mediaType, String data) {
 			this(new Source(mediaType, data));
 		}
@@ -248,6 +286,14 @@ public class Anthropic3ChatBedrockApi extends
 			this(Type.TEXT, null, text, null);
 		}
 
+		/**
+		 * @param cacheControl the cache control of the content.
+		 * @return a copy of this content, with the given cache control.
+		 */
+		public MediaContent withCacheControl(CacheControl cacheControl) {
+			return new MediaContent(this.type, this.source, this.text, this.index, cacheControl);
+		}
+
 		/**
 		 * The type of this message.
 		 */
@@ -288,6 +334,21 @@ public class Anthropic3ChatBedrockApi extends
 		}
 	}
 
+	/**
+	 * Prompt caching breakpoint of a content.
+	 *
+	 * @param type The type of cache, only "ephemeral" is supported.
+	 */
+	@JsonInclude(Include.NON_NULL)
+	public record CacheControl(@JsonProperty("type") String type) {
+
+		/**
+		 * The ephemeral cache control, cached for a few minutes.
+		 */
+		public static final CacheControl EPHEMERAL = new CacheControl("ephemeral");
+
+	}
+
 	/**
 	 * Message comprising the conversation.
 	 *
@@ -324,10 +385,19 @@ public class Anthropic3ChatBedrockApi extends
 	 *
 	 * @param inputTokens The number of tokens in the input prompt.
 	 * @param outputTokens The number of tokens in the generated text.
+	 * @param cacheCreationInputTokens The number of input tokens written to the prompt
+	 * cache.
+	 * @param cacheReadInputTokens The number of input tokens read from the prompt cache.
 	 */
 	@JsonInclude(Include.NON_NULL)
 	public record AnthropicUsage(@JsonProperty("input_tokens") Integer inputTokens,
-			@JsonProperty("output_tokens") Integer outputTokens) {
+			@JsonProperty("output_tokens") Integer outputTokens,
+			@JsonProperty("cache_creation_input_tokens") Integer cacheCreationInputTokens,
+			@JsonProperty("cache_read_input_tokens") Integer cacheReadInputTokens) {
+
+		public AnthropicUsage(Integer inputTokens, Integer outputTokens) {
+			this(inputTokens, outputTokens, null, null);
+		}
 	}
 
 	/**
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.bedrock.anthropic3;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import software.amazon.awssdk.regions.Region;
+
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatModel;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatRequest;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatResponse;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatStreamingResponse;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatStreamingResponse.Delta;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatStreamingResponse.StreamingType;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicUsage;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.MediaContent;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the response metadata of {@link BedrockAnthropic3ChatModel}.
+ */
+public class BedrockAnthropic3ChatModelTests {
+
+	private static final AnthropicChatResponse MESSAGE = new AnthropicChatResponse("msg-1", "claude-3", "message",
+			"assistant", List.of(new MediaContent("Hello")), "end_turn", null, new AnthropicUsage(100, 5, 80, 20),
+			null);
+
+	private final Anthropic3ChatBedrockApi anthropicChatApi = new Anthropic3ChatBedrockApi(
+			AnthropicChatModel.CLAUDE_V3_SONNET.id(), Region.EU_CENTRAL_1.id(), Duration.ofMillis(1000L)) {
+
+		@Override
+		public AnthropicChatResponse chatCompletion(AnthropicChatRequest anthropicRequest) {
+			return MESSAGE;
+		}
+
+		@Override
+		public Flux<AnthropicChatStreamingResponse> chatCompletionStream(AnthropicChatRequest anthropicRequest) {
+			return Flux.just(
+					new AnthropicChatStreamingResponse(StreamingType.MESSAGE_START, MESSAGE, null, null, null, null,
+							null),
+					new AnthropicChatStreamingResponse(StreamingType.CONTENT_BLOCK_DELTA, null, 0, null,
+							new Delta("text_delta", "Hello", null, null), null, null),
+					new AnthropicChatStreamingResponse(StreamingType.MESSAGE_DELTA, null, null, null,
+							new Delta(null, null, "end_turn", null), new AnthropicUsage(null, 7), null));
+		}
+
+	};
+
+	private final BedrockAnthropic3ChatModel chatModel = new BedrockAnthropic3ChatModel(this.anthropicChatApi);
+
+	@Test
+	public void callResponseMetadataIncludesTheCacheTokens() {
+
+		ChatResponse response = this.chatModel.call(new Prompt("Hi"));
+
+		assertThat(response.getMetadata().getId()).isEqualTo("msg-1");
+		assertThat(response.getMetadata().getModel()).isEqualTo("claude-3");
+		Usage usage = response.getMetadata().getUsage();
+		assertThat(usage.getPromptTokens()).isEqualTo(100L);
+		assertThat(usage.getGenerationTokens()).isEqualTo(5L);
+		assertThat(usage.getCacheWriteTokens()).isEqualTo(80L);
+		assertThat(usage.getCacheReadTokens()).isEqualTo(20L);
+	}
+
+	@Test
+	public void streamResponseMetadataIncludesTheCacheTokens() {
+
+		List<ChatResponse> responses = this.chatModel.stream(new Prompt("Hi")).collectList().block();
+
+		assertThat(responses).hasSize(3);
+		ChatResponse last = responses.get(2);
+		assertThat(last.getMetadata().getId()).isEqualTo("msg-1");
+		Usage usage = last.getMetadata().getUsage();
+		assertThat(usage.getPromptTokens()).isEqualTo(100L);
+		assertThat(usage.getGenerationTokens()).isEqualTo(7L);
+		assertThat(usage.getCacheWriteTokens()).isEqualTo(80L);
+		assertThat(usage.getCacheReadTokens()).isEqualTo(20L);
+	}
+
+}
@@ -18,7 +18,13 @@ package org.springframework.ai.bedrock.anthropic3;
 import org.junit.jupiter.api.Test;
 import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi;
 import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.AnthropicChatModel;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.CacheControl;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi.MediaContent;
+import org.springframework.ai.chat.messages.CacheBreakpoint;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.ModelOptionsUtils;
 import software.amazon.awssdk.regions.Region;
 
 import java.time.Duration;
@@ -77,4 +83,30 @@ public class BedrockAnthropic3CreateRequestTests {
 		assertThat(request.stopSequences()).containsExactly("stop3", "stop4");
 	}
 
+	@Test
+	public void createRequestWithCacheBreakpoints() {
+
+		var client = new BedrockAnthropic3ChatModel(anthropicChatApi);
+
+		var request = client.createRequest(new Prompt(List.of(new SystemMessage("Instructions"),
+				CacheBreakpoint.mark(new SystemMessage("Reference document")), new UserMessage("Question"))));
+
+		assertThat(request.system()).isEqualTo("Instructions" + System.lineSeparator() + "Reference document");
+		List<MediaContent> system = request.systemContents();
+		assertThat(system).extracting(MediaContent::text).containsExactly("Instructions", "Reference document");
+		assertThat(system).extracting(MediaContent::cacheControl).containsExactly(null, CacheControl.EPHEMERAL);
+		assertThat(ModelOptionsUtils.toJsonString(request)).contains(
+				"\"system\":[{\"type\":\"text\",\"text\":\"Instructions\"},{\"type\":\"text\",\"text\":\"Reference document\",\"cache_control\":{\"type\":\"ephemeral\"}}]");
+		assertThat(request.messages().get(0).content().get(0).cacheControl()).isNull();
+
+		request = client.createRequest(new Prompt(List.of(new SystemMessage("Instructions"),
+				CacheBreakpoint.mark(new UserMessage("Long document")), new UserMessage("Question"))));
+
+		assertThat(request.system()).isEqualTo("Instructions");
+		assertThat(request.systemContents()).isNull();
+		assertThat(ModelOptionsUtils.toJsonString(request)).contains("\"system\":\"Instructions\"");
+		assertThat(request.messages().get(0).content().get(0).cacheControl()).isEqualTo(CacheControl.EPHEMERAL);
+		assertThat(request.messages().get(1).content().get(0).cacheControl()).isNull();
+	}
+
 }
@@ -36,6 +36,7 @@ import org.springframework.ai.minimax.api.MiniMaxApi.FunctionTool;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.model.function.AbstractFunctionCallSupport;
 import org.springframework.ai.model.function.FunctionCallbackContext;
+import org.springframework.ai.retry.ReactiveRetry;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
@@ -77,6 +78,11 @@ public class MiniMaxChatModel extends
 	 */
 	public final RetryTemplate retryTemplate;
 
+	/**
+	 * The retry of the streaming API calls.
+	 */
+	private ReactiveRetry streamRetry = RetryUtils.DEFAULT_REACTIVE_RETRY;
+
 	/**
 	 * Low-level access to the MiniMax API.
 	 */
@@ -122,6 +128,15 @@ public class MiniMaxChatModel extends
 		this.retryTemplate = retryTemplate;
 	}
 
+	/**
+	 * @param streamRetry the retry of the streaming API calls, before their first
+	 * response. Defaults to {@link RetryUtils#DEFAULT_REACTIVE_RETRY}.
+	 */
+	public void setStreamRetry(ReactiveRetry streamRetry) {
+		Assert.notNull(streamRetry, "StreamRetry must not be null");
+		this.streamRetry = streamRetry;
+	}
+
 	@Override
 	public ChatResponse call(Prompt prompt) {
 
@@ -169,47 +184,46 @@ public class MiniMaxChatModel extends
 
 		ChatCompletionRequest request = createRequest(prompt, true);
 
-		return this.retryTemplate.execute(ctx -> {
+		Flux<ChatCompletionChunk> completionChunks = this.streamRetry
+			.execute(() -> this.miniMaxApi.chatCompletionStream(request));
+
+		// For chunked responses, only the first chunk contains the choice role.
+		// The rest of the chunks with same ID share the same role.
+		ConcurrentHashMap<String, String> roleMap = new ConcurrentHashMap<>();
+
+		// Convert the ChatCompletionChunk into a ChatCompletion to be able to reuse
+		// the function call handling logic.
+		return completionChunks.map(this::chunkToChatCompletion).map(chatCompletion -> {
+			try {
+				chatCompletion = handleFunctionCallOrReturn(request, ResponseEntity.of(Optional.of(chatCompletion)))
+					.getBody();
+
+				@SuppressWarnings("null")
+				String id = chatCompletion.id();
+
+				List<Generation> generations = chatCompletion.choices().stream().map(choice -> {
+					if (choice.message().role() != null) {
+						roleMap.putIfAbsent(id, choice.message().role().name());
+					}
+					String finish = (choice.finishReason() != null ? choice.finishReason().name() : "");
+					var generation = new Generation(choice.message().content(),
+							Map.of("id", id, "role", roleMap.get(id), "finishReason", finish));
+					if (choice.finishReason() != null) {
+						generation = generation
+							.withGenerationMetadata(ChatGenerationMetadata.from(choice.finishReason().name(), null));
+					}
+					return generation;
+				}).toList();
+
+				return new ChatResponse(generations);
+			}
+			catch (Exception e) {
+				logger.error("Error processing chat completion", e);
+				return new ChatResponse(List.of());
+			}
 
-			Flux<ChatCompletionChunk> completionChunks = this.miniMaxApi.chatCompletionStream(request);
-
-			// For chunked responses, only the first chunk contains the choice role.
-			// The rest of the chunks with same ID share the same role.
-			ConcurrentHashMap<String, String> roleMap = new ConcurrentHashMap<>();
-
-			// Convert the ChatCompletionChunk into a ChatCompletion to be able to reuse
-			// the function call handling logic.
-			return completionChunks.map(this::chunkToChatCompletion).map(chatCompletion -> {
-				try {
-					chatCompletion = handleFunctionCallOrReturn(request, ResponseEntity.of(Optional.of(chatCompletion)))
-						.getBody();
-
-					@SuppressWarnings("null")
-					String id = chatCompletion.id();
-
-					List<Generation> generations = chatCompletion.choices().stream().map(choice -> {
-						if (choice.message().role() != null) {
-							roleMap.putIfAbsent(id, choice.message().role().name());
-						}
-						String finish = (choice.finishReason() != null ? choice.finishReason().name() : "");
-						var generation = new Generation(choice.message().content(),
-								Map.of("id", id, "role", roleMap.get(id), "finishReason", finish));
-						if (choice.finishReason() != null) {
-							generation = generation.withGenerationMetadata(
-									ChatGenerationMetadata.from(choice.finishReason().name(), null));
-						}
-						return generation;
-					}).toList();
-
-					return new ChatResponse(generations);
-				}
-				catch (Exception e) {
-					logger.error("Error processing chat completion", e);
-					return new ChatResponse(List.of());
-				}
-
-			});
 		});
+
 	}
 
 	/**
@@ -291,20 +305,16 @@ public class MiniMaxChatModel extends
 
 		// Every tool-call item requires a separate function call and a response (TOOL)
 		// message.
-		for (ToolCall toolCall : responseMessage.toolCalls()) {
-
-			var functionName = toolCall.function().name();
-			String functionArguments = toolCall.function().arguments();
-
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
+		List<ToolCall> toolCalls = responseMessage.toolCalls();
+		List<String> functionResponses = callFunctions(toolCalls, toolCall -> toolCall.function().name(),
+				toolCall -> toolCall.function().arguments());
 
-			String functionResponse = this.functionCallbackRegister.get(functionName).call(functionArguments);
+		for (int i = 0; i < toolCalls.size(); i++) {
+			ToolCall toolCall = toolCalls.get(i);
 
 			// Add the function response to the conversation.
-			conversationHistory
-				.add(new ChatCompletionMessage(functionResponse, Role.TOOL, functionName, toolCall.id(), null));
+			conversationHistory.add(new ChatCompletionMessage(functionResponses.get(i), Role.TOOL,
+					toolCall.function().name(), toolCall.id(), null));
 		}
 
 		// Recursively call chatCompletionWithTools until the model doesn't call a
@@ -34,6 +34,7 @@ import org.springframework.ai.mistralai.metadata.MistralAiChatResponseMetadata;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.model.function.AbstractFunctionCallSupport;
 import org.springframework.ai.model.function.FunctionCallbackContext;
+import org.springframework.ai.retry.ReactiveRetry;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
@@ -75,6 +76,11 @@ public class MistralAiChatModel extends
 
 	private final RetryTemplate retryTemplate;
 
+	/**
+	 * The retry of the streaming API calls.
+	 */
+	private ReactiveRetry streamRetry = RetryUtils.DEFAULT_REACTIVE_RETRY;
+
 	public MistralAiChatModel(MistralAiApi mistralAiApi) {
 		this(mistralAiApi,
 				MistralAiChatOptions.builder()
@@ -100,6 +106,15 @@ public class MistralAiChatModel extends
 		this.retryTemplate = retryTemplate;
 	}
 
+	/**
+	 * @param streamRetry the retry of the streaming API calls, before their first
+	 * response. Defaults to {@link RetryUtils#DEFAULT_REACTIVE_RETRY}.
+	 */
+	public void setStreamRetry(ReactiveRetry streamRetry) {
+		Assert.notNull(streamRetry, "StreamRetry must not be null");
+		this.streamRetry = streamRetry;
+	}
+
 	@Override
 	public ChatResponse call(Prompt prompt) {
 		var request = createRequest(prompt, false);
@@ -142,38 +157,35 @@ public class MistralAiChatModel extends
 	public Flux<ChatResponse> stream(Prompt prompt) {
 		var request = createRequest(prompt, true);
 
-		return retryTemplate.execute(ctx -> {
+		var completionChunks = this.streamRetry.execute(() -> this.mistralAiApi.chatCompletionStream(request));
+
+		// For chunked responses, only the first chunk contains the choice role.
+		// The rest of the chunks with same ID share the same role.
+		ConcurrentHashMap<String, String> roleMap = new ConcurrentHashMap<>();
+
+		return completionChunks.map(chunk -> toChatCompletion(chunk))
+			.switchMap(cc -> handleFunctionCallOrReturnStream(request, Flux.just(ResponseEntity.of(Optional.of(cc)))))
+			.map(ResponseEntity::getBody)
+			.map(chatCompletion -> {
+				@SuppressWarnings("null")
+				String id = chatCompletion.id();
+
+				List<Generation> generations = chatCompletion.choices().stream().map(choice -> {
+					if (choice.message().role() != null) {
+						roleMap.putIfAbsent(id, choice.message().role().name());
+					}
+					String finish = (choice.finishReason() != null ? choice.finishReason().name() : "");
+					var generation = new Generation(choice.message().content(),
+							Map.of("id", id, "role", roleMap.get(id), "finishReason", finish));
+					if (choice.finishReason() != null) {
+						generation = generation
+							.withGenerationMetadata(ChatGenerationMetadata.from(choice.finishReason().name(), null));
+					}
+					return generation;
+				}).toList();
+				return new ChatResponse(generations);
+			});
 
-			var completionChunks = this.mistralAiApi.chatCompletionStream(request);
-
-			// For chunked responses, only the first chunk contains the choice role.
-			// The rest of the chunks with same ID share the same role.
-			ConcurrentHashMap<String, String> roleMap = new ConcurrentHashMap<>();
-
-			return completionChunks.map(chunk -> toChatCompletion(chunk))
-				.switchMap(
-						cc -> handleFunctionCallOrReturnStream(request, Flux.just(ResponseEntity.of(Optional.of(cc)))))
-				.map(ResponseEntity::getBody)
-				.map(chatCompletion -> {
-					@SuppressWarnings("null")
-					String id = chatCompletion.id();
-
-					List<Generation> generations = chatCompletion.choices().stream().map(choice -> {
-						if (choice.message().role() != null) {
-							roleMap.putIfAbsent(id, choice.message().role().name());
-						}
-						String finish = (choice.finishReason() != null ? choice.finishReason().name() : "");
-						var generation = new Generation(choice.message().content(),
-								Map.of("id", id, "role", roleMap.get(id), "finishReason", finish));
-						if (choice.finishReason() != null) {
-							generation = generation.withGenerationMetadata(
-									ChatGenerationMetadata.from(choice.finishReason().name(), null));
-						}
-						return generation;
-					}).toList();
-					return new ChatResponse(generations);
-				});
-		});
 	}
 
 	private ChatCompletion toChatCompletion(ChatCompletionChunk chunk) {
@@ -248,21 +260,16 @@ public class MistralAiChatModel extends
 
 		// Every tool-call item requires a separate function call and a response (TOOL)
 		// message.
-		for (ToolCall toolCall : responseMessage.toolCalls()) {
-
-			String id = toolCall.id();
-			String functionName = toolCall.function().name();
-			String functionArguments = toolCall.function().arguments();
-
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
+		List<ToolCall> toolCalls = responseMessage.toolCalls();
+		List<String> functionResponses = callFunctions(toolCalls, toolCall -> toolCall.function().name(),
+				toolCall -> toolCall.function().arguments());
 
-			String functionResponse = this.functionCallbackRegister.get(functionName).call(functionArguments);
+		for (int i = 0; i < toolCalls.size(); i++) {
+			ToolCall toolCall = toolCalls.get(i);
 
 			// Add the function response to the conversation.
-			conversationHistory.add(new ChatCompletionMessage(functionResponse, ChatCompletionMessage.Role.TOOL,
-					functionName, null, id));
+			conversationHistory.add(new ChatCompletionMessage(functionResponses.get(i), ChatCompletionMessage.Role.TOOL,
+					toolCall.function().name(), null, toolCall.id()));
 		}
 
 		// Recursively call chatCompletionWithTools until the model doesn't call a
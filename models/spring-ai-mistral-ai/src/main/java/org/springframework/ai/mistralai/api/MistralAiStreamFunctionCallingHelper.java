@@ -166,6 +166,17 @@ public class MistralAiStreamFunctionCallingHelper {
 		return new ChatCompletionFunction(name, arguments.toString());
 	}
 
+	/**
+	 * Create an accumulator merging the chunks of a streaming function call into a single
+	 * chunk. Contrary to {@link #merge(ChatCompletionChunk, ChatCompletionChunk)}, the
+	 * accumulator appends the tool call arguments to per tool call buffers and creates
+	 * the merged chunk only once, when {@link ChunkAccumulator#build() built}.
+	 * @return a new, empty accumulator.
+	 */
+	public ChunkAccumulator accumulator() {
+		return new ChunkAccumulator();
+	}
+
 	/**
 	 * @param chatCompletion the ChatCompletionChunk to check
 	 * @return true if the ChatCompletionChunk is a streaming tool function call.
@@ -197,5 +208,183 @@ public class MistralAiStreamFunctionCallingHelper {
 		return choice.finishReason() == ChatCompletionFinishReason.TOOL_CALLS;
 	}
 
+	/**
+	 * Mutable accumulator of the chunks of a streaming function call. Follows the merge
+	 * rules of {@link #merge(ChatCompletionChunk, ChatCompletionChunk)}: the last
+	 * non-null values win, the arguments of a tool call are concatenated, a tool call
+	 * with an id starts a new tool call, and the tool calls of the first chunk are given
+	 * an id if none is provided. Not thread-safe.
+	 */
+	public static class ChunkAccumulator {
+
+		private int count;
+
+		private ChatCompletionChunk first;
+
+		private String id;
+
+		private Long created;
+
+		private String model;
+
+		private String object;
+
+		private boolean hasChoice;
+
+		private ChatCompletionFinishReason finishReason;
+
+		private Integer index;
+
+		private LogProbs logprobs;
+
+		private String content;
+
+		private Role role;
+
+		private String name;
+
+		private List<ToolCallBuffer> toolCalls;
+
+		ChunkAccumulator() {
+		}
+
+		/**
+		 * Add the next chunk of the stream.
+		 * @param chunk the chunk to add
+		 */
+		public void add(ChatCompletionChunk chunk) {
+			if (this.count++ == 0) {
+				this.first = chunk;
+			}
+			this.id = (chunk.id() != null ? chunk.id() : this.id);
+			this.created = (chunk.created() != null ? chunk.created() : this.created);
+			this.model = (chunk.model() != null ? chunk.model() : this.model);
+			this.object = (chunk.object() != null ? chunk.object() : this.object);
+
+			if (CollectionUtils.isEmpty(chunk.choices()) || chunk.choices().get(0) == null) {
+				return;
+			}
+			ChunkChoice choice = chunk.choices().get(0);
+			boolean firstChoice = !this.hasChoice;
+			this.hasChoice = true;
+			this.finishReason = (choice.finishReason() != null ? choice.finishReason() : this.finishReason);
+			this.index = (choice.index() != null ? choice.index() : this.index);
+			this.logprobs = (choice.logprobs() != null ? choice.logprobs() : this.logprobs);
+
+			ChatCompletionMessage delta = choice.delta();
+			if (delta == null) {
+				return;
+			}
+			this.content = (delta.content() != null ? delta.content() : this.content);
+			this.role = (delta.role() != null ? delta.role() : this.role);
+			this.name = (delta.name() != null ? delta.name() : this.name);
+
+			if (CollectionUtils.isEmpty(delta.toolCalls())) {
+				return;
+			}
+			if (this.toolCalls == null) {
+				this.toolCalls = new ArrayList<>();
+			}
+			if (firstChoice) {
+				// The tool calls of the first chunk are complete, and may have no id.
+				boolean hasId = delta.toolCalls().stream().anyMatch(toolCall -> toolCall.id() != null);
+				String newId = (hasId ? null : UUID.randomUUID().toString());
+				for (ToolCall toolCall : delta.toolCalls()) {
+					this.toolCalls.add((hasId ? new ToolCallBuffer(toolCall)
+							: new ToolCallBuffer(new ToolCall(newId, "function", toolCall.function()))));
+				}
+				return;
+			}
+			if (delta.toolCalls().size() > 1) {
+				throw new IllegalStateException("Currently only one tool call is supported per message!");
+			}
+			ToolCall toolCall = delta.toolCalls().get(0);
+			if (toolCall.id() != null || this.toolCalls.isEmpty()) {
+				this.toolCalls.add(new ToolCallBuffer(toolCall));
+			}
+			else {
+				this.toolCalls.get(this.toolCalls.size() - 1).append(toolCall);
+			}
+		}
+
+		/**
+		 * Create the chunk merging all the added chunks.
+		 * @return the merged chunk
+		 */
+		public ChatCompletionChunk build() {
+			if (this.count == 0) {
+				return new ChatCompletionChunk(null, null, null, null, null);
+			}
+			if (this.count == 1 && this.toolCalls == null) {
+				// Nothing to merge.
+				return this.first;
+			}
+			List<ChunkChoice> choices = List.of();
+			if (this.hasChoice) {
+				List<ToolCall> mergedToolCalls = null;
+				if (this.toolCalls != null) {
+					mergedToolCalls = new ArrayList<>(this.toolCalls.size());
+					for (ToolCallBuffer toolCall : this.toolCalls) {
+						mergedToolCalls.add(toolCall.build());
+					}
+				}
+				// A single chunk keeps its content, merged chunks default to empty
+				// content.
+				String mergedContent = (this.content == null && this.count > 1 ? "" : this.content);
+				ChatCompletionMessage message = new ChatCompletionMessage(mergedContent,
+						(this.role != null ? this.role : Role.ASSISTANT), this.name, mergedToolCalls);
+				choices = List.of(new ChunkChoice(this.index, message, this.finishReason, this.logprobs));
+			}
+			return new ChatCompletionChunk(this.id, this.object, this.created, this.model, choices);
+		}
+
+	}
+
+	/**
+	 * The fragments of a streamed tool call.
+	 */
+	private static class ToolCallBuffer {
+
+		private String id;
+
+		private String type;
+
+		private boolean hasFunction;
+
+		private String name;
+
+		private StringBuilder arguments;
+
+		ToolCallBuffer(ToolCall toolCall) {
+			append(toolCall);
+		}
+
+		void append(ToolCall toolCall) {
+			this.id = (toolCall.id() != null ? toolCall.id() : this.id);
+			this.type = (toolCall.type() != null ? toolCall.type() : this.type);
+			ChatCompletionFunction function = toolCall.function();
+			if (function == null) {
+				return;
+			}
+			this.hasFunction = true;
+			this.name = (function.name() != null ? function.name() : this.name);
+			if (function.arguments() != null) {
+				if (this.arguments == null) {
+					this.arguments = new StringBuilder(function.arguments());
+				}
+				else {
+					this.arguments.append(function.arguments());
+				}
+			}
+		}
+
+		ToolCall build() {
+			ChatCompletionFunction function = (this.hasFunction
+					? new ChatCompletionFunction(this.name, (this.arguments != null ? this.arguments.toString() : null))
+					: null);
+			return new ToolCall(this.id, this.type, function);
+		}
+
+	}
+
 }
-// ---
\ No newline at end of file
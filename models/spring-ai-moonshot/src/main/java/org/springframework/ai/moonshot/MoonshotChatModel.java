@@ -30,6 +30,7 @@ import org.springframework.ai.moonshot.api.MoonshotApi.ChatCompletion;
 import org.springframework.ai.moonshot.api.MoonshotApi.ChatCompletion.Choice;
 import org.springframework.ai.moonshot.api.MoonshotApi.ChatCompletionChunk;
 import org.springframework.ai.moonshot.api.MoonshotApi.ChatCompletionRequest;
+import org.springframework.ai.retry.ReactiveRetry;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
@@ -60,6 +61,11 @@ public class MoonshotChatModel implements ChatModel, StreamingChatModel {
 
 	private final RetryTemplate retryTemplate;
 
+	/**
+	 * The retry of the streaming API calls.
+	 */
+	private ReactiveRetry streamRetry = RetryUtils.DEFAULT_REACTIVE_RETRY;
+
 	/**
 	 * Initializes a new instance of the MoonshotChatModel.
 	 * @param moonshotApi The Moonshot instance to be used for interacting with the
@@ -95,6 +101,15 @@ public class MoonshotChatModel implements ChatModel, StreamingChatModel {
 		this.retryTemplate = retryTemplate;
 	}
 
+	/**
+	 * @param streamRetry the retry of the streaming API calls, before their first
+	 * response. Defaults to {@link RetryUtils#DEFAULT_REACTIVE_RETRY}.
+	 */
+	public void setStreamRetry(ReactiveRetry streamRetry) {
+		Assert.notNull(streamRetry, "StreamRetry must not be null");
+		this.streamRetry = streamRetry;
+	}
+
 	@Override
 	public ChatResponse call(Prompt prompt) {
 		ChatCompletionRequest request = createRequest(prompt, false);
@@ -128,28 +143,26 @@ public class MoonshotChatModel implements ChatModel, StreamingChatModel {
 	public Flux<ChatResponse> stream(Prompt prompt) {
 		var request = createRequest(prompt, true);
 
-		return retryTemplate.execute(ctx -> {
-			var completionChunks = this.moonshotApi.chatCompletionStream(request);
-			ConcurrentHashMap<String, String> roleMap = new ConcurrentHashMap<>();
-
-			return completionChunks.map(this::toChatCompletion).map(chatCompletion -> {
-				String id = chatCompletion.id();
-
-				List<Generation> generations = chatCompletion.choices().stream().map(choice -> {
-					if (choice.message().role() != null) {
-						roleMap.putIfAbsent(id, choice.message().role().name());
-					}
-					String finish = (choice.finishReason() != null ? choice.finishReason().name() : "");
-					var generation = new Generation(choice.message().content(),
-							Map.of("id", id, "role", roleMap.get(id), "finishReason", finish));
-					if (choice.finishReason() != null) {
-						generation = generation
-							.withGenerationMetadata(ChatGenerationMetadata.from(choice.finishReason().name(), null));
-					}
-					return generation;
-				}).toList();
-				return new ChatResponse(generations);
-			});
+		var completionChunks = this.streamRetry.execute(() -> this.moonshotApi.chatCompletionStream(request));
+		ConcurrentHashMap<String, String> roleMap = new ConcurrentHashMap<>();
+
+		return completionChunks.map(this::toChatCompletion).map(chatCompletion -> {
+			String id = chatCompletion.id();
+
+			List<Generation> generations = chatCompletion.choices().stream().map(choice -> {
+				if (choice.message().role() != null) {
+					roleMap.putIfAbsent(id, choice.message().role().name());
+				}
+				String finish = (choice.finishReason() != null ? choice.finishReason().name() : "");
+				var generation = new Generation(choice.message().content(),
+						Map.of("id", id, "role", roleMap.get(id), "finishReason", finish));
+				if (choice.finishReason() != null) {
+					generation = generation
+						.withGenerationMetadata(ChatGenerationMetadata.from(choice.finishReason().name(), null));
+				}
+				return generation;
+			}).toList();
+			return new ChatResponse(generations);
 		});
 
 	}
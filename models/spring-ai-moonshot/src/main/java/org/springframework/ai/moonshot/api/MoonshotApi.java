@@ -21,6 +21,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.ai.model.ModelDescription;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.retry.RetryUtils;
+import org.springframework.ai.util.api.ServerSentEventJsonDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.boot.context.properties.bind.ConstructorBinding;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -35,7 +37,6 @@ import reactor.core.publisher.Mono;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import static org.springframework.ai.moonshot.api.MoonshotConstants.DEFAULT_BASE_URL;
 
@@ -52,7 +53,8 @@ public class MoonshotApi {
 
 	public static final String DEFAULT_CHAT_MODEL = ChatModel.MOONSHOT_V1_32K.getValue();
 
-	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
+	private static final ServerSentEventJsonDecoder<ChatCompletionChunk> SSE_DECODER = new ServerSentEventJsonDecoder<>(
+			ChatCompletionChunk.class);
 
 	private final RestClient restClient;
 
@@ -595,10 +597,9 @@ public class MoonshotApi {
 			.uri("/v1/chat/completions")
 			.body(Mono.just(chatRequest), ChatCompletionRequest.class)
 			.retrieve()
-			.bodyToFlux(String.class)
-			.takeUntil(SSE_DONE_PREDICATE)
-			.filter(SSE_DONE_PREDICATE.negate())
-			.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class));
+			.bodyToFlux(DataBuffer.class)
+			// decodes the SSE events, up to the "[DONE]" event.
+			.transform(SSE_DECODER::decode);
 	}
 
 }
@@ -15,6 +15,7 @@
  */
 package org.springframework.ai.openai;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
@@ -24,6 +25,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,7 +52,11 @@ import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage.ToolCal
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionRequest;
 import org.springframework.ai.openai.metadata.OpenAiChatResponseMetadata;
 import org.springframework.ai.openai.metadata.support.OpenAiResponseHeaderExtractor;
+import org.springframework.ai.retry.RateLimiter;
+import org.springframework.ai.retry.ReactiveRetry;
 import org.springframework.ai.retry.RetryUtils;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.Assert;
@@ -57,6 +64,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.MimeType;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * {@link ChatModel} and {@link StreamingChatModel} implementation for {@literal OpenAI}
@@ -93,6 +101,21 @@ public class OpenAiChatModel extends
 	 */
 	private final RetryTemplate retryTemplate;
 
+	/**
+	 * The retry of the streaming API calls.
+	 */
+	private ReactiveRetry streamRetry = RetryUtils.DEFAULT_REACTIVE_RETRY;
+
+	/**
+	 * The rate limiters of the models, the requests are not limited when null.
+	 */
+	private Function<String, RateLimiter> rateLimiters;
+
+	/**
+	 * Estimates the tokens of the rate limited requests.
+	 */
+	private TokenCountEstimator tokenCountEstimator;
+
 	/**
 	 * Low-level access to the OpenAI API.
 	 */
@@ -138,6 +161,37 @@ public class OpenAiChatModel extends
 		this.retryTemplate = retryTemplate;
 	}
 
+	/**
+	 * @param streamRetry the retry of the streaming API calls, before their first
+	 * response. Defaults to {@link RetryUtils#DEFAULT_REACTIVE_RETRY}.
+	 */
+	public void setStreamRetry(ReactiveRetry streamRetry) {
+		Assert.notNull(streamRetry, "StreamRetry must not be null");
+		this.streamRetry = streamRetry;
+	}
+
+	/**
+	 * @param rateLimiters returns the rate limiter of a model name, for instance from a
+	 * {@link org.springframework.ai.retry.RateLimiterRegistry}. The rate limiters are
+	 * adapted to the rate limit headers of the responses.
+	 */
+	public void setRateLimiters(Function<String, RateLimiter> rateLimiters) {
+		Assert.notNull(rateLimiters, "RateLimiters must not be null");
+		this.rateLimiters = rateLimiters;
+		if (this.tokenCountEstimator == null) {
+			this.tokenCountEstimator = new JTokkitTokenCountEstimator();
+		}
+	}
+
+	/**
+	 * @param tokenCountEstimator estimates the tokens of the rate limited requests.
+	 * Defaults to a {@link JTokkitTokenCountEstimator}.
+	 */
+	public void setTokenCountEstimator(TokenCountEstimator tokenCountEstimator) {
+		Assert.notNull(tokenCountEstimator, "TokenCountEstimator must not be null");
+		this.tokenCountEstimator = tokenCountEstimator;
+	}
+
 	@Override
 	public ChatResponse call(Prompt prompt) {
 
@@ -195,53 +249,51 @@ public class OpenAiChatModel extends
 
 		ChatCompletionRequest request = createRequest(prompt, true);
 
-		return this.retryTemplate.execute(ctx -> {
-
-			Flux<OpenAiApi.ChatCompletionChunk> completionChunks = this.openAiApi.chatCompletionStream(request);
-
-			// For chunked responses, only the first chunk contains the choice role.
-			// The rest of the chunks with same ID share the same role.
-			ConcurrentHashMap<String, String> roleMap = new ConcurrentHashMap<>();
-
-			// Convert the ChatCompletionChunk into a ChatCompletion to be able to reuse
-			// the function call handling logic.
-			return completionChunks.map(chunk -> chunkToChatCompletion(chunk))
-				.switchMap(
-						cc -> handleFunctionCallOrReturnStream(request, Flux.just(ResponseEntity.of(Optional.of(cc)))))
-				.map(ResponseEntity::getBody)
-				.map(chatCompletion -> {
-					try {
-						@SuppressWarnings("null")
-						String id = chatCompletion.id();
-
-						List<Generation> generations = chatCompletion.choices().stream().map(choice -> {
-							if (choice.message().role() != null) {
-								roleMap.putIfAbsent(id, choice.message().role().name());
-							}
-							String finish = (choice.finishReason() != null ? choice.finishReason().name() : "");
-							var generation = new Generation(choice.message().content(),
-									Map.of("id", id, "role", roleMap.getOrDefault(id, ""), "finishReason", finish));
-							if (choice.finishReason() != null) {
-								generation = generation.withGenerationMetadata(
-										ChatGenerationMetadata.from(choice.finishReason().name(), null));
-							}
-							return generation;
-						}).toList();
-
-						if (chatCompletion.usage() != null) {
-							return new ChatResponse(generations, OpenAiChatResponseMetadata.from(chatCompletion));
+		Flux<OpenAiApi.ChatCompletionChunk> completionChunks = this.streamRetry
+			.execute(() -> rateLimited(request, () -> this.openAiApi.chatCompletionStream(request)));
+
+		// For chunked responses, only the first chunk contains the choice role.
+		// The rest of the chunks with same ID share the same role.
+		ConcurrentHashMap<String, String> roleMap = new ConcurrentHashMap<>();
+
+		// Convert the ChatCompletionChunk into a ChatCompletion to be able to reuse
+		// the function call handling logic.
+		return completionChunks.map(chunk -> chunkToChatCompletion(chunk))
+			.switchMap(cc -> handleFunctionCallOrReturnStream(request, Flux.just(ResponseEntity.of(Optional.of(cc)))))
+			.map(ResponseEntity::getBody)
+			.map(chatCompletion -> {
+				try {
+					@SuppressWarnings("null")
+					String id = chatCompletion.id();
+
+					List<Generation> generations = chatCompletion.choices().stream().map(choice -> {
+						if (choice.message().role() != null) {
+							roleMap.putIfAbsent(id, choice.message().role().name());
 						}
-						else {
-							return new ChatResponse(generations);
+						String finish = (choice.finishReason() != null ? choice.finishReason().name() : "");
+						var generation = new Generation(choice.message().content(),
+								Map.of("id", id, "role", roleMap.getOrDefault(id, ""), "finishReason", finish));
+						if (choice.finishReason() != null) {
+							generation = generation.withGenerationMetadata(
+									ChatGenerationMetadata.from(choice.finishReason().name(), null));
 						}
+						return generation;
+					}).toList();
+
+					if (chatCompletion.usage() != null) {
+						return new ChatResponse(generations, OpenAiChatResponseMetadata.from(chatCompletion));
 					}
-					catch (Exception e) {
-						logger.error("Error processing chat completion", e);
-						return new ChatResponse(List.of());
+					else {
+						return new ChatResponse(generations);
 					}
+				}
+				catch (Exception e) {
+					logger.error("Error processing chat completion", e);
+					return new ChatResponse(List.of());
+				}
+
+			});
 
-				});
-		});
 	}
 
 	/**
@@ -356,20 +408,16 @@ public class OpenAiChatModel extends
 
 		// Every tool-call item requires a separate function call and a response (TOOL)
 		// message.
-		for (ToolCall toolCall : responseMessage.toolCalls()) {
-
-			var functionName = toolCall.function().name();
-			String functionArguments = toolCall.function().arguments();
-
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
+		List<ToolCall> toolCalls = responseMessage.toolCalls();
+		List<String> functionResponses = callFunctions(toolCalls, toolCall -> toolCall.function().name(),
+				toolCall -> toolCall.function().arguments());
 
-			String functionResponse = this.functionCallbackRegister.get(functionName).call(functionArguments);
+		for (int i = 0; i < toolCalls.size(); i++) {
+			ToolCall toolCall = toolCalls.get(i);
 
 			// Add the function response to the conversation.
-			conversationHistory
-				.add(new ChatCompletionMessage(functionResponse, Role.TOOL, functionName, toolCall.id(), null));
+			conversationHistory.add(new ChatCompletionMessage(functionResponses.get(i), Role.TOOL,
+					toolCall.function().name(), toolCall.id(), null));
 		}
 
 		// Recursively call chatCompletionWithTools until the model doesn't call a
@@ -392,17 +440,63 @@ public class OpenAiChatModel extends
 
 	@Override
 	protected ResponseEntity<ChatCompletion> doChatCompletion(ChatCompletionRequest request) {
-		return this.openAiApi.chatCompletionEntity(request);
+		RateLimiter rateLimiter = getRateLimiter(request);
+		if (rateLimiter == null) {
+			return this.openAiApi.chatCompletionEntity(request);
+		}
+		rateLimiter.acquire(estimateTokens(request));
+		ResponseEntity<ChatCompletion> completionEntity = this.openAiApi.chatCompletionEntity(request);
+		rateLimiter.update(OpenAiResponseHeaderExtractor.extractAiResponseHeaders(completionEntity));
+		return completionEntity;
 	}
 
 	@Override
 	protected Flux<ResponseEntity<ChatCompletion>> doChatCompletionStream(ChatCompletionRequest request) {
-		return this.openAiApi.chatCompletionStream(request)
-			.map(this::chunkToChatCompletion)
+		return rateLimited(request, () -> this.openAiApi.chatCompletionStream(request)).map(this::chunkToChatCompletion)
 			.map(Optional::ofNullable)
 			.map(ResponseEntity::of);
 	}
 
+	/**
+	 * Delays the subscription to the stream until the request is permitted, without
+	 * blocking. The streamed responses carry no rate limit headers.
+	 */
+	private <T> Flux<T> rateLimited(ChatCompletionRequest request, Supplier<Flux<T>> stream) {
+		RateLimiter rateLimiter = getRateLimiter(request);
+		if (rateLimiter == null) {
+			return stream.get();
+		}
+		return Flux.defer(() -> {
+			Duration wait = rateLimiter.reserve(estimateTokens(request));
+			return wait.isZero() ? stream.get() : Mono.delay(wait).thenMany(Flux.defer(stream));
+		});
+	}
+
+	private RateLimiter getRateLimiter(ChatCompletionRequest request) {
+		return (this.rateLimiters != null) ? this.rateLimiters.apply(request.model()) : null;
+	}
+
+	/**
+	 * The prompt tokens plus the max completion tokens, both counted by the provider
+	 * against the tokens limit.
+	 */
+	private long estimateTokens(ChatCompletionRequest request) {
+		long tokens = (request.maxTokens() != null) ? request.maxTokens() : 0;
+		for (ChatCompletionMessage message : request.messages()) {
+			if (message.rawContent() instanceof String text) {
+				tokens += this.tokenCountEstimator.estimate(text);
+			}
+			else if (message.rawContent() instanceof List<?> contents) {
+				for (Object content : contents) {
+					if (content instanceof MediaContent mediaContent) {
+						tokens += this.tokenCountEstimator.estimate(mediaContent.text());
+					}
+				}
+			}
+		}
+		return tokens;
+	}
+
 	@Override
 	protected boolean isToolFunctionCall(ResponseEntity<ChatCompletion> chatCompletion) {
 		var body = chatCompletion.getBody();
@@ -16,6 +16,7 @@
 package org.springframework.ai.openai;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +33,12 @@ import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.openai.api.OpenAiApi.EmbeddingList;
 import org.springframework.ai.openai.api.OpenAiApi.Usage;
+import org.springframework.ai.openai.metadata.support.OpenAiResponseHeaderExtractor;
+import org.springframework.ai.retry.RateLimiter;
 import org.springframework.ai.retry.RetryUtils;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.Assert;
 
@@ -53,6 +59,10 @@ public class OpenAiEmbeddingModel extends AbstractEmbeddingModel {
 
 	private final MetadataMode metadataMode;
 
+	private Function<String, RateLimiter> rateLimiters;
+
+	private TokenCountEstimator tokenCountEstimator;
+
 	/**
 	 * Constructor for the OpenAiEmbeddingModel class.
 	 * @param openAiApi The OpenAiApi instance to use for making API requests.
@@ -103,6 +113,28 @@ public class OpenAiEmbeddingModel extends AbstractEmbeddingModel {
 		this.retryTemplate = retryTemplate;
 	}
 
+	/**
+	 * @param rateLimiters returns the rate limiter of a model name, for instance from a
+	 * {@link org.springframework.ai.retry.RateLimiterRegistry}. The rate limiters are
+	 * adapted to the rate limit headers of the responses.
+	 */
+	public void setRateLimiters(Function<String, RateLimiter> rateLimiters) {
+		Assert.notNull(rateLimiters, "RateLimiters must not be null");
+		this.rateLimiters = rateLimiters;
+		if (this.tokenCountEstimator == null) {
+			this.tokenCountEstimator = new JTokkitTokenCountEstimator();
+		}
+	}
+
+	/**
+	 * @param tokenCountEstimator estimates the tokens of the rate limited requests.
+	 * Defaults to a {@link JTokkitTokenCountEstimator}.
+	 */
+	public void setTokenCountEstimator(TokenCountEstimator tokenCountEstimator) {
+		Assert.notNull(tokenCountEstimator, "TokenCountEstimator must not be null");
+		this.tokenCountEstimator = tokenCountEstimator;
+	}
+
 	@Override
 	public List<Double> embed(Document document) {
 		Assert.notNull(document, "Document must not be null");
@@ -127,7 +159,7 @@ public class OpenAiEmbeddingModel extends AbstractEmbeddingModel {
 						org.springframework.ai.openai.api.OpenAiApi.EmbeddingRequest.class);
 			}
 
-			EmbeddingList<OpenAiApi.Embedding> apiEmbeddingResponse = this.openAiApi.embeddings(apiRequest).getBody();
+			EmbeddingList<OpenAiApi.Embedding> apiEmbeddingResponse = embeddings(apiRequest).getBody();
 
 			if (apiEmbeddingResponse == null) {
 				logger.warn("No embeddings returned for request: {}", request);
@@ -146,6 +178,22 @@ public class OpenAiEmbeddingModel extends AbstractEmbeddingModel {
 		});
 	}
 
+	private ResponseEntity<EmbeddingList<OpenAiApi.Embedding>> embeddings(
+			OpenAiApi.EmbeddingRequest<List<String>> apiRequest) {
+		RateLimiter rateLimiter = (this.rateLimiters != null) ? this.rateLimiters.apply(apiRequest.model()) : null;
+		if (rateLimiter == null) {
+			return this.openAiApi.embeddings(apiRequest);
+		}
+		long tokens = 0;
+		for (String input : apiRequest.input()) {
+			tokens += this.tokenCountEstimator.estimate(input);
+		}
+		rateLimiter.acquire(tokens);
+		ResponseEntity<EmbeddingList<OpenAiApi.Embedding>> embeddingEntity = this.openAiApi.embeddings(apiRequest);
+		rateLimiter.update(OpenAiResponseHeaderExtractor.extractAiResponseHeaders(embeddingEntity));
+		return embeddingEntity;
+	}
+
 	private EmbeddingResponseMetadata generateResponseMetadata(String model, Usage usage) {
 		EmbeddingResponseMetadata metadata = new EmbeddingResponseMetadata();
 		metadata.put("model", model);
@@ -18,7 +18,6 @@ package org.springframework.ai.openai.api;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Predicate;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -29,10 +28,13 @@ import reactor.core.publisher.Mono;
 import org.springframework.ai.model.ModelDescription;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.openai.api.common.OpenAiApiConstants;
+import org.springframework.ai.openai.api.OpenAiStreamFunctionCallingHelper.ChunkAccumulator;
 import org.springframework.ai.retry.RetryUtils;
+import org.springframework.ai.util.api.ServerSentEventJsonDecoder;
 import org.springframework.ai.util.api.ApiUtils;
 import org.springframework.boot.context.properties.bind.ConstructorBinding;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -54,7 +56,8 @@ public class OpenAiApi {
 
 	public static final OpenAiApi.ChatModel DEFAULT_CHAT_MODEL = ChatModel.GPT_4_O;
 	public static final String DEFAULT_EMBEDDING_MODEL = EmbeddingModel.TEXT_EMBEDDING_ADA_002.getValue();
-	private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
+	private static final ServerSentEventJsonDecoder<ChatCompletionChunk> SSE_DECODER = new ServerSentEventJsonDecoder<>(
+			ChatCompletionChunk.class);
 
 	private final RestClient restClient;
 
@@ -829,12 +832,9 @@ public class OpenAiApi {
 				.uri("/v1/chat/completions")
 				.body(Mono.just(chatRequest), ChatCompletionRequest.class)
 				.retrieve()
-				.bodyToFlux(String.class)
-				// cancels the flux stream after the "[DONE]" is received.
-				.takeUntil(SSE_DONE_PREDICATE)
-				// filters out the "[DONE]" message.
-				.filter(SSE_DONE_PREDICATE.negate())
-				.map(content -> ModelOptionsUtils.jsonToObject(content, ChatCompletionChunk.class))
+				.bodyToFlux(DataBuffer.class)
+				// decodes the SSE events, up to the "[DONE]" event.
+				.transform(SSE_DECODER::decode)
 				// Detect is the chunk is part of a streaming function call.
  				.map(chunk -> {
 					if (this.chunkMerger.isStreamingToolFunctionCall(chunk)) {
@@ -851,17 +851,11 @@ public class OpenAiApi {
 					}
 					return !isInsideTool.get();
 				})
-				// Merging the window chunks into a single chunk.
-				// Reduce the inner Flux<ChatCompletionChunk> window into a single Mono<ChatCompletionChunk>,
-				// Flux<Flux<ChatCompletionChunk>> -> Flux<Mono<ChatCompletionChunk>>
-				.concatMapIterable(window -> {
-					Mono<ChatCompletionChunk> monoChunk = window.reduce(
-							new ChatCompletionChunk(null, null, null, null, null, null, null),
-							(previous, current) -> this.chunkMerger.merge(previous, current));
-					return List.of(monoChunk);
-				})
-				// Flux<Mono<ChatCompletionChunk>> -> Flux<ChatCompletionChunk>
-				.flatMap(mono -> mono);
+				// Merging the window chunks into a single chunk, accumulating the tool call
+				// arguments and creating the merged chunk once the window completes.
+				// Flux<Flux<ChatCompletionChunk>> -> Flux<ChatCompletionChunk>
+				.concatMap(window -> window.collect(this.chunkMerger::accumulator, ChunkAccumulator::add)
+						.map(ChunkAccumulator::build));
 	}
 
 	// Embeddings API
@@ -148,6 +148,17 @@ public class OpenAiStreamFunctionCallingHelper {
 		return new ChatCompletionFunction(name, arguments.toString());
 	}
 
+	/**
+	 * Create an accumulator merging the chunks of a streaming function call into a single
+	 * chunk. Contrary to {@link #merge(ChatCompletionChunk, ChatCompletionChunk)}, the
+	 * accumulator appends the tool call arguments to per tool call buffers and creates
+	 * the merged chunk only once, when {@link ChunkAccumulator#build() built}.
+	 * @return a new, empty accumulator.
+	 */
+	public ChunkAccumulator accumulator() {
+		return new ChunkAccumulator();
+	}
+
 	/**
 	 * @param chatCompletion the ChatCompletionChunk to check
 	 * @return true if the ChatCompletionChunk is a streaming tool function call.
@@ -199,5 +210,180 @@ public class OpenAiStreamFunctionCallingHelper {
 				chunk.systemFingerprint(), "chat.completion", null);
 	}
 
+	/**
+	 * Mutable accumulator of the chunks of a streaming function call. Follows the merge
+	 * rules of {@link #merge(ChatCompletionChunk, ChatCompletionChunk)}: the last
+	 * non-null values win, the arguments of a tool call are concatenated, and a tool call
+	 * with an id starts a new tool call. Not thread-safe.
+	 */
+	public static class ChunkAccumulator {
+
+		private int count;
+
+		private ChatCompletionChunk first;
+
+		private String id;
+
+		private Long created;
+
+		private String model;
+
+		private String systemFingerprint;
+
+		private String object;
+
+		private Usage usage;
+
+		private boolean hasChoice;
+
+		private ChatCompletionFinishReason finishReason;
+
+		private Integer index;
+
+		private LogProbs logprobs;
+
+		private String content;
+
+		private Role role;
+
+		private String name;
+
+		private String toolCallId;
+
+		private List<ToolCallBuffer> toolCalls;
+
+		ChunkAccumulator() {
+		}
+
+		/**
+		 * Add the next chunk of the stream.
+		 * @param chunk the chunk to add
+		 */
+		public void add(ChatCompletionChunk chunk) {
+			if (this.count++ == 0) {
+				this.first = chunk;
+			}
+			this.id = (chunk.id() != null ? chunk.id() : this.id);
+			this.created = (chunk.created() != null ? chunk.created() : this.created);
+			this.model = (chunk.model() != null ? chunk.model() : this.model);
+			this.systemFingerprint = (chunk.systemFingerprint() != null ? chunk.systemFingerprint()
+					: this.systemFingerprint);
+			this.object = (chunk.object() != null ? chunk.object() : this.object);
+			this.usage = (chunk.usage() != null ? chunk.usage() : this.usage);
+
+			if (CollectionUtils.isEmpty(chunk.choices()) || chunk.choices().get(0) == null) {
+				return;
+			}
+			ChunkChoice choice = chunk.choices().get(0);
+			boolean firstChoice = !this.hasChoice;
+			this.hasChoice = true;
+			this.finishReason = (choice.finishReason() != null ? choice.finishReason() : this.finishReason);
+			this.index = (choice.index() != null ? choice.index() : this.index);
+			this.logprobs = (choice.logprobs() != null ? choice.logprobs() : this.logprobs);
+
+			ChatCompletionMessage delta = choice.delta();
+			if (delta == null) {
+				return;
+			}
+			this.content = (delta.content() != null ? delta.content() : this.content);
+			this.role = (delta.role() != null ? delta.role() : this.role);
+			this.name = (delta.name() != null ? delta.name() : this.name);
+			this.toolCallId = (delta.toolCallId() != null ? delta.toolCallId() : this.toolCallId);
+
+			if (CollectionUtils.isEmpty(delta.toolCalls())) {
+				return;
+			}
+			if (this.toolCalls == null) {
+				this.toolCalls = new ArrayList<>();
+			}
+			if (!firstChoice && delta.toolCalls().size() > 1) {
+				throw new IllegalStateException("Currently only one tool call is supported per message!");
+			}
+			for (ToolCall toolCall : delta.toolCalls()) {
+				if (firstChoice || toolCall.id() != null || this.toolCalls.isEmpty()) {
+					this.toolCalls.add(new ToolCallBuffer(toolCall));
+				}
+				else {
+					this.toolCalls.get(this.toolCalls.size() - 1).append(toolCall);
+				}
+			}
+		}
+
+		/**
+		 * Create the chunk merging all the added chunks.
+		 * @return the merged chunk
+		 */
+		public ChatCompletionChunk build() {
+			if (this.count == 0) {
+				return new ChatCompletionChunk(null, null, null, null, null, null, null);
+			}
+			if (this.count == 1) {
+				// Nothing to merge.
+				return this.first;
+			}
+			List<ChunkChoice> choices = List.of();
+			if (this.hasChoice) {
+				List<ToolCall> mergedToolCalls = new ArrayList<>();
+				if (this.toolCalls != null) {
+					for (ToolCallBuffer toolCall : this.toolCalls) {
+						mergedToolCalls.add(toolCall.build());
+					}
+				}
+				ChatCompletionMessage message = new ChatCompletionMessage((this.content != null ? this.content : ""),
+						(this.role != null ? this.role : Role.ASSISTANT), this.name, this.toolCallId, mergedToolCalls);
+				choices = List.of(new ChunkChoice(this.finishReason, this.index, message, this.logprobs));
+			}
+			return new ChatCompletionChunk(this.id, choices, this.created, this.model, this.systemFingerprint,
+					this.object, this.usage);
+		}
+
+	}
+
+	/**
+	 * The fragments of a streamed tool call.
+	 */
+	private static class ToolCallBuffer {
+
+		private String id;
+
+		private String type;
+
+		private boolean hasFunction;
+
+		private String name;
+
+		private StringBuilder arguments;
+
+		ToolCallBuffer(ToolCall toolCall) {
+			append(toolCall);
+		}
+
+		void append(ToolCall toolCall) {
+			this.id = (toolCall.id() != null ? toolCall.id() : this.id);
+			this.type = (toolCall.type() != null ? toolCall.type() : this.type);
+			ChatCompletionFunction function = toolCall.function();
+			if (function == null) {
+				return;
+			}
+			this.hasFunction = true;
+			this.name = (function.name() != null ? function.name() : this.name);
+			if (function.arguments() != null) {
+				if (this.arguments == null) {
+					this.arguments = new StringBuilder(function.arguments());
+				}
+				else {
+					this.arguments.append(function.arguments());
+				}
+			}
+		}
+
+		ToolCall build() {
+			ChatCompletionFunction function = (this.hasFunction
+					? new ChatCompletionFunction(this.name, (this.arguments != null ? this.arguments.toString() : null))
+					: null);
+			return new ToolCall(this.id, this.type, function);
+		}
+
+	}
+
 }
-// ---
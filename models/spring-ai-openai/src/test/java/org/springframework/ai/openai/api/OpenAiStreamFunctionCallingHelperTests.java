@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.openai.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionChunk;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionChunk.ChunkChoice;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionFinishReason;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage.ChatCompletionFunction;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage.Role;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage.ToolCall;
+import org.springframework.ai.openai.api.OpenAiStreamFunctionCallingHelper.ChunkAccumulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenAiStreamFunctionCallingHelperTests {
+
+	private final OpenAiStreamFunctionCallingHelper helper = new OpenAiStreamFunctionCallingHelper();
+
+	@Test
+	void accumulatorMatchesMerge() {
+		List<ChatCompletionChunk> chunks = new ArrayList<>();
+		chunks.add(chunk(null, Role.ASSISTANT, new ToolCall("call_1", "function", function("weather", ""))));
+		for (String fragment : List.of("{\"loc", "ation\":", " \"Paris\"}")) {
+			chunks.add(chunk(null, null, new ToolCall(null, null, function(null, fragment))));
+		}
+		chunks.add(chunk(null, null, new ToolCall("call_2", "function", function("time", "{\"zone\""))));
+		chunks.add(chunk(null, null, new ToolCall(null, null, function(null, ": \"CET\"}"))));
+		chunks.add(chunk(ChatCompletionFinishReason.TOOL_CALLS, null, null));
+
+		ChatCompletionChunk merged = new ChatCompletionChunk(null, null, null, null, null, null, null);
+		ChunkAccumulator accumulator = this.helper.accumulator();
+		for (ChatCompletionChunk chunk : chunks) {
+			merged = this.helper.merge(merged, chunk);
+			accumulator.add(chunk);
+		}
+
+		ChatCompletionChunk accumulated = accumulator.build();
+		assertThat(accumulated).isEqualTo(merged);
+		List<ToolCall> toolCalls = accumulated.choices().get(0).delta().toolCalls();
+		assertThat(toolCalls).extracting(ToolCall::id).containsExactly("call_1", "call_2");
+		assertThat(toolCalls).extracting(toolCall -> toolCall.function().arguments())
+			.containsExactly("{\"location\": \"Paris\"}", "{\"zone\": \"CET\"}");
+		assertThat(accumulated.choices().get(0).finishReason()).isEqualTo(ChatCompletionFinishReason.TOOL_CALLS);
+	}
+
+	@Test
+	void singleChunkIsNotCopied() {
+		ChatCompletionChunk chunk = new ChatCompletionChunk("id",
+				List.of(new ChunkChoice(null, 0, new ChatCompletionMessage("Hello", Role.ASSISTANT), null)), 1L,
+				"model", null, "chunk", null);
+		ChunkAccumulator accumulator = this.helper.accumulator();
+		accumulator.add(chunk);
+
+		assertThat(accumulator.build()).isSameAs(chunk);
+	}
+
+	private static ChatCompletionChunk chunk(ChatCompletionFinishReason finishReason, Role role, ToolCall toolCall) {
+		ChatCompletionMessage delta = new ChatCompletionMessage(null, role, null, null,
+				(toolCall != null ? List.of(toolCall) : null));
+		return new ChatCompletionChunk("chatcmpl-1", List.of(new ChunkChoice(finishReason, 0, delta, null)), 1L,
+				"gpt-4o", "fp", "chat.completion.chunk", null);
+	}
+
+	private static ChatCompletionFunction function(String name, String arguments) {
+		return new ChatCompletionFunction(name, arguments);
+	}
+
+}
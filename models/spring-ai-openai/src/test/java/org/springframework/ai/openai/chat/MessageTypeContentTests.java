@@ -22,7 +22,6 @@ import static org.mockito.Mockito.when;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.List;
-import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +38,7 @@ import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionChunk;
+import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionMessage.MediaContent;
 import org.springframework.ai.openai.api.OpenAiApi.ChatCompletionRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.MimeTypeUtils;
@@ -97,7 +97,7 @@ public class MessageTypeContentTests {
 
 		when(openAiApi.chatCompletionStream(promptCaptor.capture())).thenReturn(fluxResponse);
 
-		chatModel.stream(new Prompt(List.of(new UserMessage("test message"))));
+		chatModel.stream(new Prompt(List.of(new UserMessage("test message")))).blockLast();
 
 		validateStringContent(promptCaptor.getValue());
 	}
@@ -129,7 +129,8 @@ public class MessageTypeContentTests {
 
 		URL mediaUrl = new URL("http://test");
 		chatModel.stream(new Prompt(
-				List.of(new UserMessage("test message", List.of(new Media(MimeTypeUtils.IMAGE_JPEG, mediaUrl))))));
+				List.of(new UserMessage("test message", List.of(new Media(MimeTypeUtils.IMAGE_JPEG, mediaUrl))))))
+			.blockLast();
 
 		validateComplexContent(promptCaptor.getValue());
 	}
@@ -140,21 +141,20 @@ public class MessageTypeContentTests {
 		var userMessage = chatCompletionRequest.messages().get(0);
 		assertThat(userMessage.rawContent()).isInstanceOf(List.class);
 
-		// Note: apparently the ArgumentCaptor converts the MediaContent into Map<String,
-		// Object>
-		@SuppressWarnings({ "unused", "unchecked" })
-		List<Map<String, Object>> mediaContents = (List<Map<String, Object>>) userMessage.rawContent();
+		// The merged request keeps the typed message content.
+		@SuppressWarnings("unchecked")
+		List<MediaContent> mediaContents = (List<MediaContent>) userMessage.rawContent();
 
 		assertThat(mediaContents).hasSize(2);
 
-		Map<String, Object> textContent = mediaContents.get(0);
-		assertThat(textContent.get("type")).isEqualTo("text");
-		assertThat(textContent.get("text")).isEqualTo("test message");
+		MediaContent textContent = mediaContents.get(0);
+		assertThat(textContent.type()).isEqualTo("text");
+		assertThat(textContent.text()).isEqualTo("test message");
 
-		Map<String, Object> imageContent = mediaContents.get(1);
+		MediaContent imageContent = mediaContents.get(1);
 
-		assertThat(imageContent.get("type")).isEqualTo("image_url");
-		assertThat(imageContent).containsKey("image_url");
+		assertThat(imageContent.type()).isEqualTo("image_url");
+		assertThat(imageContent.imageUrl()).isNotNull();
 	}
 
 }
@@ -16,6 +16,7 @@
 package org.springframework.ai.openai.chat;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,8 @@ import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.metadata.support.OpenAiApiResponseHeaders;
+import org.springframework.ai.retry.RateLimitExceededException;
+import org.springframework.ai.retry.RateLimiter;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringBootConfiguration;
@@ -42,6 +45,7 @@ import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
@@ -60,6 +64,9 @@ public class OpenAiChatModelWithChatResponseMetadataTests {
 	@Autowired
 	private OpenAiChatModel openAiChatClient;
 
+	@Autowired
+	private OpenAiApi openAiApi;
+
 	@Autowired
 	private MockRestServiceServer server;
 
@@ -122,6 +129,45 @@ public class OpenAiChatModelWithChatResponseMetadataTests {
 		});
 	}
 
+	@Test
+	void rateLimiterIsAdaptedToTheResponseHeaders() {
+
+		prepareMock();
+
+		RateLimiter rateLimiter = RateLimiter.builder().build();
+		OpenAiChatModel chatModel = new OpenAiChatModel(this.openAiApi);
+		chatModel.setRateLimiters(model -> rateLimiter);
+
+		chatModel.call(new Prompt("Reach for the sky."));
+
+		assertThat(rateLimiter.reserve(100_000)).isZero();
+		assertThatThrownBy(() -> rateLimiter.reserve(100_000)).as("only 112,358 tokens remained")
+			.isInstanceOf(RateLimitExceededException.class);
+	}
+
+	@Test
+	void rateLimitRejectionsAreNotRetried() {
+
+		prepareMock();
+
+		RateLimiter rateLimiter = RateLimiter.builder()
+			.withRequestsPerMinute(1)
+			.withMaxWait(Duration.ofSeconds(1))
+			.build();
+		AtomicInteger acquisitions = new AtomicInteger();
+		OpenAiChatModel chatModel = new OpenAiChatModel(this.openAiApi);
+		chatModel.setRateLimiters(model -> {
+			acquisitions.incrementAndGet();
+			return rateLimiter;
+		});
+
+		chatModel.call(new Prompt("Reach for the sky."));
+
+		assertThatThrownBy(() -> chatModel.call(new Prompt("Reach for the sky."))).as("only 1 request per minute")
+			.isInstanceOf(RateLimitExceededException.class);
+		assertThat(acquisitions).hasValue(2);
+	}
+
 	private void prepareMock() {
 
 		HttpHeaders httpHeaders = new HttpHeaders();
@@ -30,6 +30,7 @@ import org.springframework.ai.qianfan.api.QianFanApi.ChatCompletionChunk;
 import org.springframework.ai.qianfan.api.QianFanApi.ChatCompletionMessage;
 import org.springframework.ai.qianfan.api.QianFanApi.ChatCompletionMessage.Role;
 import org.springframework.ai.qianfan.api.QianFanApi.ChatCompletionRequest;
+import org.springframework.ai.retry.ReactiveRetry;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
@@ -64,6 +65,11 @@ public class QianFanChatModel implements ChatModel, StreamingChatModel {
 	 */
 	public final RetryTemplate retryTemplate;
 
+	/**
+	 * The retry of the streaming API calls.
+	 */
+	private ReactiveRetry streamRetry = RetryUtils.DEFAULT_REACTIVE_RETRY;
+
 	/**
 	 * Low-level access to the QianFan API.
 	 */
@@ -106,6 +112,15 @@ public class QianFanChatModel implements ChatModel, StreamingChatModel {
 		this.retryTemplate = retryTemplate;
 	}
 
+	/**
+	 * @param streamRetry the retry of the streaming API calls, before their first
+	 * response. Defaults to {@link RetryUtils#DEFAULT_REACTIVE_RETRY}.
+	 */
+	public void setStreamRetry(ReactiveRetry streamRetry) {
+		Assert.notNull(streamRetry, "StreamRetry must not be null");
+		this.streamRetry = streamRetry;
+	}
+
 	@Override
 	public ChatResponse call(Prompt prompt) {
 
@@ -136,15 +151,14 @@ public class QianFanChatModel implements ChatModel, StreamingChatModel {
 	public Flux<ChatResponse> stream(Prompt prompt) {
 		var request = createRequest(prompt, true);
 
-		return retryTemplate.execute(ctx -> {
-			var completionChunks = this.qianFanApi.chatCompletionStream(request);
+		var completionChunks = this.streamRetry.execute(() -> this.qianFanApi.chatCompletionStream(request));
 
-			return completionChunks.map(this::toChatCompletion).map(chatCompletion -> {
-				String id = chatCompletion.id();
-				var generation = new Generation(chatCompletion.result(), Map.of("id", id, "role", Role.ASSISTANT));
-				return new ChatResponse(Collections.singletonList(generation));
-			});
+		return completionChunks.map(this::toChatCompletion).map(chatCompletion -> {
+			String id = chatCompletion.id();
+			var generation = new Generation(chatCompletion.result(), Map.of("id", id, "role", Role.ASSISTANT));
+			return new ChatResponse(Collections.singletonList(generation));
 		});
+
 	}
 
 	/**
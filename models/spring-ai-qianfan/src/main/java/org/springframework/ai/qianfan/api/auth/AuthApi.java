@@ -1,5 +1,7 @@
 package org.springframework.ai.qianfan.api.auth;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * QianFan abstract authentication API.
  *
@@ -10,7 +12,9 @@ public abstract class AuthApi {
 
 	private final QianFanAuthenticator authenticator;
 
-	private QianFanAccessToken token;
+	private final ReentrantLock tokenLock = new ReentrantLock();
+
+	private volatile QianFanAccessToken token;
 
 	/**
 	 * Create a new chat completion api with default base URL.
@@ -22,10 +26,23 @@ public abstract class AuthApi {
 	}
 
 	protected String getAccessToken() {
-		if (this.token == null || this.token.needsRefresh()) {
-			this.token = this.authenticator.requestToken();
+		QianFanAccessToken token = this.token;
+		if (token == null || token.needsRefresh()) {
+			// A lock rather than synchronized, not to pin the virtual threads requesting
+			// the token. The concurrent callers wait for a single token request.
+			this.tokenLock.lock();
+			try {
+				token = this.token;
+				if (token == null || token.needsRefresh()) {
+					token = this.authenticator.requestToken();
+					this.token = token;
+				}
+			}
+			finally {
+				this.tokenLock.unlock();
+			}
 		}
-		return this.token.getAccessToken();
+		return token.getAccessToken();
 	}
 
 }
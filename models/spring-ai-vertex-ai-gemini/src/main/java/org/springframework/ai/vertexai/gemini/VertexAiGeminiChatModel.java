@@ -413,29 +413,18 @@ public class VertexAiGeminiChatModel
 	protected GeminiRequest doCreateToolResponseRequest(GeminiRequest previousRequest, Content responseMessage,
 			List<Content> conversationHistory) {
 
-		var iterator = responseMessage.getPartsList().iterator();
+		List<FunctionCall> functionCalls = responseMessage.getPartsList().stream().map(Part::getFunctionCall).toList();
+		List<String> functionResponses = callFunctions(functionCalls, FunctionCall::getName,
+				functionCall -> structToJson(functionCall.getArgs()));
 
 		Builder builder = Content.newBuilder();
-		while (iterator.hasNext()) {
-
-			FunctionCall functionCall = iterator.next().getFunctionCall();
-
-			var functionName = functionCall.getName();
-			String functionArguments = structToJson(functionCall.getArgs());
-
-			if (!this.functionCallbackRegister.containsKey(functionName)) {
-				throw new IllegalStateException("No function callback found for function name: " + functionName);
-			}
-
-			String functionResponse = this.functionCallbackRegister.get(functionName).call(functionArguments);
-
+		for (int i = 0; i < functionCalls.size(); i++) {
 			builder.addParts(Part.newBuilder()
 				.setFunctionResponse(FunctionResponse.newBuilder()
-					.setName(functionCall.getName())
-					.setResponse(jsonToStruct(functionResponse))
+					.setName(functionCalls.get(i).getName())
+					.setResponse(jsonToStruct(functionResponses.get(i)))
 					.build())
 				.build());
-
 		}
 		conversationHistory.add(builder.build());
 
@@ -140,6 +140,27 @@ public interface ChatClient {
 
 		Flux<String> content();
 
+		/**
+		 * Stream the response as partially populated entities, emitted every time one of
+		 * their top-level properties is complete. The last emitted entity is complete.
+		 * @param type the entity type.
+		 * @param <T> the entity type.
+		 * @return the partially populated entities.
+		 */
+		<T> Flux<T> entity(Class<T> type);
+
+		<T> Flux<T> entity(ParameterizedTypeReference<T> type);
+
+		/**
+		 * Stream a list of entities, emitting each entity as soon as it is complete.
+		 * @param elementType the entity type.
+		 * @param <T> the entity type.
+		 * @return the entities, in order.
+		 */
+		<T> Flux<T> entities(Class<T> elementType);
+
+		<T> Flux<T> entities(ParameterizedTypeReference<T> elementType);
+
 	}
 
 	interface ChatClientPromptRequestSpec {
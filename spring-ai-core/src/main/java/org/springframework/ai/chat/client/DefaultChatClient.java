@@ -22,14 +22,15 @@ import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.model.StreamingChatModel;
 import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.CompiledTemplate;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.ai.converter.BeanOutputConverter;
 import org.springframework.ai.converter.StructuredOutputConverter;
 import org.springframework.ai.model.function.FunctionCallback;
 import org.springframework.ai.model.function.FunctionCallbackWrapper;
 import org.springframework.ai.model.function.FunctionCallingOptions;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -76,6 +77,23 @@ public class DefaultChatClient implements ChatClient {
 		return this.defaultChatClientRequest.mutate();
 	}
 
+	private static String formatUserText(String userText, String formatParam) {
+		return StringUtils.hasText(formatParam) ? userText + System.lineSeparator() + "{spring_ai_soc_format}"
+				: userText;
+	}
+
+	/**
+	 * Render the advised text. The text of the request spec is reused across calls and
+	 * its compiled template is cached, while a text augmented by the advisors with
+	 * per-request content, such as retrieved documents or the conversation history, is
+	 * compiled for this call only.
+	 */
+	private static String render(String text, Map<String, Object> params, String requestText) {
+		CompiledTemplate template = (text != null && text.equals(requestText)) ? CompiledTemplate.compile(text)
+				: CompiledTemplate.parse(text);
+		return template.render(params);
+	}
+
 	public static class DefaultPromptUserSpec implements PromptUserSpec {
 
 		private String text = "";
@@ -251,11 +269,11 @@ public class DefaultChatClient implements ChatClient {
 
 		public <T> ResponseEntity<ChatResponse, T> responseEntity(Class<T> type) {
 			Assert.notNull(type, "the class must be non-null");
-			return doResponseEntity(new BeanOutputConverter<T>(type));
+			return doResponseEntity(BeanOutputConverter.forType(type));
 		}
 
 		public <T> ResponseEntity<ChatResponse, T> responseEntity(ParameterizedTypeReference<T> type) {
-			return doResponseEntity(new BeanOutputConverter<T>(type));
+			return doResponseEntity(BeanOutputConverter.forType(type));
 		}
 
 		public <T> ResponseEntity<ChatResponse, T> responseEntity(
@@ -272,7 +290,7 @@ public class DefaultChatClient implements ChatClient {
 		}
 
 		public <T> T entity(ParameterizedTypeReference<T> type) {
-			return doSingleWithBeanOutputConverter(new BeanOutputConverter<T>(type));
+			return doSingleWithBeanOutputConverter(BeanOutputConverter.forType(type));
 		}
 
 		public <T> T entity(StructuredOutputConverter<T> structuredOutputConverter) {
@@ -287,7 +305,7 @@ public class DefaultChatClient implements ChatClient {
 
 		public <T> T entity(Class<T> type) {
 			Assert.notNull(type, "the class must be non-null");
-			var boc = new BeanOutputConverter<T>(type);
+			var boc = BeanOutputConverter.forType(type);
 			return doSingleWithBeanOutputConverter(boc);
 		}
 
@@ -299,12 +317,17 @@ public class DefaultChatClient implements ChatClient {
 
 			Map<String, Object> context = new ConcurrentHashMap<>();
 			context.putAll(inputRequest.getAdvisorParams());
+			if (StringUtils.hasText(formatParam)) {
+				context.put(RequestResponseAdvisor.RESPONSE_FORMAT, formatParam);
+			}
 			DefaultChatClientRequestSpec advisedRequest = DefaultChatClientRequestSpec.adviseOnRequest(inputRequest,
 					context);
 
-			var processedUserText = StringUtils.hasText(formatParam)
-					? advisedRequest.getUserText() + System.lineSeparator() + "{spring_ai_soc_format}"
-					: advisedRequest.getUserText();
+			if (context.get(RequestResponseAdvisor.SHORT_CIRCUIT_RESPONSE) instanceof ChatResponse response) {
+				return adviseResponse(response, advisedRequest.getAdvisors(), context);
+			}
+
+			var processedUserText = formatUserText(advisedRequest.getUserText(), formatParam);
 
 			Map<String, Object> userParams = new HashMap<>(advisedRequest.getUserParams());
 			if (StringUtils.hasText(formatParam)) {
@@ -317,14 +340,15 @@ public class DefaultChatClient implements ChatClient {
 			if (textsAreValid) {
 				if (StringUtils.hasText(advisedRequest.getSystemText())
 						|| !advisedRequest.getSystemParams().isEmpty()) {
-					var systemMessage = new SystemMessage(
-							new PromptTemplate(advisedRequest.getSystemText(), advisedRequest.getSystemParams())
-								.render());
+					var systemMessage = new SystemMessage(render(advisedRequest.getSystemText(),
+							advisedRequest.getSystemParams(), inputRequest.getSystemText()));
 					messages.add(systemMessage);
 				}
 				UserMessage userMessage = null;
 				if (!CollectionUtils.isEmpty(userParams)) {
-					userMessage = new UserMessage(new PromptTemplate(processedUserText, userParams).render(),
+					userMessage = new UserMessage(
+							render(processedUserText, userParams,
+									formatUserText(inputRequest.getUserText(), formatParam)),
 							advisedRequest.getMedia());
 				}
 				else {
@@ -344,10 +368,16 @@ public class DefaultChatClient implements ChatClient {
 			var prompt = new Prompt(messages, advisedRequest.getChatOptions());
 			var chatResponse = this.chatModel.call(prompt);
 
+			return adviseResponse(chatResponse, inputRequest.getAdvisors(), context);
+		}
+
+		private static ChatResponse adviseResponse(ChatResponse chatResponse, List<RequestResponseAdvisor> advisors,
+				Map<String, Object> context) {
+
 			ChatResponse advisedResponse = chatResponse;
 			// apply the advisors on response
-			if (!CollectionUtils.isEmpty(inputRequest.getAdvisors())) {
-				var currentAdvisors = new ArrayList<>(inputRequest.getAdvisors());
+			if (!CollectionUtils.isEmpty(advisors)) {
+				var currentAdvisors = new ArrayList<>(advisors);
 				for (RequestResponseAdvisor advisor : currentAdvisors) {
 					advisedResponse = advisor.adviseResponse(advisedResponse, context);
 				}
@@ -378,14 +408,29 @@ public class DefaultChatClient implements ChatClient {
 		}
 
 		private Flux<ChatResponse> doGetFluxChatResponse(DefaultChatClientRequestSpec inputRequest) {
+			return doGetFluxChatResponse(inputRequest, "");
+		}
+
+		private Flux<ChatResponse> doGetFluxChatResponse(DefaultChatClientRequestSpec inputRequest,
+				String formatParam) {
 
 			Map<String, Object> context = new ConcurrentHashMap<>();
 			context.putAll(inputRequest.getAdvisorParams());
+			if (StringUtils.hasText(formatParam)) {
+				context.put(RequestResponseAdvisor.RESPONSE_FORMAT, formatParam);
+			}
 			DefaultChatClientRequestSpec advisedRequest = DefaultChatClientRequestSpec.adviseOnRequest(inputRequest,
 					context);
 
-			String processedUserText = advisedRequest.getUserText();
+			if (context.get(RequestResponseAdvisor.SHORT_CIRCUIT_RESPONSE) instanceof ChatResponse response) {
+				return adviseResponse(Flux.just(response), advisedRequest.getAdvisors(), context);
+			}
+
+			String processedUserText = formatUserText(advisedRequest.getUserText(), formatParam);
 			Map<String, Object> userParams = new HashMap<>(advisedRequest.getUserParams());
+			if (StringUtils.hasText(formatParam)) {
+				userParams.put("spring_ai_soc_format", formatParam);
+			}
 
 			var messages = new ArrayList<Message>(advisedRequest.getMessages());
 			var textsAreValid = (StringUtils.hasText(processedUserText)
@@ -393,7 +438,9 @@ public class DefaultChatClient implements ChatClient {
 			if (textsAreValid) {
 				UserMessage userMessage = null;
 				if (!CollectionUtils.isEmpty(userParams)) {
-					userMessage = new UserMessage(new PromptTemplate(processedUserText, userParams).render(),
+					userMessage = new UserMessage(
+							render(processedUserText, userParams,
+									formatUserText(inputRequest.getUserText(), formatParam)),
 							advisedRequest.getMedia());
 				}
 				else {
@@ -401,9 +448,8 @@ public class DefaultChatClient implements ChatClient {
 				}
 				if (StringUtils.hasText(advisedRequest.getSystemText())
 						|| !advisedRequest.getSystemParams().isEmpty()) {
-					var systemMessage = new SystemMessage(
-							new PromptTemplate(advisedRequest.getSystemText(), advisedRequest.getSystemParams())
-								.render());
+					var systemMessage = new SystemMessage(render(advisedRequest.getSystemText(),
+							advisedRequest.getSystemParams(), inputRequest.getSystemText()));
 					messages.add(systemMessage);
 				}
 				messages.add(userMessage);
@@ -423,10 +469,16 @@ public class DefaultChatClient implements ChatClient {
 
 			var fluxChatResponse = this.chatModel.stream(prompt);
 
+			return adviseResponse(fluxChatResponse, inputRequest.getAdvisors(), context);
+		}
+
+		private static Flux<ChatResponse> adviseResponse(Flux<ChatResponse> fluxChatResponse,
+				List<RequestResponseAdvisor> advisors, Map<String, Object> context) {
+
 			Flux<ChatResponse> advisedResponse = fluxChatResponse;
 			// apply the advisors on response
-			if (!CollectionUtils.isEmpty(inputRequest.getAdvisors())) {
-				var currentAdvisors = new ArrayList<>(inputRequest.getAdvisors());
+			if (!CollectionUtils.isEmpty(advisors)) {
+				var currentAdvisors = new ArrayList<>(advisors);
 				for (RequestResponseAdvisor advisor : currentAdvisors) {
 					advisedResponse = advisor.adviseResponse(advisedResponse, context);
 				}
@@ -440,7 +492,33 @@ public class DefaultChatClient implements ChatClient {
 		}
 
 		public Flux<String> content() {
-			return doGetFluxChatResponse(this.request).map(r -> {
+			return doGetFluxContent(this.request, "");
+		}
+
+		public <T> Flux<T> entity(Class<T> type) {
+			Assert.notNull(type, "the class must be non-null");
+			return entity(ParameterizedTypeReference.forType(type));
+		}
+
+		public <T> Flux<T> entity(ParameterizedTypeReference<T> type) {
+			BeanOutputConverter<T> converter = BeanOutputConverter.forType(type);
+			return converter.convertStream(doGetFluxContent(this.request, converter.getFormat()));
+		}
+
+		public <T> Flux<T> entities(Class<T> elementType) {
+			Assert.notNull(elementType, "the class must be non-null");
+			return entities(ParameterizedTypeReference.forType(elementType));
+		}
+
+		public <T> Flux<T> entities(ParameterizedTypeReference<T> elementType) {
+			ParameterizedTypeReference<List<T>> listType = ParameterizedTypeReference.forType(
+					ResolvableType.forClassWithGenerics(List.class, ResolvableType.forType(elementType)).getType());
+			BeanOutputConverter<List<T>> converter = BeanOutputConverter.forType(listType);
+			return converter.convertStreamElements(doGetFluxContent(this.request, converter.getFormat()));
+		}
+
+		private Flux<String> doGetFluxContent(DefaultChatClientRequestSpec inputRequest, String formatParam) {
+			return doGetFluxChatResponse(inputRequest, formatParam).map(r -> {
 				if (r.getResult() == null || r.getResult().getOutput() == null
 						|| r.getResult().getOutput().getContent() == null) {
 					return "";
@@ -724,14 +802,21 @@ public class DefaultChatClient implements ChatClient {
 
 				// apply the advisors onRequest
 				var currentAdvisors = new ArrayList<>(inputRequest.advisors);
-				for (RequestResponseAdvisor advisor : currentAdvisors) {
-					adviseRequest = advisor.adviseRequest(adviseRequest, context);
+				List<RequestResponseAdvisor> respondingAdvisors = null;
+				for (int i = 0; i < currentAdvisors.size(); i++) {
+					adviseRequest = currentAdvisors.get(i).adviseRequest(adviseRequest, context);
+					if (context.get(RequestResponseAdvisor.SHORT_CIRCUIT_RESPONSE) instanceof ChatResponse) {
+						// Only the advisors that advised the request advise the response.
+						respondingAdvisors = currentAdvisors.subList(0, i + 1);
+						break;
+					}
 				}
 
 				advisedRequest = new DefaultChatClientRequestSpec(adviseRequest.chatModel(), adviseRequest.userText(),
 						adviseRequest.userParams(), adviseRequest.systemText(), adviseRequest.systemParams(),
 						adviseRequest.functionCallbacks(), adviseRequest.messages(), adviseRequest.functionNames(),
-						adviseRequest.media(), adviseRequest.chatOptions(), adviseRequest.advisors(),
+						adviseRequest.media(), adviseRequest.chatOptions(),
+						(respondingAdvisors != null) ? respondingAdvisors : adviseRequest.advisors(),
 						adviseRequest.advisorParams());
 			}
 
@@ -34,6 +34,20 @@ import org.springframework.ai.chat.prompt.Prompt;
  */
 public interface RequestResponseAdvisor {
 
+	/**
+	 * The context key of a {@link ChatResponse} provided by an advisor, while advising
+	 * the request, in place of the chat model response. The remaining advisors do not
+	 * advise the request, the chat model is not called and the provided response is
+	 * advised by the advisors that advised the request, such as a response cache.
+	 */
+	String SHORT_CIRCUIT_RESPONSE = "spring_ai_short_circuit_response";
+
+	/**
+	 * The context key of the format instructions appended to the user text, when the
+	 * response is converted to an entity. Set before the request is advised.
+	 */
+	String RESPONSE_FORMAT = "spring_ai_response_format";
+
 	/**
 	 * @param request the {@link AdvisedRequest} data to be advised. Represents the row
 	 * {@link ChatClient.ChatClientRequestSpec} data before sealed into a {@link Prompt}.
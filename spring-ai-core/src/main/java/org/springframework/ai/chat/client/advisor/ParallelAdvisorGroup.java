@@ -0,0 +1,191 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.client.advisor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.chat.client.AdvisedRequest;
+import org.springframework.ai.chat.client.RequestResponseAdvisor;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.util.Assert;
+
+/**
+ * Groups independent advisors so that their request advising (typically vector store
+ * searches and chat memory lookups) runs concurrently.
+ * <p>
+ * Every advisor in the group receives the same incoming {@link AdvisedRequest}. The
+ * advised requests are then merged in the declared order of the advisors: text appended
+ * to the user or system text, added parameters and appended messages, media and functions
+ * are all combined, while any other modification overrides the previous ones. The grouped
+ * advisors must therefore not depend on each other's request modifications.
+ * <p>
+ * Responses are advised sequentially, in the declared order.
+ *
+ * @since 1.0.0
+ */
+public class ParallelAdvisorGroup implements RequestResponseAdvisor {
+
+	private final List<RequestResponseAdvisor> advisors;
+
+	private final Executor executor;
+
+	public ParallelAdvisorGroup(RequestResponseAdvisor... advisors) {
+		this(List.of(advisors));
+	}
+
+	public ParallelAdvisorGroup(List<RequestResponseAdvisor> advisors) {
+		this(advisors, task -> Schedulers.boundedElastic().schedule(task));
+	}
+
+	/**
+	 * @param advisors the independent advisors to group.
+	 * @param executor the executor used to run the request advising of the advisors.
+	 */
+	public ParallelAdvisorGroup(List<RequestResponseAdvisor> advisors, Executor executor) {
+		Assert.notEmpty(advisors, "The advisors must not be empty!");
+		Assert.noNullElements(advisors, "The advisors must not contain null elements!");
+		Assert.notNull(executor, "The executor must not be null!");
+		this.advisors = List.copyOf(advisors);
+		this.executor = executor;
+	}
+
+	public List<RequestResponseAdvisor> getAdvisors() {
+		return this.advisors;
+	}
+
+	@Override
+	public AdvisedRequest adviseRequest(AdvisedRequest request, Map<String, Object> context) {
+
+		if (this.advisors.size() == 1) {
+			return this.advisors.get(0).adviseRequest(request, context);
+		}
+
+		List<CompletableFuture<AdvisedRequest>> futures = this.advisors.stream()
+			.map(advisor -> CompletableFuture.supplyAsync(() -> advisor.adviseRequest(request, context), this.executor))
+			.toList();
+
+		AdvisedRequest merged = request;
+		for (CompletableFuture<AdvisedRequest> future : futures) {
+			merged = merge(request, merged, join(future));
+		}
+		return merged;
+	}
+
+	@Override
+	public ChatResponse adviseResponse(ChatResponse response, Map<String, Object> context) {
+		ChatResponse advisedResponse = response;
+		for (RequestResponseAdvisor advisor : this.advisors) {
+			advisedResponse = advisor.adviseResponse(advisedResponse, context);
+		}
+		return advisedResponse;
+	}
+
+	@Override
+	public Flux<ChatResponse> adviseResponse(Flux<ChatResponse> fluxResponse, Map<String, Object> context) {
+		Flux<ChatResponse> advisedResponse = fluxResponse;
+		for (RequestResponseAdvisor advisor : this.advisors) {
+			advisedResponse = advisor.adviseResponse(advisedResponse, context);
+		}
+		return advisedResponse;
+	}
+
+	private static AdvisedRequest join(CompletableFuture<AdvisedRequest> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Apply the modifications the advisor made to the original request on top of the
+	 * already merged request.
+	 */
+	static AdvisedRequest merge(AdvisedRequest original, AdvisedRequest merged, AdvisedRequest advised) {
+		return AdvisedRequest.from(merged)
+			.withChatModel(pick(original.chatModel(), merged.chatModel(), advised.chatModel()))
+			.withUserText(mergeText(original.userText(), merged.userText(), advised.userText()))
+			.withSystemText(mergeText(original.systemText(), merged.systemText(), advised.systemText()))
+			.withChatOptions(pick(original.chatOptions(), merged.chatOptions(), advised.chatOptions()))
+			.withMedia(mergeList(original.media(), merged.media(), advised.media()))
+			.withFunctionNames(mergeList(original.functionNames(), merged.functionNames(), advised.functionNames()))
+			.withFunctionCallbacks(
+					mergeList(original.functionCallbacks(), merged.functionCallbacks(), advised.functionCallbacks()))
+			.withMessages(mergeList(original.messages(), merged.messages(), advised.messages()))
+			.withUserParams(mergeMap(original.userParams(), merged.userParams(), advised.userParams()))
+			.withSystemParams(mergeMap(original.systemParams(), merged.systemParams(), advised.systemParams()))
+			.withAdvisors(pick(original.advisors(), merged.advisors(), advised.advisors()))
+			.withAdvisorParams(mergeMap(original.advisorParams(), merged.advisorParams(), advised.advisorParams()))
+			.build();
+	}
+
+	private static <T> T pick(T original, T merged, T advised) {
+		return (advised == original) ? merged : advised;
+	}
+
+	private static String mergeText(String original, String merged, String advised) {
+		if (Objects.equals(original, advised)) {
+			return merged;
+		}
+		if (original != null && advised != null && advised.startsWith(original)) {
+			return merged + advised.substring(original.length());
+		}
+		return advised;
+	}
+
+	private static <T> List<T> mergeList(List<T> original, List<T> merged, List<T> advised) {
+		if (advised == original || Objects.equals(original, advised)) {
+			return merged;
+		}
+		if (original != null && advised != null && advised.size() >= original.size()
+				&& advised.subList(0, original.size()).equals(original)) {
+			List<T> result = new ArrayList<>(merged);
+			result.addAll(advised.subList(original.size(), advised.size()));
+			return result;
+		}
+		return advised;
+	}
+
+	private static <V> Map<String, V> mergeMap(Map<String, V> original, Map<String, V> merged, Map<String, V> advised) {
+		if (advised == original || Objects.equals(original, advised)) {
+			return merged;
+		}
+		Map<String, V> result = new HashMap<>(merged);
+		advised.forEach((key, value) -> {
+			if (!Objects.equals(original.get(key), value) || !original.containsKey(key)) {
+				result.put(key, value);
+			}
+		});
+		original.keySet().stream().filter(key -> !advised.containsKey(key)).forEach(result::remove);
+		return result;
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.client.advisor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.ai.chat.client.AdvisedRequest;
+import org.springframework.ai.chat.client.RequestResponseAdvisor;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.MessageAggregator;
+import org.springframework.ai.chat.prompt.CompiledTemplate;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.id.IdGenerator;
+import org.springframework.ai.document.id.JdkSha256HexIdGenerator;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Semantic cache of the chat responses. The user text, rendered with its parameters, is
+ * looked up in a dedicated {@link VectorStore}, and the response of a prior request
+ * similar above the threshold is returned without calling the chat model, see
+ * {@link RequestResponseAdvisor#SHORT_CIRCUIT_RESPONSE}. On a miss, the response is
+ * stored asynchronously once complete, including the streamed responses.
+ * <p>
+ * The cached responses are scoped by the chat model, the system text and parameters, the
+ * response format instructions and the chat options, so the vector store must support
+ * metadata filtering. Requests with media are not cached. The advisor should be the first
+ * of the chain, so that the other advisors, such as the chat memory or the question
+ * answering, are skipped on a hit; the conversation history is not part of the scope.
+ *
+ * @since 1.0.0
+ */
+public class SemanticCacheAdvisor implements RequestResponseAdvisor {
+
+	private static final Logger logger = LoggerFactory.getLogger(SemanticCacheAdvisor.class);
+
+	public static final double DEFAULT_SIMILARITY_THRESHOLD = 0.95;
+
+	/**
+	 * The key of the response metadata, and of the advisor context, set to {@code true}
+	 * when the response is returned from the cache.
+	 */
+	public static final String CACHE_HIT = "semantic_cache_hit";
+
+	/**
+	 * The metadata key of the scope of the cached documents.
+	 */
+	public static final String SCOPE_METADATA = "semantic_cache_scope";
+
+	/**
+	 * The metadata key of the response text of the cached documents.
+	 */
+	public static final String RESPONSE_METADATA = "semantic_cache_response";
+
+	private static final String SCOPE = "semantic_cache_request_scope";
+
+	private static final String QUERY = "semantic_cache_request_query";
+
+	private final VectorStore vectorStore;
+
+	private final double similarityThreshold;
+
+	private final Executor executor;
+
+	private final IdGenerator scopeGenerator = new JdkSha256HexIdGenerator();
+
+	public SemanticCacheAdvisor(VectorStore vectorStore) {
+		this(vectorStore, DEFAULT_SIMILARITY_THRESHOLD);
+	}
+
+	public SemanticCacheAdvisor(VectorStore vectorStore, double similarityThreshold) {
+		this(vectorStore, similarityThreshold, task -> Schedulers.boundedElastic().schedule(task));
+	}
+
+	/**
+	 * @param vectorStore the vector store dedicated to the cached responses.
+	 * @param similarityThreshold the minimum similarity of the user text of a cached
+	 * response, between 0 and 1.
+	 * @param executor the executor used to store the responses.
+	 */
+	public SemanticCacheAdvisor(VectorStore vectorStore, double similarityThreshold, Executor executor) {
+		Assert.notNull(vectorStore, "The vectorStore must not be null!");
+		Assert.isTrue(similarityThreshold >= 0 && similarityThreshold <= 1,
+				"The similarityThreshold must be in the [0,1] range!");
+		Assert.notNull(executor, "The executor must not be null!");
+		this.vectorStore = vectorStore;
+		this.similarityThreshold = similarityThreshold;
+		this.executor = executor;
+	}
+
+	@Override
+	public AdvisedRequest adviseRequest(AdvisedRequest request, Map<String, Object> context) {
+
+		if (!StringUtils.hasText(request.userText()) || !CollectionUtils.isEmpty(request.media())) {
+			return request;
+		}
+
+		String query = CollectionUtils.isEmpty(request.userParams()) ? request.userText()
+				: CompiledTemplate.parse(request.userText()).render(request.userParams());
+		String scope = doGetScope(request, context);
+
+		var searchRequest = SearchRequest.query(query)
+			.withTopK(1)
+			.withSimilarityThreshold(this.similarityThreshold)
+			.withFilterExpression(new FilterExpressionBuilder().eq(SCOPE_METADATA, scope).build());
+
+		List<Document> documents = this.vectorStore.similaritySearch(searchRequest);
+
+		if (!documents.isEmpty() && documents.get(0).getMetadata().get(RESPONSE_METADATA) instanceof String text
+				&& scope.equals(documents.get(0).getMetadata().get(SCOPE_METADATA))) {
+			var metadata = new ChatResponseMetadata.DefaultChatResponseMetadata();
+			metadata.put(CACHE_HIT, true);
+			context.put(CACHE_HIT, true);
+			context.put(SHORT_CIRCUIT_RESPONSE, new ChatResponse(List.of(new Generation(text)), metadata));
+			return request;
+		}
+
+		context.put(SCOPE, scope);
+		context.put(QUERY, query);
+		return request;
+	}
+
+	@Override
+	public ChatResponse adviseResponse(ChatResponse response, Map<String, Object> context) {
+		if (!context.containsKey(SHORT_CIRCUIT_RESPONSE)) {
+			store(response, context);
+		}
+		return response;
+	}
+
+	@Override
+	public Flux<ChatResponse> adviseResponse(Flux<ChatResponse> fluxResponse, Map<String, Object> context) {
+		if (context.containsKey(SHORT_CIRCUIT_RESPONSE)) {
+			return fluxResponse;
+		}
+		return new MessageAggregator().aggregate(fluxResponse, response -> store(response, context));
+	}
+
+	/**
+	 * @param request the advised request.
+	 * @param context the advisor context, providing the
+	 * {@link RequestResponseAdvisor#RESPONSE_FORMAT} of the request.
+	 * @return the scope of the cached responses of the request.
+	 */
+	protected String doGetScope(AdvisedRequest request, Map<String, Object> context) {
+		String options = (request.chatOptions() != null) ? ModelOptionsUtils.toJsonString(request.chatOptions()) : "";
+		String format = Objects.toString(context.get(RESPONSE_FORMAT), "");
+		return this.scopeGenerator.generateId(request.chatModel().getClass().getName(), request.systemText(),
+				new TreeMap<>(request.systemParams()).toString(), format, options);
+	}
+
+	private void store(ChatResponse response, Map<String, Object> context) {
+		if (!(context.get(SCOPE) instanceof String scope) || !(context.get(QUERY) instanceof String query)
+				|| response == null || response.getResult() == null
+				|| !StringUtils.hasText(response.getResult().getOutput().getContent())) {
+			return;
+		}
+		Document document = new Document(query,
+				Map.of(SCOPE_METADATA, scope, RESPONSE_METADATA, response.getResult().getOutput().getContent()));
+		this.executor.execute(() -> {
+			try {
+				this.vectorStore.add(List.of(document));
+			}
+			catch (RuntimeException ex) {
+				logger.warn("Failed to cache the response of: {}", query, ex);
+			}
+		});
+	}
+
+}
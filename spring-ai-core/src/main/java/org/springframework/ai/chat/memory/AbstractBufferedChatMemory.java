@@ -0,0 +1,373 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.FunctionMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.util.Assert;
+
+/**
+ * Base class for {@link ChatMemory} implementations backed by a persistent store.
+ * <p>
+ * By default every {@link #add(String, List)} writes through to the store. When batching
+ * is enabled, the appended messages are buffered and written to the store in batches,
+ * either when the batch size is reached or when the flush interval elapses. Buffered
+ * messages are visible to {@link #get(String, int)} before they are written.
+ * <p>
+ * An optional near-cache keeps the last messages of recently used conversations in
+ * memory, so that {@link #get(String, int)} for a hot conversation does not query the
+ * store. The near-cache is only aware of the messages added through this instance and
+ * should be used when the conversations are routed to the same instance, or with a
+ * time-to-live short enough to tolerate stale reads.
+ *
+ * @see BoundedInMemoryChatMemory
+ * @since 1.0.0
+ */
+public abstract class AbstractBufferedChatMemory implements ChatMemory, AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(AbstractBufferedChatMemory.class);
+
+	private static final int LOCK_STRIPES = 256;
+
+	private final Options options;
+
+	private final Map<String, List<Message>> pending = new ConcurrentHashMap<>();
+
+	private final AtomicInteger pendingCount = new AtomicInteger();
+
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	/**
+	 * Guards the store reads against the concurrent flush of the pending messages, which
+	 * are not yet visible in the store while they are no longer pending.
+	 */
+	private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+	/**
+	 * Serializes the appends and the near-cache loads of the same conversation.
+	 */
+	private final ReentrantLock[] conversationLocks = new ReentrantLock[LOCK_STRIPES];
+
+	private final ScheduledExecutorService flushExecutor;
+
+	private final BoundedInMemoryChatMemory nearCache;
+
+	protected AbstractBufferedChatMemory(Options options) {
+		Assert.notNull(options, "The options must not be null!");
+		this.options = options;
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			this.conversationLocks[i] = new ReentrantLock();
+		}
+		if (options.isBatching()) {
+			this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "chat-memory-flush");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long interval = options.flushInterval.toMillis();
+			this.flushExecutor.scheduleWithFixedDelay(this::scheduledFlush, interval, interval, TimeUnit.MILLISECONDS);
+		}
+		else {
+			this.flushExecutor = null;
+		}
+		this.nearCache = (options.nearCacheMaxConversations > 0) ? BoundedInMemoryChatMemory.builder()
+			.withMaxConversations(options.nearCacheMaxConversations)
+			.withMaxMessages(options.nearCacheMaxMessages)
+			.withTimeToLive(options.nearCacheTimeToLive)
+			.build() : null;
+	}
+
+	/**
+	 * Append the messages of several conversations to the store, preserving their order.
+	 * @param messages the messages to append, by conversation id.
+	 */
+	protected abstract void doAdd(Map<String, List<Message>> messages);
+
+	/**
+	 * Read the last messages of a conversation from the store.
+	 * @param conversationId the conversation id.
+	 * @param lastN the maximum number of messages to read.
+	 * @return the messages, oldest first.
+	 */
+	protected abstract List<Message> doGet(String conversationId, int lastN);
+
+	/**
+	 * Remove a conversation from the store.
+	 * @param conversationId the conversation id.
+	 */
+	protected abstract void doClear(String conversationId);
+
+	@Override
+	public void add(String conversationId, List<Message> messages) {
+		if (messages.isEmpty()) {
+			return;
+		}
+		ReentrantLock lock = lockFor(conversationId);
+		lock.lock();
+		try {
+			if (this.options.isBatching()) {
+				this.pending.compute(conversationId, (id, buffered) -> {
+					List<Message> updated = (buffered != null) ? buffered : new ArrayList<>();
+					updated.addAll(messages);
+					return updated;
+				});
+			}
+			else {
+				doAdd(Map.of(conversationId, List.copyOf(messages)));
+			}
+			if (this.nearCache != null) {
+				this.nearCache.addIfPresent(conversationId, messages);
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+		if (this.options.isBatching() && this.pendingCount.addAndGet(messages.size()) >= this.options.maxBatchSize
+				&& this.flushScheduled.compareAndSet(false, true)) {
+			this.flushExecutor.execute(this::scheduledFlush);
+		}
+	}
+
+	@Override
+	public List<Message> get(String conversationId, int lastN) {
+		if (this.nearCache != null && lastN <= this.options.nearCacheMaxMessages) {
+			List<Message> cached = this.nearCache.getIfPresent(conversationId, lastN);
+			if (cached != null) {
+				return cached;
+			}
+			ReentrantLock lock = lockFor(conversationId);
+			lock.lock();
+			try {
+				List<Message> loaded = load(conversationId, this.options.nearCacheMaxMessages);
+				this.nearCache.clear(conversationId);
+				this.nearCache.add(conversationId, loaded);
+				return tail(loaded, lastN);
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+		return load(conversationId, lastN);
+	}
+
+	private List<Message> load(String conversationId, int lastN) {
+		this.flushLock.readLock().lock();
+		try {
+			List<Message> stored = doGet(conversationId, lastN);
+			List<Message> buffered = new ArrayList<>();
+			this.pending.computeIfPresent(conversationId, (id, messages) -> {
+				buffered.addAll(messages);
+				return messages;
+			});
+			if (buffered.isEmpty()) {
+				return stored;
+			}
+			List<Message> messages = new ArrayList<>(stored);
+			messages.addAll(buffered);
+			return tail(messages, lastN);
+		}
+		finally {
+			this.flushLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void clear(String conversationId) {
+		ReentrantLock lock = lockFor(conversationId);
+		lock.lock();
+		this.flushLock.writeLock().lock();
+		try {
+			List<Message> buffered = this.pending.remove(conversationId);
+			if (buffered != null) {
+				this.pendingCount.addAndGet(-buffered.size());
+			}
+			if (this.nearCache != null) {
+				this.nearCache.clear(conversationId);
+			}
+			doClear(conversationId);
+		}
+		finally {
+			this.flushLock.writeLock().unlock();
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Write the buffered messages to the store. The messages are buffered again if the
+	 * write fails.
+	 */
+	public void flush() {
+		this.flushLock.writeLock().lock();
+		try {
+			Map<String, List<Message>> batch = new LinkedHashMap<>();
+			int count = 0;
+			for (String conversationId : this.pending.keySet()) {
+				List<Message> messages = this.pending.remove(conversationId);
+				if (messages != null) {
+					batch.put(conversationId, messages);
+					count += messages.size();
+				}
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+			this.pendingCount.addAndGet(-count);
+			try {
+				doAdd(batch);
+			}
+			catch (RuntimeException ex) {
+				batch.forEach(
+						(conversationId, messages) -> this.pending.merge(conversationId, messages, (newer, failed) -> {
+							List<Message> merged = new ArrayList<>(failed);
+							merged.addAll(newer);
+							return merged;
+						}));
+				this.pendingCount.addAndGet(count);
+				throw ex;
+			}
+		}
+		finally {
+			this.flushLock.writeLock().unlock();
+		}
+	}
+
+	private void scheduledFlush() {
+		this.flushScheduled.set(false);
+		try {
+			flush();
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to flush the chat memory, the messages will be retried", ex);
+		}
+	}
+
+	/**
+	 * Stop the periodic flush and write the buffered messages to the store.
+	 */
+	@Override
+	public void close() {
+		if (this.flushExecutor != null) {
+			this.flushExecutor.shutdown();
+		}
+		flush();
+	}
+
+	private ReentrantLock lockFor(String conversationId) {
+		return this.conversationLocks[Math.floorMod(conversationId.hashCode(), LOCK_STRIPES)];
+	}
+
+	private static List<Message> tail(List<Message> messages, int lastN) {
+		int size = messages.size();
+		return (size <= lastN) ? messages : messages.subList(size - Math.max(lastN, 0), size);
+	}
+
+	/**
+	 * Recreate a message read from the store.
+	 * @param messageType the message type.
+	 * @param content the message content.
+	 * @param metadata the message metadata.
+	 * @return the message.
+	 */
+	protected static Message toMessage(MessageType messageType, String content, Map<String, Object> metadata) {
+		Map<String, Object> properties = (metadata != null) ? metadata : Map.of();
+		return switch (messageType) {
+			case USER -> new UserMessage(content, List.of(), properties);
+			case ASSISTANT -> new AssistantMessage(content, properties);
+			case SYSTEM -> new SystemMessage(content);
+			case FUNCTION -> new FunctionMessage(content, properties);
+		};
+	}
+
+	/**
+	 * The batching and near-cache options of an {@link AbstractBufferedChatMemory}.
+	 */
+	public static class Options {
+
+		private int maxBatchSize = 1;
+
+		private Duration flushInterval = Duration.ZERO;
+
+		private int nearCacheMaxConversations = 0;
+
+		private int nearCacheMaxMessages = BoundedInMemoryChatMemory.DEFAULT_MAX_MESSAGES;
+
+		private Duration nearCacheTimeToLive;
+
+		public static Options writeThrough() {
+			return new Options();
+		}
+
+		/**
+		 * Buffer the appended messages and write them in batches.
+		 * @param maxBatchSize the number of buffered messages triggering a flush.
+		 * @param flushInterval the maximum time the messages are buffered.
+		 * @return this options.
+		 */
+		public Options withBatching(int maxBatchSize, Duration flushInterval) {
+			Assert.isTrue(maxBatchSize > 0, "The maxBatchSize must be greater than 0!");
+			Assert.isTrue(flushInterval != null && !flushInterval.isNegative() && !flushInterval.isZero(),
+					"The flushInterval must be positive!");
+			this.maxBatchSize = maxBatchSize;
+			this.flushInterval = flushInterval;
+			return this;
+		}
+
+		/**
+		 * Keep the last messages of recently used conversations in memory.
+		 * @param maxConversations the maximum number of cached conversations.
+		 * @param maxMessages the maximum number of cached messages per conversation.
+		 * @param timeToLive the time after which an unused conversation is evicted, or
+		 * null.
+		 * @return this options.
+		 */
+		public Options withNearCache(int maxConversations, int maxMessages, Duration timeToLive) {
+			Assert.isTrue(maxConversations > 0, "The maxConversations must be greater than 0!");
+			Assert.isTrue(maxMessages > 0, "The maxMessages must be greater than 0!");
+			this.nearCacheMaxConversations = maxConversations;
+			this.nearCacheMaxMessages = maxMessages;
+			this.nearCacheTimeToLive = timeToLive;
+			return this;
+		}
+
+		boolean isBatching() {
+			return !this.flushInterval.isZero();
+		}
+
+	}
+
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded, thread-safe, in-memory {@link ChatMemory}.
+ * <p>
+ * Each conversation keeps its history in a ring buffer holding at most
+ * {@code maxMessages} messages and, optionally, at most {@code maxTokens} tokens as
+ * estimated by a {@link TokenCountEstimator}. The oldest messages are dropped first. The
+ * last N messages of a conversation are retrieved in O(N).
+ * <p>
+ * Conversations not accessed for longer than the configured time-to-live are evicted, and
+ * when the number of conversations exceeds the configured maximum the least recently
+ * accessed conversations are evicted. Appends to the same conversation are serialized by
+ * a per-conversation lock, so concurrent requests for different conversations never
+ * contend.
+ *
+ * @see ChatMemory
+ * @see InMemoryChatMemory
+ * @since 1.0.0
+ */
+public class BoundedInMemoryChatMemory implements ChatMemory {
+
+	public static final int DEFAULT_MAX_MESSAGES = 100;
+
+	public static final int DEFAULT_MAX_CONVERSATIONS = 100_000;
+
+	/**
+	 * Number of appends between two sweeps of the expired conversations.
+	 */
+	private static final int EXPIRATION_SWEEP_INTERVAL = 1024;
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private final Map<String, Conversation> conversations = new ConcurrentHashMap<>();
+
+	private final int maxMessages;
+
+	private final int maxTokens;
+
+	private final TokenCountEstimator tokenCountEstimator;
+
+	private final int maxConversations;
+
+	private final long ttlMillis;
+
+	private final Clock clock;
+
+	private final AtomicLong appendCount = new AtomicLong();
+
+	private final AtomicBoolean sweeping = new AtomicBoolean();
+
+	private BoundedInMemoryChatMemory(Builder builder) {
+		this.maxMessages = builder.maxMessages;
+		this.maxTokens = builder.maxTokens;
+		this.tokenCountEstimator = builder.tokenCountEstimator;
+		this.maxConversations = builder.maxConversations;
+		this.ttlMillis = (builder.ttl != null) ? builder.ttl.toMillis() : 0;
+		this.clock = builder.clock;
+	}
+
+	public BoundedInMemoryChatMemory() {
+		this(builder());
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public void add(String conversationId, List<Message> messages) {
+		if (messages.isEmpty()) {
+			return;
+		}
+		long now = this.clock.millis();
+		while (true) {
+			Conversation conversation = this.conversations.computeIfAbsent(conversationId, id -> new Conversation(now));
+			if (conversation.append(messages, now)) {
+				break;
+			}
+			// The conversation was evicted concurrently; retry with a new one.
+		}
+		afterAppend();
+	}
+
+	/**
+	 * Append the messages only if the conversation is currently held in memory.
+	 * @param conversationId the conversation id.
+	 * @param messages the messages to append.
+	 * @return true if the messages were appended.
+	 */
+	boolean addIfPresent(String conversationId, List<Message> messages) {
+		Conversation conversation = this.conversations.get(conversationId);
+		if (conversation == null || !conversation.append(messages, this.clock.millis())) {
+			return false;
+		}
+		afterAppend();
+		return true;
+	}
+
+	@Override
+	public List<Message> get(String conversationId, int lastN) {
+		List<Message> messages = getIfPresent(conversationId, lastN);
+		return (messages != null) ? messages : List.of();
+	}
+
+	/**
+	 * Return the last messages of the conversation, or null if the conversation is not
+	 * held in memory.
+	 * @param conversationId the conversation id.
+	 * @param lastN the number of messages to return.
+	 * @return the messages or null.
+	 */
+	List<Message> getIfPresent(String conversationId, int lastN) {
+		Conversation conversation = this.conversations.get(conversationId);
+		if (conversation == null) {
+			return null;
+		}
+		long now = this.clock.millis();
+		if (isExpired(conversation, now)) {
+			evict(conversationId, conversation);
+			return null;
+		}
+		return conversation.last(lastN, now);
+	}
+
+	@Override
+	public void clear(String conversationId) {
+		Conversation conversation = this.conversations.get(conversationId);
+		if (conversation != null) {
+			evict(conversationId, conversation);
+		}
+	}
+
+	/**
+	 * @return the number of conversations currently held in memory.
+	 */
+	public int size() {
+		return this.conversations.size();
+	}
+
+	/**
+	 * Evict the conversations that have not been accessed within the time-to-live.
+	 * Expired conversations are also evicted periodically while messages are added.
+	 */
+	public void evictExpired() {
+		if (this.ttlMillis <= 0) {
+			return;
+		}
+		long now = this.clock.millis();
+		this.conversations.forEach((id, conversation) -> {
+			if (isExpired(conversation, now)) {
+				evict(id, conversation);
+			}
+		});
+	}
+
+	private void afterAppend() {
+		boolean sweepExpired = this.ttlMillis > 0
+				&& this.appendCount.incrementAndGet() % EXPIRATION_SWEEP_INTERVAL == 0;
+		boolean overCapacity = this.conversations.size() > this.maxConversations;
+		if ((sweepExpired || overCapacity) && this.sweeping.compareAndSet(false, true)) {
+			try {
+				if (sweepExpired) {
+					evictExpired();
+				}
+				if (this.conversations.size() > this.maxConversations) {
+					evictLeastRecentlyUsed();
+				}
+			}
+			finally {
+				this.sweeping.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Evict the least recently accessed conversations down to 90% of the maximum, so that
+	 * the cost of the eviction is amortized over the following appends.
+	 */
+	private void evictLeastRecentlyUsed() {
+		int target = this.maxConversations - Math.max(1, this.maxConversations / 10);
+		int excess = this.conversations.size() - target;
+		if (excess <= 0) {
+			return;
+		}
+		// Snapshot the access times, which keep changing, so that the sort is consistent.
+		List<EvictionCandidate> candidates = new ArrayList<>(this.conversations.size());
+		for (Map.Entry<String, Conversation> entry : this.conversations.entrySet()) {
+			candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue(), entry.getValue().lastAccess));
+		}
+		candidates.sort(Comparator.comparingLong(EvictionCandidate::lastAccess));
+		for (int i = 0; i < excess && i < candidates.size(); i++) {
+			evict(candidates.get(i).conversationId(), candidates.get(i).conversation());
+		}
+	}
+
+	private record EvictionCandidate(String conversationId, Conversation conversation, long lastAccess) {
+	}
+
+	private boolean isExpired(Conversation conversation, long now) {
+		return this.ttlMillis > 0 && now - conversation.lastAccess > this.ttlMillis;
+	}
+
+	private void evict(String conversationId, Conversation conversation) {
+		conversation.markEvicted();
+		this.conversations.remove(conversationId, conversation);
+	}
+
+	/**
+	 * The ring buffer holding the history of a single conversation. The buffer starts
+	 * small and grows up to the maximum number of messages.
+	 */
+	private final class Conversation {
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private Message[] messages = new Message[Math.min(INITIAL_CAPACITY, maxMessages)];
+
+		private int[] tokens = (tokenCountEstimator != null) ? new int[this.messages.length] : null;
+
+		/**
+		 * Index of the oldest message.
+		 */
+		private int head;
+
+		private int size;
+
+		private long totalTokens;
+
+		private boolean evicted;
+
+		private volatile long lastAccess;
+
+		Conversation(long now) {
+			this.lastAccess = now;
+		}
+
+		boolean append(List<Message> newMessages, long now) {
+			this.lock.lock();
+			try {
+				if (this.evicted) {
+					return false;
+				}
+				for (Message message : newMessages) {
+					appendOne(message);
+				}
+				this.lastAccess = now;
+				return true;
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private void appendOne(Message message) {
+			if (this.size == this.messages.length) {
+				if (this.messages.length < maxMessages) {
+					grow();
+				}
+				else {
+					removeOldest();
+				}
+			}
+			int index = (this.head + this.size) % this.messages.length;
+			this.messages[index] = message;
+			if (this.tokens != null) {
+				int count = tokenCountEstimator.estimate(message);
+				this.tokens[index] = count;
+				this.totalTokens += count;
+				// Always keep the newest message, even when it exceeds the budget alone.
+				while (this.totalTokens > maxTokens && this.size > 0) {
+					removeOldest();
+				}
+			}
+			this.size++;
+		}
+
+		private void grow() {
+			int capacity = Math.min(maxMessages, this.messages.length * 2);
+			Message[] grownMessages = new Message[capacity];
+			int[] grownTokens = (this.tokens != null) ? new int[capacity] : null;
+			for (int i = 0; i < this.size; i++) {
+				int index = (this.head + i) % this.messages.length;
+				grownMessages[i] = this.messages[index];
+				if (grownTokens != null) {
+					grownTokens[i] = this.tokens[index];
+				}
+			}
+			this.messages = grownMessages;
+			this.tokens = grownTokens;
+			this.head = 0;
+		}
+
+		private void removeOldest() {
+			this.messages[this.head] = null;
+			if (this.tokens != null) {
+				this.totalTokens -= this.tokens[this.head];
+				this.tokens[this.head] = 0;
+			}
+			this.head = (this.head + 1) % this.messages.length;
+			this.size--;
+		}
+
+		List<Message> last(int lastN, long now) {
+			this.lock.lock();
+			try {
+				this.lastAccess = now;
+				int count = Math.min(Math.max(lastN, 0), this.size);
+				Message[] result = new Message[count];
+				int start = this.head + this.size - count;
+				for (int i = 0; i < count; i++) {
+					result[i] = this.messages[(start + i) % this.messages.length];
+				}
+				return List.of(result);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		void markEvicted() {
+			this.lock.lock();
+			try {
+				this.evicted = true;
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+	}
+
+	public static class Builder {
+
+		private int maxMessages = DEFAULT_MAX_MESSAGES;
+
+		private int maxTokens = Integer.MAX_VALUE;
+
+		private TokenCountEstimator tokenCountEstimator;
+
+		private int maxConversations = DEFAULT_MAX_CONVERSATIONS;
+
+		private Duration ttl;
+
+		private Clock clock = Clock.systemUTC();
+
+		/**
+		 * @param maxMessages the maximum number of messages kept per conversation.
+		 */
+		public Builder withMaxMessages(int maxMessages) {
+			Assert.isTrue(maxMessages > 0, "The maxMessages must be greater than 0!");
+			this.maxMessages = maxMessages;
+			return this;
+		}
+
+		/**
+		 * @param maxTokens the maximum number of tokens kept per conversation.
+		 * @param tokenCountEstimator the estimator of the message tokens.
+		 */
+		public Builder withMaxTokens(int maxTokens, TokenCountEstimator tokenCountEstimator) {
+			Assert.isTrue(maxTokens > 0, "The maxTokens must be greater than 0!");
+			Assert.notNull(tokenCountEstimator, "The tokenCountEstimator must not be null!");
+			this.maxTokens = maxTokens;
+			this.tokenCountEstimator = tokenCountEstimator;
+			return this;
+		}
+
+		/**
+		 * @param maxConversations the maximum number of conversations held in memory.
+		 * When exceeded, the least recently accessed conversations are evicted.
+		 */
+		public Builder withMaxConversations(int maxConversations) {
+			Assert.isTrue(maxConversations > 0, "The maxConversations must be greater than 0!");
+			this.maxConversations = maxConversations;
+			return this;
+		}
+
+		/**
+		 * @param ttl the time after which a conversation that has not been accessed is
+		 * evicted.
+		 */
+		public Builder withTimeToLive(Duration ttl) {
+			Assert.isTrue(ttl == null || !ttl.isNegative(), "The ttl must not be negative!");
+			this.ttl = ttl;
+			return this;
+		}
+
+		public Builder withClock(Clock clock) {
+			Assert.notNull(clock, "The clock must not be null!");
+			this.clock = clock;
+			return this;
+		}
+
+		public BoundedInMemoryChatMemory build() {
+			return new BoundedInMemoryChatMemory(this);
+		}
+
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.ai.chat.memory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,7 +30,8 @@ import org.springframework.ai.chat.messages.Message;
  *
  * This class stores the conversation history in a ConcurrentHashMap, where the keys are
  * the conversation IDs and the values are lists of messages representing the conversation
- * history.
+ * history. The history is not bounded, use {@link BoundedInMemoryChatMemory} to limit the
+ * retained messages and conversations.
  *
  * @see ChatMemory
  * @author Christian Tzolov
@@ -41,14 +43,19 @@ public class InMemoryChatMemory implements ChatMemory {
 
 	@Override
 	public void add(String conversationId, List<Message> messages) {
-		this.conversationHistory.putIfAbsent(conversationId, new ArrayList<>());
-		this.conversationHistory.get(conversationId).addAll(messages);
+		this.conversationHistory.computeIfAbsent(conversationId, id -> Collections.synchronizedList(new ArrayList<>()))
+			.addAll(messages);
 	}
 
 	@Override
 	public List<Message> get(String conversationId, int lastN) {
 		List<Message> all = this.conversationHistory.get(conversationId);
-		return all != null ? all.stream().skip(Math.max(0, all.size() - lastN)).toList() : List.of();
+		if (all == null) {
+			return List.of();
+		}
+		synchronized (all) {
+			return List.copyOf(all.subList(Math.max(0, all.size() - Math.max(lastN, 0)), all.size()));
+		}
 	}
 
 	@Override
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.messages;
+
+import org.springframework.util.Assert;
+
+/**
+ * Prompt caching hint. A message marked as a cache breakpoint asks the models supporting
+ * prompt caching to cache the prompt prefix ending with that message, such as a long
+ * system prompt or retrieved context repeated across requests. The models not supporting
+ * prompt caching ignore the hint.
+ * <p>
+ * The hint is stored in the message {@link Message#getMetadata() metadata}, which must be
+ * mutable.
+ *
+ * @since 1.0.0
+ */
+public final class CacheBreakpoint {
+
+	/**
+	 * The metadata key of the hint.
+	 */
+	public static final String METADATA_KEY = "cacheBreakpoint";
+
+	private CacheBreakpoint() {
+	}
+
+	/**
+	 * Mark the message as a cache breakpoint.
+	 * @param <T> the type of the message.
+	 * @param message the message to mark.
+	 * @return the marked message.
+	 */
+	public static <T extends Message> T mark(T message) {
+		Assert.notNull(message, "Message must not be null");
+		message.getMetadata().put(METADATA_KEY, true);
+		return message;
+	}
+
+	/**
+	 * @param message the message to check.
+	 * @return whether the message is marked as a cache breakpoint.
+	 */
+	public static boolean isMarked(Message message) {
+		return message != null && message.getMetadata() != null
+				&& Boolean.TRUE.equals(message.getMetadata().get(METADATA_KEY));
+	}
+
+}
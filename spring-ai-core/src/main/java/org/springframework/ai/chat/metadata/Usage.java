@@ -57,4 +57,24 @@ public interface Usage {
 		return promptTokens + completionTokens;
 	}
 
+	/**
+	 * Returns the number of {@literal prompt} tokens read from the provider's prompt
+	 * cache, for the providers supporting prompt caching.
+	 * @return the number of prompt tokens read from the cache, 0 if not reported.
+	 * @see org.springframework.ai.chat.messages.CacheBreakpoint
+	 */
+	default Long getCacheReadTokens() {
+		return 0L;
+	}
+
+	/**
+	 * Returns the number of {@literal prompt} tokens written to the provider's prompt
+	 * cache, for the providers supporting prompt caching.
+	 * @return the number of prompt tokens written to the cache, 0 if not reported.
+	 * @see org.springframework.ai.chat.messages.CacheBreakpoint
+	 */
+	default Long getCacheWriteTokens() {
+		return 0L;
+	}
+
 }
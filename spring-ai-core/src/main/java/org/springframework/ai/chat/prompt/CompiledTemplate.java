@@ -0,0 +1,214 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.prompt;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.antlr.runtime.Token;
+import org.antlr.runtime.TokenStream;
+import org.stringtemplate.v4.ST;
+import org.stringtemplate.v4.compiler.STLexer;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * Immutable, thread-safe compiled form of a StringTemplate prompt template. The template
+ * is parsed and compiled once and cached by its text and delimiters, so rendering it
+ * again only binds the model to a lightweight copy of the compiled template. One-off
+ * templates can be compiled without caching with {@link #parse(String)}. Templates
+ * without any placeholder are rendered without StringTemplate at all.
+ *
+ * @since 1.0.0
+ */
+public final class CompiledTemplate {
+
+	/**
+	 * Maximum number of compiled templates kept in the cache.
+	 */
+	public static final int CACHE_SIZE = 1024;
+
+	private static final ConcurrentLruCache<CacheKey, CompiledTemplate> cache = new ConcurrentLruCache<>(CACHE_SIZE,
+			CompiledTemplate::doCompile);
+
+	private final String template;
+
+	private final ST prototype;
+
+	private final Set<String> inputVariables;
+
+	private CompiledTemplate(String template, ST prototype, Set<String> inputVariables) {
+		this.template = template;
+		this.prototype = prototype;
+		this.inputVariables = inputVariables;
+	}
+
+	/**
+	 * Return the compiled form of the given template using the '{' and '}' delimiters.
+	 * @param template the template text.
+	 * @return the cached compiled template.
+	 */
+	public static CompiledTemplate compile(String template) {
+		return compile(template, '{', '}');
+	}
+
+	/**
+	 * Return the compiled form of the given template.
+	 * @param template the template text.
+	 * @param startDelimiter the placeholder start delimiter.
+	 * @param stopDelimiter the placeholder stop delimiter.
+	 * @return the cached compiled template.
+	 */
+	public static CompiledTemplate compile(String template, char startDelimiter, char stopDelimiter) {
+		Assert.notNull(template, "The template must not be null");
+		return cache.get(new CacheKey(template, startDelimiter, stopDelimiter));
+	}
+
+	/**
+	 * Return the compiled form of the given template using the '{' and '}' delimiters,
+	 * without caching it. Meant for one-off text, such as a user text augmented with
+	 * per-request content, that would only evict the reusable templates from the cache.
+	 * @param template the template text.
+	 * @return the compiled template.
+	 */
+	public static CompiledTemplate parse(String template) {
+		Assert.notNull(template, "The template must not be null");
+		return doCompile(new CacheKey(template, '{', '}'));
+	}
+
+	private static CompiledTemplate doCompile(CacheKey key) {
+		if (isLiteral(key)) {
+			return new CompiledTemplate(key.template(), null, Set.of());
+		}
+		ST prototype = new ST(key.template(), key.startDelimiter(), key.stopDelimiter());
+		return new CompiledTemplate(key.template(), prototype,
+				Collections.unmodifiableSet(inputVariables(prototype.impl.tokens)));
+	}
+
+	/**
+	 * A template renders as-is when it has neither delimiters nor escapes, and the line
+	 * separators would not be rewritten by StringTemplate.
+	 */
+	private static boolean isLiteral(CacheKey key) {
+		String template = key.template();
+		return template.indexOf(key.startDelimiter()) < 0 && template.indexOf(key.stopDelimiter()) < 0
+				&& template.indexOf('\\') < 0 && template.indexOf('\r') < 0
+				&& ("\n".equals(System.lineSeparator()) || template.indexOf('\n') < 0);
+	}
+
+	private static Set<String> inputVariables(TokenStream tokens) {
+		Set<String> inputVariables = new HashSet<>();
+		boolean isInsideList = false;
+
+		for (int i = 0; i < tokens.size(); i++) {
+			Token token = tokens.get(i);
+
+			if (token.getType() == STLexer.LDELIM && i + 1 < tokens.size()
+					&& tokens.get(i + 1).getType() == STLexer.ID) {
+				if (i + 2 < tokens.size() && tokens.get(i + 2).getType() == STLexer.COLON) {
+					inputVariables.add(tokens.get(i + 1).getText());
+					isInsideList = true;
+				}
+			}
+			else if (token.getType() == STLexer.RDELIM) {
+				isInsideList = false;
+			}
+			else if (!isInsideList && token.getType() == STLexer.ID) {
+				inputVariables.add(token.getText());
+			}
+		}
+
+		return inputVariables;
+	}
+
+	public String getTemplate() {
+		return this.template;
+	}
+
+	/**
+	 * @return the unmodifiable set of variable names referenced by the template.
+	 */
+	public Set<String> getInputVariables() {
+		return this.inputVariables;
+	}
+
+	/**
+	 * @return true if the template has no placeholders and renders to its own text.
+	 */
+	public boolean isLiteral() {
+		return this.prototype == null;
+	}
+
+	/**
+	 * Create a new, mutable {@link ST} instance sharing the compiled template.
+	 * @return the new template instance or null if the template is literal.
+	 */
+	ST createInstance() {
+		return (this.prototype != null) ? new ST(this.prototype) : null;
+	}
+
+	/**
+	 * Render the template against the given model. {@link Resource} values are rendered
+	 * with their content.
+	 * @param model the model providing the template variables.
+	 * @return the rendered text.
+	 */
+	public String render(Map<String, Object> model) {
+		validate(model.keySet());
+		if (isLiteral()) {
+			return this.template;
+		}
+		ST st = createInstance();
+		for (Entry<String, Object> entry : model.entrySet()) {
+			if (entry.getValue() instanceof Resource resource) {
+				st.add(entry.getKey(), renderResource(resource));
+			}
+			else {
+				st.add(entry.getKey(), entry.getValue());
+			}
+		}
+		return st.render();
+	}
+
+	void validate(Set<String> modelKeys) {
+		if (!modelKeys.containsAll(this.inputVariables)) {
+			Set<String> missingVariables = new HashSet<>(this.inputVariables);
+			missingVariables.removeAll(modelKeys);
+			throw new IllegalStateException(
+					"Not all template variables were replaced. Missing variable names are " + missingVariables);
+		}
+	}
+
+	static String renderResource(Resource resource) {
+		try {
+			return resource.getContentAsString(Charset.defaultCharset());
+		}
+		catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private record CacheKey(String template, char startDelimiter, char stopDelimiter) {
+	}
+
+}
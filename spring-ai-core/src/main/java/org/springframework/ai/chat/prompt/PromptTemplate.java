@@ -25,10 +25,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-import org.antlr.runtime.Token;
-import org.antlr.runtime.TokenStream;
 import org.stringtemplate.v4.ST;
-import org.stringtemplate.v4.compiler.STLexer;
 
 import org.springframework.ai.chat.messages.Media;
 import org.springframework.ai.chat.messages.Message;
@@ -40,6 +37,8 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 
 	private ST st;
 
+	private CompiledTemplate compiledTemplate;
+
 	private Map<String, Object> dynamicModel = new HashMap<>();
 
 	protected String template;
@@ -54,7 +53,8 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 			throw new RuntimeException("Failed to read resource", ex);
 		}
 		try {
-			this.st = new ST(this.template, '{', '}');
+			this.compiledTemplate = CompiledTemplate.compile(this.template);
+			this.st = this.compiledTemplate.createInstance();
 		}
 		catch (Exception ex) {
 			throw new IllegalArgumentException("The template string is not valid.", ex);
@@ -65,7 +65,8 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 		this.template = template;
 		// If the template string is not valid, an exception will be thrown
 		try {
-			this.st = new ST(this.template, '{', '}');
+			this.compiledTemplate = CompiledTemplate.compile(this.template);
+			this.st = this.compiledTemplate.createInstance();
 		}
 		catch (Exception ex) {
 			throw new IllegalArgumentException("The template string is not valid.", ex);
@@ -76,7 +77,8 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 		this.template = template;
 		// If the template string is not valid, an exception will be thrown
 		try {
-			this.st = new ST(this.template, '{', '}');
+			this.compiledTemplate = CompiledTemplate.compile(this.template);
+			this.st = this.compiledTemplate.createInstance();
 			for (Entry<String, Object> entry : model.entrySet()) {
 				add(entry.getKey(), entry.getValue());
 			}
@@ -95,7 +97,8 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 		}
 		// If the template string is not valid, an exception will be thrown
 		try {
-			this.st = new ST(this.template, '{', '}');
+			this.compiledTemplate = CompiledTemplate.compile(this.template);
+			this.st = this.compiledTemplate.createInstance();
 			for (Entry<String, Object> entry : model.entrySet()) {
 				this.add(entry.getKey(), entry.getValue());
 			}
@@ -106,7 +109,9 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	}
 
 	public void add(String name, Object value) {
-		this.st.add(name, value);
+		if (this.st != null) {
+			this.st.add(name, value);
+		}
 		this.dynamicModel.put(name, value);
 	}
 
@@ -122,18 +127,21 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	@Override
 	public String render() {
 		validate(this.dynamicModel);
-		return st.render();
+		return (this.st != null) ? this.st.render() : this.template;
 	}
 
 	@Override
 	public String render(Map<String, Object> model) {
 		validate(model);
+		if (this.st == null) {
+			return this.template;
+		}
 		for (Entry<String, Object> entry : model.entrySet()) {
 			if (this.st.getAttribute(entry.getKey()) != null) {
 				this.st.remove(entry.getKey());
 			}
 			if (entry.getValue() instanceof Resource) {
-				this.st.add(entry.getKey(), renderResource((Resource) entry.getValue()));
+				this.st.add(entry.getKey(), CompiledTemplate.renderResource((Resource) entry.getValue()));
 			}
 			else {
 				this.st.add(entry.getKey(), entry.getValue());
@@ -143,15 +151,6 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 		return this.st.render();
 	}
 
-	private String renderResource(Resource resource) {
-		try {
-			return resource.getContentAsString(Charset.defaultCharset());
-		}
-		catch (IOException e) {
-			throw new RuntimeException(e);
-		}
-	}
-
 	@Override
 	public Message createMessage() {
 		return new UserMessage(render());
@@ -178,29 +177,7 @@ public class PromptTemplate implements PromptTemplateActions, PromptTemplateMess
 	}
 
 	public Set<String> getInputVariables() {
-		TokenStream tokens = this.st.impl.tokens;
-		Set<String> inputVariables = new HashSet<>();
-		boolean isInsideList = false;
-
-		for (int i = 0; i < tokens.size(); i++) {
-			Token token = tokens.get(i);
-
-			if (token.getType() == STLexer.LDELIM && i + 1 < tokens.size()
-					&& tokens.get(i + 1).getType() == STLexer.ID) {
-				if (i + 2 < tokens.size() && tokens.get(i + 2).getType() == STLexer.COLON) {
-					inputVariables.add(tokens.get(i + 1).getText());
-					isInsideList = true;
-				}
-			}
-			else if (token.getType() == STLexer.RDELIM) {
-				isInsideList = false;
-			}
-			else if (!isInsideList && token.getType() == STLexer.ID) {
-				inputVariables.add(token.getText());
-			}
-		}
-
-		return inputVariables;
+		return new HashSet<>(this.compiledTemplate.getInputVariables());
 	}
 
 	private Set<String> getModelKeys(Map<String, Object> model) {
@@ -15,6 +15,8 @@
  */
 package org.springframework.ai.converter;
 
+import java.lang.reflect.Type;
+import java.util.Map;
 import java.util.Objects;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -22,19 +24,21 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.github.victools.jsonschema.generator.SchemaGenerator;
-import com.github.victools.jsonschema.generator.SchemaGeneratorConfig;
 import com.github.victools.jsonschema.generator.SchemaGeneratorConfigBuilder;
 import com.github.victools.jsonschema.module.jackson.JacksonModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.lang.NonNull;
-import java.lang.reflect.Type;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 import static com.github.victools.jsonschema.generator.OptionPreset.PLAIN_JSON;
 import static com.github.victools.jsonschema.generator.SchemaVersion.DRAFT_2020_12;
@@ -44,6 +48,10 @@ import static com.github.victools.jsonschema.generator.SchemaVersion.DRAFT_2020_
  * to a specific object type using JSON schema. This parser works by generating a JSON
  * schema based on a given Java class or parameterized type reference, which is then used
  * to validate and transform the LLM output into the desired type.
+ * <p>
+ * The JSON schema is generated once per target type and cached. Converters are
+ * thread-safe, use {@link #forType(Class)} to share a converter per target type instead
+ * of creating a new one for every request.
  *
  * @param <T> The target type to which the output will be converted.
  * @author Mark Pollack
@@ -54,11 +62,23 @@ import static com.github.victools.jsonschema.generator.SchemaVersion.DRAFT_2020_
  */
 public class BeanOutputConverter<T> implements StructuredOutputConverter<T> {
 
-	private final Logger logger = LoggerFactory.getLogger(BeanOutputConverter.class);
+	private static final Logger logger = LoggerFactory.getLogger(BeanOutputConverter.class);
+
+	private static final SchemaGenerator SCHEMA_GENERATOR = new SchemaGenerator(
+			new SchemaGeneratorConfigBuilder(DRAFT_2020_12, PLAIN_JSON).with(new JacksonModule()).build());
+
+	/** Generated JSON schemas, by target type. */
+	private static final Map<Type, String> JSON_SCHEMA_CACHE = new ConcurrentReferenceHashMap<>();
+
+	/** Shared converters using the default object mapper, by target type. */
+	private static final Map<Type, BeanOutputConverter<?>> SHARED_CONVERTERS = new ConcurrentReferenceHashMap<>();
 
 	/** Holds the generated JSON schema for the target type. */
 	private String jsonSchema;
 
+	/** Holds the format instructions, built from the JSON schema on first use. */
+	private volatile String format;
+
 	/**
 	 * The target class type reference to which the output will be converted.
 	 */
@@ -136,23 +156,48 @@ public class BeanOutputConverter<T> implements StructuredOutputConverter<T> {
 	}
 
 	/**
-	 * Generates the JSON schema for the target type.
+	 * Returns a shared converter for the target type, using the default object mapper.
+	 * @param clazz The target type's class.
+	 * @param <T> The target type.
+	 * @return the shared converter.
+	 */
+	public static <T> BeanOutputConverter<T> forType(Class<T> clazz) {
+		Assert.notNull(clazz, "Class must not be null");
+		return forType(ParameterizedTypeReference.forType(clazz));
+	}
+
+	/**
+	 * Returns a shared converter for the target type, using the default object mapper.
+	 * @param typeRef The target class type reference.
+	 * @param <T> The target type.
+	 * @return the shared converter.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> BeanOutputConverter<T> forType(ParameterizedTypeReference<T> typeRef) {
+		Assert.notNull(typeRef, "Type reference must not be null");
+		return (BeanOutputConverter<T>) SHARED_CONVERTERS.computeIfAbsent(typeRef.getType(),
+				type -> new BeanOutputConverter<>(typeRef));
+	}
+
+	/**
+	 * Generates the JSON schema for the target type, or reuses the schema generated for
+	 * the same type.
 	 */
 	private void generateSchema() {
-		JacksonModule jacksonModule = new JacksonModule();
-		SchemaGeneratorConfigBuilder configBuilder = new SchemaGeneratorConfigBuilder(DRAFT_2020_12, PLAIN_JSON)
-			.with(jacksonModule);
-		SchemaGeneratorConfig config = configBuilder.build();
-		SchemaGenerator generator = new SchemaGenerator(config);
-		JsonNode jsonNode = generator.generateSchema(this.typeRef.getType());
+		this.jsonSchema = JSON_SCHEMA_CACHE.computeIfAbsent(this.typeRef.getType(),
+				BeanOutputConverter::generateSchema);
+	}
+
+	private static String generateSchema(Type type) {
+		JsonNode jsonNode = SCHEMA_GENERATOR.generateSchema(type);
 		ObjectWriter objectWriter = new ObjectMapper().writer(new DefaultPrettyPrinter()
 			.withObjectIndenter(new DefaultIndenter().withLinefeed(System.lineSeparator())));
 		try {
-			this.jsonSchema = objectWriter.writeValueAsString(jsonNode);
+			return objectWriter.writeValueAsString(jsonNode);
 		}
 		catch (JsonProcessingException e) {
 			logger.error("Could not pretty print json schema for jsonNode: " + jsonNode);
-			throw new RuntimeException("Could not pretty print json schema for " + this.typeRef, e);
+			throw new RuntimeException("Could not pretty print json schema for " + type, e);
 		}
 	}
 
@@ -175,6 +220,33 @@ public class BeanOutputConverter<T> implements StructuredOutputConverter<T> {
 		}
 	}
 
+	/**
+	 * Parses the LLM output streamed as content deltas, emitting the target type
+	 * partially populated every time one of its top-level properties is complete. The
+	 * last emitted value is the complete one.
+	 * @param content The LLM output content deltas.
+	 * @return The partially populated values of the target type.
+	 * @see IncrementalJsonParser
+	 */
+	public Flux<T> convertStream(Flux<String> content) {
+		return IncrementalJsonParser.parsePartial(content, this.typeRef.getType(), this.objectMapper);
+	}
+
+	/**
+	 * Parses the LLM output streamed as content deltas, for a collection or array target
+	 * type, emitting each element as soon as it is complete.
+	 * @param content The LLM output content deltas.
+	 * @param <E> The element type of the target type.
+	 * @return The elements, in order.
+	 * @see IncrementalJsonParser
+	 */
+	public <E> Flux<E> convertStreamElements(Flux<String> content) {
+		JavaType type = this.objectMapper.constructType(this.typeRef.getType());
+		Assert.isTrue(type.isCollectionLikeType() || type.isArrayType(),
+				"The target type must be a collection or an array");
+		return IncrementalJsonParser.parseElements(content, type.getContentType(), this.objectMapper);
+	}
+
 	/**
 	 * Configures and returns an object mapper for JSON operations.
 	 * @return Configured object mapper.
@@ -192,6 +264,15 @@ public class BeanOutputConverter<T> implements StructuredOutputConverter<T> {
 	 */
 	@Override
 	public String getFormat() {
+		String format = this.format;
+		if (format == null) {
+			format = buildFormat();
+			this.format = format;
+		}
+		return format;
+	}
+
+	private String buildFormat() {
 		String template = """
 				Your response should be in JSON format.
 				Do not include any explanations, only provide a RFC8259 compliant JSON response following this format without deviation.
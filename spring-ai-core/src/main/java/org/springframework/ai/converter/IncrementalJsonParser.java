@@ -0,0 +1,285 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.converter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import reactor.core.publisher.Flux;
+
+import org.springframework.util.Assert;
+
+/**
+ * Parses a JSON document streamed by a model, as soon as its values are syntactically
+ * complete, without buffering the full response text.
+ * <p>
+ * The content deltas are fed to a non-blocking Jackson parser. Any text before the root
+ * JSON value, such as a markdown code block opening, and any text after it are ignored.
+ * Two modes are supported:
+ * <ul>
+ * <li>{@link #parsePartial partial} emits the root value, partially populated, every time
+ * one of its top-level properties or elements is complete. The last emitted value is the
+ * complete one.</li>
+ * <li>{@link #parseElements elements} emits each element of a root JSON array once it is
+ * complete.</li>
+ * </ul>
+ *
+ * @param <T> the type of the emitted values.
+ * @see BeanOutputConverter#convertStream(Flux)
+ * @since 1.0.0
+ */
+public final class IncrementalJsonParser<T> {
+
+	private final ObjectMapper objectMapper;
+
+	private final ObjectReader reader;
+
+	private final boolean elements;
+
+	private final JsonParser parser;
+
+	private final ByteArrayFeeder feeder;
+
+	/** The tokens of the root value, or of the current element. */
+	private TokenBuffer buffer;
+
+	private int depth;
+
+	private boolean started;
+
+	private boolean rootArray;
+
+	/** Whether the last emitted partial value holds all the tokens read so far. */
+	private boolean partialUpToDate;
+
+	private boolean done;
+
+	private IncrementalJsonParser(ObjectMapper objectMapper, Type type, boolean elements) {
+		this.objectMapper = objectMapper;
+		JavaType javaType = objectMapper.constructType(type);
+		this.reader = objectMapper.readerFor(javaType);
+		this.elements = elements;
+		try {
+			this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		this.feeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
+	}
+
+	/**
+	 * Parse the streamed content into partially populated values of the given type.
+	 * @param content the content deltas.
+	 * @param type the type of the root JSON value.
+	 * @param objectMapper the object mapper.
+	 * @param <T> the type of the emitted values.
+	 * @return the partially populated values, the last one being complete.
+	 */
+	public static <T> Flux<T> parsePartial(Flux<String> content, Type type, ObjectMapper objectMapper) {
+		return parse(content, type, objectMapper, false);
+	}
+
+	/**
+	 * Parse the elements of a streamed JSON array.
+	 * @param content the content deltas.
+	 * @param elementType the type of the array elements.
+	 * @param objectMapper the object mapper.
+	 * @param <T> the type of the emitted elements.
+	 * @return the array elements, in order.
+	 */
+	public static <T> Flux<T> parseElements(Flux<String> content, Type elementType, ObjectMapper objectMapper) {
+		return parse(content, elementType, objectMapper, true);
+	}
+
+	private static <T> Flux<T> parse(Flux<String> content, Type type, ObjectMapper objectMapper, boolean elements) {
+		Assert.notNull(content, "Content must not be null");
+		Assert.notNull(type, "Type must not be null");
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		// The parser is stateful, create one per subscription.
+		return Flux.defer(() -> {
+			IncrementalJsonParser<T> parser = new IncrementalJsonParser<>(objectMapper, type, elements);
+			return content.concatMapIterable(parser::feed)
+				.concatWith(Flux.defer(() -> Flux.fromIterable(parser.end())));
+		});
+	}
+
+	private List<T> feed(String chunk) {
+		if (this.done || chunk.isEmpty()) {
+			return List.of();
+		}
+		if (!this.started) {
+			int start = rootStart(chunk);
+			if (start < 0) {
+				return List.of();
+			}
+			this.started = true;
+			chunk = chunk.substring(start);
+		}
+		byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+		try {
+			this.feeder.feedInput(bytes, 0, bytes.length);
+			return drain();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Could not parse the streamed JSON content", ex);
+		}
+	}
+
+	private List<T> end() {
+		if (this.done || !this.started) {
+			return List.of();
+		}
+		this.feeder.endOfInput();
+		try {
+			List<T> values = drain();
+			if (!this.done) {
+				throw new IllegalStateException("The streamed JSON content is incomplete");
+			}
+			return values;
+		}
+		catch (JsonEOFException ex) {
+			throw new IllegalStateException("The streamed JSON content is incomplete", ex);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Could not parse the streamed JSON content", ex);
+		}
+	}
+
+	private List<T> drain() throws IOException {
+		List<T> values = new ArrayList<>();
+		JsonToken token;
+		while (!this.done && (token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+			if (this.elements) {
+				onElementToken(token, values);
+			}
+			else {
+				onPartialToken(token, values);
+			}
+		}
+		return values;
+	}
+
+	private void onPartialToken(JsonToken token, List<T> values) throws IOException {
+		if (this.buffer == null) {
+			this.buffer = new TokenBuffer(this.objectMapper, false);
+		}
+		this.buffer.copyCurrentEvent(this.parser);
+		if (token.isStructStart()) {
+			this.depth++;
+			this.partialUpToDate = false;
+			return;
+		}
+		if (token.isStructEnd()) {
+			this.depth--;
+		}
+		if (this.depth == 0) {
+			// The root value is complete, and equal to the last partial value if any.
+			this.done = true;
+			if (!this.partialUpToDate) {
+				values.add(read(this.buffer));
+			}
+		}
+		else if (this.depth == 1 && token != JsonToken.FIELD_NAME) {
+			// A top-level property or element is complete.
+			T partial = readPartial();
+			this.partialUpToDate = partial != null;
+			if (partial != null) {
+				values.add(partial);
+			}
+		}
+		else {
+			this.partialUpToDate = false;
+		}
+	}
+
+	private T readPartial() throws IOException {
+		TokenBuffer snapshot = new TokenBuffer(this.objectMapper, false);
+		snapshot.append(this.buffer);
+		if (this.buffer.firstToken() == JsonToken.START_ARRAY) {
+			snapshot.writeEndArray();
+		}
+		else {
+			snapshot.writeEndObject();
+		}
+		try {
+			return read(snapshot);
+		}
+		catch (IOException | RuntimeException ex) {
+			// The partial value may not be valid for the type yet.
+			return null;
+		}
+	}
+
+	private void onElementToken(JsonToken token, List<T> values) throws IOException {
+		if (this.depth == 0 && token == JsonToken.START_ARRAY) {
+			this.rootArray = true;
+			this.depth++;
+			return;
+		}
+		if (this.depth == 1 && token == JsonToken.END_ARRAY) {
+			this.depth--;
+			this.done = true;
+			return;
+		}
+		if (this.buffer == null) {
+			this.buffer = new TokenBuffer(this.objectMapper, false);
+		}
+		this.buffer.copyCurrentEvent(this.parser);
+		if (token.isStructStart()) {
+			this.depth++;
+			return;
+		}
+		if (token.isStructEnd()) {
+			this.depth--;
+		}
+		if (this.depth == (this.rootArray ? 1 : 0)) {
+			// An element is complete, or the root is a single value.
+			values.add(read(this.buffer));
+			this.buffer = null;
+			this.done = !this.rootArray;
+		}
+	}
+
+	private T read(TokenBuffer tokens) throws IOException {
+		try (JsonParser tokenParser = tokens.asParser(this.objectMapper)) {
+			return this.reader.readValue(tokenParser);
+		}
+	}
+
+	private static int rootStart(String chunk) {
+		for (int i = 0; i < chunk.length(); i++) {
+			char c = chunk.charAt(i);
+			if (c == '{' || c == '[') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,461 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.CreatorProperty;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.introspect.AnnotatedWithParams;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Merges model options without the JSON round-trips of
+ * {@link ModelOptionsUtils#merge(Object, Object, Class, List)}.
+ * <p>
+ * The properties Jackson would serialize from the source and target objects, and
+ * deserialize into the result class, are resolved once per class from the
+ * {@link ObjectMapper} configuration and accessed through cached {@link MethodHandle}s.
+ * Property values are copied as-is when the declared types match, collections and maps
+ * being shallow copied, and converted with the {@link ObjectMapper} otherwise. Classes
+ * relying on Jackson features that a direct copy cannot reproduce, such as custom
+ * (de)serializers, any-getters and any-setters, polymorphic type information or
+ * non-default inclusion rules, are not supported, in which case {@link #merge} returns
+ * {@code null} and the caller falls back to the JSON round-trips.
+ *
+ * @since 1.0.0
+ */
+final class ModelOptionsMerger {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final MethodType CREATOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+	private final ObjectMapper objectMapper;
+
+	private final Map<Class<?>, Optional<SourceType>> sourceTypes = new ConcurrentHashMap<>();
+
+	private final Map<Class<?>, Optional<TargetType>> targetTypes = new ConcurrentHashMap<>();
+
+	ModelOptionsMerger(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Merge the source non-null property values over the target ones into a new instance
+	 * of the given class.
+	 * @param source the source object, a bean or a {@link Map}.
+	 * @param target the target object, a bean, a {@link Map} or null.
+	 * @param clazz the class of the merged instance.
+	 * @param acceptedFieldNames the names of the properties to merge.
+	 * @return the merged instance, or null if the classes are not supported.
+	 */
+	<T> T merge(Object source, Object target, Class<T> clazz, Collection<String> acceptedFieldNames) {
+		TargetType targetType = this.targetTypes.computeIfAbsent(clazz, this::introspectTarget).orElse(null);
+		SourceType sourceAccessors = sourceType(source);
+		SourceType targetAccessors = sourceType(target);
+		if (targetType == null || sourceAccessors == null || targetAccessors == null) {
+			return null;
+		}
+
+		Object[] arguments = new Object[targetType.creatorProperties.length];
+		for (int i = 0; i < arguments.length; i++) {
+			TargetProperty property = targetType.creatorProperties[i];
+			Object value = acceptedFieldNames.contains(property.name)
+					? value(property, source, sourceAccessors, target, targetAccessors) : null;
+			arguments[i] = (value != null) ? value : property.defaultValue;
+		}
+		try {
+			Object merged = targetType.creator.invokeExact(arguments);
+			for (TargetProperty property : targetType.settableProperties) {
+				if (acceptedFieldNames.contains(property.name)) {
+					Object value = value(property, source, sourceAccessors, target, targetAccessors);
+					if (value != null) {
+						property.setter.invokeExact(merged, value);
+					}
+				}
+			}
+			return clazz.cast(merged);
+		}
+		catch (RuntimeException | Error ex) {
+			throw ex;
+		}
+		catch (Throwable ex) {
+			throw new IllegalStateException("Failed to create an instance of " + clazz.getName(), ex);
+		}
+	}
+
+	private Object value(TargetProperty property, Object source, SourceType sourceAccessors, Object target,
+			SourceType targetAccessors) {
+		Object value = sourceAccessors.read(source, property);
+		return (value != null) ? value : targetAccessors.read(target, property);
+	}
+
+	private SourceType sourceType(Object object) {
+		if (object == null) {
+			return SourceType.NULL;
+		}
+		if (object instanceof Map) {
+			return SourceType.MAP;
+		}
+		return this.sourceTypes.computeIfAbsent(object.getClass(), this::introspectSource).orElse(null);
+	}
+
+	private Optional<SourceType> introspectSource(Class<?> clazz) {
+		try {
+			SerializationConfig config = this.objectMapper.getSerializationConfig();
+			JavaType type = this.objectMapper.constructType(clazz);
+			JsonSerializer<Object> serializer = this.objectMapper.getSerializerProviderInstance()
+				.findValueSerializer(type);
+			if (serializer.getClass() != BeanSerializer.class || clazz.isAnnotationPresent(JsonTypeInfo.class)) {
+				return Optional.empty();
+			}
+			BeanDescription description = config.introspect(type);
+			if (description.findAnyGetter() != null || description.findJsonValueAccessor() != null) {
+				return Optional.empty();
+			}
+			JsonInclude.Value classInclusion = description
+				.findPropertyInclusion(config.getDefaultPropertyInclusion(clazz));
+			Map<String, JsonInclude.Include> inclusions = new HashMap<>();
+			for (BeanPropertyDefinition definition : description.findProperties()) {
+				inclusions.put(definition.getName(),
+						classInclusion.withOverrides(definition.findInclusion()).getValueInclusion());
+			}
+
+			Map<String, SourceProperty> properties = new HashMap<>();
+			Iterator<PropertyWriter> writers = serializer.properties();
+			while (writers.hasNext()) {
+				PropertyWriter writer = writers.next();
+				if (writer.getClass() != BeanPropertyWriter.class
+						|| writer.getAnnotation(JsonSerialize.class) != null) {
+					return Optional.empty();
+				}
+				JsonInclude.Include inclusion = inclusions.getOrDefault(writer.getName(),
+						classInclusion.getValueInclusion());
+				boolean suppressEmpty = inclusion == JsonInclude.Include.NON_EMPTY;
+				if (!suppressEmpty && inclusion != JsonInclude.Include.ALWAYS
+						&& inclusion != JsonInclude.Include.NON_NULL && inclusion != JsonInclude.Include.NON_ABSENT
+						&& inclusion != JsonInclude.Include.USE_DEFAULTS) {
+					return Optional.empty();
+				}
+				properties.put(writer.getName(),
+						new SourceProperty(getter(writer.getMember().getMember()), writer.getType(), suppressEmpty));
+			}
+			return Optional.of(new SourceType(properties));
+		}
+		catch (Exception ex) {
+			return Optional.empty();
+		}
+	}
+
+	private Optional<TargetType> introspectTarget(Class<?> clazz) {
+		try {
+			if (Modifier.isAbstract(clazz.getModifiers()) || clazz.isAnnotationPresent(JsonTypeInfo.class)
+					|| clazz.isAnnotationPresent(JsonDeserialize.class)) {
+				return Optional.empty();
+			}
+			DeserializationConfig config = this.objectMapper.getDeserializationConfig();
+			JavaType type = this.objectMapper.constructType(clazz);
+			DefaultDeserializationContext context = ((DefaultDeserializationContext) this.objectMapper
+				.getDeserializationContext()).createDummyInstance(config);
+			JsonDeserializer<Object> deserializer = context.findRootValueDeserializer(type);
+			if (deserializer.getClass() != BeanDeserializer.class
+					|| config.introspect(type).findAnySetterAccessor() != null
+					|| ((BeanDeserializer) deserializer).getObjectIdReader() != null) {
+				return Optional.empty();
+			}
+
+			ValueInstantiator instantiator = ((BeanDeserializer) deserializer).getValueInstantiator();
+			TargetProperty[] creatorProperties;
+			AnnotatedWithParams creator;
+			if (instantiator.canCreateFromObjectWith()) {
+				SettableBeanProperty[] arguments = instantiator.getFromObjectArguments(config);
+				creatorProperties = new TargetProperty[arguments.length];
+				for (int i = 0; i < arguments.length; i++) {
+					if (!(arguments[i] instanceof CreatorProperty argument) || argument.getInjectableValueId() != null
+							|| isCustomized(argument)) {
+						return Optional.empty();
+					}
+					creatorProperties[i] = new TargetProperty(argument.getName(), argument.getType(), null);
+				}
+				creator = instantiator.getWithArgsCreator();
+			}
+			else if (instantiator.canCreateUsingDefault()) {
+				creatorProperties = new TargetProperty[0];
+				creator = instantiator.getDefaultCreator();
+			}
+			else {
+				return Optional.empty();
+			}
+
+			List<TargetProperty> settableProperties = new ArrayList<>();
+			Iterator<SettableBeanProperty> properties = ((BeanDeserializer) deserializer).properties();
+			while (properties.hasNext()) {
+				SettableBeanProperty property = properties.next();
+				if (property instanceof CreatorProperty) {
+					continue;
+				}
+				if ((property.getClass() != MethodProperty.class && property.getClass() != FieldProperty.class)
+						|| isCustomized(property)) {
+					return Optional.empty();
+				}
+				settableProperties.add(new TargetProperty(property.getName(), property.getType(),
+						setter(property.getMember().getMember())));
+			}
+			return Optional.of(new TargetType(creator(creator.getAnnotated()), creatorProperties,
+					settableProperties.toArray(new TargetProperty[0])));
+		}
+		catch (Exception ex) {
+			return Optional.empty();
+		}
+	}
+
+	private static boolean isCustomized(SettableBeanProperty property) {
+		return property.getAnnotation(JsonDeserialize.class) != null || property.getValueTypeDeserializer() != null
+				|| property.getManagedReferenceName() != null;
+	}
+
+	private static MethodHandle getter(Member member) throws IllegalAccessException {
+		if (member instanceof Method method) {
+			ReflectionUtils.makeAccessible(method);
+			return LOOKUP.unreflect(method).asType(GETTER_TYPE);
+		}
+		Field field = (Field) member;
+		ReflectionUtils.makeAccessible(field);
+		return LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+	}
+
+	private static MethodHandle setter(Member member) throws IllegalAccessException {
+		if (member instanceof Method method) {
+			ReflectionUtils.makeAccessible(method);
+			return LOOKUP.unreflect(method).asType(SETTER_TYPE);
+		}
+		Field field = (Field) member;
+		ReflectionUtils.makeAccessible(field);
+		return LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+	}
+
+	private static MethodHandle creator(Object member) throws IllegalAccessException {
+		MethodHandle handle;
+		if (member instanceof Constructor<?> constructor) {
+			ReflectionUtils.makeAccessible(constructor);
+			handle = LOOKUP.unreflectConstructor(constructor);
+		}
+		else {
+			Method method = (Method) member;
+			ReflectionUtils.makeAccessible(method);
+			handle = LOOKUP.unreflect(method);
+		}
+		return handle.asSpreader(Object[].class, handle.type().parameterCount()).asType(CREATOR_TYPE);
+	}
+
+	private static Object defaultValue(Class<?> primitive) {
+		if (primitive == boolean.class) {
+			return false;
+		}
+		if (primitive == char.class) {
+			return '\0';
+		}
+		if (primitive == long.class) {
+			return 0L;
+		}
+		if (primitive == float.class) {
+			return 0f;
+		}
+		if (primitive == double.class) {
+			return 0d;
+		}
+		if (primitive == short.class) {
+			return (short) 0;
+		}
+		if (primitive == byte.class) {
+			return (byte) 0;
+		}
+		return 0;
+	}
+
+	private final class TargetProperty {
+
+		private final String name;
+
+		private final JavaType type;
+
+		private final Class<?> boxedType;
+
+		private final boolean directAssignable;
+
+		private final Object defaultValue;
+
+		private final MethodHandle setter;
+
+		TargetProperty(String name, JavaType type, MethodHandle setter) {
+			this.name = name;
+			this.type = type;
+			this.boxedType = ClassUtils.resolvePrimitiveIfNecessary(type.getRawClass());
+			this.directAssignable = !type.isContainerType() && !type.hasGenericTypes();
+			this.defaultValue = type.isPrimitive() ? defaultValue(type.getRawClass()) : null;
+			this.setter = setter;
+		}
+
+		/**
+		 * Adapt a value read from a property of the given declared type, or of an unknown
+		 * type when read from a {@link Map}.
+		 */
+		Object adapt(Object value, JavaType declaredType) {
+			if (this.directAssignable && this.boxedType.isInstance(value)) {
+				return value;
+			}
+			if (this.type.equals(declaredType)) {
+				Object copy = copy(value);
+				if (copy != null) {
+					return copy;
+				}
+			}
+			return ModelOptionsMerger.this.objectMapper.convertValue(value, this.type);
+		}
+
+		/**
+		 * Shallow copy of a collection or a map, so that the merged instance does not
+		 * share the mutable containers of the merged objects, such as the default
+		 * options.
+		 * @return the copy, the value itself if it is not a container, or null if the
+		 * container cannot be copied into the property type.
+		 */
+		private Object copy(Object value) {
+			if (!this.type.isContainerType()) {
+				return value;
+			}
+			Class<?> rawClass = this.type.getRawClass();
+			if (value instanceof Set<?> set && rawClass.isAssignableFrom(LinkedHashSet.class)) {
+				return new LinkedHashSet<>(set);
+			}
+			if (value instanceof Collection<?> collection && rawClass.isAssignableFrom(ArrayList.class)) {
+				return new ArrayList<>(collection);
+			}
+			if (value instanceof Map<?, ?> map && rawClass.isAssignableFrom(LinkedHashMap.class)) {
+				return new LinkedHashMap<>(map);
+			}
+			return null;
+		}
+
+	}
+
+	private record TargetType(MethodHandle creator, TargetProperty[] creatorProperties,
+			TargetProperty[] settableProperties) {
+	}
+
+	private record SourceProperty(MethodHandle getter, JavaType type, boolean suppressEmpty) {
+	}
+
+	/**
+	 * Reads the properties of the objects merged into the target class.
+	 */
+	private static class SourceType {
+
+		static final SourceType NULL = new SourceType(Map.of()) {
+
+			@Override
+			Object read(Object object, TargetProperty property) {
+				return null;
+			}
+
+		};
+
+		static final SourceType MAP = new SourceType(Map.of()) {
+
+			@Override
+			Object read(Object object, TargetProperty property) {
+				Object value = ((Map<?, ?>) object).get(property.name);
+				return (value != null) ? property.adapt(value, null) : null;
+			}
+
+		};
+
+		private final Map<String, SourceProperty> properties;
+
+		SourceType(Map<String, SourceProperty> properties) {
+			this.properties = properties;
+		}
+
+		Object read(Object object, TargetProperty property) {
+			SourceProperty sourceProperty = this.properties.get(property.name);
+			if (sourceProperty == null) {
+				return null;
+			}
+			Object value;
+			try {
+				value = sourceProperty.getter.invokeExact(object);
+			}
+			catch (RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException("Failed to read the property " + property.name, ex);
+			}
+			if (value == null || (sourceProperty.suppressEmpty && ObjectUtils.isEmpty(value))) {
+				return null;
+			}
+			return property.adapt(value, sourceProperty.type);
+		}
+
+	}
+
+}
@@ -16,7 +16,11 @@
 package org.springframework.ai.model;
 
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -46,10 +50,14 @@ import com.github.victools.jsonschema.module.jackson.JacksonModule;
 import com.github.victools.jsonschema.module.jackson.JacksonOption;
 import com.github.victools.jsonschema.module.swagger2.Swagger2Module;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Utility class for manipulating {@link ModelOptions} objects.
@@ -70,6 +78,18 @@ public abstract class ModelOptionsUtils {
 
 	private static final AtomicReference<SchemaGenerator> SCHEMA_GENERATOR_CACHE = new AtomicReference<>();
 
+	private static final Map<Class<?>, String> JSON_SCHEMA_CACHE = new ConcurrentReferenceHashMap<>();
+
+	private static final Map<Class<?>, String> UPPER_CASE_JSON_SCHEMA_CACHE = new ConcurrentReferenceHashMap<>();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ModelOptionsMerger MERGER = new ModelOptionsMerger(OBJECT_MAPPER);
+
+	private static final ConcurrentHashMap<BeanMergerKey, List<BeanPropertyMerger>> BEAN_MERGERS = new ConcurrentHashMap<>();
+
 	/**
 	 * Converts the given JSON string to a Map of String and Object.
 	 * @param json the JSON string to convert to a Map.
@@ -123,7 +143,9 @@ public abstract class ModelOptionsUtils {
 	 * The source non-null values override the target values with the same field name. The
 	 * source null values are ignored. If the acceptedFieldNames is not empty, only the
 	 * fields with the given names are merged and returned. If the acceptedFieldNames is
-	 * empty, use the {@code @JsonProperty} names, inferred from the provided clazz.
+	 * empty, use the {@code @JsonProperty} names, inferred from the provided clazz. The
+	 * property accessors are resolved once per class, and the values are copied directly
+	 * unless the classes rely on Jackson features requiring a JSON round-trip.
 	 * @param <T> they type of the class to return.
 	 * @param source the source object to merge.
 	 * @param target the target object to merge into.
@@ -145,6 +167,11 @@ public abstract class ModelOptionsUtils {
 			throw new IllegalArgumentException("No @JsonProperty fields found in the " + clazz.getName());
 		}
 
+		T merged = MERGER.merge(source, target, clazz, requestFieldNames);
+		if (merged != null) {
+			return merged;
+		}
+
 		Map<String, Object> sourceMap = ModelOptionsUtils.objectToMap(source);
 		Map<String, Object> targetMap = ModelOptionsUtils.objectToMap(target);
 
@@ -294,31 +321,119 @@ public abstract class ModelOptionsUtils {
 		Assert.notNull(source, "Source object must not be null");
 		Assert.notNull(target, "Target object must not be null");
 
-		BeanWrapper sourceBeanWrap = new BeanWrapperImpl(source);
-		BeanWrapper targetBeanWrap = new BeanWrapperImpl(target);
+		List<BeanPropertyMerger> mergers = BEAN_MERGERS.computeIfAbsent(
+				new BeanMergerKey(source.getClass(), target.getClass(), sourceInterfaceClazz),
+				ModelOptionsUtils::beanPropertyMergers);
 
-		List<String> interfaceNames = Arrays.stream(sourceInterfaceClazz.getMethods()).map(m -> m.getName()).toList();
+		for (BeanPropertyMerger merger : mergers) {
+			merger.merge(source, target, overrideNonNullTargetValues);
+		}
 
-		for (PropertyDescriptor descriptor : sourceBeanWrap.getPropertyDescriptors()) {
+		return target;
+	}
+
+	/**
+	 * Resolve the getters and setters of the properties merged by
+	 * {@link #mergeBeans(Object, Object, Class, boolean)}.
+	 */
+	private static List<BeanPropertyMerger> beanPropertyMergers(BeanMergerKey key) {
+
+		List<String> interfaceNames = Arrays.stream(key.sourceInterfaceClass().getMethods())
+			.map(m -> m.getName())
+			.toList();
+
+		List<BeanPropertyMerger> mergers = new ArrayList<>();
+
+		for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(key.sourceClass())) {
 
 			if (!BEAN_MERGE_FIELD_EXCISIONS.contains(descriptor.getName())
 					&& interfaceNames.contains(toGetName(descriptor.getName()))) {
 
-				String propertyName = descriptor.getName();
-				Object value = sourceBeanWrap.getPropertyValue(propertyName);
+				PropertyDescriptor targetDescriptor = BeanUtils.getPropertyDescriptor(key.targetClass(),
+						descriptor.getName());
+
+				if (descriptor.getReadMethod() == null || targetDescriptor == null
+						|| targetDescriptor.getReadMethod() == null || targetDescriptor.getWriteMethod() == null
+						|| !ClassUtils.isAssignable(targetDescriptor.getWriteMethod().getParameterTypes()[0],
+								descriptor.getReadMethod().getReturnType())) {
+					// Requires the conversions or error reporting of a BeanWrapper.
+					mergers.add(new BeanWrapperPropertyMerger(descriptor.getName()));
+				}
+				else {
+					mergers.add(new MethodHandlePropertyMerger(descriptor.getName(),
+							handle(descriptor.getReadMethod(), GETTER_TYPE),
+							handle(targetDescriptor.getReadMethod(), GETTER_TYPE),
+							handle(targetDescriptor.getWriteMethod(), SETTER_TYPE)));
+				}
+			}
+		}
+
+		return List.copyOf(mergers);
+	}
+
+	private static MethodHandle handle(Method method, MethodType type) {
+		try {
+			ReflectionUtils.makeAccessible(method);
+			return MethodHandles.lookup().unreflect(method).asType(type);
+		}
+		catch (IllegalAccessException e) {
+			throw new IllegalStateException("Failed to access " + method, e);
+		}
+	}
+
+	private record BeanMergerKey(Class<?> sourceClass, Class<?> targetClass, Class<?> sourceInterfaceClass) {
+	}
+
+	private interface BeanPropertyMerger {
+
+		void merge(Object source, Object target, boolean overrideNonNullTargetValues);
+
+	}
+
+	private record MethodHandlePropertyMerger(String name, MethodHandle sourceGetter, MethodHandle targetGetter,
+			MethodHandle targetSetter) implements BeanPropertyMerger {
+
+		@Override
+		public void merge(Object source, Object target, boolean overrideNonNullTargetValues) {
+			try {
+				Object value = this.sourceGetter.invokeExact(source);
 
 				// Copy value to the target object
 				if (value != null) {
-					var targetValue = targetBeanWrap.getPropertyValue(propertyName);
-
-					if (targetValue == null || overrideNonNullTargetValues) {
-						targetBeanWrap.setPropertyValue(propertyName, value);
+					if (overrideNonNullTargetValues || this.targetGetter.invokeExact(target) == null) {
+						this.targetSetter.invokeExact(target, value);
 					}
 				}
 			}
+			catch (RuntimeException | Error e) {
+				throw e;
+			}
+			catch (Throwable e) {
+				throw new IllegalStateException("Failed to merge the property " + this.name, e);
+			}
+		}
+
+	}
+
+	private record BeanWrapperPropertyMerger(String name) implements BeanPropertyMerger {
+
+		@Override
+		public void merge(Object source, Object target, boolean overrideNonNullTargetValues) {
+			BeanWrapper sourceBeanWrap = new BeanWrapperImpl(source);
+			BeanWrapper targetBeanWrap = new BeanWrapperImpl(target);
+
+			Object value = sourceBeanWrap.getPropertyValue(this.name);
+
+			// Copy value to the target object
+			if (value != null) {
+				var targetValue = targetBeanWrap.getPropertyValue(this.name);
+
+				if (targetValue == null || overrideNonNullTargetValues) {
+					targetBeanWrap.setPropertyValue(this.name, value);
+				}
+			}
 		}
 
-		return target;
 	}
 
 	private static String toGetName(String name) {
@@ -326,12 +441,19 @@ public abstract class ModelOptionsUtils {
 	}
 
 	/**
-	 * Generates JSON Schema (version 2020_12) for the given class.
+	 * Generates JSON Schema (version 2020_12) for the given class. The schema is
+	 * generated once per class and cached.
 	 * @param clazz the class to generate JSON Schema for.
 	 * @param toUpperCaseTypeValues if true, the type values are converted to upper case.
 	 * @return the generated JSON Schema as a String.
 	 */
 	public static String getJsonSchema(Class<?> clazz, boolean toUpperCaseTypeValues) {
+		Assert.notNull(clazz, "Class must not be null");
+		Map<Class<?>, String> cache = toUpperCaseTypeValues ? UPPER_CASE_JSON_SCHEMA_CACHE : JSON_SCHEMA_CACHE;
+		return cache.computeIfAbsent(clazz, type -> generateJsonSchema(type, toUpperCaseTypeValues));
+	}
+
+	private static String generateJsonSchema(Class<?> clazz, boolean toUpperCaseTypeValues) {
 
 		if (SCHEMA_GENERATOR_CACHE.get() == null) {
 
@@ -15,16 +15,24 @@
  */
 package org.springframework.ai.model.function;
 
+import org.springframework.ai.model.function.FunctionCallExecutor.FunctionCall;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * @author Christian Tzolov
@@ -46,6 +54,22 @@ public abstract class AbstractFunctionCallSupport<Msg, Req, Resp> {
 	 */
 	protected final FunctionCallbackContext functionCallbackContext;
 
+	/**
+	 * Executes the function calls requested by the model in a single turn. Sequential by
+	 * default.
+	 */
+	private FunctionCallExecutor functionCallExecutor = FunctionCallExecutor.sequential();
+
+	/**
+	 * The maximum number of function calling rounds of a single request. Unbounded by
+	 * default.
+	 */
+	private int maxFunctionCallingRounds = Integer.MAX_VALUE;
+
+	private UnaryOperator<List<Msg>> conversationHistoryCompactor;
+
+	private Consumer<FunctionCallingRound<Resp>> functionCallingRoundListener;
+
 	protected AbstractFunctionCallSupport(FunctionCallbackContext functionCallbackContext) {
 		this.functionCallbackContext = functionCallbackContext;
 	}
@@ -54,6 +78,73 @@ public abstract class AbstractFunctionCallSupport<Msg, Req, Resp> {
 		return this.functionCallbackRegister;
 	}
 
+	/**
+	 * Set the executor of the function calls requested by the model in a single turn, for
+	 * example to call independent functions concurrently.
+	 * @param functionCallExecutor the function call executor.
+	 */
+	public void setFunctionCallExecutor(FunctionCallExecutor functionCallExecutor) {
+		Assert.notNull(functionCallExecutor, "FunctionCallExecutor must not be null");
+		this.functionCallExecutor = functionCallExecutor;
+	}
+
+	/**
+	 * Set the maximum number of function calling rounds of a single request. A request
+	 * whose model responses keep requesting function calls beyond that number fails with
+	 * an {@link IllegalStateException}.
+	 * @param maxFunctionCallingRounds the maximum number of rounds, at least 1.
+	 */
+	public void setMaxFunctionCallingRounds(int maxFunctionCallingRounds) {
+		Assert.isTrue(maxFunctionCallingRounds >= 1, "Max function calling rounds must be >= 1");
+		this.maxFunctionCallingRounds = maxFunctionCallingRounds;
+	}
+
+	/**
+	 * Set a function compacting the conversation history before every function calling
+	 * round, for example to drop or summarize the oldest tool responses of long running
+	 * sessions. The compactor receives the mutable history, excluding the model response
+	 * requesting the function calls, and returns the history to continue with.
+	 * @param conversationHistoryCompactor the conversation history compactor, or
+	 * {@code null} to keep the full history.
+	 */
+	public void setConversationHistoryCompactor(UnaryOperator<List<Msg>> conversationHistoryCompactor) {
+		this.conversationHistoryCompactor = conversationHistoryCompactor;
+	}
+
+	/**
+	 * Set a listener notified of every completed function calling round, for example to
+	 * record the duration of the function calls and the usage of the model responses.
+	 * @param functionCallingRoundListener the listener, or {@code null}.
+	 */
+	public void setFunctionCallingRoundListener(Consumer<FunctionCallingRound<Resp>> functionCallingRoundListener) {
+		this.functionCallingRoundListener = functionCallingRoundListener;
+	}
+
+	/**
+	 * Call the registered functions requested by the model in a single turn.
+	 * @param <T> the type of the model tool calls.
+	 * @param toolCalls the tool calls requested by the model.
+	 * @param functionName extracts the name of the function to call.
+	 * @param functionArguments extracts the JSON arguments of the function call.
+	 * @return the function responses, in the order of the tool calls.
+	 */
+	protected <T> List<String> callFunctions(List<T> toolCalls, Function<T, String> functionName,
+			Function<T, String> functionArguments) {
+
+		List<FunctionCall> calls = new ArrayList<>(toolCalls.size());
+
+		for (T toolCall : toolCalls) {
+			String name = functionName.apply(toolCall);
+			FunctionCallback functionCallback = this.functionCallbackRegister.get(name);
+			if (functionCallback == null) {
+				throw new IllegalStateException("No function callback found for function name: " + name);
+			}
+			calls.add(new FunctionCall(functionCallback, functionArguments.apply(toolCall)));
+		}
+
+		return this.functionCallExecutor.execute(calls);
+	}
+
 	protected Set<String> handleFunctionCallbackConfigurations(FunctionCallingOptions options, boolean isRuntimeCall) {
 
 		Set<String> functionToCall = new HashSet<>();
@@ -130,52 +221,63 @@ public abstract class AbstractFunctionCallSupport<Msg, Req, Resp> {
 
 	protected Resp handleFunctionCallOrReturn(Req request, Resp response) {
 
-		if (!this.isToolFunctionCall(response)) {
-			return response;
-		}
+		FunctionCallingLoop loop = new FunctionCallingLoop();
 
-		// The chat completion tool call requires the complete conversation
-		// history. Including the initial user message.
-		List<Msg> conversationHistory = new ArrayList<>();
+		// Iterate, rather than recurse, over the function calling rounds. The rounds
+		// share a single conversation history, the tool response requests being created
+		// from it.
+		List<Msg> conversationHistory = null;
 
-		conversationHistory.addAll(this.doGetUserMessages(request));
+		while (this.isToolFunctionCall(response)) {
 
-		Msg responseMessage = this.doGetToolResponseMessage(response);
-
-		// Add the assistant response to the message conversation history.
-		conversationHistory.add(responseMessage);
+			if (conversationHistory == null) {
+				// The chat completion tool call requires the complete conversation
+				// history. Including the initial user message.
+				conversationHistory = new ArrayList<>(this.doGetUserMessages(request));
+			}
 
-		Req newRequest = this.doCreateToolResponseRequest(request, responseMessage, conversationHistory);
+			conversationHistory = loop.compact(conversationHistory);
+			request = loop.createToolResponseRequest(request, response, conversationHistory);
+			response = this.doChatCompletion(request);
+		}
 
-		return this.callWithFunctionSupport(newRequest);
+		return response;
 	}
 
 	protected Flux<Resp> callWithFunctionSupportStream(Req request) {
+		return this.callWithFunctionSupportStream(request, new FunctionCallingLoop());
+	}
+
+	private Flux<Resp> callWithFunctionSupportStream(Req request, FunctionCallingLoop loop) {
 		final Flux<Resp> response = this.doChatCompletionStream(request);
-		return this.handleFunctionCallOrReturnStream(request, response);
+		return this.handleFunctionCallOrReturnStream(request, response, loop);
 	}
 
 	protected Flux<Resp> handleFunctionCallOrReturnStream(Req request, Flux<Resp> response) {
+		return this.handleFunctionCallOrReturnStream(request, response, new FunctionCallingLoop());
+	}
+
+	private Flux<Resp> handleFunctionCallOrReturnStream(Req request, Flux<Resp> response, FunctionCallingLoop loop) {
 
 		return response.switchMap(resp -> {
 			if (!this.isToolFunctionCall(resp)) {
 				return Mono.just(resp);
 			}
 
-			// The chat completion tool call requires the complete conversation
-			// history. Including the initial user message.
-			List<Msg> conversationHistory = new ArrayList<>();
-
-			conversationHistory.addAll(this.doGetUserMessages(request));
-
-			Msg responseMessage = this.doGetToolResponseMessage(resp);
-
-			// Add the assistant response to the message conversation history.
-			conversationHistory.add(responseMessage);
-
-			Req newRequest = this.doCreateToolResponseRequest(request, responseMessage, conversationHistory);
-
-			return this.callWithFunctionSupportStream(newRequest);
+			// The function calls may block, keep them off the thread delivering the
+			// stream. The round blocks until the function calls complete, possibly on
+			// the scheduler of the function call executor, so it must not run on that
+			// scheduler, which may be bounded or non-blocking.
+			return Mono.fromCallable(() -> {
+				// The chat completion tool call requires the complete conversation
+				// history. Including the initial user message. A stream may hold several
+				// tool calls responses for the same request, each round copies the
+				// history of its request.
+				List<Msg> conversationHistory = loop.compact(new ArrayList<>(this.doGetUserMessages(request)));
+				return loop.createToolResponseRequest(request, resp, conversationHistory);
+			})
+				.subscribeOn(Schedulers.boundedElastic())
+				.flatMapMany(newRequest -> this.callWithFunctionSupportStream(newRequest, loop));
 		});
 
 	}
@@ -193,4 +295,52 @@ public abstract class AbstractFunctionCallSupport<Msg, Req, Resp> {
 
 	abstract protected boolean isToolFunctionCall(Resp response);
 
+	/**
+	 * The state of the function calling rounds of a single request.
+	 */
+	private final class FunctionCallingLoop {
+
+		private final AtomicInteger rounds = new AtomicInteger();
+
+		List<Msg> compact(List<Msg> conversationHistory) {
+			UnaryOperator<List<Msg>> compactor = AbstractFunctionCallSupport.this.conversationHistoryCompactor;
+			if (compactor == null) {
+				return conversationHistory;
+			}
+			List<Msg> compacted = compactor.apply(conversationHistory);
+			Assert.notNull(compacted, "The compacted conversation history must not be null");
+			return (compacted == conversationHistory) ? conversationHistory : new ArrayList<>(compacted);
+		}
+
+		/**
+		 * Add the model response to the conversation history, call the requested
+		 * functions and create the request sending their responses back to the model.
+		 */
+		Req createToolResponseRequest(Req request, Resp response, List<Msg> conversationHistory) {
+
+			int round = this.rounds.incrementAndGet();
+			int maxRounds = AbstractFunctionCallSupport.this.maxFunctionCallingRounds;
+			if (round > maxRounds) {
+				throw new IllegalStateException(
+						"The maximum number of function calling rounds [" + maxRounds + "] was exceeded");
+			}
+
+			Msg responseMessage = doGetToolResponseMessage(response);
+
+			// Add the assistant response to the message conversation history.
+			conversationHistory.add(responseMessage);
+
+			long start = System.nanoTime();
+			Req newRequest = doCreateToolResponseRequest(request, responseMessage, conversationHistory);
+
+			Consumer<FunctionCallingRound<Resp>> listener = AbstractFunctionCallSupport.this.functionCallingRoundListener;
+			if (listener != null) {
+				listener.accept(new FunctionCallingRound<>(round, response, conversationHistory.size(),
+						Duration.ofNanos(System.nanoTime() - start)));
+			}
+			return newRequest;
+		}
+
+	}
+
 }
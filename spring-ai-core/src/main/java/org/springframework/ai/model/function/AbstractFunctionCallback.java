@@ -101,12 +101,25 @@ abstract class AbstractFunctionCallback<I, O> implements Function<I, O>, Functio
 	public String call(String functionArguments) {
 
 		// Convert the tool calls JSON arguments into a Java function request object.
-		I request = fromJson(functionArguments, inputType);
+		I request = toRequest(functionArguments);
 
 		// extend conversation with function response.
 		return this.andThen(this.responseConverter).apply(request);
 	}
 
+	/**
+	 * Convert the tool call JSON arguments into the function request object.
+	 * @param functionArguments the JSON arguments.
+	 * @return the function request.
+	 */
+	protected I toRequest(String functionArguments) {
+		return fromJson(functionArguments, this.inputType);
+	}
+
+	protected Function<O, String> getResponseConverter() {
+		return this.responseConverter;
+	}
+
 	private <T> T fromJson(String json, Class<T> targetClass) {
 		try {
 			return this.objectMapper.readValue(json, targetClass);
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link FunctionCallback} whose function is non-blocking, for example backed by a
+ * reactive HTTP client or database driver.
+ * <p>
+ * The {@link FunctionCallExecutor} subscribes to {@link #callAsync(String)} without
+ * offloading it, while the blocking {@link FunctionCallback#call(String)} of the other
+ * callbacks is offloaded to a scheduler.
+ *
+ * @see FunctionCallbackWrapper
+ * @since 1.0.0
+ */
+public interface AsyncFunctionCallback extends FunctionCallback {
+
+	/**
+	 * Called when a model detects and triggers a function call.
+	 * @param functionInput JSON string with the function arguments to be passed to the
+	 * function.
+	 * @return a {@link Mono} emitting the function call response. The Mono must not block
+	 * the subscribing thread.
+	 */
+	Mono<String> callAsync(String functionInput);
+
+	/**
+	 * Blocks until the {@link #callAsync(String) asynchronous call} completes.
+	 */
+	@Override
+	default String call(String functionInput) {
+		return callAsync(functionInput).block();
+	}
+
+}
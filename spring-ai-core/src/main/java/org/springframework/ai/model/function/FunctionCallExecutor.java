@@ -0,0 +1,193 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.util.Assert;
+
+/**
+ * Executes the function calls requested by a model in a single turn.
+ * <p>
+ * The {@link #sequential() default} executor calls the functions one after the other on
+ * the caller thread. A concurrent executor calls up to {@code maxConcurrency} functions
+ * at a time on a {@link Scheduler}, optionally failing the calls that do not complete
+ * within a timeout. In both cases the responses are returned in the order of the
+ * requested calls, so that they are appended to the conversation in that order.
+ * <p>
+ * {@link AsyncFunctionCallback Asynchronous callbacks} are composed without blocking a
+ * scheduler thread, see {@link #executeAsync(List)}.
+ *
+ * @see AbstractFunctionCallSupport#setFunctionCallExecutor(FunctionCallExecutor)
+ * @since 1.0.0
+ */
+public class FunctionCallExecutor {
+
+	private static final FunctionCallExecutor SEQUENTIAL = builder().build();
+
+	private final int maxConcurrency;
+
+	private final Duration timeout;
+
+	private final Scheduler scheduler;
+
+	private FunctionCallExecutor(Builder builder) {
+		this.maxConcurrency = builder.maxConcurrency;
+		this.timeout = builder.timeout;
+		this.scheduler = builder.scheduler;
+	}
+
+	/**
+	 * @return an executor calling the functions sequentially on the caller thread.
+	 */
+	public static FunctionCallExecutor sequential() {
+		return SEQUENTIAL;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Call the functions and return their responses.
+	 * @param calls the function calls, in the order requested by the model.
+	 * @return the function responses, in the order of the calls.
+	 */
+	public List<String> execute(List<FunctionCall> calls) {
+		Assert.notNull(calls, "Calls must not be null");
+
+		if (this.timeout == null && (calls.size() <= 1 || this.maxConcurrency == 1)) {
+			List<String> responses = new ArrayList<>(calls.size());
+			for (FunctionCall call : calls) {
+				responses.add(call.callback().call(call.arguments()));
+			}
+			return responses;
+		}
+
+		return executeAsync(calls).block();
+	}
+
+	/**
+	 * Call the functions without blocking the subscribing thread. The
+	 * {@link AsyncFunctionCallback asynchronous callbacks} are subscribed to directly,
+	 * the blocking callbacks are called on the scheduler.
+	 * @param calls the function calls, in the order requested by the model.
+	 * @return a {@link Mono} emitting the function responses, in the order of the calls.
+	 */
+	public Mono<List<String>> executeAsync(List<FunctionCall> calls) {
+		Assert.notNull(calls, "Calls must not be null");
+
+		// Optional keeps the position of null responses in the sequence.
+		return Flux.fromIterable(calls)
+			.flatMapSequential(this::callAsync, this.maxConcurrency)
+			.collect(() -> new ArrayList<String>(calls.size()),
+					(responses, response) -> responses.add(response.orElse(null)));
+	}
+
+	private Mono<Optional<String>> callAsync(FunctionCall call) {
+		Mono<String> response = (call.callback() instanceof AsyncFunctionCallback asyncCallback)
+				? Mono.defer(() -> asyncCallback.callAsync(call.arguments()))
+				: Mono.fromCallable(() -> call.callback().call(call.arguments())).subscribeOn(this.scheduler);
+		Mono<Optional<String>> result = response.map(Optional::of).defaultIfEmpty(Optional.empty());
+		if (this.timeout != null) {
+			result = result.timeout(this.timeout)
+				.onErrorMap(TimeoutException.class,
+						ex -> new IllegalStateException(
+								"Function call [" + call.callback().getName() + "] timed out after " + this.timeout,
+								ex));
+		}
+		return result;
+	}
+
+	/**
+	 * A function call requested by the model.
+	 *
+	 * @param callback the function callback to call.
+	 * @param arguments the JSON arguments of the call.
+	 */
+	public record FunctionCall(FunctionCallback callback, String arguments) {
+
+		public FunctionCall {
+			Assert.notNull(callback, "Callback must not be null");
+		}
+
+	}
+
+	public static class Builder {
+
+		private int maxConcurrency = 1;
+
+		private Duration timeout;
+
+		private Scheduler scheduler = Schedulers.boundedElastic();
+
+		/**
+		 * @param maxConcurrency the maximum number of functions called concurrently.
+		 * Defaults to 1, calling the functions on the caller thread unless a timeout is
+		 * set.
+		 */
+		public Builder withMaxConcurrency(int maxConcurrency) {
+			Assert.isTrue(maxConcurrency >= 1, "Max concurrency must be >= 1");
+			this.maxConcurrency = maxConcurrency;
+			return this;
+		}
+
+		/**
+		 * @param timeout the maximum duration of a single function call. The calls run on
+		 * the scheduler when a timeout is set.
+		 */
+		public Builder withTimeout(Duration timeout) {
+			Assert.isTrue(timeout == null || (!timeout.isNegative() && !timeout.isZero()), "Timeout must be positive");
+			this.timeout = timeout;
+			return this;
+		}
+
+		/**
+		 * @param scheduler the scheduler running the function calls. Defaults to
+		 * {@link Schedulers#boundedElastic()}.
+		 */
+		public Builder withScheduler(Scheduler scheduler) {
+			Assert.notNull(scheduler, "Scheduler must not be null");
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		/**
+		 * @param executor the executor running the function calls.
+		 */
+		public Builder withExecutor(Executor executor) {
+			Assert.notNull(executor, "Executor must not be null");
+			this.scheduler = Schedulers.fromExecutor(executor);
+			return this;
+		}
+
+		public FunctionCallExecutor build() {
+			return new FunctionCallExecutor(this);
+		}
+
+	}
+
+}
@@ -81,6 +81,8 @@ public class FunctionCallbackContext implements ApplicationContextAware {
 		Type functionInputType = TypeResolverHelper.getFunctionArgumentType(beanType, 0);
 
 		Class<?> functionInputClass = FunctionTypeUtils.getRawType(functionInputType);
+
+		Type functionOutputType = TypeResolverHelper.getFunctionArgumentType(beanType, 1);
 		String functionName = beanName;
 		String functionDescription = defaultDescription;
 
@@ -116,6 +118,7 @@ public class FunctionCallbackContext implements ApplicationContextAware {
 				.withSchemaType(this.schemaType)
 				.withDescription(functionDescription)
 				.withInputType(functionInputClass)
+				.withOutputType(FunctionTypeUtils.getRawType(functionOutputType))
 				.build();
 		}
 		else {
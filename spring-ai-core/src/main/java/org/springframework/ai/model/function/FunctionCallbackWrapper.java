@@ -15,12 +15,15 @@
  */
 package org.springframework.ai.model.function;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
 
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.util.Assert;
@@ -30,6 +33,11 @@ import org.springframework.util.Assert;
  * that can be consumed by the Model. The default implementation converts the output into
  * String before sending it to the Model. Provide a custom function responseConverter
  * implementation to override this.
+ * <p>
+ * Functions returning a {@link Publisher}, such as a {@link Mono}, or a
+ * {@link CompletionStage} are wrapped into an {@link AsyncFunctionCallback}. The
+ * responseConverter is then applied to the emitted value rather than to the function
+ * output, so a custom converter must not rely on the output type.
  *
  */
 public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O> {
@@ -48,6 +56,20 @@ public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O
 		return (Class<I>) TypeResolverHelper.getFunctionInputClass((Class<Function<I, O>>) function.getClass());
 	}
 
+	@SuppressWarnings("unchecked")
+	private static <I, O> Class<?> resolveOutputType(Function<I, O> function) {
+		try {
+			return TypeResolverHelper.getFunctionOutputClass((Class<Function<I, O>>) function.getClass());
+		}
+		catch (RuntimeException ex) {
+			return Object.class;
+		}
+	}
+
+	private static boolean isAsync(Class<?> outputType) {
+		return Publisher.class.isAssignableFrom(outputType) || CompletionStage.class.isAssignableFrom(outputType);
+	}
+
 	@Override
 	public O apply(I input) {
 		return this.function.apply(input);
@@ -71,6 +93,8 @@ public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O
 
 		private Class<I> inputType;
 
+		private Class<?> outputType;
+
 		private final Function<I, O> function;
 
 		private SchemaType schemaType = SchemaType.JSON_SCHEMA;
@@ -108,6 +132,16 @@ public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O
 			return this;
 		}
 
+		/**
+		 * @param outputType the function output type. A {@link Publisher} or
+		 * {@link CompletionStage} output type builds an {@link AsyncFunctionCallback}.
+		 * Resolved from the function class if not set.
+		 */
+		public Builder<I, O> withOutputType(Class<?> outputType) {
+			this.outputType = outputType;
+			return this;
+		}
+
 		public Builder<I, O> withResponseConverter(Function<O, String> responseConverter) {
 			Assert.notNull(responseConverter, "ResponseConverter must not be null");
 			this.responseConverter = responseConverter;
@@ -149,10 +183,56 @@ public class FunctionCallbackWrapper<I, O> extends AbstractFunctionCallback<I, O
 				this.inputTypeSchema = ModelOptionsUtils.getJsonSchema(this.inputType, upperCaseTypeValues);
 			}
 
+			if (this.outputType == null) {
+				this.outputType = resolveOutputType(this.function);
+			}
+
+			if (isAsync(this.outputType)) {
+				return new AsyncFunctionCallbackWrapper<>(this.name, this.description, this.inputTypeSchema,
+						this.inputType, this.responseConverter, this.objectMapper, this.function);
+			}
+
 			return new FunctionCallbackWrapper<>(this.name, this.description, this.inputTypeSchema, this.inputType,
 					this.responseConverter, this.objectMapper, this.function);
 		}
 
 	}
 
+	/**
+	 * Wraps a function returning a {@link Publisher} or a {@link CompletionStage}.
+	 */
+	private static final class AsyncFunctionCallbackWrapper<I, O> extends FunctionCallbackWrapper<I, O>
+			implements AsyncFunctionCallback {
+
+		private AsyncFunctionCallbackWrapper(String name, String description, String inputTypeSchema,
+				Class<I> inputType, Function<O, String> responseConverter, ObjectMapper objectMapper,
+				Function<I, O> function) {
+			super(name, description, inputTypeSchema, inputType, responseConverter, objectMapper, function);
+		}
+
+		@Override
+		public String call(String functionArguments) {
+			return callAsync(functionArguments).block();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Mono<String> callAsync(String functionArguments) {
+			// The response converter applies to the emitted value.
+			Function<Object, String> responseConverter = (Function<Object, String>) getResponseConverter();
+			return Mono.defer(() -> toMono(apply(toRequest(functionArguments)))).map(responseConverter);
+		}
+
+		private static Mono<?> toMono(Object output) {
+			if (output instanceof Publisher<?> publisher) {
+				return Mono.from(publisher);
+			}
+			if (output instanceof CompletionStage<?> completionStage) {
+				return Mono.fromCompletionStage(completionStage);
+			}
+			return Mono.justOrEmpty(output);
+		}
+
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import java.time.Duration;
+
+/**
+ * A completed function calling round: the functions requested by a model response have
+ * been called, and their responses added to the conversation sent back to the model.
+ *
+ * @param <Resp> the type of the model responses.
+ * @param round the number of the round, starting at 1.
+ * @param response the model response requesting the function calls. Carries the usage of
+ * the completion.
+ * @param conversationSize the number of messages of the conversation sent back to the
+ * model.
+ * @param functionCallsDuration the duration of the function calls.
+ * @see AbstractFunctionCallSupport#setFunctionCallingRoundListener(java.util.function.Consumer)
+ * @since 1.0.0
+ */
+public record FunctionCallingRound<Resp>(int round, Resp response, int conversationSize,
+		Duration functionCallsDuration) {
+}
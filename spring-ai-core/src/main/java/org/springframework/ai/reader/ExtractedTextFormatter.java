@@ -15,6 +15,8 @@
  */
 package org.springframework.ai.reader;
 
+import java.util.regex.Pattern;
+
 import org.springframework.util.StringUtils;
 
 /**
@@ -30,10 +32,22 @@ import org.springframework.util.StringUtils;
  *
  * An instance of this formatter can be customized using the {@link Builder} nested class.
  *
+ * The text is formatted in a single scan, with the same result as applying
+ * {@link #trimAdjacentBlankLines(String)}, {@link #deleteTopTextLines(String, int)},
+ * {@link #deleteBottomTextLines(String, int)} and {@link #alignToLeft(String)} in turn.
+ *
  * @author Christian Tzolov
  */
 public class ExtractedTextFormatter {
 
+	private static final Pattern SPACES_ONLY_LINES = Pattern.compile("(?m)(^ *\n)");
+
+	private static final Pattern ADJACENT_BLANK_LINES = Pattern.compile("(?m)^$([\r\n]+?)(^$[\r\n]+?^)+");
+
+	private static final Pattern LEADING_AND_REPEATED_SPACES = Pattern.compile("(?m)(^ *| +(?= |$))");
+
+	private static final Pattern BLANK_LINES = Pattern.compile("(?m)^$(	?)(^$[\r\n]+?^)+");
+
 	/** Flag indicating if the text should be left-aligned */
 	private boolean leftAlignment;
 
@@ -91,6 +105,38 @@ public class ExtractedTextFormatter {
 	 */
 	public String format(String pageText, int pageNumber) {
 
+		boolean deleteLines = pageNumber >= this.numberOfTopPagesToSkipBeforeDelete
+				&& (this.numberOfTopTextLinesToDelete > 0 || this.numberOfBottomTextLinesToDelete > 0);
+		var text = new StringBuilder(pageText.length());
+
+		if (!deleteLines) {
+			var lines = this.leftAlignment ? new LeftAlignedLines(text) : new AppendedLines(text);
+			if (!scanLines(pageText, 0, pageText.length(), new TrimmedLines(lines))) {
+				return formatWithPatterns(pageText, pageNumber);
+			}
+			return text.toString();
+		}
+
+		if (!scanLines(pageText, 0, pageText.length(), new TrimmedLines(new AppendedLines(text)))) {
+			return formatWithPatterns(pageText, pageNumber);
+		}
+		int start = topTextLinesEnd(text, this.numberOfTopTextLinesToDelete);
+		int end = bottomTextLinesStart(text, start, this.numberOfBottomTextLinesToDelete);
+		if (!this.leftAlignment) {
+			return text.substring(start, end);
+		}
+
+		var alignedText = new StringBuilder(end - start);
+		scanLines(text, start, end, new LeftAlignedLines(alignedText));
+		return alignedText.toString();
+	}
+
+	/**
+	 * Formats the text with the regular expressions of the public utility methods, for
+	 * the line terminators not supported by the single scan.
+	 */
+	private String formatWithPatterns(String pageText, int pageNumber) {
+
 		var text = trimAdjacentBlankLines(pageText);
 
 		if (pageNumber >= this.numberOfTopPagesToSkipBeforeDelete) {
@@ -126,7 +172,7 @@ public class ExtractedTextFormatter {
 	 * <li>Number of top text lines to delete to 0</li>
 	 * <li>Number of bottom text lines to delete to 0</li>
 	 * </ul>
-	 * 
+	 *
 	 *
 	 * <p>
 	 * After configuring the builder, calling the {@link #build()} method will return a
@@ -215,7 +261,8 @@ public class ExtractedTextFormatter {
 	 * @return Returns the same text but with blank lines trimmed.
 	 */
 	public static String trimAdjacentBlankLines(String pageText) {
-		return pageText.replaceAll("(?m)(^ *\n)", "\n").replaceAll("(?m)^$([\r\n]+?)(^$[\r\n]+?^)+", "$1");
+		String text = SPACES_ONLY_LINES.matcher(pageText).replaceAll("\n");
+		return ADJACENT_BLANK_LINES.matcher(text).replaceAll("$1");
 	}
 
 	/**
@@ -223,7 +270,8 @@ public class ExtractedTextFormatter {
 	 * @return Returns the same text but aligned to the left side.
 	 */
 	public static String alignToLeft(String pageText) {
-		return pageText.replaceAll("(?m)(^ *| +(?= |$))", "").replaceAll("(?m)^$(	?)(^$[\r\n]+?^)+", "$1");
+		String text = LEADING_AND_REPEATED_SPACES.matcher(pageText).replaceAll("");
+		return BLANK_LINES.matcher(text).replaceAll("$1");
 	}
 
 	/**
@@ -285,4 +333,306 @@ public class ExtractedTextFormatter {
 		return pageText.substring(truncateIndex, pageText.length());
 	}
 
+	/**
+	 * Same as {@link #deleteTopTextLines(String, int)}, on the text of the builder.
+	 * @return the start of the remaining text.
+	 */
+	private static int topTextLinesEnd(StringBuilder text, int numberOfLines) {
+		if (!hasText(text, 0)) {
+			return 0;
+		}
+		int lineCount = 0;
+		int truncateIndex = 0;
+		int nextTruncateIndex = truncateIndex;
+		while (lineCount < numberOfLines && nextTruncateIndex >= 0) {
+			nextTruncateIndex = text.indexOf(System.lineSeparator(), truncateIndex + 1);
+			truncateIndex = nextTruncateIndex < 0 ? truncateIndex : nextTruncateIndex;
+			lineCount++;
+		}
+		return truncateIndex;
+	}
+
+	/**
+	 * Same as {@link #deleteBottomTextLines(String, int)}, on the text of the builder
+	 * starting at the given index.
+	 * @return the end of the remaining text.
+	 */
+	private static int bottomTextLinesStart(StringBuilder text, int start, int numberOfLines) {
+		if (!hasText(text, start)) {
+			return text.length();
+		}
+		int lineCount = 0;
+		int truncateIndex = text.length();
+		int nextTruncateIndex = truncateIndex;
+		while (lineCount < numberOfLines && nextTruncateIndex >= 0) {
+			nextTruncateIndex = text.lastIndexOf(System.lineSeparator(), truncateIndex - 1);
+			nextTruncateIndex = nextTruncateIndex < start ? -1 : nextTruncateIndex;
+			truncateIndex = nextTruncateIndex < 0 ? truncateIndex : nextTruncateIndex;
+			lineCount++;
+		}
+		return truncateIndex;
+	}
+
+	private static boolean hasText(CharSequence text, int start) {
+		for (int i = start; i < text.length(); i++) {
+			if (!Character.isWhitespace(text.charAt(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Splits the text into lines, passed to the given consumer.
+	 * @return false if the text holds line terminators treated differently by the regular
+	 * expressions: a carriage return not followed by a line feed, except at the end of
+	 * the text, or a Unicode line terminator.
+	 */
+	private static boolean scanLines(CharSequence text, int start, int end, LineConsumer lines) {
+		int lineStart = start;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (c == '\n') {
+				lines.line(text, lineStart, i, LineTerminator.LF);
+				lineStart = i + 1;
+			}
+			else if (c == '\r') {
+				if (i + 1 == end) {
+					lines.line(text, lineStart, i, LineTerminator.CR);
+				}
+				else if (text.charAt(i + 1) == '\n') {
+					lines.line(text, lineStart, i, LineTerminator.CRLF);
+					i++;
+				}
+				else {
+					return false;
+				}
+				lineStart = i + 1;
+			}
+			else if (c == '\u0085' || c == '\u2028' || c == '\u2029') {
+				return false;
+			}
+		}
+		lines.line(text, lineStart, end, null);
+		return true;
+	}
+
+	private enum LineTerminator {
+
+		LF("\n"), CR("\r"), CRLF("\r\n");
+
+		private final String value;
+
+		LineTerminator(String value) {
+			this.value = value;
+		}
+
+	}
+
+	private interface LineConsumer {
+
+		/**
+		 * @param text the text holding the line.
+		 * @param start the start of the line content.
+		 * @param end the end of the line content.
+		 * @param terminator the line terminator, or null for the last line.
+		 */
+		void line(CharSequence text, int start, int end, LineTerminator terminator);
+
+	}
+
+	private record AppendedLines(StringBuilder text) implements LineConsumer {
+
+		@Override
+		public void line(CharSequence line, int start, int end, LineTerminator terminator) {
+			this.text.append(line, start, end);
+			if (terminator != null) {
+				this.text.append(terminator.value);
+			}
+		}
+
+	}
+
+	/**
+	 * The line terminators of consecutive empty lines, along with the terminator of the
+	 * line before them.
+	 */
+	private static final class BlankLines {
+
+		/** Whether the first terminator starts the text, rather than ending a line. */
+		private boolean atStart;
+
+		private int count;
+
+		private LineTerminator first;
+
+		private LineTerminator second;
+
+		private LineTerminator last;
+
+		void start(boolean atStart) {
+			this.atStart = atStart;
+			this.count = 0;
+		}
+
+		void add(LineTerminator terminator) {
+			if (this.count == 0) {
+				this.first = terminator;
+			}
+			else if (this.count == 1) {
+				this.second = terminator;
+			}
+			this.last = terminator;
+			this.count++;
+		}
+
+	}
+
+	/**
+	 * Same as {@link #trimAdjacentBlankLines(String)}. The terminator of a line is passed
+	 * along with its content, the terminators of the following empty lines once the next
+	 * line is known.
+	 */
+	private static final class TrimmedLines implements LineConsumer {
+
+		private final LineConsumer next;
+
+		private final BlankLines blankLines = new BlankLines();
+
+		private boolean started;
+
+		TrimmedLines(LineConsumer next) {
+			this.next = next;
+		}
+
+		@Override
+		public void line(CharSequence text, int start, int end, LineTerminator terminator) {
+			if (start < end && (terminator != LineTerminator.LF || !isSpaces(text, start, end))) {
+				flush(text, false);
+				this.next.line(text, start, end, terminator);
+				this.blankLines.start(false);
+				this.started = true;
+				if (terminator != null) {
+					this.blankLines.add(terminator);
+				}
+			}
+			else if (terminator != null) {
+				if (!this.started) {
+					this.blankLines.start(true);
+				}
+				this.blankLines.add(terminator);
+				this.started = true;
+			}
+			else {
+				flush(text, true);
+				this.next.line(text, end, end, null);
+			}
+		}
+
+		private void flush(CharSequence text, boolean atEnd) {
+			BlankLines lines = this.blankLines;
+			if (lines.count == 0) {
+				return;
+			}
+			if (lines.atStart) {
+				emptyLine(text, lines.first);
+				if (atEnd && lines.count >= 2) {
+					emptyLine(text, lines.last);
+				}
+			}
+			else {
+				if (lines.count >= 2) {
+					emptyLine(text, lines.second);
+				}
+				if (atEnd && lines.count >= 3) {
+					emptyLine(text, lines.last);
+				}
+			}
+			lines.count = 0;
+		}
+
+		private void emptyLine(CharSequence text, LineTerminator terminator) {
+			this.next.line(text, 0, 0, terminator);
+		}
+
+	}
+
+	/**
+	 * Same as {@link #alignToLeft(String)}.
+	 */
+	private static final class LeftAlignedLines implements LineConsumer {
+
+		private final StringBuilder text;
+
+		private final BlankLines blankLines = new BlankLines();
+
+		private boolean started;
+
+		LeftAlignedLines(StringBuilder text) {
+			this.text = text;
+		}
+
+		@Override
+		public void line(CharSequence line, int start, int end, LineTerminator terminator) {
+			while (start < end && line.charAt(start) == ' ') {
+				start++;
+			}
+			while (end > start && line.charAt(end - 1) == ' ') {
+				end--;
+			}
+			if (start < end) {
+				flush(false);
+				appendSingleSpaced(line, start, end);
+				this.blankLines.start(false);
+				this.started = true;
+				if (terminator != null) {
+					this.text.append(terminator.value);
+					this.blankLines.add(terminator);
+				}
+			}
+			else if (terminator != null) {
+				if (!this.started) {
+					this.blankLines.start(true);
+				}
+				this.blankLines.add(terminator);
+				this.started = true;
+			}
+			else {
+				flush(true);
+			}
+		}
+
+		private void appendSingleSpaced(CharSequence line, int start, int end) {
+			int segmentStart = start;
+			for (int i = start + 1; i < end; i++) {
+				if (line.charAt(i) == ' ' && line.charAt(i - 1) == ' ') {
+					this.text.append(line, segmentStart, i);
+					while (line.charAt(i) == ' ') {
+						i++;
+					}
+					segmentStart = i;
+				}
+			}
+			this.text.append(line, segmentStart, end);
+		}
+
+		private void flush(boolean atEnd) {
+			BlankLines lines = this.blankLines;
+			if (lines.count > 0 && atEnd && (lines.atStart || lines.count >= 2)) {
+				this.text.append(lines.last.value);
+			}
+			lines.count = 0;
+		}
+
+	}
+
+	private static boolean isSpaces(CharSequence text, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (text.charAt(i) != ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
 }
@@ -16,11 +16,21 @@
 package org.springframework.ai.reader;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -28,8 +38,24 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.document.DocumentReader;
 import org.springframework.core.io.Resource;
 
+/**
+ * Reads the objects of a JSON resource as documents. The resource is parsed
+ * incrementally, one object at a time, and can hold:
+ * <ul>
+ * <li>an array of objects, either at the root or selected with a JSON Pointer, such as
+ * {@code /data/items},</li>
+ * <li>a single object,</li>
+ * <li>a sequence of objects, such as JSON Lines.</li>
+ * </ul>
+ * Use {@link #stream()} to read large resources in constant memory.
+ */
 public class JsonReader implements DocumentReader {
 
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+	};
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
 	private Resource resource;
 
 	private JsonMetadataGenerator jsonMetadataGenerator;
@@ -58,41 +84,180 @@ public class JsonReader implements DocumentReader {
 
 	@Override
 	public List<Document> get() {
-		ObjectMapper objectMapper = new ObjectMapper();
-		List<Document> documents = new ArrayList<>();
+		return get("");
+	}
+
+	/**
+	 * Reads the objects of the JSON value selected by the given JSON Pointer.
+	 * @param pointer the JSON Pointer of an array or an object, such as
+	 * {@code /data/items}, or an empty string for the root value
+	 * @return the documents of the selected objects
+	 */
+	public List<Document> get(String pointer) {
+		try (Stream<Document> documents = stream(pointer)) {
+			return documents.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Lazily reads the objects of the resource. The resource stays open until the stream
+	 * is closed.
+	 * @return the stream of documents
+	 */
+	public Stream<Document> stream() {
+		return stream("");
+	}
+
+	/**
+	 * Lazily reads the objects of the JSON value selected by the given JSON Pointer. The
+	 * resource stays open until the stream is closed.
+	 * @param pointer the JSON Pointer of an array or an object, such as
+	 * {@code /data/items}, or an empty string for the root value
+	 * @return the stream of documents
+	 */
+	public Stream<Document> stream(String pointer) {
+		Objects.requireNonNull(pointer, "pointer must not be null");
+		JsonPointer jsonPointer = JsonPointer.compile(pointer);
+		JsonParser parser;
 		try {
-			// TODO, not all json will be an array
-			List<Map<String, Object>> jsonData = objectMapper.readValue(this.resource.getInputStream(),
-					new TypeReference<List<Map<String, Object>>>() {
-					});
-			for (Map<String, Object> item : jsonData) {
-				StringBuilder sb = new StringBuilder();
-				for (String key : jsonKeysToUse) {
-					if (item.containsKey(key)) {
-						sb.append(key);
-						sb.append(": ");
-						sb.append(item.get(key));
-						sb.append(System.lineSeparator());
-					}
-				}
+			parser = this.objectMapper.createParser(this.resource.getInputStream());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		var objects = new JsonObjectSpliterator(parser, jsonPointer);
+		return StreamSupport.stream(objects, false).map(this::toDocument).onClose(objects::close);
+	}
+
+	private Document toDocument(Map<String, Object> item) {
+		StringBuilder sb = new StringBuilder();
+		for (String key : jsonKeysToUse) {
+			if (item.containsKey(key)) {
+				sb.append(key);
+				sb.append(": ");
+				sb.append(item.get(key));
+				sb.append(System.lineSeparator());
+			}
+		}
+
+		Map<String, Object> metadata = this.jsonMetadataGenerator.generate(item);
+
+		if (!sb.isEmpty()) {
+			return new Document(sb.toString(), metadata);
+		}
+		return new Document(item.toString(), metadata);
+	}
+
+	/**
+	 * Iterates the objects of the selected JSON value, without reading ahead of the
+	 * current one.
+	 */
+	private static final class JsonObjectSpliterator extends Spliterators.AbstractSpliterator<Map<String, Object>> {
+
+		private final JsonParser parser;
+
+		private final JsonPointer pointer;
 
-				Map<String, Object> metadata = this.jsonMetadataGenerator.generate(item);
+		private boolean started;
+
+		/**
+		 * Whether the selected value is an array, as opposed to a sequence of root
+		 * values.
+		 */
+		private boolean array;
+
+		private boolean completed;
+
+		JsonObjectSpliterator(JsonParser parser, JsonPointer pointer) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.parser = parser;
+			this.pointer = pointer;
+		}
 
-				Document document;
-				if (!sb.isEmpty()) {
-					document = new Document(sb.toString(), metadata);
+		@Override
+		public boolean tryAdvance(Consumer<? super Map<String, Object>> action) {
+			if (this.completed) {
+				return false;
+			}
+			try {
+				JsonToken token = this.started ? this.parser.nextToken() : start();
+				this.started = true;
+				if (token == null || (this.array && token == JsonToken.END_ARRAY)) {
+					this.completed = true;
+					return false;
+				}
+				if (token != JsonToken.START_OBJECT) {
+					throw new IllegalStateException("Expected a JSON object but found " + token + " at "
+							+ this.parser.currentLocation().offsetDescription());
 				}
-				else {
-					document = new Document(item.toString(), metadata);
+				action.accept(this.parser.readValueAs(MAP_TYPE));
+				if (!this.array && !this.pointer.matches()) {
+					// A single object selected with a pointer
+					this.completed = true;
 				}
+				return true;
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
 
-				documents.add(document);
+		/**
+		 * Moves the parser to the first object of the selected value.
+		 * @return the token of the first object
+		 */
+		private JsonToken start() throws IOException {
+			JsonToken token = this.parser.nextToken();
+			JsonPointer remaining = this.pointer;
+			while (token != null && !remaining.matches()) {
+				token = (token == JsonToken.START_OBJECT) ? moveToProperty(remaining.getMatchingProperty())
+						: (token == JsonToken.START_ARRAY) ? moveToIndex(remaining.getMatchingIndex()) : null;
+				remaining = remaining.tail();
+			}
+			if (token == null) {
+				throw new IllegalArgumentException("No JSON value found at " + this.pointer);
+			}
+			if (token == JsonToken.START_ARRAY) {
+				this.array = true;
+				return this.parser.nextToken();
 			}
+			return token;
 		}
-		catch (IOException e) {
-			throw new RuntimeException(e);
+
+		private JsonToken moveToProperty(String name) throws IOException {
+			while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+				JsonToken value = this.parser.nextToken();
+				if (this.parser.currentName().equals(name)) {
+					return value;
+				}
+				this.parser.skipChildren();
+			}
+			return null;
+		}
+
+		private JsonToken moveToIndex(int index) throws IOException {
+			for (int i = 0; i <= index; i++) {
+				JsonToken value = this.parser.nextToken();
+				if (value == null || value == JsonToken.END_ARRAY) {
+					return null;
+				}
+				if (i == index) {
+					return value;
+				}
+				this.parser.skipChildren();
+			}
+			return null;
 		}
-		return documents;
+
+		void close() {
+			try {
+				this.parser.close();
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
 	}
 
 }
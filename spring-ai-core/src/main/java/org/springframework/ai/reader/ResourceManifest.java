@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.util.Assert;
+
+/**
+ * Records the size, the last modification time and the content hash of the resources read
+ * by a {@link ResourcePatternDocumentReader}, so that the unchanged resources are skipped
+ * by the next reads. The manifest is either kept in memory, or stored as a JSON file.
+ *
+ * @since 1.0.0
+ */
+public class ResourceManifest {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	/**
+	 * The state of a resource when it was read.
+	 *
+	 * @param size the content length of the resource
+	 * @param lastModified the last modification time of the resource, in milliseconds
+	 * @param hash the SHA-256 hash of the resource content
+	 */
+	public record Entry(long size, long lastModified, String hash) {
+	}
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private final Path path;
+
+	private ResourceManifest(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * @return a manifest kept in memory
+	 */
+	public static ResourceManifest inMemory() {
+		return new ResourceManifest(null);
+	}
+
+	/**
+	 * Loads the manifest stored at the given path, if any.
+	 * @param path the JSON file of the manifest, written by {@link #save()}
+	 * @return the manifest stored at the given path, or an empty one
+	 */
+	public static ResourceManifest load(Path path) {
+		Assert.notNull(path, "The manifest path must not be null.");
+		var manifest = new ResourceManifest(path);
+		if (Files.exists(path)) {
+			try {
+				manifest.entries.putAll(OBJECT_MAPPER.readValue(path.toFile(), new TypeReference<Map<String, Entry>>() {
+				}));
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException("Failed to load the resource manifest " + path, e);
+			}
+		}
+		return manifest;
+	}
+
+	/**
+	 * @param location the location of a resource
+	 * @return the state of the resource when it was last read, or null
+	 */
+	public Entry get(String location) {
+		return this.entries.get(location);
+	}
+
+	/**
+	 * Records the state of a resource that was read.
+	 * @param location the location of the resource
+	 * @param entry the state of the resource
+	 */
+	public void put(String location, Entry entry) {
+		this.entries.put(location, entry);
+	}
+
+	/**
+	 * @return the number of recorded resources
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Stores the manifest, replacing the previous file. Does nothing for a manifest kept
+	 * in memory.
+	 */
+	public synchronized void save() {
+		if (this.path == null) {
+			return;
+		}
+		try {
+			Path parent = this.path.toAbsolutePath().getParent();
+			Files.createDirectories(parent);
+			Path temp = Files.createTempFile(parent, this.path.getFileName().toString(), ".tmp");
+			OBJECT_MAPPER.writeValue(temp.toFile(), new TreeMap<>(this.entries));
+			Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to save the resource manifest " + this.path, e);
+		}
+	}
+
+}
@@ -0,0 +1,510 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentReader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Reads the documents of all the resources matching a location pattern, such as
+ * {@code file:/data/share/**}, on a bounded pool of workers. Each resource is read by the
+ * {@link DocumentReader} registered for its media type, detected from the file extension.
+ * Text and JSON resources are read by default, other media types, such as PDF, can be
+ * registered with {@link Builder#withReader(String, Function)}.
+ *
+ * The documents are streamed as the resources are read, and are given the location and
+ * the media type of their resource as metadata. When a {@link ResourceManifest} is set,
+ * the resources whose size, modification time or content did not change since they were
+ * last read are skipped.
+ *
+ * @since 1.0.0
+ */
+public class ResourcePatternDocumentReader implements DocumentReader {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResourcePatternDocumentReader.class);
+
+	/**
+	 * Metadata key representing the name of the resource of a document, when not set by
+	 * the reader of the resource.
+	 */
+	public static final String METADATA_SOURCE = "source";
+
+	/**
+	 * Metadata key representing the location of the resource of a document.
+	 */
+	public static final String METADATA_LOCATION = "location";
+
+	/**
+	 * Metadata key representing the media type of the resource of a document.
+	 */
+	public static final String METADATA_CONTENT_TYPE = "content_type";
+
+	private static final Object END = new Object();
+
+	private final String locationPattern;
+
+	private final ResourcePatternResolver resourcePatternResolver;
+
+	private final Map<MediaType, Function<Resource, DocumentReader>> readers;
+
+	private final Function<Resource, DocumentReader> defaultReader;
+
+	private final ResourceManifest manifest;
+
+	private final int parallelism;
+
+	private final int prefetch;
+
+	private ResourcePatternDocumentReader(Builder builder) {
+		this.locationPattern = builder.locationPattern;
+		this.resourcePatternResolver = builder.resourcePatternResolver;
+		this.readers = Map.copyOf(builder.readers);
+		this.defaultReader = builder.defaultReader;
+		this.manifest = builder.manifest;
+		this.parallelism = builder.parallelism;
+		this.prefetch = builder.prefetch;
+	}
+
+	/**
+	 * @param locationPattern the location pattern of the resources, such as
+	 * {@code file:/data/share/**} or {@code classpath*:/docs/*.txt}
+	 * @return a builder of the reader
+	 */
+	public static Builder builder(String locationPattern) {
+		return new Builder(locationPattern);
+	}
+
+	/**
+	 * @param directory the directory whose files, including those of its subdirectories,
+	 * are read
+	 * @return a builder of the reader
+	 */
+	public static Builder builder(Path directory) {
+		Assert.notNull(directory, "The directory must not be null.");
+		return new Builder(directory.toAbsolutePath().toUri() + "**");
+	}
+
+	@Override
+	public List<Document> get() {
+		try (Stream<Document> documents = stream()) {
+			return documents.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Lazily reads the documents of the matching resources. The resources are read on a
+	 * bounded pool of workers, a bounded number of documents ahead of the stream
+	 * consumer, so the documents of different resources are not ordered. A resource is
+	 * recorded in the manifest once all its documents have been consumed, and the
+	 * manifest is saved once the stream is consumed or closed.
+	 * @return the stream of documents
+	 */
+	public Stream<Document> stream() {
+		Resource[] resources;
+		try {
+			resources = this.resourcePatternResolver.getResources(this.locationPattern);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to resolve the resources of " + this.locationPattern, e);
+		}
+
+		var documents = new DocumentQueue(this.prefetch, this.manifest);
+		int workers = Math.max(1, Math.min(this.parallelism, resources.length));
+		var threadFactory = new CustomizableThreadFactory("document-reader-");
+		threadFactory.setDaemon(true);
+		ExecutorService executor = Executors.newFixedThreadPool(workers, threadFactory);
+
+		var nextResource = new AtomicInteger();
+		var runningWorkers = new AtomicInteger(workers);
+		for (int i = 0; i < workers; i++) {
+			executor.execute(() -> {
+				try {
+					int index;
+					while (!documents.isCancelled() && (index = nextResource.getAndIncrement()) < resources.length) {
+						read(resources[index], documents);
+					}
+					if (runningWorkers.decrementAndGet() == 0) {
+						documents.signal(END);
+					}
+				}
+				catch (Throwable ex) {
+					documents.signal(ex);
+				}
+			});
+		}
+		executor.shutdown();
+
+		return StreamSupport.stream(documents, false).onClose(() -> {
+			documents.close();
+			executor.shutdownNow();
+		});
+	}
+
+	private void read(Resource resource, DocumentQueue documents) {
+		if (!resource.isReadable()) {
+			return;
+		}
+		MediaType contentType = MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM);
+		Function<Resource, DocumentReader> reader = readerFor(contentType);
+		if (reader == null) {
+			logger.debug("Skipping {} with no reader for {}", resource, contentType);
+			return;
+		}
+
+		String location = location(resource);
+		ResourceManifest.Entry entry = null;
+		if (this.manifest != null) {
+			try {
+				long size = resource.contentLength();
+				long lastModified = resource.lastModified();
+				ResourceManifest.Entry previous = this.manifest.get(location);
+				if (previous != null && previous.size() == size && previous.lastModified() == lastModified) {
+					return;
+				}
+				entry = new ResourceManifest.Entry(size, lastModified, hash(resource));
+				if (previous != null && previous.hash().equals(entry.hash())) {
+					documents.put(new ReadResource(location, entry));
+					return;
+				}
+			}
+			catch (IOException e) {
+				logger.warn("Skipping {} failing to be inspected", resource, e);
+				return;
+			}
+		}
+
+		List<Document> resourceDocuments;
+		try {
+			resourceDocuments = reader.apply(resource).get();
+		}
+		catch (RuntimeException e) {
+			// Not recorded in the manifest, so it is read again next time.
+			logger.warn("Skipping {} failing to be read", resource, e);
+			return;
+		}
+		for (Document document : resourceDocuments) {
+			// The metadata of some readers is immutable.
+			Map<String, Object> metadata = new HashMap<>(document.getMetadata());
+			metadata.putIfAbsent(METADATA_SOURCE, resource.getFilename());
+			metadata.put(METADATA_LOCATION, location);
+			metadata.put(METADATA_CONTENT_TYPE, contentType.toString());
+			documents
+				.put(new Document(document.getId(), document.getContent(), List.copyOf(document.getMedia()), metadata));
+		}
+		if (entry != null) {
+			documents.put(new ReadResource(location, entry));
+		}
+	}
+
+	private Function<Resource, DocumentReader> readerFor(MediaType contentType) {
+		Function<Resource, DocumentReader> reader = null;
+		MediaType readerType = null;
+		for (Map.Entry<MediaType, Function<Resource, DocumentReader>> candidate : this.readers.entrySet()) {
+			// The most specific registered media type wins.
+			if (candidate.getKey().includes(contentType) && (readerType == null
+					|| MediaType.SPECIFICITY_COMPARATOR.compare(candidate.getKey(), readerType) < 0)) {
+				reader = candidate.getValue();
+				readerType = candidate.getKey();
+			}
+		}
+		return (reader != null) ? reader : this.defaultReader;
+	}
+
+	private static String location(Resource resource) {
+		try {
+			return resource.getURI().toString();
+		}
+		catch (IOException e) {
+			return resource.getDescription();
+		}
+	}
+
+	private static String hash(Resource resource) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		try (InputStream content = resource.getInputStream()) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = content.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Signals that all the documents of a resource were handed over.
+	 */
+	private record ReadResource(String location, ResourceManifest.Entry entry) {
+	}
+
+	/**
+	 * Hands the documents over from the workers to the stream consumer.
+	 */
+	private static final class DocumentQueue extends Spliterators.AbstractSpliterator<Document> {
+
+		private final BlockingQueue<Object> queue;
+
+		private final ResourceManifest manifest;
+
+		private volatile boolean cancelled;
+
+		private boolean completed;
+
+		DocumentQueue(int capacity, ResourceManifest manifest) {
+			super(Long.MAX_VALUE, Spliterator.NONNULL);
+			// One more slot for the completion signal.
+			this.queue = new ArrayBlockingQueue<>(capacity + 1);
+			this.manifest = manifest;
+		}
+
+		/**
+		 * Waits for a free slot, failing once the consumer closed the stream. The queue
+		 * is cleared on close, so the cancellation is checked again after the element is
+		 * queued, to stop the worker instead of letting it fill the queue again.
+		 */
+		void put(Object element) {
+			try {
+				do {
+					checkCancelled();
+				}
+				while (!this.queue.offer(element, 100, TimeUnit.MILLISECONDS));
+				if (this.cancelled) {
+					this.queue.clear();
+					checkCancelled();
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException("Interrupted while streaming the documents");
+			}
+		}
+
+		private void checkCancelled() {
+			if (this.cancelled) {
+				throw new CancellationException("The document stream is closed");
+			}
+		}
+
+		boolean isCancelled() {
+			return this.cancelled;
+		}
+
+		/**
+		 * @param signal {@link #END} or the failure of a worker.
+		 */
+		void signal(Object signal) {
+			try {
+				put(signal);
+			}
+			catch (CancellationException ex) {
+				// The consumer is gone.
+			}
+		}
+
+		/**
+		 * Stops the workers, and saves the manifest if not done on completion.
+		 */
+		void close() {
+			this.cancelled = true;
+			this.queue.clear();
+			if (!this.completed) {
+				complete();
+			}
+		}
+
+		private void complete() {
+			this.completed = true;
+			if (this.manifest != null) {
+				this.manifest.save();
+			}
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Document> action) {
+			while (!this.completed) {
+				Object element;
+				try {
+					element = this.queue.take();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while reading the documents", ex);
+				}
+				if (element instanceof Document document) {
+					action.accept(document);
+					return true;
+				}
+				if (element instanceof ReadResource readResource) {
+					this.manifest.put(readResource.location(), readResource.entry());
+					continue;
+				}
+				complete();
+				if (element instanceof RuntimeException ex) {
+					throw ex;
+				}
+				if (element instanceof Throwable ex) {
+					throw new RuntimeException(ex);
+				}
+			}
+			return false;
+		}
+
+	}
+
+	/**
+	 * Builder of {@link ResourcePatternDocumentReader}.
+	 */
+	public static final class Builder {
+
+		private final String locationPattern;
+
+		private ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+
+		private final Map<MediaType, Function<Resource, DocumentReader>> readers = new LinkedHashMap<>();
+
+		private Function<Resource, DocumentReader> defaultReader;
+
+		private ResourceManifest manifest;
+
+		private int parallelism = Runtime.getRuntime().availableProcessors();
+
+		private int prefetch = 64;
+
+		private Builder(String locationPattern) {
+			Assert.hasText(locationPattern, "The location pattern must not be empty.");
+			this.locationPattern = locationPattern;
+			this.readers.put(MediaType.parseMediaType("text/*"), TextReader::new);
+			this.readers.put(MediaType.APPLICATION_JSON, JsonReader::new);
+		}
+
+		/**
+		 * @param resourcePatternResolver the resolver of the location pattern. Defaults
+		 * to a {@link PathMatchingResourcePatternResolver}.
+		 * @return this builder
+		 */
+		public Builder withResourcePatternResolver(ResourcePatternResolver resourcePatternResolver) {
+			Assert.notNull(resourcePatternResolver, "The resource pattern resolver must not be null.");
+			this.resourcePatternResolver = resourcePatternResolver;
+			return this;
+		}
+
+		/**
+		 * Registers the reader of a media type, replacing the default text and JSON
+		 * readers if the same media type is given.
+		 * @param mediaType the media type read, possibly with a wildcard, such as
+		 * {@code application/pdf} or {@code text/*}
+		 * @param reader creates the reader of a resource
+		 * @return this builder
+		 */
+		public Builder withReader(String mediaType, Function<Resource, DocumentReader> reader) {
+			Assert.hasText(mediaType, "The media type must not be empty.");
+			Assert.notNull(reader, "The reader must not be null.");
+			this.readers.put(MediaType.parseMediaType(mediaType), reader);
+			return this;
+		}
+
+		/**
+		 * @param defaultReader creates the reader of the resources of the media types
+		 * with no registered reader, such as a Tika reader. The resources are skipped
+		 * when not set.
+		 * @return this builder
+		 */
+		public Builder withDefaultReader(Function<Resource, DocumentReader> defaultReader) {
+			this.defaultReader = defaultReader;
+			return this;
+		}
+
+		/**
+		 * @param manifest the manifest of the resources read, skipped when unchanged. All
+		 * the resources are read when not set.
+		 * @return this builder
+		 */
+		public Builder withManifest(ResourceManifest manifest) {
+			this.manifest = manifest;
+			return this;
+		}
+
+		/**
+		 * @param parallelism the number of resources read concurrently. Defaults to the
+		 * number of processors.
+		 * @return this builder
+		 */
+		public Builder withParallelism(int parallelism) {
+			Assert.isTrue(parallelism > 0, "The parallelism must be positive.");
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * @param prefetch the number of documents read ahead of the stream consumer.
+		 * Defaults to 64.
+		 * @return this builder
+		 */
+		public Builder withPrefetch(int prefetch) {
+			Assert.isTrue(prefetch > 0, "The prefetch must be positive.");
+			this.prefetch = prefetch;
+			return this;
+		}
+
+		public ResourcePatternDocumentReader build() {
+			return new ResourcePatternDocumentReader(this);
+		}
+
+	}
+
+}
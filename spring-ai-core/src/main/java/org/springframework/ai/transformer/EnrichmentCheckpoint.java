@@ -0,0 +1,42 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.transformer;
+
+/**
+ * Records the completed results of an {@link EnrichmentExecutor}, keyed by a hash of the
+ * prompt of each document, so that an interrupted enrichment can resume without calling
+ * the model again for the already enriched documents. Implementations must be
+ * thread-safe.
+ *
+ * @since 1.0.0
+ * @see FileEnrichmentCheckpoint
+ */
+public interface EnrichmentCheckpoint {
+
+	/**
+	 * @param key the key of the document prompt.
+	 * @return the recorded result for the prompt, or null if there is none.
+	 */
+	String get(String key);
+
+	/**
+	 * Record the result for a document prompt.
+	 * @param key the key of the document prompt.
+	 * @param result the enrichment result.
+	 */
+	void put(String key, String result);
+
+}
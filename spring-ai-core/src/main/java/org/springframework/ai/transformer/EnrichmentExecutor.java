@@ -0,0 +1,257 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.transformer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import org.springframework.ai.chat.metadata.RateLimit;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.id.IdGenerator;
+import org.springframework.ai.document.id.JdkSha256HexIdGenerator;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.util.Assert;
+
+/**
+ * Executes the per-document {@link ChatModel} calls of the metadata enrichers.
+ * <p>
+ * The calls run with a bounded concurrency and complete in the order of the documents.
+ * When a response reports, through its {@link RateLimit} metadata, that the remaining
+ * requests or tokens are exhausted, new calls are delayed until the rate limit resets.
+ * Failed calls are retried individually with an exponential backoff, and completed
+ * results can be recorded in an {@link EnrichmentCheckpoint} so that an interrupted run
+ * resumes where it stopped. The results are keyed by a hash of the prompt of each
+ * document, which covers both the document content and the enricher template, so they
+ * match the documents read again and are not shared between enrichers.
+ * <p>
+ * The model calls run on a {@link Schedulers#boundedElastic() blocking} scheduler. The
+ * {@link #sequential() default} executor calls the model one document after the other,
+ * without retries.
+ *
+ * @since 1.0.0
+ */
+public class EnrichmentExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(EnrichmentExecutor.class);
+
+	private final int maxConcurrency;
+
+	private final int maxAttempts;
+
+	private final Duration initialBackoff;
+
+	private final Duration maxBackoff;
+
+	private final Scheduler scheduler;
+
+	private final EnrichmentCheckpoint checkpoint;
+
+	private final IdGenerator checkpointKeyGenerator = new JdkSha256HexIdGenerator();
+
+	/**
+	 * The {@link System#nanoTime()} until which new calls are held back by the rate
+	 * limit.
+	 */
+	private final AtomicLong rateLimitedUntil = new AtomicLong(System.nanoTime());
+
+	private EnrichmentExecutor(Builder builder) {
+		this.maxConcurrency = builder.maxConcurrency;
+		this.maxAttempts = builder.maxAttempts;
+		this.initialBackoff = builder.initialBackoff;
+		this.maxBackoff = builder.maxBackoff;
+		this.scheduler = builder.scheduler;
+		this.checkpoint = builder.checkpoint;
+	}
+
+	/**
+	 * @return an executor calling the model sequentially.
+	 */
+	public static EnrichmentExecutor sequential() {
+		return builder().build();
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Call the chat model for every document and return the text of the responses.
+	 * @param chatModel the chat model to call.
+	 * @param documents the documents to enrich.
+	 * @param promptFactory creates the prompt for a document.
+	 * @return the response texts, in the order of the documents.
+	 */
+	public List<String> execute(ChatModel chatModel, List<Document> documents,
+			Function<Document, Prompt> promptFactory) {
+
+		Assert.notNull(chatModel, "ChatModel must not be null");
+		Assert.notNull(documents, "Documents must not be null");
+		Assert.notNull(promptFactory, "Prompt factory must not be null");
+
+		return Flux.fromIterable(documents)
+			.flatMapSequential(document -> enrich(chatModel, document, promptFactory), this.maxConcurrency)
+			.collectList()
+			.blockOptional()
+			.orElse(List.of());
+	}
+
+	private Mono<String> enrich(ChatModel chatModel, Document document, Function<Document, Prompt> promptFactory) {
+
+		Prompt prompt = promptFactory.apply(document);
+		String checkpointKey = (this.checkpoint != null) ? checkpointKey(prompt) : null;
+		String checkpointed = (checkpointKey != null) ? this.checkpoint.get(checkpointKey) : null;
+		if (checkpointed != null) {
+			return Mono.just(checkpointed);
+		}
+
+		// The rate limit delay and the retry backoff resume on the parallel scheduler, so
+		// the blocking model call is moved to the scheduler in every mode
+		Mono<String> call = Mono.defer(this::awaitRateLimit).then(Mono.fromCallable(() -> {
+			ChatResponse response = chatModel.call(prompt);
+			updateRateLimit(response);
+			String content = response.getResult().getOutput().getContent();
+			return (content != null) ? content : "";
+		}).subscribeOn(this.scheduler));
+
+		if (this.maxAttempts > 1) {
+			call = call.retryWhen(Retry.backoff(this.maxAttempts - 1, this.initialBackoff)
+				.maxBackoff(this.maxBackoff)
+				.doBeforeRetry(signal -> logger.warn("Retry {} of enrichment call for document {}",
+						signal.totalRetries() + 1, document.getId(), signal.failure()))
+				.onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+		}
+
+		if (this.checkpoint != null) {
+			call = call.doOnNext(content -> this.checkpoint.put(checkpointKey, content));
+		}
+
+		return call;
+	}
+
+	private String checkpointKey(Prompt prompt) {
+		String options = (prompt.getOptions() != null) ? ModelOptionsUtils.toJsonString(prompt.getOptions()) : "";
+		return this.checkpointKeyGenerator.generateId(prompt.getContents(), options);
+	}
+
+	private Mono<Void> awaitRateLimit() {
+		long delay = this.rateLimitedUntil.get() - System.nanoTime();
+		return (delay > 0) ? Mono.delay(Duration.ofNanos(delay)).then() : Mono.empty();
+	}
+
+	private void updateRateLimit(ChatResponse response) {
+		RateLimit rateLimit = (response.getMetadata() != null) ? response.getMetadata().getRateLimit() : null;
+		if (rateLimit == null) {
+			return;
+		}
+		Duration delay = Duration.ZERO;
+		if (isExhausted(rateLimit.getRequestsRemaining(), this.maxConcurrency)) {
+			delay = max(delay, rateLimit.getRequestsReset());
+		}
+		if (isExhausted(rateLimit.getTokensRemaining(), 1)) {
+			delay = max(delay, rateLimit.getTokensReset());
+		}
+		if (!delay.isZero()) {
+			logger.debug("Rate limit exhausted, delaying enrichment calls for {}", delay);
+			long until = System.nanoTime() + delay.toNanos();
+			this.rateLimitedUntil.accumulateAndGet(until, Math::max);
+		}
+	}
+
+	private static boolean isExhausted(Long remaining, long threshold) {
+		return remaining != null && remaining < threshold;
+	}
+
+	private static Duration max(Duration current, Duration candidate) {
+		return (candidate != null && candidate.compareTo(current) > 0) ? candidate : current;
+	}
+
+	public static class Builder {
+
+		private int maxConcurrency = 1;
+
+		private int maxAttempts = 1;
+
+		private Duration initialBackoff = Duration.ofSeconds(1);
+
+		private Duration maxBackoff = Duration.ofMinutes(1);
+
+		private Scheduler scheduler = Schedulers.boundedElastic();
+
+		private EnrichmentCheckpoint checkpoint;
+
+		/**
+		 * @param maxConcurrency the maximum number of concurrent model calls. Defaults to
+		 * 1.
+		 */
+		public Builder withMaxConcurrency(int maxConcurrency) {
+			Assert.isTrue(maxConcurrency >= 1, "Max concurrency must be >= 1");
+			this.maxConcurrency = maxConcurrency;
+			return this;
+		}
+
+		/**
+		 * @param maxAttempts the maximum number of attempts per document, including the
+		 * first one. Defaults to 1.
+		 */
+		public Builder withMaxAttempts(int maxAttempts) {
+			Assert.isTrue(maxAttempts >= 1, "Max attempts must be >= 1");
+			this.maxAttempts = maxAttempts;
+			return this;
+		}
+
+		public Builder withBackoff(Duration initialBackoff, Duration maxBackoff) {
+			Assert.notNull(initialBackoff, "Initial backoff must not be null");
+			Assert.notNull(maxBackoff, "Max backoff must not be null");
+			this.initialBackoff = initialBackoff;
+			this.maxBackoff = maxBackoff;
+			return this;
+		}
+
+		/**
+		 * @param scheduler the scheduler running the blocking model calls. Defaults to
+		 * {@link Schedulers#boundedElastic()}.
+		 */
+		public Builder withScheduler(Scheduler scheduler) {
+			Assert.notNull(scheduler, "Scheduler must not be null");
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		public Builder withCheckpoint(EnrichmentCheckpoint checkpoint) {
+			this.checkpoint = checkpoint;
+			return this;
+		}
+
+		public EnrichmentExecutor build() {
+			return new EnrichmentExecutor(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.transformer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link EnrichmentCheckpoint} appending each completed result as a JSON line to a file.
+ * Existing results are loaded from the file when the checkpoint is created.
+ *
+ * @since 1.0.0
+ */
+public class FileEnrichmentCheckpoint implements EnrichmentCheckpoint {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Map<String, String> results = new ConcurrentHashMap<>();
+
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	private final Path file;
+
+	public FileEnrichmentCheckpoint(Path file) {
+		Assert.notNull(file, "File must not be null");
+		this.file = file;
+		load();
+	}
+
+	private void load() {
+		if (!Files.exists(this.file)) {
+			return;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (StringUtils.hasText(line)) {
+					Entry entry = this.objectMapper.readValue(line, Entry.class);
+					this.results.put(entry.key(), entry.result());
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to load the enrichment checkpoint " + this.file, ex);
+		}
+	}
+
+	@Override
+	public String get(String key) {
+		return this.results.get(key);
+	}
+
+	@Override
+	public void put(String key, String result) {
+		String line;
+		try {
+			line = this.objectMapper.writeValueAsString(new Entry(key, result)) + System.lineSeparator();
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException(ex);
+		}
+		this.writeLock.lock();
+		try (Writer writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND)) {
+			writer.write(line);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write the enrichment checkpoint " + this.file, ex);
+		}
+		finally {
+			this.writeLock.unlock();
+		}
+		this.results.put(key, result);
+	}
+
+	private record Entry(String key, String result) {
+	}
+
+}
@@ -22,7 +22,7 @@ import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.DocumentTransformer;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.chat.prompt.CompiledTemplate;
 import org.springframework.util.Assert;
 
 /**
@@ -50,22 +50,38 @@ public class KeywordMetadataEnricher implements DocumentTransformer {
 	 */
 	private final int keywordCount;
 
+	/**
+	 * The keywords extraction template.
+	 */
+	private final CompiledTemplate keywordsTemplate;
+
+	/**
+	 * Executes the keywords extraction calls.
+	 */
+	private final EnrichmentExecutor enrichmentExecutor;
+
 	public KeywordMetadataEnricher(ChatModel chatModel, int keywordCount) {
+		this(chatModel, keywordCount, EnrichmentExecutor.sequential());
+	}
+
+	public KeywordMetadataEnricher(ChatModel chatModel, int keywordCount, EnrichmentExecutor enrichmentExecutor) {
 		Assert.notNull(chatModel, "ChatModel must not be null");
 		Assert.isTrue(keywordCount >= 1, "Document count must be >= 1");
+		Assert.notNull(enrichmentExecutor, "EnrichmentExecutor must not be null");
 
 		this.chatModel = chatModel;
 		this.keywordCount = keywordCount;
+		this.keywordsTemplate = CompiledTemplate.compile(String.format(KEYWORDS_TEMPLATE, keywordCount));
+		this.enrichmentExecutor = enrichmentExecutor;
 	}
 
 	@Override
 	public List<Document> apply(List<Document> documents) {
-		for (Document document : documents) {
-
-			var template = new PromptTemplate(String.format(KEYWORDS_TEMPLATE, keywordCount));
-			Prompt prompt = template.create(Map.of(CONTEXT_STR_PLACEHOLDER, document.getContent()));
-			String keywords = this.chatModel.call(prompt).getResult().getOutput().getContent();
-			document.getMetadata().putAll(Map.of(EXCERPT_KEYWORDS_METADATA_KEY, keywords));
+		List<String> documentKeywords = this.enrichmentExecutor.execute(this.chatModel, documents,
+				document -> new Prompt(
+						this.keywordsTemplate.render(Map.of(CONTEXT_STR_PLACEHOLDER, document.getContent()))));
+		for (int i = 0; i < documents.size(); i++) {
+			documents.get(i).getMetadata().putAll(Map.of(EXCERPT_KEYWORDS_METADATA_KEY, documentKeywords.get(i)));
 		}
 		return documents;
 	}
@@ -15,7 +15,6 @@
  */
 package org.springframework.ai.transformer;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,7 +24,7 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.document.DocumentTransformer;
 import org.springframework.ai.document.MetadataMode;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.chat.prompt.CompiledTemplate;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
@@ -74,7 +73,12 @@ public class SummaryMetadataEnricher implements DocumentTransformer {
 	/**
 	 * Template for summary extraction.
 	 */
-	private final String summaryTemplate;
+	private final CompiledTemplate summaryTemplate;
+
+	/**
+	 * Executes the summary extraction calls.
+	 */
+	private final EnrichmentExecutor enrichmentExecutor;
 
 	public SummaryMetadataEnricher(ChatModel chatModel, List<SummaryType> summaryTypes) {
 		this(chatModel, summaryTypes, DEFAULT_SUMMARY_EXTRACT_TEMPLATE, MetadataMode.ALL);
@@ -82,27 +86,29 @@ public class SummaryMetadataEnricher implements DocumentTransformer {
 
 	public SummaryMetadataEnricher(ChatModel chatModel, List<SummaryType> summaryTypes, String summaryTemplate,
 			MetadataMode metadataMode) {
+		this(chatModel, summaryTypes, summaryTemplate, metadataMode, EnrichmentExecutor.sequential());
+	}
+
+	public SummaryMetadataEnricher(ChatModel chatModel, List<SummaryType> summaryTypes, String summaryTemplate,
+			MetadataMode metadataMode, EnrichmentExecutor enrichmentExecutor) {
 		Assert.notNull(chatModel, "ChatModel must not be null");
 		Assert.hasText(summaryTemplate, "Summary template must not be empty");
+		Assert.notNull(enrichmentExecutor, "EnrichmentExecutor must not be null");
 
 		this.chatModel = chatModel;
 		this.summaryTypes = CollectionUtils.isEmpty(summaryTypes) ? List.of(SummaryType.CURRENT) : summaryTypes;
 		this.metadataMode = metadataMode;
-		this.summaryTemplate = summaryTemplate;
+		this.summaryTemplate = CompiledTemplate.compile(summaryTemplate);
+		this.enrichmentExecutor = enrichmentExecutor;
 	}
 
 	@Override
 	public List<Document> apply(List<Document> documents) {
 
-		List<String> documentSummaries = new ArrayList<>();
-		for (Document document : documents) {
-
+		List<String> documentSummaries = this.enrichmentExecutor.execute(this.chatModel, documents, document -> {
 			var documentContext = document.getFormattedContent(this.metadataMode);
-
-			Prompt prompt = new PromptTemplate(this.summaryTemplate)
-				.create(Map.of(CONTEXT_STR_PLACEHOLDER, documentContext));
-			documentSummaries.add(this.chatModel.call(prompt).getResult().getOutput().getContent());
-		}
+			return new Prompt(this.summaryTemplate.render(Map.of(CONTEXT_STR_PLACEHOLDER, documentContext)));
+		});
 
 		for (int i = 0; i < documentSummaries.size(); i++) {
 			Map<String, Object> summaryMetadata = new HashMap<>();
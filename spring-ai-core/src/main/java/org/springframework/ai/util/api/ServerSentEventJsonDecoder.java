@@ -0,0 +1,247 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.util.api;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import reactor.core.publisher.Flux;
+
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.Assert;
+
+/**
+ * Decodes a server-sent events (SSE) stream whose event data are JSON documents, such as
+ * the streaming chat completion APIs of the model providers.
+ * <p>
+ * The events are read directly from the response {@link DataBuffer}s, and the data of
+ * each event is deserialized from a byte buffer reused across the events, without
+ * creating a {@code String} per event. Comment lines and fields other than {@code data}
+ * are ignored. The stream is completed, and the response cancelled, when an event with
+ * the {@value #DONE} data is received.
+ * <p>
+ * The decoder is stateless and can be shared, each subscription to {@link #decode(Flux)}
+ * uses its own buffers.
+ *
+ * @param <T> the type of the event data.
+ * @since 1.0.0
+ */
+public class ServerSentEventJsonDecoder<T> {
+
+	/**
+	 * The event data marking the end of the stream.
+	 */
+	public static final String DONE = "[DONE]";
+
+	private static final byte[] DONE_BYTES = DONE.getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] DATA_FIELD = "data".getBytes(StandardCharsets.UTF_8);
+
+	private static final int MAX_ERROR_DATA_LENGTH = 256;
+
+	/** Marks the end of the stream among the decoded events. */
+	private static final Object END_OF_STREAM = new Object();
+
+	private final Class<T> type;
+
+	private final ObjectReader reader;
+
+	/**
+	 * Create a decoder using the {@link ModelOptionsUtils#OBJECT_MAPPER}.
+	 * @param type the type of the event data.
+	 */
+	public ServerSentEventJsonDecoder(Class<T> type) {
+		this(type, ModelOptionsUtils.OBJECT_MAPPER);
+	}
+
+	public ServerSentEventJsonDecoder(Class<T> type, ObjectMapper objectMapper) {
+		Assert.notNull(type, "Type must not be null");
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.type = type;
+		this.reader = objectMapper.readerFor(type);
+	}
+
+	/**
+	 * Decode the SSE response body. The data buffers are released once read.
+	 * @param body the response body.
+	 * @return the event data.
+	 */
+	public Flux<T> decode(Flux<DataBuffer> body) {
+		return Flux.defer(() -> {
+			EventReader eventReader = new EventReader();
+			return body.concatMapIterable(eventReader::read)
+				.doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+				.concatWith(Flux.defer(() -> Flux.fromIterable(eventReader.finish())))
+				.takeWhile(event -> event != END_OF_STREAM)
+				.cast(this.type);
+		});
+	}
+
+	/**
+	 * Reads the SSE lines and events of a single response.
+	 */
+	private final class EventReader {
+
+		private byte[] input = new byte[8192];
+
+		private byte[] line = new byte[1024];
+
+		private int lineLength;
+
+		private byte[] data = new byte[1024];
+
+		private int dataLength;
+
+		private boolean hasData;
+
+		/** Whether a line feed following a carriage return is to be skipped. */
+		private boolean skipLineFeed;
+
+		private boolean done;
+
+		List<Object> read(DataBuffer buffer) {
+			try {
+				List<Object> events = new ArrayList<>(1);
+				int readable;
+				while (!this.done && (readable = buffer.readableByteCount()) > 0) {
+					int length = Math.min(readable, this.input.length);
+					buffer.read(this.input, 0, length);
+					readLines(length, events);
+				}
+				return events;
+			}
+			finally {
+				DataBufferUtils.release(buffer);
+			}
+		}
+
+		List<Object> finish() {
+			List<Object> events = new ArrayList<>(1);
+			if (!this.done) {
+				if (this.lineLength > 0) {
+					readLine(events);
+				}
+				dispatch(events);
+			}
+			return events;
+		}
+
+		private void readLines(int length, List<Object> events) {
+			for (int i = 0; i < length && !this.done; i++) {
+				byte b = this.input[i];
+				if (this.skipLineFeed) {
+					this.skipLineFeed = false;
+					if (b == '\n') {
+						continue;
+					}
+				}
+				if (b == '\n' || b == '\r') {
+					this.skipLineFeed = (b == '\r');
+					readLine(events);
+				}
+				else {
+					if (this.lineLength == this.line.length) {
+						this.line = Arrays.copyOf(this.line, this.line.length * 2);
+					}
+					this.line[this.lineLength++] = b;
+				}
+			}
+		}
+
+		private void readLine(List<Object> events) {
+			int length = this.lineLength;
+			this.lineLength = 0;
+			if (length == 0) {
+				// A blank line dispatches the event.
+				dispatch(events);
+				return;
+			}
+			if (this.line[0] == ':') {
+				// Comment.
+				return;
+			}
+			int colon = indexOf(this.line, length, (byte) ':');
+			int nameLength = (colon < 0) ? length : colon;
+			if (nameLength != DATA_FIELD.length
+					|| !Arrays.equals(this.line, 0, nameLength, DATA_FIELD, 0, nameLength)) {
+				return;
+			}
+			int valueStart = (colon < 0) ? length : colon + 1;
+			if (valueStart < length && this.line[valueStart] == ' ') {
+				valueStart++;
+			}
+			if (this.hasData) {
+				appendData((byte) '\n');
+			}
+			this.hasData = true;
+			for (int i = valueStart; i < length; i++) {
+				appendData(this.line[i]);
+			}
+		}
+
+		private void dispatch(List<Object> events) {
+			if (!this.hasData) {
+				return;
+			}
+			int length = this.dataLength;
+			this.hasData = false;
+			this.dataLength = 0;
+			if (Arrays.equals(this.data, 0, length, DONE_BYTES, 0, DONE_BYTES.length)) {
+				this.done = true;
+				events.add(END_OF_STREAM);
+				return;
+			}
+			if (length == 0) {
+				return;
+			}
+			try {
+				events.add(ServerSentEventJsonDecoder.this.reader.readValue(this.data, 0, length));
+			}
+			catch (IOException ex) {
+				String data = new String(this.data, 0, Math.min(length, MAX_ERROR_DATA_LENGTH), StandardCharsets.UTF_8);
+				throw new IllegalStateException(
+						"Failed to parse the event data into " + ServerSentEventJsonDecoder.this.type.getSimpleName()
+								+ ": " + data + ((length > MAX_ERROR_DATA_LENGTH) ? "..." : ""),
+						ex);
+			}
+		}
+
+		private void appendData(byte b) {
+			if (this.dataLength == this.data.length) {
+				this.data = Arrays.copyOf(this.data, this.data.length * 2);
+			}
+			this.data[this.dataLength++] = b;
+		}
+
+		private static int indexOf(byte[] bytes, int length, byte b) {
+			for (int i = 0; i < length; i++) {
+				if (bytes[i] == b) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+	}
+
+}
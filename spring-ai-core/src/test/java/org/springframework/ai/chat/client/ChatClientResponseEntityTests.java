@@ -25,6 +25,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.MessageType;
@@ -138,4 +139,47 @@ public class ChatClientResponseEntityTests {
 		assertThat(userMessage.getContent()).contains("Tell me about Max");
 	}
 
+	@Test
+	public void streamEntityTest() {
+
+		when(chatModel.stream(promptCaptor.capture())).thenReturn(Flux.just("{\"name\":", "\"John\", \"ag", "e\":30}")
+			.map(content -> new ChatResponse(List.of(new Generation(content)))));
+
+		List<MyBean> entities = ChatClient.builder(chatModel)
+			.build()
+			.prompt()
+			.user("Tell me about John")
+			.stream()
+			.entity(MyBean.class)
+			.collectList()
+			.block();
+
+		assertThat(entities).containsExactly(new MyBean("John", 0), new MyBean("John", 30));
+
+		Message userMessage = promptCaptor.getValue().getInstructions().get(0);
+		assertThat(userMessage.getContent()).contains("Tell me about John").contains("JSON Schema");
+	}
+
+	@Test
+	public void streamEntitiesTest() {
+
+		when(chatModel.stream(promptCaptor.capture()))
+			.thenReturn(Flux.just("[{\"name\":\"Max\", \"age\":10},", " {\"name\":\"Adi\", \"age\":13}]")
+				.map(content -> new ChatResponse(List.of(new Generation(content)))));
+
+		List<MyBean> entities = ChatClient.builder(chatModel)
+			.build()
+			.prompt()
+			.user("Tell me about them")
+			.stream()
+			.entities(MyBean.class)
+			.collectList()
+			.block();
+
+		assertThat(entities).containsExactly(new MyBean("Max", 10), new MyBean("Adi", 13));
+
+		Message userMessage = promptCaptor.getValue().getInstructions().get(0);
+		assertThat(userMessage.getContent()).contains("\"type\" : \"array\"");
+	}
+
 }
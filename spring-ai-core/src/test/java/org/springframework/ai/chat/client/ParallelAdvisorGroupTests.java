@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.client;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.client.advisor.ParallelAdvisorGroup;
+import org.springframework.ai.chat.client.advisor.QuestionAnswerAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.InMemoryChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ParallelAdvisorGroup}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ParallelAdvisorGroupTests {
+
+	@Mock
+	ChatModel chatModel;
+
+	@Mock
+	VectorStore vectorStore;
+
+	@Captor
+	ArgumentCaptor<Prompt> promptCaptor;
+
+	@Test
+	public void mergesIndependentAdvisors() {
+
+		when(chatModel.call(promptCaptor.capture()))
+			.thenReturn(new ChatResponse(List.of(new Generation("Your answer is ZXY"))));
+		when(vectorStore.similaritySearch(any(SearchRequest.class)))
+			.thenReturn(List.of(new Document("doc1"), new Document("doc2")));
+
+		ChatMemory chatMemory = new InMemoryChatMemory();
+		chatMemory.add("default", List.of(new UserMessage("previous question"), new AssistantMessage("previous answer")));
+
+		var chatClient = ChatClient.builder(chatModel)
+			.defaultSystem("Default system text.")
+			.defaultAdvisors(new ParallelAdvisorGroup(new QuestionAnswerAdvisor(vectorStore),
+					new MessageChatMemoryAdvisor(chatMemory)))
+			.build();
+
+		var content = chatClient.prompt().user("Please answer my question XYZ").call().content();
+
+		assertThat(content).isEqualTo("Your answer is ZXY");
+
+		List<Message> instructions = promptCaptor.getValue().getInstructions();
+		assertThat(instructions).hasSize(4);
+		assertThat(instructions.get(0).getContent()).isEqualTo("previous question");
+		assertThat(instructions.get(1).getContent()).isEqualTo("previous answer");
+		assertThat(instructions.get(2).getMessageType()).isEqualTo(MessageType.SYSTEM);
+		assertThat(instructions.get(2).getContent()).isEqualTo("Default system text.");
+		assertThat(instructions.get(3).getMessageType()).isEqualTo(MessageType.USER);
+		assertThat(instructions.get(3).getContent()).startsWith("Please answer my question XYZ")
+			.contains("doc1" + System.lineSeparator() + "doc2");
+
+		assertThat(chatMemory.get("default", 10)).hasSize(4);
+	}
+
+	@Test
+	public void adviseRequestRunsConcurrently() {
+
+		CountDownLatch latch = new CountDownLatch(2);
+
+		RequestResponseAdvisor first = new LatchAdvisor(latch, "first", "one");
+		RequestResponseAdvisor second = new LatchAdvisor(latch, "second", "two");
+
+		AdvisedRequest request = AdvisedRequest.builder()
+			.withUserText("user")
+			.withSystemText("system")
+			.withUserParams(Map.of("existing", "value"))
+			.build();
+
+		AdvisedRequest advised = new ParallelAdvisorGroup(first, second).adviseRequest(request, new HashMap<>());
+
+		assertThat(advised.userText()).isEqualTo("user first second");
+		assertThat(advised.systemText()).isEqualTo("system");
+		assertThat(advised.userParams()).containsEntry("existing", "value")
+			.containsEntry("first", "one")
+			.containsEntry("second", "two");
+	}
+
+	@Test
+	public void propagatesAdvisorFailure() {
+
+		RequestResponseAdvisor failing = new RequestResponseAdvisor() {
+			@Override
+			public AdvisedRequest adviseRequest(AdvisedRequest request, Map<String, Object> context) {
+				throw new IllegalStateException("boom");
+			}
+		};
+
+		var group = new ParallelAdvisorGroup(failing, new RequestResponseAdvisor() {
+		});
+
+		assertThatThrownBy(() -> group.adviseRequest(AdvisedRequest.builder().build(), new HashMap<>()))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("boom");
+	}
+
+	private static class LatchAdvisor implements RequestResponseAdvisor {
+
+		private final CountDownLatch latch;
+
+		private final String key;
+
+		private final String value;
+
+		LatchAdvisor(CountDownLatch latch, String key, String value) {
+			this.latch = latch;
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public AdvisedRequest adviseRequest(AdvisedRequest request, Map<String, Object> context) {
+			this.latch.countDown();
+			try {
+				// Both advisors have to be running at the same time to pass the latch.
+				assertThat(this.latch.await(5, TimeUnit.SECONDS)).isTrue();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			Map<String, Object> userParams = new HashMap<>(request.userParams());
+			userParams.put(this.key, this.value);
+			return AdvisedRequest.from(request)
+				.withUserText(request.userText() + " " + this.key)
+				.withUserParams(userParams)
+				.build();
+		}
+
+	}
+
+}
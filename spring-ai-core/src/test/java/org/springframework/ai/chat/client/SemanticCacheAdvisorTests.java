@@ -0,0 +1,206 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.chat.client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import org.springframework.ai.chat.client.advisor.QuestionAnswerAdvisor;
+import org.springframework.ai.chat.client.advisor.SemanticCacheAdvisor;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link SemanticCacheAdvisor}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SemanticCacheAdvisorTests {
+
+	@Mock
+	ChatModel chatModel;
+
+	@Mock
+	VectorStore qaVectorStore;
+
+	private final CacheVectorStore cacheVectorStore = new CacheVectorStore();
+
+	@Test
+	public void callHitShortCircuitsTheModelAndLaterAdvisors() {
+
+		when(chatModel.call(any(Prompt.class))).thenReturn(new ChatResponse(List.of(new Generation("Paris"))));
+		when(qaVectorStore.similaritySearch(any(SearchRequest.class))).thenReturn(List.of(new Document("doc")));
+
+		var chatClient = ChatClient.builder(chatModel)
+			.defaultSystem("You are a geography teacher.")
+			.defaultAdvisors(new SemanticCacheAdvisor(cacheVectorStore, 0.9, Runnable::run),
+					new QuestionAnswerAdvisor(qaVectorStore))
+			.build();
+
+		ChatResponse miss = chatClient.prompt().user("Capital of France?").call().chatResponse();
+		ChatResponse hit = chatClient.prompt().user("Capital of France?").call().chatResponse();
+
+		assertThat(miss.getResult().getOutput().getContent()).isEqualTo("Paris");
+		assertThat(miss.getMetadata().get(SemanticCacheAdvisor.CACHE_HIT)).isNull();
+		assertThat(hit.getResult().getOutput().getContent()).isEqualTo("Paris");
+		assertThat((Boolean) hit.getMetadata().get(SemanticCacheAdvisor.CACHE_HIT)).isTrue();
+		assertThat(cacheVectorStore.documents).hasSize(1);
+
+		verify(chatModel, times(1)).call(any(Prompt.class));
+		verify(qaVectorStore, times(1)).similaritySearch(any(SearchRequest.class));
+	}
+
+	@Test
+	public void responsesAreScopedBySystemText() {
+
+		when(chatModel.call(any(Prompt.class))).thenReturn(new ChatResponse(List.of(new Generation("Paris"))),
+				new ChatResponse(List.of(new Generation("Paris, France"))));
+
+		var advisor = new SemanticCacheAdvisor(cacheVectorStore, 0.9, Runnable::run);
+		var chatClient = ChatClient.builder(chatModel).defaultAdvisors(advisor).build();
+
+		String first = chatClient.prompt().system("Be brief.").user("Capital of France?").call().content();
+		String second = chatClient.prompt().system("Be precise.").user("Capital of France?").call().content();
+
+		assertThat(first).isEqualTo("Paris");
+		assertThat(second).isEqualTo("Paris, France");
+		assertThat(cacheVectorStore.documents).hasSize(2);
+		verify(chatModel, times(2)).call(any(Prompt.class));
+	}
+
+	@Test
+	public void userTextIsRenderedWithItsParameters() {
+
+		when(chatModel.call(any(Prompt.class))).thenReturn(new ChatResponse(List.of(new Generation("Paris"))),
+				new ChatResponse(List.of(new Generation("Rome"))));
+
+		var chatClient = ChatClient.builder(chatModel)
+			.defaultAdvisors(new SemanticCacheAdvisor(cacheVectorStore, 0.9, Runnable::run))
+			.build();
+
+		String france = chatClient.prompt()
+			.user(u -> u.text("Capital of {country}?").param("country", "France"))
+			.call()
+			.content();
+		String italy = chatClient.prompt()
+			.user(u -> u.text("Capital of {country}?").param("country", "Italy"))
+			.call()
+			.content();
+		String cached = chatClient.prompt()
+			.user(u -> u.text("Capital of {country}?").param("country", "France"))
+			.call()
+			.content();
+
+		assertThat(france).isEqualTo("Paris");
+		assertThat(italy).isEqualTo("Rome");
+		assertThat(cached).isEqualTo("Paris");
+		assertThat(cacheVectorStore.documents).extracting(Document::getContent)
+			.containsExactly("Capital of France?", "Capital of Italy?");
+		verify(chatModel, times(2)).call(any(Prompt.class));
+	}
+
+	@Test
+	public void responsesAreScopedByResponseFormat() {
+
+		when(chatModel.call(any(Prompt.class))).thenReturn(new ChatResponse(List.of(new Generation("Paris"))),
+				new ChatResponse(List.of(new Generation("{\"name\": \"Paris\"}"))));
+
+		var chatClient = ChatClient.builder(chatModel)
+			.defaultAdvisors(new SemanticCacheAdvisor(cacheVectorStore, 0.9, Runnable::run))
+			.build();
+
+		String text = chatClient.prompt().user("Capital of France?").call().content();
+		City city = chatClient.prompt().user("Capital of France?").call().entity(City.class);
+
+		assertThat(text).isEqualTo("Paris");
+		assertThat(city.name()).isEqualTo("Paris");
+		assertThat(cacheVectorStore.documents).hasSize(2);
+		verify(chatModel, times(2)).call(any(Prompt.class));
+	}
+
+	@Test
+	public void streamedResponsesAreCachedAndReplayed() {
+
+		when(chatModel.stream(any(Prompt.class))).thenReturn(Flux.just(new ChatResponse(List.of(new Generation("Pa"))),
+				new ChatResponse(List.of(new Generation("ris")))));
+
+		var chatClient = ChatClient.builder(chatModel)
+			.defaultAdvisors(new SemanticCacheAdvisor(cacheVectorStore, 0.9, Runnable::run))
+			.build();
+
+		List<String> miss = chatClient.prompt().user("Capital of France?").stream().content().collectList().block();
+		List<String> hit = chatClient.prompt().user("Capital of France?").stream().content().collectList().block();
+
+		assertThat(miss).containsExactly("Pa", "ris");
+		assertThat(hit).containsExactly("Paris");
+		verify(chatModel, times(1)).stream(any(Prompt.class));
+		verify(chatModel, never()).call(any(Prompt.class));
+	}
+
+	record City(String name) {
+	}
+
+	/**
+	 * Matches the identical queries of the same scope.
+	 */
+	private static class CacheVectorStore implements VectorStore {
+
+		final List<Document> documents = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void add(List<Document> documents) {
+			this.documents.addAll(documents);
+		}
+
+		@Override
+		public Optional<Boolean> delete(List<String> idList) {
+			return Optional.of(this.documents.removeIf(document -> idList.contains(document.getId())));
+		}
+
+		@Override
+		public List<Document> similaritySearch(SearchRequest request) {
+			Filter.Expression filter = request.getFilterExpression();
+			Object scope = ((Filter.Value) filter.right()).value();
+			return this.documents.stream()
+				.filter(document -> document.getContent().equals(request.getQuery()))
+				.filter(document -> scope.equals(document.getMetadata().get(SemanticCacheAdvisor.SCOPE_METADATA)))
+				.limit(request.getTopK())
+				.toList();
+		}
+
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link AbstractBufferedChatMemory}.
+ */
+public class AbstractBufferedChatMemoryTests {
+
+	private static List<String> contents(List<Message> messages) {
+		return messages.stream().map(Message::getContent).toList();
+	}
+
+	@Test
+	public void writeThroughStoresEveryAppend() {
+		var chatMemory = new TestChatMemory(AbstractBufferedChatMemory.Options.writeThrough());
+
+		chatMemory.add("c1", new UserMessage("m1"));
+		chatMemory.add("c1", new UserMessage("m2"));
+
+		assertThat(chatMemory.writes).hasValue(2);
+		assertThat(contents(chatMemory.get("c1", 10))).containsExactly("m1", "m2");
+		assertThat(contents(chatMemory.get("c1", 1))).containsExactly("m2");
+	}
+
+	@Test
+	public void batchingCoalescesAppends() {
+		var chatMemory = new TestChatMemory(
+				AbstractBufferedChatMemory.Options.writeThrough().withBatching(1000, Duration.ofMinutes(1)));
+
+		IntStream.range(0, 10).forEach(i -> chatMemory.add("c" + (i % 2), new UserMessage("m" + i)));
+
+		assertThat(chatMemory.writes).hasValue(0);
+		assertThat(contents(chatMemory.get("c0", 3))).containsExactly("m4", "m6", "m8");
+
+		chatMemory.flush();
+
+		assertThat(chatMemory.writes).hasValue(1);
+		assertThat(contents(chatMemory.stored.get("c0"))).containsExactly("m0", "m2", "m4", "m6", "m8");
+		assertThat(contents(chatMemory.get("c1", 10))).containsExactly("m1", "m3", "m5", "m7", "m9");
+
+		chatMemory.close();
+	}
+
+	@Test
+	public void failedFlushKeepsTheMessages() {
+		var chatMemory = new TestChatMemory(
+				AbstractBufferedChatMemory.Options.writeThrough().withBatching(1000, Duration.ofMinutes(1)));
+
+		chatMemory.add("c1", new UserMessage("m1"));
+		chatMemory.failing.set(true);
+		assertThatThrownBy(chatMemory::flush).isInstanceOf(IllegalStateException.class);
+
+		chatMemory.add("c1", new UserMessage("m2"));
+		assertThat(contents(chatMemory.get("c1", 10))).containsExactly("m1", "m2");
+
+		chatMemory.failing.set(false);
+		chatMemory.close();
+		assertThat(contents(chatMemory.stored.get("c1"))).containsExactly("m1", "m2");
+	}
+
+	@Test
+	public void nearCacheServesHotConversations() {
+		var chatMemory = new TestChatMemory(
+				AbstractBufferedChatMemory.Options.writeThrough().withNearCache(100, 10, null));
+
+		chatMemory.add("c1", new UserMessage("m1"));
+		assertThat(contents(chatMemory.get("c1", 10))).containsExactly("m1");
+		assertThat(chatMemory.reads).hasValue(1);
+
+		chatMemory.add("c1", new UserMessage("m2"));
+		assertThat(contents(chatMemory.get("c1", 10))).containsExactly("m1", "m2");
+		assertThat(contents(chatMemory.get("c1", 1))).containsExactly("m2");
+		assertThat(chatMemory.reads).hasValue(1);
+
+		// Larger than the cached window.
+		assertThat(chatMemory.get("c1", 20)).hasSize(2);
+		assertThat(chatMemory.reads).hasValue(2);
+
+		chatMemory.clear("c1");
+		assertThat(chatMemory.get("c1", 10)).isEmpty();
+	}
+
+	private static class TestChatMemory extends AbstractBufferedChatMemory {
+
+		final Map<String, List<Message>> stored = new ConcurrentHashMap<>();
+
+		final AtomicInteger writes = new AtomicInteger();
+
+		final AtomicInteger reads = new AtomicInteger();
+
+		final AtomicBoolean failing = new AtomicBoolean();
+
+		TestChatMemory(Options options) {
+			super(options);
+		}
+
+		@Override
+		protected void doAdd(Map<String, List<Message>> messages) {
+			if (this.failing.get()) {
+				throw new IllegalStateException("unavailable");
+			}
+			this.writes.incrementAndGet();
+			messages.forEach((id, batch) -> this.stored.computeIfAbsent(id, k -> new ArrayList<>()).addAll(batch));
+		}
+
+		@Override
+		protected List<Message> doGet(String conversationId, int lastN) {
+			this.reads.incrementAndGet();
+			List<Message> all = this.stored.getOrDefault(conversationId, List.of());
+			return List.copyOf(all.subList(Math.max(0, all.size() - lastN), all.size()));
+		}
+
+		@Override
+		protected void doClear(String conversationId) {
+			this.stored.remove(conversationId);
+		}
+
+	}
+
+}
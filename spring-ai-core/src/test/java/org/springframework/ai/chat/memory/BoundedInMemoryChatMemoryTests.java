@@ -0,0 +1,150 @@
+/*
+ * Copyright 2024-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.chat.memory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BoundedInMemoryChatMemory}.
+ */
+public class BoundedInMemoryChatMemoryTests {
+
+	private static List<String> contents(List<Message> messages) {
+		return messages.stream().map(Message::getContent).toList();
+	}
+
+	@Test
+	public void keepsTheLastMessagesInOrder() {
+		var chatMemory = BoundedInMemoryChatMemory.builder().withMaxMessages(5).build();
+
+		IntStream.range(0, 12).forEach(i -> chatMemory.add("c1", new UserMessage("m" + i)));
+
+		assertThat(contents(chatMemory.get("c1", 100))).containsExactly("m7", "m8", "m9", "m10", "m11");
+		assertThat(contents(chatMemory.get("c1", 2))).containsExactly("m10", "m11");
+		assertThat(chatMemory.get("c1", 0)).isEmpty();
+		assertThat(chatMemory.get("unknown", 10)).isEmpty();
+
+		chatMemory.clear("c1");
+		assertThat(chatMemory.get("c1", 10)).isEmpty();
+	}
+
+	@Test
+	public void boundsTheConversationTokens() {
+		var estimator = new JTokkitTokenCountEstimator();
+		var message = new UserMessage("one two three four five");
+		int messageTokens = estimator.estimate(message);
+
+		var chatMemory = BoundedInMemoryChatMemory.builder().withMaxTokens(messageTokens * 3, estimator).build();
+
+		chatMemory.add("c1", List.of(message, message, message, message, message));
+
+		assertThat(chatMemory.get("c1", 100)).hasSize(3);
+	}
+
+	@Test
+	public void evictsExpiredConversations() {
+		var clock = new MutableClock();
+		var chatMemory = BoundedInMemoryChatMemory.builder()
+			.withTimeToLive(Duration.ofMinutes(10))
+			.withClock(clock)
+			.build();
+
+		chatMemory.add("c1", new UserMessage("first"));
+		chatMemory.add("c2", new UserMessage("second"));
+
+		clock.advance(Duration.ofMinutes(6));
+		assertThat(chatMemory.get("c2", 10)).hasSize(1);
+
+		clock.advance(Duration.ofMinutes(6));
+		chatMemory.evictExpired();
+
+		assertThat(chatMemory.size()).isEqualTo(1);
+		assertThat(chatMemory.get("c1", 10)).isEmpty();
+		assertThat(chatMemory.get("c2", 10)).hasSize(1);
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedConversations() {
+		var clock = new MutableClock();
+		var chatMemory = BoundedInMemoryChatMemory.builder().withMaxConversations(10).withClock(clock).build();
+
+		for (int i = 0; i < 10; i++) {
+			chatMemory.add("c" + i, new UserMessage("m" + i));
+			clock.advance(Duration.ofSeconds(1));
+		}
+		// Touch the oldest conversation so that it is not evicted.
+		chatMemory.get("c0", 1);
+		clock.advance(Duration.ofSeconds(1));
+
+		chatMemory.add("c10", new UserMessage("m10"));
+
+		assertThat(chatMemory.size()).isEqualTo(9);
+		assertThat(chatMemory.get("c0", 1)).hasSize(1);
+		assertThat(chatMemory.get("c1", 1)).isEmpty();
+		assertThat(chatMemory.get("c2", 1)).isEmpty();
+		assertThat(chatMemory.get("c10", 1)).hasSize(1);
+	}
+
+	@Test
+	public void concurrentAppendsAreNotLost() {
+		var chatMemory = BoundedInMemoryChatMemory.builder().withMaxMessages(10_000).build();
+
+		IntStream.range(0, 2000).parallel().forEach(i -> chatMemory.add("c1", new UserMessage("m" + i)));
+
+		assertThat(chatMemory.get("c1", 10_000)).hasSize(2000);
+	}
+
+	private static class MutableClock extends Clock {
+
+		private Instant instant = Instant.parse("2024-06-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+	}
+
+}
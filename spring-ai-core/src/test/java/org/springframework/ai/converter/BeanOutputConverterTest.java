@@ -235,6 +235,42 @@ class BeanOutputConverterTest {
 			assertThat(formatOutput).contains(System.lineSeparator()).doesNotContain("\r\n").doesNotContain("\r");
 		}
 
+		@Test
+		void formatIsSharedPerType() {
+			var converter = new BeanOutputConverter<>(TestClass.class);
+			var otherConverter = new BeanOutputConverter<>(new ParameterizedTypeReference<TestClass>() {
+			});
+
+			assertThat(otherConverter.getFormat()).isEqualTo(converter.getFormat());
+			assertThat(converter.getFormat()).isSameAs(converter.getFormat());
+		}
+
+	}
+
+	@Nested
+	class SharedConverterTest {
+
+		@Test
+		void sameConverterPerType() {
+			var converter = BeanOutputConverter.forType(TestClass.class);
+
+			assertThat(BeanOutputConverter.forType(TestClass.class)).isSameAs(converter);
+			assertThat(BeanOutputConverter.forType(new ParameterizedTypeReference<TestClass>() {
+			})).isSameAs(converter);
+			assertThat(converter.convert("{ \"someString\": \"some value\" }").getSomeString()).isEqualTo("some value");
+		}
+
+		@Test
+		void differentConverterPerParameterizedType() {
+			var converter = BeanOutputConverter.forType(new ParameterizedTypeReference<List<TestClass>>() {
+			});
+
+			assertThat(BeanOutputConverter.forType(new ParameterizedTypeReference<List<TestClass>>() {
+			})).isSameAs(converter);
+			assertThat(BeanOutputConverter.forType(TestClass.class)).isNotSameAs(converter);
+			assertThat(converter.getFormat()).contains("\"type\" : \"array\"");
+		}
+
 	}
 
 	public static class TestClass {
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncrementalJsonParserTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+		.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	record Person(String name, int age, List<String> tags) {
+	}
+
+	@Test
+	void partialObjects() {
+		Flux<String> content = chunks("```json\n{\"name\": \"Jo", "hn\", \"age\"", ": 30, \"tags\": [\"a\",",
+				" \"b\"]}\n```");
+
+		List<Person> people = IncrementalJsonParser.<Person>parsePartial(content, Person.class, this.objectMapper)
+			.collectList()
+			.block();
+
+		assertThat(people).containsExactly(new Person("John", 0, null), new Person("John", 30, null),
+				new Person("John", 30, List.of("a", "b")));
+	}
+
+	@Test
+	void emptyObject() {
+		List<Person> people = IncrementalJsonParser
+			.<Person>parsePartial(chunks("{", "}"), Person.class, this.objectMapper)
+			.collectList()
+			.block();
+
+		assertThat(people).containsExactly(new Person(null, 0, null));
+	}
+
+	@Test
+	void elementsAreEmittedWhenComplete() {
+		Sinks.Many<String> content = Sinks.many().unicast().onBackpressureBuffer();
+		List<Person> people = new ArrayList<>();
+
+		IncrementalJsonParser.<Person>parseElements(content.asFlux(), Person.class, this.objectMapper)
+			.subscribe(people::add);
+
+		content.tryEmitNext("[{\"name\": \"Max\", \"age\": 10}, {\"name\"");
+		assertThat(people).containsExactly(new Person("Max", 10, null));
+
+		content.tryEmitNext(": \"Adi\", \"age\": 13, \"tags\": [\"x\"]}");
+		assertThat(people).hasSize(2);
+
+		content.tryEmitNext("]");
+		content.tryEmitComplete();
+		assertThat(people).containsExactly(new Person("Max", 10, null), new Person("Adi", 13, List.of("x")));
+	}
+
+	@Test
+	void scalarElements() {
+		List<Integer> numbers = IncrementalJsonParser
+			.<Integer>parseElements(chunks("[1, 2", "2, 3]"), Integer.class, this.objectMapper)
+			.collectList()
+			.block();
+
+		assertThat(numbers).containsExactly(1, 22, 3);
+	}
+
+	@Test
+	void singleObjectAsElement() {
+		List<Person> people = IncrementalJsonParser
+			.<Person>parseElements(chunks("{\"name\": \"Max\", ", "\"age\": 10}"), Person.class, this.objectMapper)
+			.collectList()
+			.block();
+
+		assertThat(people).containsExactly(new Person("Max", 10, null));
+	}
+
+	@Test
+	void incompleteContent() {
+		Flux<Person> people = IncrementalJsonParser.parseElements(chunks("[{\"name\": \"Max\"}, {\"name\""),
+				Person.class, this.objectMapper);
+
+		assertThatThrownBy(() -> people.collectList().block()).isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("incomplete");
+	}
+
+	@Test
+	void multiByteCharacters() {
+		List<Person> people = IncrementalJsonParser
+			.<Person>parseElements(chunks("[{\"name\": \"Zoë", " 日本\"}]"), Person.class, this.objectMapper)
+			.collectList()
+			.block();
+
+		assertThat(people).extracting(Person::name).containsExactly("Zoë 日本");
+	}
+
+	private static Flux<String> chunks(String... chunks) {
+		return Flux.just(chunks);
+	}
+
+}
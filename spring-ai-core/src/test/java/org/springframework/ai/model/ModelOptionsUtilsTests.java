@@ -15,8 +15,11 @@
  */
 package org.springframework.ai.model;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.junit.jupiter.api.Test;
 
@@ -226,4 +229,148 @@ public class ModelOptionsUtilsTests {
 		assertThat(ModelOptionsUtils.getJsonPropertyValues(TestRecord.class)).containsExactly("field1", "field2");
 	}
 
-}
\ No newline at end of file
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record TestRequest(@JsonProperty("model") String model, @JsonProperty("temperature") Double temperature,
+			@JsonProperty("stop") List<String> stop, @JsonProperty("tools") List<TestTool> tools,
+			@JsonProperty("stream") boolean stream, String notAProperty) {
+	}
+
+	public record TestTool(@JsonProperty("name") String name) {
+	}
+
+	public static class TestRequestOptions {
+
+		@JsonProperty("model")
+		private String model;
+
+		@JsonProperty("temperature")
+		private Float temperature;
+
+		@JsonProperty("stop")
+		@JsonInclude(JsonInclude.Include.NON_EMPTY)
+		private List<String> stop;
+
+		@JsonProperty("tools")
+		private List<TestTool> tools;
+
+		public String getModel() {
+			return this.model;
+		}
+
+		public void setModel(String model) {
+			this.model = model;
+		}
+
+		public Float getTemperature() {
+			return this.temperature;
+		}
+
+		public void setTemperature(Float temperature) {
+			this.temperature = temperature;
+		}
+
+		public List<String> getStop() {
+			return this.stop;
+		}
+
+		public void setStop(List<String> stop) {
+			this.stop = stop;
+		}
+
+		public List<TestTool> getTools() {
+			return this.tools;
+		}
+
+		public void setTools(List<TestTool> tools) {
+			this.tools = tools;
+		}
+
+	}
+
+	@Test
+	public void mergeIntoRecord() {
+		var options = new TestRequestOptions();
+		options.setTemperature(0.5f);
+		options.setStop(List.of());
+		options.setTools(List.of(new TestTool("weather")));
+
+		var request = new TestRequest("gpt", 0.9, List.of("STOP"), null, true, "ignored");
+
+		TestRequest merged = ModelOptionsUtils.merge(options, request, TestRequest.class);
+
+		assertThat(merged.model()).isEqualTo("gpt");
+		// Float converted to Double.
+		assertThat(merged.temperature()).isEqualTo(0.5);
+		// Empty values are suppressed by the NON_EMPTY inclusion.
+		assertThat(merged.stop()).containsExactly("STOP");
+		// Same declared type, the list is copied.
+		assertThat(merged.tools()).isEqualTo(options.getTools()).isNotSameAs(options.getTools());
+		assertThat(merged.stream()).isTrue();
+		// Not a @JsonProperty of the request.
+		assertThat(merged.notAProperty()).isNull();
+
+		TestRequest jsonMerged = ModelOptionsUtils.mapToClass(Map.of("model", "gpt", "temperature", 0.5, "stop",
+				List.of("STOP"), "tools", List.of(Map.of("name", "weather")), "stream", true), TestRequest.class);
+		assertThat(merged).isEqualTo(jsonMerged);
+	}
+
+	@Test
+	public void mergedCollectionsAreNotShared() {
+		var defaults = new TestRequestOptions();
+		defaults.setStop(new ArrayList<>(List.of("STOP")));
+		defaults.setTools(new ArrayList<>(List.of(new TestTool("weather"))));
+
+		TestRequestOptions merged = ModelOptionsUtils.merge(new TestRequestOptions(), defaults,
+				TestRequestOptions.class);
+		merged.getStop().add("END");
+		merged.getTools().add(new TestTool("search"));
+
+		assertThat(defaults.getStop()).containsExactly("STOP");
+		assertThat(defaults.getTools()).containsExactly(new TestTool("weather"));
+	}
+
+	@Test
+	public void mergeMapsAndAcceptedFieldNames() {
+		var request = new TestRequest("gpt", null, null, null, false, null);
+
+		TestRequest merged = ModelOptionsUtils.merge(
+				Map.of("temperature", 1, "tools", List.of(Map.of("name", "search")), "unknown", "value"), request,
+				TestRequest.class, List.of("model", "temperature", "tools"));
+
+		assertThat(merged.model()).isEqualTo("gpt");
+		assertThat(merged.temperature()).isEqualTo(1.0);
+		assertThat(merged.tools()).containsExactly(new TestTool("search"));
+		assertThat(merged.stream()).isFalse();
+
+		TestRequest fromNull = ModelOptionsUtils.merge(null, request, TestRequest.class);
+		assertThat(fromNull).isEqualTo(request);
+	}
+
+	@Test
+	public void mergeBeansConvertsCompatibleSubclasses() {
+		var source = new TestPortableOptionsImpl();
+		source.setName("John");
+
+		var target = new TestSpecificOptions();
+		target.setAge(60);
+
+		for (int i = 0; i < 3; i++) {
+			// Served from the cached property mergers after the first call.
+			TestSpecificOptions merged = ModelOptionsUtils.mergeBeans(source, target, TestPortableOptions.class, true);
+			assertThat(merged.getName()).isEqualTo("John");
+			assertThat(merged.getAge()).isEqualTo(60);
+		}
+	}
+
+	@Test
+	public void jsonSchemaIsCachedPerClass() {
+		String schema = ModelOptionsUtils.getJsonSchema(TestTool.class, false);
+		String upperCaseSchema = ModelOptionsUtils.getJsonSchema(TestTool.class, true);
+
+		assertThat(ModelOptionsUtils.getJsonSchema(TestTool.class, false)).isSameAs(schema);
+		assertThat(ModelOptionsUtils.getJsonSchema(TestTool.class, true)).isSameAs(upperCaseSchema);
+		assertThat(schema).contains("\"type\" : \"object\"");
+		assertThat(upperCaseSchema).contains("\"type\" : \"OBJECT\"");
+	}
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AbstractFunctionCallSupportTests {
+
+	@Test
+	void manyRoundsDoNotGrowTheStack() {
+		TestModel model = new TestModel(10_000);
+
+		String response = model.callWithFunctionSupport(List.of("user"));
+
+		assertThat(response).isEqualTo("done");
+		assertThat(model.completions).isEqualTo(10_001);
+		// The history is copied from the initial request only.
+		assertThat(model.userMessagesCalls).isEqualTo(1);
+		assertThat(model.lastRequest).hasSize(1 + 2 * 10_000);
+	}
+
+	@Test
+	void maxRoundsExceeded() {
+		TestModel model = new TestModel(5);
+		model.setMaxFunctionCallingRounds(3);
+
+		assertThatThrownBy(() -> model.callWithFunctionSupport(List.of("user")))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("The maximum number of function calling rounds [3] was exceeded");
+	}
+
+	@Test
+	void maxRoundsExceededWhenStreaming() {
+		TestModel model = new TestModel(5);
+		model.setMaxFunctionCallingRounds(3);
+
+		assertThatThrownBy(() -> model.callWithFunctionSupportStream(List.of("user")).collectList().block())
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("The maximum number of function calling rounds [3] was exceeded");
+	}
+
+	@Test
+	void streamingRounds() {
+		TestModel model = new TestModel(3);
+
+		List<String> responses = model.callWithFunctionSupportStream(List.of("user")).collectList().block();
+
+		assertThat(responses).containsExactly("done");
+		assertThat(model.lastRequest).containsExactly("user", "call", "result", "call", "result", "call", "result");
+	}
+
+	@Test
+	void streamingRoundsDoNotBlockABoundedFunctionCallExecutor() {
+		ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "function-call"));
+		try {
+			TestModel model = new TestModel(2);
+			model.registerFunction();
+			model.setFunctionCallExecutor(
+					FunctionCallExecutor.builder().withExecutor(executor).withMaxConcurrency(2).build());
+
+			List<String> responses = model.callWithFunctionSupportStream(List.of("user"))
+				.collectList()
+				.block(Duration.ofSeconds(10));
+
+			assertThat(responses).containsExactly("done");
+			assertThat(model.toolResponseThreads).allMatch(thread -> thread.startsWith("boundedElastic"));
+			assertThat(model.functionThreads).containsOnly("function-call").hasSize(4);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void streamingRoundsWithANonBlockingFunctionCallScheduler() {
+		TestModel model = new TestModel(2);
+		model.registerFunction();
+		model.setFunctionCallExecutor(
+				FunctionCallExecutor.builder().withScheduler(Schedulers.parallel()).withMaxConcurrency(2).build());
+
+		List<String> responses = model.callWithFunctionSupportStream(List.of("user"))
+			.collectList()
+			.block(Duration.ofSeconds(10));
+
+		assertThat(responses).containsExactly("done");
+		assertThat(model.functionThreads).allMatch(thread -> thread.startsWith("parallel")).hasSize(4);
+	}
+
+	@Test
+	void historyIsCompacted() {
+		TestModel model = new TestModel(4);
+		// Keep the user message and the last tool exchange.
+		model.setConversationHistoryCompactor(history -> {
+			if (history.size() > 3) {
+				history.subList(1, history.size() - 2).clear();
+			}
+			return history;
+		});
+
+		model.callWithFunctionSupport(List.of("user"));
+
+		assertThat(model.lastRequest).containsExactly("user", "call", "result", "call", "result");
+	}
+
+	@Test
+	void roundsAreReported() {
+		TestModel model = new TestModel(2);
+		List<FunctionCallingRound<String>> rounds = new ArrayList<>();
+		model.setFunctionCallingRoundListener(rounds::add);
+
+		model.callWithFunctionSupport(List.of("user"));
+
+		assertThat(rounds).extracting(FunctionCallingRound::round).containsExactly(1, 2);
+		assertThat(rounds).extracting(FunctionCallingRound::conversationSize).containsExactly(3, 5);
+		assertThat(rounds).extracting(FunctionCallingRound::response).containsOnly("call");
+		assertThat(rounds).allSatisfy(round -> assertThat(round.functionCallsDuration().isNegative()).isFalse());
+	}
+
+	/**
+	 * Requests function calls for a number of rounds. The messages are strings and the
+	 * requests are the conversation messages.
+	 */
+	private static class TestModel extends AbstractFunctionCallSupport<String, List<String>, String> {
+
+		private final int rounds;
+
+		int completions;
+
+		int userMessagesCalls;
+
+		List<String> lastRequest;
+
+		final List<String> toolResponseThreads = new ArrayList<>();
+
+		final List<String> functionThreads = new CopyOnWriteArrayList<>();
+
+		TestModel(int rounds) {
+			super(null);
+			this.rounds = rounds;
+		}
+
+		@Override
+		protected List<String> doCreateToolResponseRequest(List<String> previousRequest, String responseMessage,
+				List<String> conversationHistory) {
+			this.toolResponseThreads.add(Thread.currentThread().getName());
+			if (this.functionCallbackRegister.isEmpty()) {
+				conversationHistory.add("result");
+			}
+			else {
+				conversationHistory
+					.addAll(callFunctions(List.of("{}", "{}"), call -> "test", call -> call).subList(0, 1));
+			}
+			return conversationHistory;
+		}
+
+		/**
+		 * Registers a function called twice per round, recording its threads.
+		 */
+		void registerFunction() {
+			this.functionCallbackRegister.put("test", new FunctionCallback() {
+
+				@Override
+				public String getName() {
+					return "test";
+				}
+
+				@Override
+				public String getDescription() {
+					return "test";
+				}
+
+				@Override
+				public String getInputTypeSchema() {
+					return "{}";
+				}
+
+				@Override
+				public String call(String functionInput) {
+					TestModel.this.functionThreads.add(Thread.currentThread().getName());
+					return "result";
+				}
+
+			});
+		}
+
+		@Override
+		protected List<String> doGetUserMessages(List<String> request) {
+			this.userMessagesCalls++;
+			return request;
+		}
+
+		@Override
+		protected String doGetToolResponseMessage(String response) {
+			return response;
+		}
+
+		@Override
+		protected String doChatCompletion(List<String> request) {
+			this.lastRequest = List.copyOf(request);
+			return (this.completions++ < this.rounds) ? "call" : "done";
+		}
+
+		@Override
+		protected Flux<String> doChatCompletionStream(List<String> request) {
+			return Flux.defer(() -> Flux.just(doChatCompletion(request)));
+		}
+
+		@Override
+		protected boolean isToolFunctionCall(String response) {
+			return "call".equals(response);
+		}
+
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.model.function.FunctionCallExecutor.FunctionCall;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FunctionCallExecutorTests {
+
+	@Test
+	void sequentialCallsOnCallerThread() {
+		Thread caller = Thread.currentThread();
+		List<Thread> threads = new ArrayList<>();
+
+		List<String> responses = FunctionCallExecutor.sequential().execute(List.of(call("a", input -> {
+			threads.add(Thread.currentThread());
+			return input + "1";
+		}), call("b", input -> {
+			threads.add(Thread.currentThread());
+			return input + "2";
+		})));
+
+		assertThat(responses).containsExactly("a1", "b2");
+		assertThat(threads).containsOnly(caller);
+	}
+
+	@Test
+	void concurrentCallsPreserveOrder() {
+		FunctionCallExecutor executor = FunctionCallExecutor.builder().withMaxConcurrency(4).build();
+
+		// The first calls complete last.
+		List<FunctionCall> calls = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			long delay = (4 - i) * 50L;
+			calls.add(call(String.valueOf(i), input -> {
+				sleep(delay);
+				return input;
+			}));
+		}
+
+		assertThat(executor.execute(calls)).containsExactly("0", "1", "2", "3");
+	}
+
+	@Test
+	void concurrentCallsAreBounded() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		FunctionCallExecutor executor = FunctionCallExecutor.builder().withMaxConcurrency(2).build();
+
+		List<FunctionCall> calls = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			calls.add(call(String.valueOf(i), input -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				sleep(50);
+				running.decrementAndGet();
+				return input;
+			}));
+		}
+
+		assertThat(executor.execute(calls)).containsExactly("0", "1", "2", "3", "4", "5");
+		assertThat(maxRunning.get()).isEqualTo(2);
+	}
+
+	@Test
+	void concurrentCallsKeepNullResponses() {
+		FunctionCallExecutor executor = FunctionCallExecutor.builder().withMaxConcurrency(2).build();
+
+		List<String> responses = executor.execute(List.of(call("a", input -> null), call("b", input -> input)));
+
+		assertThat(responses).containsExactly(null, "b");
+	}
+
+	@Test
+	void callsRunOnCustomExecutor() {
+		ExecutorService executorService = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "tools"));
+		try {
+			FunctionCallExecutor executor = FunctionCallExecutor.builder()
+				.withMaxConcurrency(2)
+				.withExecutor(executorService)
+				.build();
+
+			List<String> responses = executor.execute(List.of(call("a", input -> Thread.currentThread().getName()),
+					call("b", input -> Thread.currentThread().getName())));
+
+			assertThat(responses).containsOnly("tools");
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	void slowCallTimesOut() {
+		FunctionCallExecutor executor = FunctionCallExecutor.builder().withTimeout(Duration.ofMillis(100)).build();
+
+		assertThatThrownBy(() -> executor.execute(List.of(call("slow", input -> {
+			sleep(2000);
+			return input;
+		})))).isInstanceOf(IllegalStateException.class).hasMessageContaining("Function call [test] timed out");
+	}
+
+	@Test
+	void asyncCallsAreNotOffloaded() {
+		Thread caller = Thread.currentThread();
+		List<Thread> threads = new ArrayList<>();
+		FunctionCallExecutor executor = FunctionCallExecutor.builder().withMaxConcurrency(2).build();
+
+		List<String> responses = executor.executeAsync(List.of(asyncCall("a", input -> Mono.fromCallable(() -> {
+			threads.add(Thread.currentThread());
+			return input + "1";
+		})), asyncCall("b", input -> Mono.delay(Duration.ofMillis(50)).map(tick -> input + "2")),
+				asyncCall("c", input -> Mono.empty())))
+			.block();
+
+		assertThat(responses).containsExactly("a1", "b2", null);
+		assertThat(threads).containsOnly(caller);
+	}
+
+	@Test
+	void functionErrorIsPropagated() {
+		FunctionCallExecutor executor = FunctionCallExecutor.builder().withMaxConcurrency(2).build();
+
+		assertThatThrownBy(() -> executor.execute(List.of(call("a", input -> input), call("b", input -> {
+			throw new IllegalArgumentException("Bad arguments");
+		})))).isInstanceOf(IllegalArgumentException.class).hasMessage("Bad arguments");
+	}
+
+	private static FunctionCall call(String arguments, Function<String, String> function) {
+		return new FunctionCall(new TestFunctionCallback(function), arguments);
+	}
+
+	private static FunctionCall asyncCall(String arguments, Function<String, Mono<String>> function) {
+		return new FunctionCall(new TestAsyncFunctionCallback(function), arguments);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private record TestFunctionCallback(Function<String, String> function) implements FunctionCallback {
+
+		@Override
+		public String getName() {
+			return "test";
+		}
+
+		@Override
+		public String getDescription() {
+			return "Test function";
+		}
+
+		@Override
+		public String getInputTypeSchema() {
+			return "{}";
+		}
+
+		@Override
+		public String call(String functionInput) {
+			return this.function.apply(functionInput);
+		}
+
+	}
+
+	private record TestAsyncFunctionCallback(Function<String, Mono<String>> function) implements AsyncFunctionCallback {
+
+		@Override
+		public String getName() {
+			return "async";
+		}
+
+		@Override
+		public String getDescription() {
+			return "Test async function";
+		}
+
+		@Override
+		public String getInputTypeSchema() {
+			return "{}";
+		}
+
+		@Override
+		public Mono<String> callAsync(String functionInput) {
+			return this.function.apply(functionInput);
+		}
+
+	}
+
+}
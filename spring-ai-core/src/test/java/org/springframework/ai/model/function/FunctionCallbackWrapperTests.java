@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.model.function;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FunctionCallbackWrapperTests {
+
+	@Test
+	void blockingFunction() {
+		FunctionCallback callback = FunctionCallbackWrapper.builder(new WeatherService())
+			.withName("weather")
+			.withDescription("Get the weather")
+			.build();
+
+		assertThat(callback).isNotInstanceOf(AsyncFunctionCallback.class);
+		assertThat(callback.call("{\"city\":\"Paris\"}")).isEqualTo("{\"temp\":20.0}");
+	}
+
+	@Test
+	void reactiveFunction() {
+		FunctionCallback callback = FunctionCallbackWrapper.builder(new ReactiveWeatherService())
+			.withName("weather")
+			.withDescription("Get the weather")
+			.build();
+
+		assertThat(callback).isInstanceOf(AsyncFunctionCallback.class);
+		assertThat(((AsyncFunctionCallback) callback).callAsync("{\"city\":\"Paris\"}").block())
+			.isEqualTo("{\"temp\":20.0}");
+		assertThat(callback.call("{\"city\":\"Paris\"}")).isEqualTo("{\"temp\":20.0}");
+	}
+
+	@Test
+	void completableFutureFunction() {
+		Function<Request, CompletableFuture<Response>> function = request -> CompletableFuture
+			.supplyAsync(() -> new Response(20.0));
+
+		FunctionCallback callback = FunctionCallbackWrapper.builder(function)
+			.withName("weather")
+			.withDescription("Get the weather")
+			.withInputType(Request.class)
+			.withOutputType(CompletableFuture.class)
+			.build();
+
+		assertThat(callback).isInstanceOf(AsyncFunctionCallback.class);
+		assertThat(((AsyncFunctionCallback) callback).callAsync("{\"city\":\"Paris\"}").block())
+			.isEqualTo("{\"temp\":20.0}");
+	}
+
+	public record Request(String city) {
+	}
+
+	public record Response(double temp) {
+	}
+
+	static class WeatherService implements Function<Request, Response> {
+
+		@Override
+		public Response apply(Request request) {
+			return new Response(20.0);
+		}
+
+	}
+
+	static class ReactiveWeatherService implements Function<Request, Mono<Response>> {
+
+		@Override
+		public Mono<Response> apply(Request request) {
+			return Mono.just(new Response(20.0));
+		}
+
+	}
+
+}
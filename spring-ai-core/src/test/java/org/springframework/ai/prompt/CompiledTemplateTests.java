@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.prompt;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.stringtemplate.v4.ST;
+
+import org.springframework.ai.chat.prompt.CompiledTemplate;
+import org.springframework.core.io.ByteArrayResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class CompiledTemplateTests {
+
+	@Test
+	public void compiledTemplatesAreCached() {
+		CompiledTemplate template = CompiledTemplate.compile("Hello {name}!");
+
+		assertThat(CompiledTemplate.compile("Hello {name}!")).isSameAs(template);
+		assertThat(CompiledTemplate.compile("Hello {name}!", '<', '>')).isNotSameAs(template);
+		assertThat(template.isLiteral()).isFalse();
+		assertThat(template.getInputVariables()).containsExactly("name");
+	}
+
+	@Test
+	public void parsedTemplatesAreNotCached() {
+		CompiledTemplate template = CompiledTemplate.parse("Hello {name}!");
+
+		assertThat(CompiledTemplate.parse("Hello {name}!")).isNotSameAs(template);
+		assertThat(CompiledTemplate.compile("Hello {name}!")).isNotSameAs(template);
+		assertThat(template.render(Map.of("name", "John"))).isEqualTo("Hello John!");
+	}
+
+	@Test
+	public void render() {
+		CompiledTemplate template = CompiledTemplate.compile("Hello {name}, the items are: {items:{item | {item};}}");
+
+		assertThat(template.render(Map.of("name", "John", "items", List.of("a", "b"))))
+			.isEqualTo("Hello John, the items are: a;b;");
+		assertThat(template.render(Map.of("name", "Jane", "items", List.of("c"))))
+			.isEqualTo("Hello Jane, the items are: c;");
+		assertThat(template.render(Map.of("name", new ByteArrayResource("Resource".getBytes()), "items", List.of())))
+			.isEqualTo("Hello Resource, the items are: ");
+	}
+
+	@Test
+	public void renderWithMissingVariables() {
+		CompiledTemplate template = CompiledTemplate.compile("Hello {name}, you are {age}");
+
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> template.render(Map.of("age", 42)))
+			.withMessage("Not all template variables were replaced. Missing variable names are [name]");
+	}
+
+	@Test
+	public void literalTemplatesSkipTemplating() {
+		String text = "Plain text without placeholders.\nSecond line.";
+		CompiledTemplate template = CompiledTemplate.compile(text);
+
+		assertThat(template.isLiteral()).isEqualTo("\n".equals(System.lineSeparator()));
+		assertThat(template.getInputVariables()).isEmpty();
+		assertThat(template.render(Map.of("unused", "value"))).isEqualTo(new ST(text, '{', '}').render());
+
+		assertThat(CompiledTemplate.compile("Escaped \\{ brace").isLiteral()).isFalse();
+		assertThat(CompiledTemplate.compile("Windows\r\nline").isLiteral()).isFalse();
+	}
+
+	@Test
+	public void concurrentRendering() {
+		CompiledTemplate template = CompiledTemplate.compile("Request {id} from {user}");
+
+		List<String> rendered = IntStream.range(0, 1000)
+			.parallel()
+			.mapToObj(i -> template.render(Map.of("id", i, "user", "user" + i)))
+			.toList();
+
+		for (int i = 0; i < rendered.size(); i++) {
+			assertThat(rendered.get(i)).isEqualTo("Request " + i + " from user" + i);
+		}
+	}
+
+}
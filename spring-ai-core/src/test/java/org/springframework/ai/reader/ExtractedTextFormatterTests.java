@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.reader;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExtractedTextFormatterTests {
+
+	private static final String[] TOKENS = { "a", "bc", " ", " ", "  ", "\n", "\n", "\r\n", "\t" };
+
+	@Test
+	void defaultFormatting() {
+		var formatter = ExtractedTextFormatter.defaults();
+
+		assertThat(formatter.format("\n\ntitle\n  \n\n\nfirst  line \nsecond line\n\n\n\n"))
+			.isEqualTo("\ntitle\n\nfirst  line \nsecond line\n\n\n");
+	}
+
+	@Test
+	void leftAlignedFormatting() {
+		var formatter = ExtractedTextFormatter.builder().withLeftAlignment(true).build();
+
+		assertThat(formatter.format("\n\n  title\n  \n\n\nfirst  line \n   second line\n\n\n\n"))
+			.isEqualTo("title\nfirst line\nsecond line\n\n");
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 2, 3 })
+	void sameFormattingAsTheRegularExpressions(int settings) {
+		var random = new Random(settings);
+		for (int i = 0; i < 5000; i++) {
+			boolean leftAlignment = (settings & 1) != 0;
+			int skippedPages = random.nextInt(2);
+			int topLines = (settings & 2) != 0 ? random.nextInt(3) : 0;
+			int bottomLines = (settings & 2) != 0 ? random.nextInt(3) : 0;
+			var formatter = ExtractedTextFormatter.builder()
+				.withLeftAlignment(leftAlignment)
+				.withNumberOfTopPagesToSkipBeforeDelete(skippedPages)
+				.withNumberOfTopTextLinesToDelete(topLines)
+				.withNumberOfBottomTextLinesToDelete(bottomLines)
+				.build();
+			String text = randomText(random);
+			int pageNumber = random.nextInt(2);
+
+			String expected = ExtractedTextFormatter.trimAdjacentBlankLines(text);
+			if (pageNumber >= skippedPages) {
+				expected = ExtractedTextFormatter.deleteTopTextLines(expected, topLines);
+				expected = ExtractedTextFormatter.deleteBottomTextLines(expected, bottomLines);
+			}
+			if (leftAlignment) {
+				expected = ExtractedTextFormatter.alignToLeft(expected);
+			}
+			assertThat(formatter.format(text, pageNumber)).as("formatted %s", text).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void otherLineTerminatorsAreFormattedWithTheRegularExpressions() {
+		var formatter = ExtractedTextFormatter.builder().withLeftAlignment(true).build();
+
+		assertThat(formatter.format("  first\r\n\n\n  second    third  \u2028\u2028\n\n"))
+			.isEqualTo(ExtractedTextFormatter.alignToLeft(ExtractedTextFormatter
+				.trimAdjacentBlankLines("  first\r\n\n\n  second    third  \u2028\u2028\n\n")));
+		assertThat(formatter.format("  first\r\r\n\n\n  second \n\n")).isEqualTo(ExtractedTextFormatter
+			.alignToLeft(ExtractedTextFormatter.trimAdjacentBlankLines("  first\r\r\n\n\n  second \n\n")));
+	}
+
+	private static String randomText(Random random) {
+		var text = new StringBuilder();
+		int tokens = random.nextInt(30);
+		for (int i = 0; i < tokens; i++) {
+			text.append(TOKENS[random.nextInt(TOKENS.length)]);
+		}
+		if (random.nextInt(10) == 0) {
+			text.append('\r');
+		}
+		return text.toString();
+	}
+
+}
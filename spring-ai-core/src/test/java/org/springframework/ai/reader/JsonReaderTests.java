@@ -20,11 +20,16 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.reader.JsonReader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 public class JsonReaderTests {
@@ -41,6 +46,59 @@ public class JsonReaderTests {
 		for (Document document : documents) {
 			assertThat(document.getContent()).isNotEmpty();
 		}
+		assertThat(documents.add(new Document("added by the caller"))).as("the documents are mutable").isTrue();
+	}
+
+	@Test
+	void streamJson() {
+		try (Stream<Document> documents = new JsonReader(resource, "description").stream()) {
+			assertThat(documents.limit(2)).hasSize(2)
+				.allSatisfy(document -> assertThat(document.getContent()).isNotEmpty());
+		}
+	}
+
+	@Test
+	void loadJsonArraySelectedWithPointer() {
+		var json = json("""
+				{"meta": {"count": 2, "tags": [{"ignored": true}]},
+				 "data": {"items": [{"id": 1, "text": "first"}, {"id": 2, "text": "second"}]}}
+				""");
+		var jsonReader = new JsonReader(json, item -> Map.of("id", item.get("id")), "text");
+
+		List<Document> documents = jsonReader.get("/data/items");
+
+		assertThat(documents).extracting(Document::getContent)
+			.containsExactly("text: first" + System.lineSeparator(), "text: second" + System.lineSeparator());
+		assertThat(documents).extracting(document -> document.getMetadata().get("id")).containsExactly(1, 2);
+		assertThat(jsonReader.get("/data/items/1")).extracting(Document::getContent)
+			.containsExactly("text: second" + System.lineSeparator());
+		assertThatThrownBy(() -> jsonReader.get("/data/missing")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void loadJsonLines() {
+		var jsonLines = json("""
+				{"text": "first"}
+				{"text": "second"}
+				{"text": "third"}
+				""");
+
+		List<Document> documents = new JsonReader(jsonLines, "text").get();
+
+		assertThat(documents).extracting(Document::getContent)
+			.containsExactly("text: first" + System.lineSeparator(), "text: second" + System.lineSeparator(),
+					"text: third" + System.lineSeparator());
+	}
+
+	@Test
+	void loadSingleJsonObject() {
+		List<Document> documents = new JsonReader(json("{\"text\": \"only\"}"), "text").get();
+
+		assertThat(documents).extracting(Document::getContent).containsExactly("text: only" + System.lineSeparator());
+	}
+
+	private static Resource json(String json) {
+		return new ByteArrayResource(json.getBytes(StandardCharsets.UTF_8));
 	}
 
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.reader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourcePatternDocumentReaderTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void readDirectory() throws IOException {
+		Files.writeString(this.directory.resolve("first.txt"), "The first text.");
+		Files.createDirectories(this.directory.resolve("nested"));
+		Files.writeString(this.directory.resolve("nested/second.txt"), "The second text.");
+		Files.writeString(this.directory.resolve("items.json"), "[{\"text\": \"first\"}, {\"text\": \"second\"}]");
+		Files.write(this.directory.resolve("image.png"), new byte[] { 1, 2, 3 });
+
+		List<Document> documents = ResourcePatternDocumentReader.builder(this.directory)
+			.withParallelism(3)
+			.build()
+			.get();
+
+		assertThat(documents).hasSize(4);
+		assertThat(documents).extracting(Document::getContent)
+			.contains("The first text.", "The second text.", "{text=first}", "{text=second}");
+		assertThat(documents).filteredOn(document -> document.getContent().equals("The second text."))
+			.singleElement()
+			.satisfies(document -> assertThat(document.getMetadata())
+				.containsEntry(ResourcePatternDocumentReader.METADATA_SOURCE, "second.txt")
+				.hasEntrySatisfying(ResourcePatternDocumentReader.METADATA_LOCATION,
+						location -> assertThat((String) location).startsWith("file:").endsWith("/nested/second.txt"))
+				.containsEntry(ResourcePatternDocumentReader.METADATA_CONTENT_TYPE, "text/plain"));
+	}
+
+	@Test
+	void readRegisteredAndDefaultReaders() throws IOException {
+		Files.writeString(this.directory.resolve("first.txt"), "The first text.");
+		Files.write(this.directory.resolve("image.png"), new byte[] { 1, 2, 3 });
+
+		List<Document> documents = ResourcePatternDocumentReader.builder("file:" + this.directory + "/*")
+			.withReader("text/plain", resource -> () -> List.of(new Document("plain")))
+			.withDefaultReader(resource -> () -> List.of(new Document("other")))
+			.build()
+			.get();
+
+		assertThat(documents).extracting(Document::getContent).containsExactlyInAnyOrder("plain", "other");
+	}
+
+	@Test
+	void skipUnchangedResources() throws IOException {
+		Path first = this.directory.resolve("first.txt");
+		Path second = this.directory.resolve("second.txt");
+		Files.writeString(first, "The first text.");
+		Files.writeString(second, "The second text.");
+		Path manifestPath = this.directory.resolve("manifest/documents.json");
+
+		assertThat(read(ResourceManifest.load(manifestPath))).containsExactlyInAnyOrder("The first text.",
+				"The second text.");
+		assertThat(read(ResourceManifest.load(manifestPath))).isEmpty();
+
+		// Touched only
+		Files.setLastModifiedTime(first, FileTime.fromMillis(Files.getLastModifiedTime(first).toMillis() + 60_000));
+		assertThat(read(ResourceManifest.load(manifestPath))).isEmpty();
+
+		Files.writeString(second, "The updated second text.");
+		assertThat(read(ResourceManifest.load(manifestPath))).containsExactly("The updated second text.");
+		assertThat(ResourceManifest.load(manifestPath).size()).isEqualTo(2);
+	}
+
+	@Test
+	void recordOnlyConsumedResources() throws IOException {
+		for (int i = 0; i < 10; i++) {
+			Files.writeString(this.directory.resolve(i + ".txt"), "Text " + i);
+		}
+		var manifest = ResourceManifest.inMemory();
+		var reader = ResourcePatternDocumentReader.builder("file:" + this.directory + "/*.txt")
+			.withManifest(manifest)
+			.withParallelism(2)
+			.withPrefetch(1)
+			.build();
+
+		try (Stream<Document> documents = reader.stream()) {
+			assertThat(documents.limit(3)).hasSize(3);
+		}
+
+		int recorded = manifest.size();
+		assertThat(recorded).isLessThanOrEqualTo(3);
+		assertThat(reader.get()).hasSize(10 - recorded);
+		assertThat(manifest.size()).isEqualTo(10);
+	}
+
+	@Test
+	void stopReadingWhenTheStreamIsClosed() throws Exception {
+		for (int i = 0; i < 50; i++) {
+			Files.writeString(this.directory.resolve(i + ".txt"), "Text " + i);
+		}
+		var reads = new AtomicInteger();
+		var reader = ResourcePatternDocumentReader.builder("file:" + this.directory + "/*.txt")
+			.withReader("text/plain", resource -> () -> {
+				reads.incrementAndGet();
+				return List.of(new Document("text"));
+			})
+			.withParallelism(2)
+			.withPrefetch(1)
+			.build();
+
+		try (Stream<Document> documents = reader.stream()) {
+			assertThat(documents.limit(1)).hasSize(1);
+		}
+		Thread.sleep(300);
+
+		int readsAfterClose = reads.get();
+		assertThat(readsAfterClose).isLessThan(10);
+		Thread.sleep(300);
+		assertThat(reads).hasValue(readsAfterClose);
+	}
+
+	@Test
+	void getReturnsAMutableList() throws IOException {
+		Files.writeString(this.directory.resolve("first.txt"), "The first text.");
+
+		List<Document> documents = ResourcePatternDocumentReader.builder(this.directory).build().get();
+		documents.add(new Document("added"));
+
+		assertThat(documents).hasSize(2);
+	}
+
+	private List<String> read(ResourceManifest manifest) {
+		return ResourcePatternDocumentReader.builder("file:" + this.directory + "/*.txt")
+			.withManifest(manifest)
+			.build()
+			.get()
+			.stream()
+			.map(Document::getContent)
+			.toList();
+	}
+
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.transformer;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.RateLimit;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.document.Document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link EnrichmentExecutor}.
+ */
+public class EnrichmentExecutorTests {
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count).mapToObj(i -> new Document("doc" + i, "content" + i, Map.of())).toList();
+	}
+
+	private static ChatResponse response(String content) {
+		return new ChatResponse(List.of(new Generation(content)));
+	}
+
+	@Test
+	public void concurrentCallsKeepDocumentOrder() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+
+		TestChatModel chatModel = prompt -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(20);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			inFlight.decrementAndGet();
+			return response("summary of " + prompt.getContents());
+		};
+
+		var executor = EnrichmentExecutor.builder().withMaxConcurrency(4).build();
+
+		List<String> results = executor.execute(chatModel, documents(20), d -> new Prompt(d.getContent()));
+
+		assertThat(results).hasSize(20);
+		for (int i = 0; i < 20; i++) {
+			assertThat(results.get(i)).isEqualTo("summary of content" + i);
+		}
+		assertThat(maxInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	public void failedCallsAreRetriedIndividually() {
+		Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+		TestChatModel chatModel = prompt -> {
+			int attempt = attempts.computeIfAbsent(prompt.getContents(), k -> new AtomicInteger()).incrementAndGet();
+			if (prompt.getContents().equals("content1") && attempt < 3) {
+				throw new IllegalStateException("transient");
+			}
+			return response(prompt.getContents());
+		};
+
+		var executor = EnrichmentExecutor.builder()
+			.withMaxConcurrency(2)
+			.withMaxAttempts(3)
+			.withBackoff(Duration.ofMillis(1), Duration.ofMillis(10))
+			.build();
+
+		List<String> results = executor.execute(chatModel, documents(3), d -> new Prompt(d.getContent()));
+
+		assertThat(results).containsExactly("content0", "content1", "content2");
+		assertThat(attempts.get("content0")).hasValue(1);
+		assertThat(attempts.get("content1")).hasValue(3);
+		assertThat(attempts.get("content2")).hasValue(1);
+	}
+
+	@Test
+	public void exhaustedRetriesPropagateTheFailure() {
+		TestChatModel chatModel = prompt -> {
+			throw new IllegalStateException("permanent");
+		};
+
+		var executor = EnrichmentExecutor.builder()
+			.withMaxAttempts(2)
+			.withBackoff(Duration.ofMillis(1), Duration.ofMillis(1))
+			.build();
+
+		assertThatThrownBy(() -> executor.execute(chatModel, documents(1), d -> new Prompt(d.getContent())))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("permanent");
+	}
+
+	@Test
+	public void checkpointResumesInterruptedRun(@TempDir Path tempDir) {
+		Path file = tempDir.resolve("checkpoint.jsonl");
+		AtomicInteger calls = new AtomicInteger();
+
+		TestChatModel failingOnLast = prompt -> {
+			calls.incrementAndGet();
+			if (prompt.getContents().equals("content2")) {
+				throw new IllegalStateException("interrupted");
+			}
+			return response("result " + prompt.getContents());
+		};
+
+		var executor = EnrichmentExecutor.builder().withCheckpoint(new FileEnrichmentCheckpoint(file)).build();
+		assertThatThrownBy(() -> executor.execute(failingOnLast, documents(3), d -> new Prompt(d.getContent())))
+			.hasMessage("interrupted");
+		assertThat(calls).hasValue(3);
+
+		calls.set(0);
+		TestChatModel chatModel = prompt -> {
+			calls.incrementAndGet();
+			return response("result " + prompt.getContents());
+		};
+
+		// the documents read again have new random ids
+		List<Document> documents = IntStream.range(0, 3).mapToObj(i -> new Document("content" + i)).toList();
+		var resumed = EnrichmentExecutor.builder().withCheckpoint(new FileEnrichmentCheckpoint(file)).build();
+		List<String> results = resumed.execute(chatModel, documents, d -> new Prompt(d.getContent()));
+
+		assertThat(results).containsExactly("result content0", "result content1", "result content2");
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	public void checkpointIsScopedByPrompt(@TempDir Path tempDir) {
+		var checkpoint = new FileEnrichmentCheckpoint(tempDir.resolve("checkpoint.jsonl"));
+		TestChatModel chatModel = prompt -> response("result " + prompt.getContents());
+		var executor = EnrichmentExecutor.builder().withCheckpoint(checkpoint).build();
+
+		List<String> summaries = executor.execute(chatModel, documents(2),
+				d -> new Prompt("Summarize: " + d.getContent()));
+		List<String> keywords = executor.execute(chatModel, documents(2),
+				d -> new Prompt("Keywords: " + d.getContent()));
+
+		assertThat(summaries).containsExactly("result Summarize: content0", "result Summarize: content1");
+		assertThat(keywords).containsExactly("result Keywords: content0", "result Keywords: content1");
+	}
+
+	@Test
+	public void exhaustedRateLimitDelaysNextCalls() {
+		RateLimit exhausted = new TestRateLimit(0L, Duration.ofMillis(300));
+		ChatResponseMetadata metadata = new ChatResponseMetadata.DefaultChatResponseMetadata() {
+			@Override
+			public RateLimit getRateLimit() {
+				return exhausted;
+			}
+		};
+
+		TestChatModel chatModel = prompt -> new ChatResponse(List.of(new Generation(prompt.getContents())), metadata);
+
+		var executor = EnrichmentExecutor.builder().build();
+
+		long start = System.nanoTime();
+		List<String> results = executor.execute(chatModel, documents(2), d -> new Prompt(d.getContent()));
+		long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+		assertThat(results).containsExactly("content0", "content1");
+		assertThat(elapsed).isGreaterThanOrEqualTo(250);
+	}
+
+	@Test
+	public void delayedAndRetriedCallsRunOnTheBlockingScheduler() {
+		RateLimit exhausted = new TestRateLimit(0L, Duration.ofMillis(50));
+		ChatResponseMetadata metadata = new ChatResponseMetadata.DefaultChatResponseMetadata() {
+			@Override
+			public RateLimit getRateLimit() {
+				return exhausted;
+			}
+		};
+		List<String> threads = new CopyOnWriteArrayList<>();
+		AtomicInteger attempts = new AtomicInteger();
+
+		TestChatModel chatModel = prompt -> {
+			threads.add(Thread.currentThread().getName());
+			if (prompt.getContents().equals("content1") && attempts.incrementAndGet() < 2) {
+				throw new IllegalStateException("transient");
+			}
+			return new ChatResponse(List.of(new Generation(prompt.getContents())), metadata);
+		};
+
+		var executor = EnrichmentExecutor.builder()
+			.withMaxAttempts(2)
+			.withBackoff(Duration.ofMillis(1), Duration.ofMillis(1))
+			.build();
+
+		List<String> results = executor.execute(chatModel, documents(3), d -> new Prompt(d.getContent()));
+
+		assertThat(results).containsExactly("content0", "content1", "content2");
+		assertThat(threads).hasSize(4).allMatch(name -> name.startsWith("boundedElastic"));
+	}
+
+	private interface TestChatModel extends ChatModel {
+
+		@Override
+		default ChatOptions getDefaultOptions() {
+			return null;
+		}
+
+	}
+
+	private record TestRateLimit(Long requestsRemaining, Duration requestsReset) implements RateLimit {
+
+		@Override
+		public Long getRequestsLimit() {
+			return 100L;
+		}
+
+		@Override
+		public Long getRequestsRemaining() {
+			return this.requestsRemaining;
+		}
+
+		@Override
+		public Duration getRequestsReset() {
+			return this.requestsReset;
+		}
+
+		@Override
+		public Long getTokensLimit() {
+			return null;
+		}
+
+		@Override
+		public Long getTokensRemaining() {
+			return null;
+		}
+
+		@Override
+		public Duration getTokensReset() {
+			return null;
+		}
+
+	}
+
+}
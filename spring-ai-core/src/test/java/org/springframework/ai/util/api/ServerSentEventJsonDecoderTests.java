@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.util.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServerSentEventJsonDecoderTests {
+
+	private static final String STREAM = """
+			: keep-alive
+
+			event: message
+			data: {"id":"1","content":"Hello"}
+
+			data: {"id":"2",
+			data: "content":" wörld"}
+
+			data: {"id":"3","content":"!"}
+
+			data: [DONE]
+
+			data: {"id":"4","content":"ignored"}
+
+			""";
+
+	private final ServerSentEventJsonDecoder<Chunk> decoder = new ServerSentEventJsonDecoder<>(Chunk.class);
+
+	record Chunk(String id, String content) {
+	}
+
+	@Test
+	void decodeEvents() {
+		List<Chunk> chunks = this.decoder.decode(buffers(STREAM, Integer.MAX_VALUE)).collectList().block();
+
+		assertThat(chunks).containsExactly(new Chunk("1", "Hello"), new Chunk("2", " wörld"), new Chunk("3", "!"));
+	}
+
+	@Test
+	void decodeEventsSplitAtAnyByte() {
+		for (int size = 1; size < 16; size++) {
+			List<Chunk> chunks = this.decoder.decode(buffers(STREAM, size)).collectList().block();
+
+			assertThat(chunks).as("buffer size %d", size)
+				.containsExactly(new Chunk("1", "Hello"), new Chunk("2", " wörld"), new Chunk("3", "!"));
+		}
+	}
+
+	@Test
+	void decodeCarriageReturnLineEndings() {
+		String stream = "data:{\"id\":\"1\"}\r\n\r\ndata: {\"id\":\"2\"}\r\rdata: [DONE]\r\n\r\n";
+
+		List<Chunk> chunks = this.decoder.decode(buffers(stream, 3)).collectList().block();
+
+		assertThat(chunks).containsExactly(new Chunk("1", null), new Chunk("2", null));
+	}
+
+	@Test
+	void decodeLastEventWithoutBlankLine() {
+		List<Chunk> chunks = this.decoder.decode(buffers("data: {\"id\":\"1\"}", 4)).collectList().block();
+
+		assertThat(chunks).containsExactly(new Chunk("1", null));
+	}
+
+	@Test
+	void doneCancelsTheResponse() {
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Flux<DataBuffer> body = buffers("data: [DONE]\n\n", Integer.MAX_VALUE).concatWith(Flux.never())
+			.doOnCancel(() -> cancelled.set(true));
+
+		assertThat(this.decoder.decode(body).collectList().block()).isEmpty();
+		assertThat(cancelled).isTrue();
+	}
+
+	@Test
+	void invalidDataIsTruncatedInTheError() {
+		String stream = "data: {\"id\": " + "x".repeat(1000) + "}\n\n";
+
+		assertThatThrownBy(() -> this.decoder.decode(buffers(stream, 64)).blockLast())
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageStartingWith("Failed to parse the event data into Chunk: {\"id\": xxx")
+			.hasMessageEndingWith("...")
+			.satisfies(ex -> assertThat(ex.getMessage()).hasSizeLessThan(400));
+	}
+
+	@Test
+	void replayHighRateStream() {
+		// Replays a recorded-like stream of small token events, as received from the
+		// provider in network sized buffers.
+		StringBuilder stream = new StringBuilder();
+		int events = 100_000;
+		for (int i = 0; i < events; i++) {
+			stream.append("data: {\"id\":\"chatcmpl-1\",\"content\":\"token ").append(i).append("\"}\n\n");
+		}
+		stream.append("data: [DONE]\n\n");
+
+		Long count = this.decoder.decode(buffers(stream.toString(), 1460)).count().block();
+
+		assertThat(count).isEqualTo(events);
+	}
+
+	private static Flux<DataBuffer> buffers(String content, int size) {
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		List<byte[]> slices = new ArrayList<>();
+		for (int start = 0; start < bytes.length; start += size) {
+			int end = (int) Math.min((long) start + size, bytes.length);
+			byte[] slice = new byte[end - start];
+			System.arraycopy(bytes, start, slice, 0, slice.length);
+			slices.add(slice);
+		}
+		return Flux.fromIterable(slices).map(DefaultDataBufferFactory.sharedInstance::wrap);
+	}
+
+}
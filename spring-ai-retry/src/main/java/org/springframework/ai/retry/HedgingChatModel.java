@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.retry;
+
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ChatModel} balancing the calls and the streams across equivalent chat models,
+ * with hedged requests and failover, see {@link HedgingLoadBalancer}. The prompt options
+ * should be portable {@link ChatOptions}, understood by every delegate.
+ *
+ * @since 1.0.0
+ */
+public class HedgingChatModel implements ChatModel {
+
+	private final HedgingLoadBalancer<ChatModel> loadBalancer;
+
+	public HedgingChatModel(List<ChatModel> chatModels) {
+		this(HedgingLoadBalancer.builder(chatModels).build());
+	}
+
+	public HedgingChatModel(HedgingLoadBalancer<ChatModel> loadBalancer) {
+		Assert.notNull(loadBalancer, "LoadBalancer must not be null");
+		this.loadBalancer = loadBalancer;
+	}
+
+	@Override
+	public ChatResponse call(Prompt prompt) {
+		return this.loadBalancer.call(chatModel -> chatModel.call(prompt));
+	}
+
+	@Override
+	public Flux<ChatResponse> stream(Prompt prompt) {
+		return this.loadBalancer.stream(chatModel -> chatModel.stream(prompt));
+	}
+
+	/**
+	 * @return the default options of the first delegate.
+	 */
+	@Override
+	public ChatOptions getDefaultOptions() {
+		return this.loadBalancer.getDelegates().get(0).getDefaultOptions();
+	}
+
+}
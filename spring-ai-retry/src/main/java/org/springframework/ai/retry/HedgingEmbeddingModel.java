@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.retry;
+
+import java.util.List;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.AbstractEmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EmbeddingModel} balancing the requests across equivalent embedding models, with
+ * hedged requests and failover, see {@link HedgingLoadBalancer}. The delegates must embed
+ * with the same model, so that their embeddings are comparable.
+ *
+ * @since 1.0.0
+ */
+public class HedgingEmbeddingModel extends AbstractEmbeddingModel {
+
+	private final HedgingLoadBalancer<EmbeddingModel> loadBalancer;
+
+	public HedgingEmbeddingModel(List<EmbeddingModel> embeddingModels) {
+		this(HedgingLoadBalancer.builder(embeddingModels).build());
+	}
+
+	public HedgingEmbeddingModel(HedgingLoadBalancer<EmbeddingModel> loadBalancer) {
+		Assert.notNull(loadBalancer, "LoadBalancer must not be null");
+		this.loadBalancer = loadBalancer;
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		return this.loadBalancer.call(embeddingModel -> embeddingModel.call(request));
+	}
+
+	@Override
+	public List<Double> embed(Document document) {
+		return this.loadBalancer.call(embeddingModel -> embeddingModel.embed(document));
+	}
+
+	/**
+	 * @return the dimensions of the first delegate.
+	 */
+	@Override
+	public int dimensions() {
+		if (this.embeddingDimensions.get() < 0) {
+			this.embeddingDimensions.set(this.loadBalancer.getDelegates().get(0).dimensions());
+		}
+		return this.embeddingDimensions.get();
+	}
+
+}
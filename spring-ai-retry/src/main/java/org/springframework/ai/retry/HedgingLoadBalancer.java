@@ -0,0 +1,415 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.util.Assert;
+
+/**
+ * Balances the requests across equivalent delegates, such as the same model served by
+ * several endpoints or regions.
+ * <p>
+ * The requests are sent to the delegate with the lowest observed latency, an
+ * exponentially weighted moving average of the time to the first response, weighted by
+ * its in-flight requests. When the response is slower than the 95th latency percentile of
+ * the delegate, a hedged request is sent to the next delegate, and the slower of the two
+ * requests is cancelled. A failed request fails over to the next delegate immediately.
+ * <p>
+ * A delegate failing consecutively is ejected by a circuit breaker, and tried again by a
+ * single request once the circuit breaker open duration elapsed.
+ *
+ * @param <M> the type of the delegates.
+ * @see HedgingChatModel
+ * @see HedgingEmbeddingModel
+ * @since 1.0.0
+ */
+public class HedgingLoadBalancer<M> {
+
+	private static final Logger logger = LoggerFactory.getLogger(HedgingLoadBalancer.class);
+
+	private static final double EWMA_WEIGHT = 0.2;
+
+	private static final int LATENCY_SAMPLES = 100;
+
+	/**
+	 * The latency samples of a delegate required for its percentile to replace the
+	 * initial hedge delay.
+	 */
+	private static final int MIN_LATENCY_SAMPLES = 20;
+
+	/**
+	 * Fails over on any error but the {@link NonTransientAiException}s, which would fail
+	 * on every delegate.
+	 */
+	public static final Predicate<Throwable> DEFAULT_FAILOVER_ON = ex -> !(ex instanceof NonTransientAiException);
+
+	private final List<Delegate> delegates;
+
+	private final boolean hedging;
+
+	private final Duration initialHedgeDelay;
+
+	private final int failureThreshold;
+
+	private final long openDurationNanos;
+
+	private final Predicate<Throwable> failoverOn;
+
+	private final Scheduler scheduler;
+
+	private final LongSupplier nanoClock;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	private HedgingLoadBalancer(Builder<M> builder) {
+		this.delegates = builder.delegates.stream().map(Delegate::new).toList();
+		this.hedging = builder.hedging;
+		this.initialHedgeDelay = builder.initialHedgeDelay;
+		this.failureThreshold = builder.failureThreshold;
+		this.openDurationNanos = builder.openDuration.toNanos();
+		this.failoverOn = builder.failoverOn;
+		this.scheduler = builder.scheduler;
+		this.nanoClock = builder.nanoClock;
+	}
+
+	public static <M> Builder<M> builder(List<M> delegates) {
+		return new Builder<>(delegates);
+	}
+
+	/**
+	 * @return the delegates, in their configured order.
+	 */
+	public List<M> getDelegates() {
+		return this.delegates.stream().map(delegate -> delegate.model).toList();
+	}
+
+	/**
+	 * Call a blocking request on the {@link Scheduler}, so that a hedged request can be
+	 * sent while the first one is pending.
+	 * @param request the request of a delegate.
+	 * @param <R> the type of the response.
+	 * @return the first response.
+	 */
+	public <R> R call(Function<M, R> request) {
+		Assert.notNull(request, "Request must not be null");
+		return stream(model -> Mono.fromCallable(() -> request.apply(model)).subscribeOn(this.scheduler)).blockLast();
+	}
+
+	/**
+	 * Stream a request. The request is hedged, or failed over, until its first element
+	 * only; a stream failing after its first element is not resumed.
+	 * @param request the request of a delegate.
+	 * @param <R> the type of the elements.
+	 * @return the elements of the first responding delegate.
+	 */
+	public <R> Flux<R> stream(Function<M, ? extends Publisher<R>> request) {
+		Assert.notNull(request, "Request must not be null");
+		return Flux.defer(() -> {
+			List<Delegate> selected = select();
+			Delegate primary = selected.get(0);
+			if (selected.size() == 1) {
+				return attempt(primary, request);
+			}
+			Delegate secondary = selected.get(1);
+
+			Sinks.Empty<Void> primaryFailed = Sinks.empty();
+			Flux<R> primaryAttempt = attempt(primary, request).doOnError(ex -> {
+				if (this.failoverOn.test(ex)) {
+					primaryFailed.tryEmitEmpty();
+				}
+				else {
+					primaryFailed.tryEmitError(ex);
+				}
+			});
+
+			Duration hedgeDelay = hedgeDelay(primary);
+			Mono<Void> trigger = (hedgeDelay != null)
+					? Mono.firstWithSignal(Mono.delay(hedgeDelay, this.scheduler).then(), primaryFailed.asMono())
+					: primaryFailed.asMono();
+			Flux<R> secondaryAttempt = trigger.thenMany(Flux.defer(() -> {
+				logger.debug("Hedging the request of delegate {} with delegate {}", primary.model, secondary.model);
+				return attempt(secondary, request);
+			}));
+
+			return Flux.firstWithValue(primaryAttempt, secondaryAttempt)
+				.onErrorMap(NoSuchElementException.class, HedgingLoadBalancer::lastFailure);
+		});
+	}
+
+	private <R> Flux<R> attempt(Delegate delegate, Function<M, ? extends Publisher<R>> request) {
+		return Flux.defer(() -> {
+			long start = this.nanoClock.getAsLong();
+			// The first of the response, the failure or the cancellation is recorded
+			AtomicBoolean recorded = new AtomicBoolean();
+			delegate.inFlight.incrementAndGet();
+			return Flux.<R>from(request.apply(delegate.model)).doOnNext(element -> {
+				if (recorded.compareAndSet(false, true)) {
+					delegate.onResponse(this.nanoClock.getAsLong() - start);
+				}
+			}).doOnComplete(() -> {
+				if (recorded.compareAndSet(false, true)) {
+					delegate.onResponse(this.nanoClock.getAsLong() - start);
+				}
+			}).doOnError(ex -> {
+				recorded.set(true);
+				if (this.failoverOn.test(ex)) {
+					delegate.onFailure(this.nanoClock.getAsLong());
+				}
+			}).doFinally(signal -> {
+				delegate.inFlight.decrementAndGet();
+				if (signal == SignalType.CANCEL && recorded.compareAndSet(false, true)) {
+					// A request losing to its hedged request is slower than it took so
+					// far.
+					delegate.onCancel(this.nanoClock.getAsLong() - start);
+				}
+			});
+		});
+	}
+
+	/**
+	 * @return the delegates of the primary and the hedged requests, the available
+	 * delegates with the lowest scores first.
+	 */
+	private List<Delegate> select() {
+		long now = this.nanoClock.getAsLong();
+		List<Delegate> candidates = new ArrayList<>(
+				this.delegates.stream().filter(delegate -> delegate.isAvailable(now)).toList());
+		if (candidates.isEmpty()) {
+			// All the circuit breakers are open, try anyway.
+			candidates.addAll(this.delegates);
+		}
+		// Rotate the candidates so that the ties, such as the unobserved delegates, are
+		// balanced.
+		Collections.rotate(candidates, -Math.floorMod(this.next.getAndIncrement(), candidates.size()));
+		// Snapshot the scores, updated concurrently.
+		Map<Delegate, Double> scores = new IdentityHashMap<>();
+		candidates.forEach(delegate -> scores.put(delegate, delegate.score()));
+		candidates.sort(Comparator.comparingDouble(scores::get));
+		List<Delegate> selected = candidates.subList(0, Math.min(2, candidates.size()));
+		selected.forEach(delegate -> delegate.onSelected(now));
+		return selected;
+	}
+
+	private Duration hedgeDelay(Delegate delegate) {
+		if (!this.hedging) {
+			return null;
+		}
+		Duration percentile = delegate.latencyPercentile(0.95);
+		return (percentile != null) ? percentile : this.initialHedgeDelay;
+	}
+
+	private static Throwable lastFailure(NoSuchElementException ex) {
+		if (ex.getCause() == null) {
+			return ex;
+		}
+		List<Throwable> failures = Exceptions.unwrapMultiple(ex.getCause()).stream().filter(Objects::nonNull).toList();
+		return failures.isEmpty() ? ex : failures.get(failures.size() - 1);
+	}
+
+	private final class Delegate {
+
+		private final M model;
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		private final long[] latencies = new long[LATENCY_SAMPLES];
+
+		private int latencyCount;
+
+		private double averageLatency;
+
+		private int consecutiveFailures;
+
+		private long openUntil;
+
+		Delegate(M model) {
+			this.model = model;
+		}
+
+		synchronized void onResponse(long latency) {
+			this.averageLatency = (this.latencyCount == 0) ? latency
+					: EWMA_WEIGHT * latency + (1 - EWMA_WEIGHT) * this.averageLatency;
+			this.latencies[this.latencyCount % LATENCY_SAMPLES] = latency;
+			this.latencyCount++;
+			this.consecutiveFailures = 0;
+		}
+
+		/**
+		 * A cancelled request has no latency, but a lower bound of it. It only raises the
+		 * average latency, so that a delegate whose requests are cancelled before they
+		 * respond is not preferred.
+		 */
+		synchronized void onCancel(long elapsed) {
+			if (elapsed > this.averageLatency) {
+				this.averageLatency = (this.latencyCount == 0) ? elapsed
+						: EWMA_WEIGHT * elapsed + (1 - EWMA_WEIGHT) * this.averageLatency;
+			}
+		}
+
+		synchronized void onFailure(long now) {
+			if (++this.consecutiveFailures >= HedgingLoadBalancer.this.failureThreshold) {
+				if (this.consecutiveFailures == HedgingLoadBalancer.this.failureThreshold) {
+					logger.warn("Ejecting the delegate {} after {} consecutive failures", this.model,
+							this.consecutiveFailures);
+				}
+				this.openUntil = now + HedgingLoadBalancer.this.openDurationNanos;
+			}
+		}
+
+		synchronized boolean isAvailable(long now) {
+			return this.consecutiveFailures < HedgingLoadBalancer.this.failureThreshold || now - this.openUntil >= 0;
+		}
+
+		/**
+		 * Only a single request tries a delegate once its circuit breaker open duration
+		 * elapsed.
+		 */
+		synchronized void onSelected(long now) {
+			if (this.consecutiveFailures >= HedgingLoadBalancer.this.failureThreshold) {
+				this.openUntil = now + HedgingLoadBalancer.this.openDurationNanos;
+			}
+		}
+
+		synchronized double score() {
+			return this.averageLatency * (this.inFlight.get() + 1);
+		}
+
+		synchronized Duration latencyPercentile(double percentile) {
+			if (this.latencyCount < MIN_LATENCY_SAMPLES) {
+				return null;
+			}
+			long[] sorted = Arrays.copyOf(this.latencies, Math.min(this.latencyCount, LATENCY_SAMPLES));
+			Arrays.sort(sorted);
+			return Duration.ofNanos(sorted[(int) Math.ceil(percentile * sorted.length) - 1]);
+		}
+
+	}
+
+	public static class Builder<M> {
+
+		private final List<M> delegates;
+
+		private boolean hedging = true;
+
+		private Duration initialHedgeDelay = Duration.ofSeconds(5);
+
+		private int failureThreshold = 5;
+
+		private Duration openDuration = Duration.ofSeconds(30);
+
+		private Predicate<Throwable> failoverOn = DEFAULT_FAILOVER_ON;
+
+		private Scheduler scheduler = Schedulers.boundedElastic();
+
+		private LongSupplier nanoClock = System::nanoTime;
+
+		private Builder(List<M> delegates) {
+			Assert.notEmpty(delegates, "Delegates must not be empty");
+			Assert.noNullElements(delegates, "Delegates must not contain null elements");
+			this.delegates = List.copyOf(delegates);
+		}
+
+		/**
+		 * @param hedging whether slow requests are hedged. Otherwise the requests are
+		 * only failed over on failures. Defaults to true.
+		 */
+		public Builder<M> withHedging(boolean hedging) {
+			this.hedging = hedging;
+			return this;
+		}
+
+		/**
+		 * @param initialHedgeDelay the hedge delay of a delegate until enough of its
+		 * latencies are observed to use their 95th percentile. Defaults to 5 seconds.
+		 */
+		public Builder<M> withInitialHedgeDelay(Duration initialHedgeDelay) {
+			Assert.notNull(initialHedgeDelay, "Initial hedge delay must not be null");
+			this.initialHedgeDelay = initialHedgeDelay;
+			return this;
+		}
+
+		/**
+		 * @param failureThreshold the consecutive failures ejecting a delegate. Defaults
+		 * to 5.
+		 * @param openDuration the duration a delegate is ejected for. Defaults to 30
+		 * seconds.
+		 */
+		public Builder<M> withCircuitBreaker(int failureThreshold, Duration openDuration) {
+			Assert.isTrue(failureThreshold >= 1, "Failure threshold must be >= 1");
+			Assert.notNull(openDuration, "Open duration must not be null");
+			this.failureThreshold = failureThreshold;
+			this.openDuration = openDuration;
+			return this;
+		}
+
+		/**
+		 * @param failoverOn whether a failure is failed over to another delegate, and
+		 * counted by the circuit breaker. Defaults to {@link #DEFAULT_FAILOVER_ON}.
+		 */
+		public Builder<M> withFailoverOn(Predicate<Throwable> failoverOn) {
+			Assert.notNull(failoverOn, "FailoverOn must not be null");
+			this.failoverOn = failoverOn;
+			return this;
+		}
+
+		/**
+		 * @param scheduler the scheduler of the blocking requests and of the hedge
+		 * delays. Defaults to {@link Schedulers#boundedElastic()}.
+		 */
+		public Builder<M> withScheduler(Scheduler scheduler) {
+			Assert.notNull(scheduler, "Scheduler must not be null");
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		Builder<M> withNanoClock(LongSupplier nanoClock) {
+			this.nanoClock = nanoClock;
+			return this;
+		}
+
+		public HedgingLoadBalancer<M> build() {
+			return new HedgingLoadBalancer<>(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.retry;
+
+/**
+ * Thrown by a {@link RateLimiter} when a request would wait longer than the max wait.
+ * Neither transient nor non-transient: the retry templates do not retry it, since a retry
+ * would wait again for the same quota, while a {@link HedgingLoadBalancer} still fails
+ * over to another model.
+ *
+ * @since 1.0.0
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+	public RateLimitExceededException(String message) {
+		super(message);
+	}
+
+}
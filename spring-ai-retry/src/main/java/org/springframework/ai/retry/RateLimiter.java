@@ -0,0 +1,265 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.ai.chat.metadata.RateLimit;
+import org.springframework.util.Assert;
+
+/**
+ * Client-side token bucket limiter of the requests and the tokens sent to an AI provider,
+ * so that the callers wait for the quota instead of failing with {@code 429} responses.
+ * <p>
+ * The buckets are seeded with the configured per minute limits, and adapted to the
+ * {@link RateLimit} reported by the provider after every response. A limit that is
+ * neither configured nor reported is not enforced.
+ * <p>
+ * The callers are served in order: every caller reserves its permits, possibly in advance
+ * of the refill, and waits until they are available. A caller that would wait longer than
+ * the max wait is rejected with a {@link RateLimitExceededException}, which is not
+ * retried, without reserving any permit.
+ *
+ * @see RateLimiterRegistry
+ * @since 1.0.0
+ */
+public class RateLimiter {
+
+	private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+	private final ReentrantLock lock = new ReentrantLock(true);
+
+	private final Bucket requests;
+
+	private final Bucket tokens;
+
+	private final Duration maxWait;
+
+	private final LongSupplier nanoClock;
+
+	private RateLimiter(Builder builder) {
+		long now = builder.nanoClock.getAsLong();
+		this.requests = new Bucket(builder.requestsPerMinute, now);
+		this.tokens = new Bucket(builder.tokensPerMinute, now);
+		this.maxWait = builder.maxWait;
+		this.nanoClock = builder.nanoClock;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Wait until a request of the given tokens is permitted.
+	 * @param tokens the estimated tokens of the request, including the completion.
+	 * @throws RateLimitExceededException if the request would wait longer than the max
+	 * wait.
+	 * @throws TransientAiException if the thread is interrupted.
+	 */
+	public void acquire(long tokens) {
+		Duration wait = reserve(tokens);
+		if (wait.isZero()) {
+			return;
+		}
+		try {
+			Thread.sleep(wait.toMillis(), wait.toNanosPart() % 1_000_000);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new TransientAiException("Interrupted while waiting for the rate limit", ex);
+		}
+	}
+
+	/**
+	 * Reserve the permits of a request of the given tokens, without waiting. The request
+	 * must only be sent once the returned delay has elapsed, for instance with a
+	 * non-blocking delay of a reactive stream.
+	 * @param tokens the estimated tokens of the request, including the completion.
+	 * @return the delay until the request is permitted.
+	 * @throws RateLimitExceededException if the request would wait longer than the max
+	 * wait.
+	 */
+	public Duration reserve(long tokens) {
+		Assert.isTrue(tokens >= 0, "Tokens must be >= 0");
+		this.lock.lock();
+		try {
+			long now = this.nanoClock.getAsLong();
+			long wait = Math.max(this.requests.waitNanos(1, now), this.tokens.waitNanos(tokens, now));
+			if (wait > this.maxWait.toNanos()) {
+				throw new RateLimitExceededException("Rate limit exceeded: a request of " + tokens
+						+ " tokens would wait " + Duration.ofNanos(wait) + ", more than " + this.maxWait);
+			}
+			this.requests.take(1);
+			this.tokens.take(tokens);
+			return Duration.ofNanos(wait);
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Adapt the buckets to the rate limit reported by the provider.
+	 * @param rateLimit the rate limit of a response, can be null.
+	 */
+	public void update(RateLimit rateLimit) {
+		if (rateLimit == null) {
+			return;
+		}
+		this.lock.lock();
+		try {
+			long now = this.nanoClock.getAsLong();
+			this.requests.update(rateLimit.getRequestsLimit(), rateLimit.getRequestsRemaining(),
+					rateLimit.getRequestsReset(), now);
+			this.tokens.update(rateLimit.getTokensLimit(), rateLimit.getTokensRemaining(), rateLimit.getTokensReset(),
+					now);
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Continuously refilled bucket. The available permits go negative when reserved in
+	 * advance of the refill.
+	 */
+	private static class Bucket {
+
+		private double capacity;
+
+		private double nanosPerPermit;
+
+		private double available;
+
+		private long lastRefill;
+
+		Bucket(long perMinute, long now) {
+			this.capacity = perMinute;
+			this.nanosPerPermit = (perMinute > 0) ? (double) NANOS_PER_MINUTE / perMinute : 0;
+			this.available = perMinute;
+			this.lastRefill = now;
+		}
+
+		boolean isLimited() {
+			return this.capacity > 0;
+		}
+
+		long waitNanos(long permits, long now) {
+			if (!isLimited()) {
+				return 0;
+			}
+			refill(now);
+			// A request larger than the capacity waits for a full bucket only.
+			double missing = Math.min(permits, this.capacity) - this.available;
+			return (missing <= 0) ? 0 : (long) Math.ceil(missing * this.nanosPerPermit);
+		}
+
+		void take(long permits) {
+			if (isLimited()) {
+				this.available -= permits;
+			}
+		}
+
+		void update(Long limit, Long remaining, Duration reset, long now) {
+			if (limit == null || limit <= 0) {
+				return;
+			}
+			if (isLimited()) {
+				refill(now);
+			}
+			else {
+				this.available = limit;
+				this.lastRefill = now;
+			}
+			this.capacity = limit;
+			if (remaining != null) {
+				// The provider may not have seen the in-flight requests yet.
+				this.available = Math.min(this.available, remaining);
+				if (reset != null && reset.toNanos() > 0 && remaining < limit) {
+					this.nanosPerPermit = (double) reset.toNanos() / (limit - remaining);
+				}
+			}
+			if (this.nanosPerPermit <= 0) {
+				this.nanosPerPermit = (double) NANOS_PER_MINUTE / limit;
+			}
+			this.available = Math.min(this.available, this.capacity);
+		}
+
+		private void refill(long now) {
+			if (now > this.lastRefill) {
+				this.available = Math.min(this.capacity,
+						this.available + (now - this.lastRefill) / this.nanosPerPermit);
+				this.lastRefill = now;
+			}
+		}
+
+	}
+
+	public static class Builder {
+
+		private long requestsPerMinute;
+
+		private long tokensPerMinute;
+
+		private Duration maxWait = Duration.ofMinutes(1);
+
+		private LongSupplier nanoClock = System::nanoTime;
+
+		/**
+		 * @param requestsPerMinute the initial limit of the requests per minute, until
+		 * reported by the provider. Defaults to 0, not limited.
+		 */
+		public Builder withRequestsPerMinute(long requestsPerMinute) {
+			Assert.isTrue(requestsPerMinute >= 0, "Requests per minute must be >= 0");
+			this.requestsPerMinute = requestsPerMinute;
+			return this;
+		}
+
+		/**
+		 * @param tokensPerMinute the initial limit of the tokens per minute, until
+		 * reported by the provider. Defaults to 0, not limited.
+		 */
+		public Builder withTokensPerMinute(long tokensPerMinute) {
+			Assert.isTrue(tokensPerMinute >= 0, "Tokens per minute must be >= 0");
+			this.tokensPerMinute = tokensPerMinute;
+			return this;
+		}
+
+		/**
+		 * @param maxWait the maximum wait of a request before it is rejected. Defaults to
+		 * 1 minute.
+		 */
+		public Builder withMaxWait(Duration maxWait) {
+			Assert.notNull(maxWait, "Max wait must not be null");
+			this.maxWait = maxWait;
+			return this;
+		}
+
+		Builder withNanoClock(LongSupplier nanoClock) {
+			this.nanoClock = nanoClock;
+			return this;
+		}
+
+		public RateLimiter build() {
+			return new RateLimiter(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.retry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Shared {@link RateLimiter}s, one per provider, model and API key, so that all the
+ * clients of a quota, such as the chat and the bulk embedding requests, are limited
+ * together.
+ *
+ * @since 1.0.0
+ */
+public class RateLimiterRegistry {
+
+	private final Map<Key, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+	private final Supplier<RateLimiter> rateLimiterFactory;
+
+	/**
+	 * @param rateLimiterFactory creates the rate limiters, seeded with the configured
+	 * limits.
+	 */
+	public RateLimiterRegistry(Supplier<RateLimiter> rateLimiterFactory) {
+		Assert.notNull(rateLimiterFactory, "RateLimiterFactory must not be null");
+		this.rateLimiterFactory = rateLimiterFactory;
+	}
+
+	/**
+	 * @param provider the AI provider, such as {@code openai}.
+	 * @param model the model name.
+	 * @param apiKey the API key, can be null.
+	 * @return the rate limiter of the quota.
+	 */
+	public RateLimiter getRateLimiter(String provider, String model, String apiKey) {
+		Assert.hasText(provider, "Provider must not be empty");
+		return this.rateLimiters.computeIfAbsent(new Key(provider, model, apiKey),
+				key -> this.rateLimiterFactory.get());
+	}
+
+	private record Key(String provider, String model, String apiKey) {
+
+		@Override
+		public String toString() {
+			return "Key[provider=" + this.provider + ", model=" + this.model + "]";
+		}
+
+	}
+
+}
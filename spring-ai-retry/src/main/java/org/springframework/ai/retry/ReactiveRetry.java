@@ -0,0 +1,215 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.retry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Retries the streaming requests, such as the streaming chat completions, with an
+ * exponential backoff.
+ * <p>
+ * Unlike a {@code RetryTemplate} wrapped around the assembly of a {@link Flux}, the
+ * request is retried when the subscription fails. A request is only retried before its
+ * first element is emitted, so that a consumer never receives duplicated elements. The
+ * backoff delays are scheduled without blocking a thread, and the {@code Retry-After}
+ * header of a failed response overrides the backoff delay.
+ *
+ * @see RetryUtils#DEFAULT_REACTIVE_RETRY
+ * @since 1.0.0
+ */
+public class ReactiveRetry {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReactiveRetry.class);
+
+	/**
+	 * Retries the {@link TransientAiException}s, the connection failures, and the 5xx and
+	 * 429 responses.
+	 */
+	public static final Predicate<Throwable> DEFAULT_RETRY_ON = ex -> ex instanceof TransientAiException
+			|| ex instanceof WebClientRequestException
+			|| (ex instanceof WebClientResponseException responseException
+					&& (responseException.getStatusCode().is5xxServerError()
+							|| responseException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()));
+
+	private final int maxAttempts;
+
+	private final Duration initialInterval;
+
+	private final int multiplier;
+
+	private final Duration maxInterval;
+
+	private final Predicate<Throwable> retryOn;
+
+	private final Scheduler scheduler;
+
+	private ReactiveRetry(Builder builder) {
+		this.maxAttempts = builder.maxAttempts;
+		this.initialInterval = builder.initialInterval;
+		this.multiplier = builder.multiplier;
+		this.maxInterval = builder.maxInterval;
+		this.retryOn = builder.retryOn;
+		this.scheduler = builder.scheduler;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Subscribe to the source, and subscribe again to a new source when it fails before
+	 * emitting its first element with a retryable error.
+	 * @param source supplies the streaming request, called for every attempt.
+	 * @param <T> the type of the elements.
+	 * @return the elements of the successful attempt.
+	 */
+	public <T> Flux<T> execute(Supplier<? extends Publisher<T>> source) {
+		Assert.notNull(source, "Source must not be null");
+		return Flux.defer(() -> {
+			AtomicBoolean emitted = new AtomicBoolean();
+			return Flux.defer(source).doOnNext(element -> emitted.set(true)).retryWhen(retry(emitted));
+		});
+	}
+
+	private Retry retry(AtomicBoolean emitted) {
+		return Retry.from(signals -> signals.concatMap(signal -> {
+			Throwable failure = signal.failure();
+			long attempts = signal.totalRetries() + 1;
+			if (emitted.get() || attempts >= this.maxAttempts || !this.retryOn.test(failure)) {
+				return Mono.error(failure);
+			}
+			logger.warn("Retry error. Retry count:" + attempts, failure);
+			return Mono.delay(delay(failure, signal.totalRetries()), this.scheduler);
+		}));
+	}
+
+	Duration delay(Throwable failure, long retries) {
+		Duration retryAfter = retryAfter(failure);
+		if (retryAfter != null) {
+			return (retryAfter.compareTo(this.maxInterval) > 0) ? this.maxInterval : retryAfter;
+		}
+		double delay = this.initialInterval.toMillis() * Math.pow(this.multiplier, retries);
+		return (delay >= this.maxInterval.toMillis()) ? this.maxInterval : Duration.ofMillis((long) delay);
+	}
+
+	private static Duration retryAfter(Throwable failure) {
+		if (!(failure instanceof WebClientResponseException responseException)) {
+			return null;
+		}
+		String retryAfter = responseException.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+		if (retryAfter == null) {
+			return null;
+		}
+		try {
+			return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+		}
+		catch (NumberFormatException ex) {
+			// Not delay seconds, an HTTP date.
+		}
+		try {
+			ZonedDateTime date = responseException.getHeaders().getFirstZonedDateTime(HttpHeaders.RETRY_AFTER);
+			Duration delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+			return delay.isNegative() ? Duration.ZERO : delay;
+		}
+		catch (RuntimeException ex) {
+			return null;
+		}
+	}
+
+	public static class Builder {
+
+		private int maxAttempts = 10;
+
+		private Duration initialInterval = Duration.ofMillis(2000);
+
+		private int multiplier = 5;
+
+		private Duration maxInterval = Duration.ofMillis(3 * 60000);
+
+		private Predicate<Throwable> retryOn = DEFAULT_RETRY_ON;
+
+		private Scheduler scheduler = Schedulers.parallel();
+
+		/**
+		 * @param maxAttempts the maximum number of attempts, including the first one.
+		 */
+		public Builder withMaxAttempts(int maxAttempts) {
+			Assert.isTrue(maxAttempts >= 1, "Max attempts must be >= 1");
+			this.maxAttempts = maxAttempts;
+			return this;
+		}
+
+		/**
+		 * @param initialInterval the delay before the first retry.
+		 * @param multiplier the multiplier of the delay of every next retry.
+		 * @param maxInterval the maximum delay, including the {@code Retry-After} delays.
+		 */
+		public Builder withBackoff(Duration initialInterval, int multiplier, Duration maxInterval) {
+			Assert.notNull(initialInterval, "Initial interval must not be null");
+			Assert.notNull(maxInterval, "Max interval must not be null");
+			Assert.isTrue(multiplier >= 1, "Multiplier must be >= 1");
+			this.initialInterval = initialInterval;
+			this.multiplier = multiplier;
+			this.maxInterval = maxInterval;
+			return this;
+		}
+
+		/**
+		 * @param retryOn whether an error is retryable. Defaults to
+		 * {@link ReactiveRetry#DEFAULT_RETRY_ON}.
+		 */
+		public Builder withRetryOn(Predicate<Throwable> retryOn) {
+			Assert.notNull(retryOn, "RetryOn must not be null");
+			this.retryOn = retryOn;
+			return this;
+		}
+
+		/**
+		 * @param scheduler the scheduler of the backoff delays. Defaults to
+		 * {@link Schedulers#parallel()}.
+		 */
+		public Builder withScheduler(Scheduler scheduler) {
+			Assert.notNull(scheduler, "Scheduler must not be null");
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		public ReactiveRetry build() {
+			return new ReactiveRetry(this);
+		}
+
+	}
+
+}
@@ -55,6 +55,15 @@ public abstract class RetryUtils {
 		})
 		.build();
 
+	/**
+	 * Retries the streaming requests with the backoff of the
+	 * {@link #DEFAULT_RETRY_TEMPLATE}.
+	 */
+	public static final ReactiveRetry DEFAULT_REACTIVE_RETRY = ReactiveRetry.builder()
+		.withMaxAttempts(10)
+		.withBackoff(Duration.ofMillis(2000), 5, Duration.ofMillis(3 * 60000))
+		.build();
+
 	public static final ResponseErrorHandler DEFAULT_RESPONSE_ERROR_HANDLER = new ResponseErrorHandler() {
 
 		@Override
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgingLoadBalancerTests {
+
+	private final AtomicLong now = new AtomicLong();
+
+	private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+	@Test
+	void prefersTheDelegateWithTheLowestLatency() {
+		HedgingLoadBalancer<String> loadBalancer = HedgingLoadBalancer.builder(List.of("slow", "fast"))
+			.withHedging(false)
+			.withNanoClock(this.now::get)
+			.build();
+
+		for (int i = 0; i < 10; i++) {
+			loadBalancer.call(delegate -> {
+				this.now.addAndGet(delegate.equals("slow") ? 1000 : 100);
+				return count(delegate);
+			});
+		}
+
+		assertThat(this.calls.get("slow").get()).isEqualTo(1);
+		assertThat(this.calls.get("fast").get()).isEqualTo(9);
+	}
+
+	@Test
+	void failsOverFailedRequests() {
+		HedgingLoadBalancer<String> loadBalancer = HedgingLoadBalancer.builder(List.of("failing", "healthy"))
+			.withHedging(false)
+			.build();
+
+		String response = loadBalancer.call(delegate -> {
+			count(delegate);
+			if (delegate.equals("failing")) {
+				throw new TransientAiException("Transient Error");
+			}
+			return delegate;
+		});
+
+		assertThat(response).isEqualTo("healthy");
+		assertThat(this.calls.get("failing").get()).isEqualTo(1);
+	}
+
+	@Test
+	void doesNotFailOverNonTransientErrors() {
+		HedgingLoadBalancer<String> loadBalancer = HedgingLoadBalancer.builder(List.of("a", "b"))
+			.withHedging(false)
+			.build();
+
+		assertThatThrownBy(() -> loadBalancer.call(delegate -> {
+			count(delegate);
+			throw new NonTransientAiException("Bad Request");
+		})).isInstanceOf(NonTransientAiException.class);
+
+		assertThat(this.calls).hasSize(1);
+	}
+
+	@Test
+	void hedgesSlowRequestsAndCancelsTheLoser() throws InterruptedException {
+		HedgingLoadBalancer<String> loadBalancer = HedgingLoadBalancer.builder(List.of("slow", "fast"))
+			.withInitialHedgeDelay(Duration.ofMillis(50))
+			.build();
+		CountDownLatch interrupted = new CountDownLatch(1);
+
+		long start = System.nanoTime();
+		String response = loadBalancer.call(delegate -> {
+			if (delegate.equals("slow")) {
+				try {
+					Thread.sleep(10_000);
+				}
+				catch (InterruptedException ex) {
+					interrupted.countDown();
+				}
+			}
+			return delegate;
+		});
+
+		assertThat(response).isEqualTo("fast");
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void cancelledRequestsRaiseTheLatency() {
+		HedgingLoadBalancer<String> loadBalancer = HedgingLoadBalancer.builder(List.of("slow", "fast"))
+			.withInitialHedgeDelay(Duration.ofMillis(50))
+			.build();
+
+		for (int i = 0; i < 5; i++) {
+			String response = loadBalancer
+				.stream(delegate -> Flux.defer(() -> delegate.equals("slow") ? Flux.<String>never() : Flux.just("fast"))
+					.doOnSubscribe(subscription -> count(delegate)))
+				.blockLast(Duration.ofSeconds(5));
+			assertThat(response).isEqualTo("fast");
+		}
+
+		assertThat(this.calls.get("slow").get()).as("not preferred once cancelled").isEqualTo(1);
+		assertThat(this.calls.get("fast").get()).isEqualTo(5);
+	}
+
+	@Test
+	void ejectsFailingDelegates() {
+		HedgingLoadBalancer<String> loadBalancer = HedgingLoadBalancer.builder(List.of("failing", "healthy"))
+			.withHedging(false)
+			.withCircuitBreaker(2, Duration.ofMinutes(1))
+			.withNanoClock(this.now::get)
+			.build();
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(loadBalancer.call(this::failing)).isEqualTo("healthy");
+		}
+		assertThat(this.calls.get("failing").get()).isEqualTo(2);
+
+		this.now.addAndGet(Duration.ofMinutes(1).toNanos());
+		for (int i = 0; i < 10; i++) {
+			assertThat(loadBalancer.call(this::failing)).isEqualTo("healthy");
+		}
+		assertThat(this.calls.get("failing").get()).as("tried again by a single request").isEqualTo(3);
+	}
+
+	@Test
+	void failsOverStreamsFailingBeforeTheirFirstElement() {
+		HedgingLoadBalancer<String> loadBalancer = HedgingLoadBalancer.builder(List.of("failing", "healthy"))
+			.withHedging(false)
+			.build();
+
+		List<String> elements = loadBalancer
+			.stream(delegate -> delegate.equals("failing") ? Flux.<String>error(new TransientAiException("Transient"))
+					: Flux.just("a", "b"))
+			.collectList()
+			.block();
+
+		assertThat(elements).containsExactly("a", "b");
+	}
+
+	@Test
+	void failsWithTheLastFailure() {
+		HedgingLoadBalancer<String> loadBalancer = HedgingLoadBalancer.builder(List.of("a", "b"))
+			.withHedging(false)
+			.build();
+
+		assertThatThrownBy(() -> loadBalancer.call(delegate -> {
+			throw new TransientAiException("Transient Error " + delegate);
+		})).isInstanceOf(TransientAiException.class).hasMessage("Transient Error b");
+	}
+
+	private String failing(String delegate) {
+		count(delegate);
+		if (delegate.equals("failing")) {
+			this.now.addAndGet(10);
+			throw new TransientAiException("Transient Error");
+		}
+		this.now.addAndGet(1000);
+		return delegate;
+	}
+
+	private String count(String delegate) {
+		this.calls.computeIfAbsent(delegate, key -> new AtomicInteger()).incrementAndGet();
+		return delegate;
+	}
+
+}
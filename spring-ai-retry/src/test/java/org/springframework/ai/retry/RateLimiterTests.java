@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.metadata.RateLimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTests {
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void notLimitedUntilConfiguredOrReported() {
+		RateLimiter rateLimiter = RateLimiter.builder().withNanoClock(this.now::get).build();
+
+		for (int i = 0; i < 1000; i++) {
+			assertThat(rateLimiter.reserve(100_000)).isZero();
+		}
+	}
+
+	@Test
+	void reservationsWaitInOrderForTheRefill() {
+		RateLimiter rateLimiter = RateLimiter.builder()
+			.withRequestsPerMinute(2)
+			.withMaxWait(Duration.ofMinutes(5))
+			.withNanoClock(this.now::get)
+			.build();
+
+		assertThat(rateLimiter.reserve(0)).isZero();
+		assertThat(rateLimiter.reserve(0)).isZero();
+		assertThat(rateLimiter.reserve(0)).isEqualTo(Duration.ofSeconds(30));
+		assertThat(rateLimiter.reserve(0)).isEqualTo(Duration.ofSeconds(60));
+
+		this.now.addAndGet(Duration.ofSeconds(60).toNanos());
+		assertThat(rateLimiter.reserve(0)).isEqualTo(Duration.ofSeconds(30));
+	}
+
+	@Test
+	void rejectsRequestsWaitingLongerThanTheMaxWait() {
+		RateLimiter rateLimiter = RateLimiter.builder()
+			.withTokensPerMinute(1000)
+			.withMaxWait(Duration.ofSeconds(30))
+			.withNanoClock(this.now::get)
+			.build();
+
+		assertThat(rateLimiter.reserve(1000)).isZero();
+		assertThatThrownBy(() -> rateLimiter.reserve(600)).isInstanceOf(RateLimitExceededException.class);
+		assertThat(rateLimiter.reserve(400)).as("the rejected request reserved nothing")
+			.isEqualTo(Duration.ofSeconds(24));
+	}
+
+	@Test
+	void rejectedRequestsAreNotRetried() {
+		RateLimiter rateLimiter = RateLimiter.builder()
+			.withRequestsPerMinute(1)
+			.withMaxWait(Duration.ofSeconds(1))
+			.withNanoClock(this.now::get)
+			.build();
+		rateLimiter.acquire(0);
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatThrownBy(() -> RetryUtils.DEFAULT_RETRY_TEMPLATE.execute(context -> {
+			attempts.incrementAndGet();
+			rateLimiter.acquire(0);
+			return null;
+		})).isInstanceOf(RateLimitExceededException.class);
+		assertThat(attempts).hasValue(1);
+		assertThat(ReactiveRetry.DEFAULT_RETRY_ON.test(new RateLimitExceededException("exceeded"))).isFalse();
+	}
+
+	@Test
+	void adaptsToTheReportedRateLimit() {
+		RateLimiter rateLimiter = RateLimiter.builder()
+			.withTokensPerMinute(1_000_000)
+			.withNanoClock(this.now::get)
+			.build();
+
+		rateLimiter.update(new TestRateLimit(null, null, null, 1000L, 0L, Duration.ofSeconds(10)));
+
+		assertThat(rateLimiter.reserve(100)).isEqualTo(Duration.ofSeconds(1));
+		assertThat(rateLimiter.reserve(100)).isEqualTo(Duration.ofSeconds(2));
+	}
+
+	@Test
+	void reportedLimitsAreEnforcedWithoutConfiguration() {
+		RateLimiter rateLimiter = RateLimiter.builder().withNanoClock(this.now::get).build();
+
+		rateLimiter.update(new TestRateLimit(60L, 1L, Duration.ofSeconds(59), null, null, null));
+
+		assertThat(rateLimiter.reserve(10)).isZero();
+		assertThat(rateLimiter.reserve(10)).isEqualTo(Duration.ofSeconds(1));
+	}
+
+	@Test
+	void registrySharesTheRateLimiterOfAQuota() {
+		RateLimiterRegistry registry = new RateLimiterRegistry(() -> RateLimiter.builder().build());
+
+		assertThat(registry.getRateLimiter("openai", "gpt-4o", "key"))
+			.isSameAs(registry.getRateLimiter("openai", "gpt-4o", "key"));
+		assertThat(registry.getRateLimiter("openai", "gpt-4o", "key"))
+			.isNotSameAs(registry.getRateLimiter("openai", "gpt-4o", "other-key"))
+			.isNotSameAs(registry.getRateLimiter("openai", "text-embedding-3-small", "key"));
+	}
+
+	private record TestRateLimit(Long getRequestsLimit, Long getRequestsRemaining, Duration getRequestsReset,
+			Long getTokensLimit, Long getTokensRemaining, Duration getTokensReset) implements RateLimit {
+	}
+
+}
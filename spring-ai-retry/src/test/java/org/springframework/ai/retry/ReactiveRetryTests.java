@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.retry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReactiveRetryTests {
+
+	private final ReactiveRetry retry = ReactiveRetry.builder()
+		.withMaxAttempts(3)
+		.withBackoff(Duration.ofMillis(10), 2, Duration.ofMillis(100))
+		.build();
+
+	@Test
+	void retriesFailedSubscriptions() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		List<String> elements = this.retry.execute(() -> {
+			if (attempts.incrementAndGet() < 3) {
+				return Flux.error(new TransientAiException("Transient Error " + attempts.get()));
+			}
+			return Flux.just("a", "b");
+		}).collectList().block();
+
+		assertThat(elements).containsExactly("a", "b");
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+	@Test
+	void retriesSynchronousFailures() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		List<String> elements = this.retry.<String>execute(() -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new TransientAiException("Transient Error");
+			}
+			return Flux.just("a");
+		}).collectList().block();
+
+		assertThat(elements).containsExactly("a");
+	}
+
+	@Test
+	void stopsAfterMaxAttempts() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		Flux<String> elements = this.retry.execute(() -> {
+			attempts.incrementAndGet();
+			return Flux.error(new TransientAiException("Transient Error"));
+		});
+
+		assertThatThrownBy(elements::blockLast).isInstanceOf(TransientAiException.class);
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+	@Test
+	void doesNotRetryNonTransientErrors() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		Flux<String> elements = this.retry.execute(() -> {
+			attempts.incrementAndGet();
+			return Flux.error(new NonTransientAiException("Non Transient Error"));
+		});
+
+		assertThatThrownBy(elements::blockLast).isInstanceOf(NonTransientAiException.class);
+		assertThat(attempts.get()).isEqualTo(1);
+	}
+
+	@Test
+	void doesNotRetryAfterFirstElement() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		Flux<String> elements = this.retry.execute(() -> {
+			attempts.incrementAndGet();
+			return Flux.concat(Flux.just("a"), Flux.error(new TransientAiException("Transient Error")));
+		});
+
+		assertThatThrownBy(elements::blockLast).isInstanceOf(TransientAiException.class);
+		assertThat(attempts.get()).isEqualTo(1);
+	}
+
+	@Test
+	void backoffIsExponentialAndBounded() {
+		TransientAiException failure = new TransientAiException("Transient Error");
+
+		assertThat(this.retry.delay(failure, 0)).isEqualTo(Duration.ofMillis(10));
+		assertThat(this.retry.delay(failure, 1)).isEqualTo(Duration.ofMillis(20));
+		assertThat(this.retry.delay(failure, 10)).isEqualTo(Duration.ofMillis(100));
+	}
+
+	@Test
+	void retryAfterOverridesBackoff() {
+		WebClientResponseException retryNow = tooManyRequests("0");
+		WebClientResponseException retryLater = tooManyRequests("60");
+
+		assertThat(ReactiveRetry.DEFAULT_RETRY_ON.test(retryNow)).isTrue();
+		assertThat(this.retry.delay(retryNow, 1)).isEqualTo(Duration.ZERO);
+		assertThat(this.retry.delay(retryLater, 0)).as("bounded by the max interval").isEqualTo(Duration.ofMillis(100));
+	}
+
+	private static WebClientResponseException tooManyRequests(String retryAfter) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+		return WebClientResponseException.create(HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests", headers,
+				new byte[0], StandardCharsets.UTF_8);
+	}
+
+}
@@ -19,9 +19,14 @@ import java.util.List;
 
 import org.springframework.ai.anthropic.AnthropicChatModel;
 import org.springframework.ai.anthropic.api.AnthropicApi;
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClientAutoConfiguration;
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClients;
 import org.springframework.ai.autoconfigure.retry.SpringAiRetryAutoConfiguration;
 import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.model.function.FunctionCallExecutor;
 import org.springframework.ai.model.function.FunctionCallbackContext;
+import org.springframework.ai.retry.ReactiveRetry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -46,14 +51,16 @@ import org.springframework.web.client.RestClient;
 @ConditionalOnClass(AnthropicApi.class)
 @ConditionalOnProperty(prefix = AnthropicChatProperties.CONFIG_PREFIX, name = "enabled", havingValue = "true",
 		matchIfMissing = true)
-@ImportAutoConfiguration(classes = { SpringAiRetryAutoConfiguration.class, RestClientAutoConfiguration.class,
-		WebClientAutoConfiguration.class })
+@ImportAutoConfiguration(classes = { SpringAiHttpClientAutoConfiguration.class, SpringAiRetryAutoConfiguration.class,
+		RestClientAutoConfiguration.class, WebClientAutoConfiguration.class })
 public class AnthropicAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
 	public AnthropicApi anthropicApi(AnthropicConnectionProperties connectionProperties,
-			RestClient.Builder restClientBuilder, ResponseErrorHandler responseErrorHandler) {
+			RestClient.Builder restClientBuilder, ResponseErrorHandler responseErrorHandler,
+			ObjectProvider<SpringAiHttpClients> httpClients) {
+		httpClients.ifAvailable(clients -> clients.configure("anthropic", restClientBuilder));
 
 		return new AnthropicApi(connectionProperties.getBaseUrl(), connectionProperties.getApiKey(),
 				connectionProperties.getVersion(), restClientBuilder, responseErrorHandler);
@@ -62,15 +69,19 @@ public class AnthropicAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	public AnthropicChatModel anthropicChatModel(AnthropicApi anthropicApi, AnthropicChatProperties chatProperties,
-			RetryTemplate retryTemplate, FunctionCallbackContext functionCallbackContext,
+			RetryTemplate retryTemplate, ObjectProvider<ReactiveRetry> reactiveRetry,
+			ObjectProvider<FunctionCallExecutor> functionCallExecutor, FunctionCallbackContext functionCallbackContext,
 			List<FunctionCallback> toolFunctionCallbacks) {
 
 		if (!CollectionUtils.isEmpty(toolFunctionCallbacks)) {
 			chatProperties.getOptions().getFunctionCallbacks().addAll(toolFunctionCallbacks);
 		}
 
-		return new AnthropicChatModel(anthropicApi, chatProperties.getOptions(), retryTemplate,
+		var chatModel = new AnthropicChatModel(anthropicApi, chatProperties.getOptions(), retryTemplate,
 				functionCallbackContext);
+		reactiveRetry.ifAvailable(chatModel::setStreamRetry);
+		functionCallExecutor.ifAvailable(chatModel::setFunctionCallExecutor);
+		return chatModel;
 	}
 
 	@Bean
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.autoconfigure.http;
+
+import java.time.Duration;
+
+/**
+ * HTTP transport properties, shared by all the providers, or overriding the shared
+ * properties for a provider. A null property of a provider inherits the shared value.
+ *
+ * @since 1.0.0
+ */
+public class HttpTransportProperties {
+
+	/**
+	 * The HTTP client engine. Detected from the classpath by default: Reactor Netty,
+	 * Apache HttpComponents, or the JDK HttpClient. The JDK HttpClient when virtual
+	 * threads are enabled.
+	 */
+	private Engine engine;
+
+	/**
+	 * Connection timeout.
+	 */
+	private Duration connectTimeout;
+
+	/**
+	 * Read timeout, the maximum duration between the reads of a response. Not limited by
+	 * default.
+	 */
+	private Duration readTimeout;
+
+	/**
+	 * Maximum number of pooled connections. Not supported by the JDK HttpClient.
+	 */
+	private Integer maxConnections;
+
+	/**
+	 * Maximum number of pooled connections per host. Not supported by the JDK HttpClient.
+	 */
+	private Integer maxConnectionsPerRoute;
+
+	/**
+	 * Maximum idle time of a pooled connection before it is closed. Not supported by the
+	 * JDK HttpClient.
+	 */
+	private Duration maxIdleTime;
+
+	/**
+	 * Whether to negotiate HTTP/2. Not supported by Apache HttpComponents.
+	 */
+	private Boolean http2;
+
+	/**
+	 * Whether to request compressed responses. Not supported by the JDK HttpClient.
+	 */
+	private Boolean compression;
+
+	public enum Engine {
+
+		JDK, REACTOR_NETTY, APACHE_HTTP_COMPONENTS
+
+	}
+
+	public Engine getEngine() {
+		return this.engine;
+	}
+
+	public void setEngine(Engine engine) {
+		this.engine = engine;
+	}
+
+	public Duration getConnectTimeout() {
+		return this.connectTimeout;
+	}
+
+	public void setConnectTimeout(Duration connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+
+	public Duration getReadTimeout() {
+		return this.readTimeout;
+	}
+
+	public void setReadTimeout(Duration readTimeout) {
+		this.readTimeout = readTimeout;
+	}
+
+	public Integer getMaxConnections() {
+		return this.maxConnections;
+	}
+
+	public void setMaxConnections(Integer maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	public Integer getMaxConnectionsPerRoute() {
+		return this.maxConnectionsPerRoute;
+	}
+
+	public void setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	public Duration getMaxIdleTime() {
+		return this.maxIdleTime;
+	}
+
+	public void setMaxIdleTime(Duration maxIdleTime) {
+		this.maxIdleTime = maxIdleTime;
+	}
+
+	public Boolean getHttp2() {
+		return this.http2;
+	}
+
+	public void setHttp2(Boolean http2) {
+		this.http2 = http2;
+	}
+
+	public Boolean getCompression() {
+		return this.compression;
+	}
+
+	public void setCompression(Boolean compression) {
+		this.compression = compression;
+	}
+
+}
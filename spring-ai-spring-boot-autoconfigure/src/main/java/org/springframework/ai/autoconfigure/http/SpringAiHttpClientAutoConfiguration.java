@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.autoconfigure.http;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Auto-configuration of the pooled HTTP transport shared by the provider API clients,
+ * enabled with {@code spring.ai.http.enabled}. It replaces the request factory and the
+ * connector of the provider builders, so it is opt-in to keep the ones set by the
+ * application customizers.
+ *
+ * @since 1.0.0
+ */
+@AutoConfiguration
+@EnableConfigurationProperties({ SpringAiHttpClientProperties.class })
+@ConditionalOnProperty(prefix = SpringAiHttpClientProperties.CONFIG_PREFIX, name = "enabled", havingValue = "true")
+public class SpringAiHttpClientAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnThreading(Threading.PLATFORM)
+	public SpringAiHttpClients springAiHttpClients(SpringAiHttpClientProperties properties) {
+		return new SpringAiHttpClients(properties);
+	}
+
+	@Bean(name = "springAiHttpClients")
+	@ConditionalOnMissingBean
+	@ConditionalOnThreading(Threading.VIRTUAL)
+	public SpringAiHttpClients springAiHttpClientsVirtualThreads(SpringAiHttpClientProperties properties) {
+		return new SpringAiHttpClients(properties, new VirtualThreadTaskExecutor("spring-ai-http-"));
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.autoconfigure.http;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * HTTP transport of the provider API clients.
+ *
+ * @since 1.0.0
+ */
+@ConfigurationProperties(SpringAiHttpClientProperties.CONFIG_PREFIX)
+public class SpringAiHttpClientProperties extends HttpTransportProperties {
+
+	public static final String CONFIG_PREFIX = "spring.ai.http";
+
+	/**
+	 * Enable the shared HTTP transport, replacing the request factory and the connector
+	 * of the RestClient and WebClient builders of the provider API clients. Otherwise
+	 * they use the builders as configured by the application.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Enable the connection pool metrics. Only supported by Reactor Netty, with
+	 * Micrometer.
+	 */
+	private boolean metricsEnabled = false;
+
+	/**
+	 * Provider overrides of the HTTP transport properties, by provider name, such as
+	 * openai or anthropic.
+	 */
+	private Map<String, HttpTransportProperties> providers = new HashMap<>();
+
+	public SpringAiHttpClientProperties() {
+		setConnectTimeout(Duration.ofSeconds(10));
+		setMaxConnections(500);
+		setMaxConnectionsPerRoute(500);
+		setMaxIdleTime(Duration.ofSeconds(30));
+		setHttp2(false);
+		setCompression(false);
+	}
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isMetricsEnabled() {
+		return this.metricsEnabled;
+	}
+
+	public void setMetricsEnabled(boolean metricsEnabled) {
+		this.metricsEnabled = metricsEnabled;
+	}
+
+	public Map<String, HttpTransportProperties> getProviders() {
+		return this.providers;
+	}
+
+	public void setProviders(Map<String, HttpTransportProperties> providers) {
+		this.providers = providers;
+	}
+
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.autoconfigure.http;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import org.springframework.ai.autoconfigure.http.HttpTransportProperties.Engine;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.ReactorNettyClientRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Pooled HTTP transport of the provider API clients, configured by the
+ * {@link SpringAiHttpClientProperties}. The providers sharing the same transport
+ * properties share the same connection pool, used by both their {@link RestClient} and
+ * {@link WebClient}.
+ * <p>
+ * With an {@link Executor}, such as a virtual thread executor, the JDK HttpClient is the
+ * default engine and runs its blocking work on the executor.
+ *
+ * @since 1.0.0
+ */
+public class SpringAiHttpClients implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(SpringAiHttpClients.class);
+
+	private static final boolean reactorNettyPresent = ClassUtils.isPresent("reactor.netty.http.client.HttpClient",
+			SpringAiHttpClients.class.getClassLoader());
+
+	private static final boolean httpComponentsPresent = ClassUtils
+		.isPresent("org.apache.hc.client5.http.impl.classic.HttpClients", SpringAiHttpClients.class.getClassLoader());
+
+	private static final boolean micrometerPresent = ClassUtils.isPresent("io.micrometer.core.instrument.Metrics",
+			SpringAiHttpClients.class.getClassLoader());
+
+	private final SpringAiHttpClientProperties properties;
+
+	private final Executor executor;
+
+	private final Map<Transport, Pool> pools = new ConcurrentHashMap<>();
+
+	public SpringAiHttpClients(SpringAiHttpClientProperties properties) {
+		this(properties, null);
+	}
+
+	/**
+	 * @param properties the transport properties.
+	 * @param executor the executor of the JDK HttpClient, can be null.
+	 */
+	public SpringAiHttpClients(SpringAiHttpClientProperties properties, Executor executor) {
+		Assert.notNull(properties, "Properties must not be null");
+		this.properties = properties;
+		this.executor = executor;
+	}
+
+	/**
+	 * Configure the builders of a provider API client with the transport of the provider.
+	 * @param provider the provider name, such as {@code openai}.
+	 * @param restClientBuilder the builder to configure, can be null.
+	 * @param webClientBuilder the builder to configure, can be null.
+	 */
+	public void configure(String provider, RestClient.Builder restClientBuilder, WebClient.Builder webClientBuilder) {
+		Pool pool = getPool(provider);
+		if (restClientBuilder != null) {
+			restClientBuilder.requestFactory(pool.requestFactory());
+		}
+		if (webClientBuilder != null) {
+			webClientBuilder.clientConnector(pool.connector());
+		}
+	}
+
+	public void configure(String provider, RestClient.Builder restClientBuilder) {
+		configure(provider, restClientBuilder, null);
+	}
+
+	private Pool getPool(String provider) {
+		Transport transport = resolve(provider);
+		return this.pools.computeIfAbsent(transport, key -> {
+			String name = this.properties.getProviders().containsKey(provider) ? "spring-ai-" + provider : "spring-ai";
+			logger.debug("Creating the HTTP connection pool {} of {}", name, key);
+			return switch (key.engine()) {
+				case REACTOR_NETTY ->
+					new ReactorNettyPool(name, key, this.properties.isMetricsEnabled() && micrometerPresent);
+				case APACHE_HTTP_COMPONENTS -> new HttpComponentsPool(key, this.executor);
+				case JDK -> new JdkPool(key, this.executor);
+			};
+		});
+	}
+
+	/**
+	 * @param provider the provider name.
+	 * @return the shared transport properties, overridden by the provider properties.
+	 */
+	Transport resolve(String provider) {
+		HttpTransportProperties shared = this.properties;
+		HttpTransportProperties overrides = this.properties.getProviders().get(provider);
+		if (overrides == null) {
+			overrides = new HttpTransportProperties();
+		}
+		Engine engine = valueOf(overrides.getEngine(), shared.getEngine());
+		return new Transport((engine != null) ? engine : detectEngine(),
+				valueOf(overrides.getConnectTimeout(), shared.getConnectTimeout()),
+				valueOf(overrides.getReadTimeout(), shared.getReadTimeout()),
+				valueOf(overrides.getMaxConnections(), shared.getMaxConnections()),
+				valueOf(overrides.getMaxConnectionsPerRoute(), shared.getMaxConnectionsPerRoute()),
+				valueOf(overrides.getMaxIdleTime(), shared.getMaxIdleTime()),
+				Boolean.TRUE.equals(valueOf(overrides.getHttp2(), shared.getHttp2())),
+				Boolean.TRUE.equals(valueOf(overrides.getCompression(), shared.getCompression())));
+	}
+
+	private static <T> T valueOf(T override, T shared) {
+		return (override != null) ? override : shared;
+	}
+
+	private Engine detectEngine() {
+		if (this.executor != null) {
+			return Engine.JDK;
+		}
+		if (reactorNettyPresent) {
+			return Engine.REACTOR_NETTY;
+		}
+		return httpComponentsPresent ? Engine.APACHE_HTTP_COMPONENTS : Engine.JDK;
+	}
+
+	@Override
+	public void destroy() {
+		this.pools.values().forEach(Pool::dispose);
+		this.pools.clear();
+	}
+
+	/**
+	 * Resolved transport properties, the key of a connection pool.
+	 */
+	record Transport(Engine engine, Duration connectTimeout, Duration readTimeout, Integer maxConnections,
+			Integer maxConnectionsPerRoute, Duration maxIdleTime, boolean http2, boolean compression) {
+	}
+
+	private interface Pool {
+
+		ClientHttpRequestFactory requestFactory();
+
+		ClientHttpConnector connector();
+
+		void dispose();
+
+	}
+
+	/**
+	 * The JDK HttpClient pools its connections internally, configured by the
+	 * {@code jdk.httpclient.*} system properties.
+	 */
+	private static class JdkPool implements Pool {
+
+		private final java.net.http.HttpClient httpClient;
+
+		private final Transport transport;
+
+		JdkPool(Transport transport, Executor executor) {
+			java.net.http.HttpClient.Builder builder = java.net.http.HttpClient.newBuilder()
+				.version(transport.http2() ? java.net.http.HttpClient.Version.HTTP_2
+						: java.net.http.HttpClient.Version.HTTP_1_1);
+			if (transport.connectTimeout() != null) {
+				builder.connectTimeout(transport.connectTimeout());
+			}
+			if (executor != null) {
+				builder.executor(executor);
+			}
+			this.httpClient = builder.build();
+			this.transport = transport;
+		}
+
+		@Override
+		public ClientHttpRequestFactory requestFactory() {
+			JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(this.httpClient);
+			if (this.transport.readTimeout() != null) {
+				requestFactory.setReadTimeout(this.transport.readTimeout());
+			}
+			return requestFactory;
+		}
+
+		@Override
+		public ClientHttpConnector connector() {
+			return new JdkClientHttpConnector(this.httpClient);
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+	}
+
+	/**
+	 * Reactor Netty pools the connections per host, so only the max connections per route
+	 * apply.
+	 */
+	private static class ReactorNettyPool implements Pool {
+
+		private final ConnectionProvider connectionProvider;
+
+		private final HttpClient httpClient;
+
+		private final Transport transport;
+
+		ReactorNettyPool(String name, Transport transport, boolean metricsEnabled) {
+			ConnectionProvider.Builder connectionProvider = ConnectionProvider.builder(name)
+				.maxConnections(transport.maxConnectionsPerRoute())
+				.metrics(metricsEnabled);
+			if (transport.maxIdleTime() != null) {
+				connectionProvider.maxIdleTime(transport.maxIdleTime());
+			}
+			this.connectionProvider = connectionProvider.build();
+
+			HttpClient httpClient = HttpClient.create(this.connectionProvider)
+				.compress(transport.compression())
+				.protocol(transport.http2() ? new HttpProtocol[] { HttpProtocol.H2, HttpProtocol.HTTP11 }
+						: new HttpProtocol[] { HttpProtocol.HTTP11 });
+			if (transport.connectTimeout() != null) {
+				httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+						(int) transport.connectTimeout().toMillis());
+			}
+			if (transport.readTimeout() != null) {
+				httpClient = httpClient.responseTimeout(transport.readTimeout());
+			}
+			this.httpClient = httpClient;
+			this.transport = transport;
+		}
+
+		@Override
+		public ClientHttpRequestFactory requestFactory() {
+			ReactorNettyClientRequestFactory requestFactory = new ReactorNettyClientRequestFactory(this.httpClient);
+			if (this.transport.readTimeout() != null) {
+				requestFactory.setReadTimeout(this.transport.readTimeout());
+			}
+			return requestFactory;
+		}
+
+		@Override
+		public ClientHttpConnector connector() {
+			return new ReactorClientHttpConnector(this.httpClient);
+		}
+
+		@Override
+		public void dispose() {
+			this.connectionProvider.dispose();
+		}
+
+	}
+
+	/**
+	 * The classic Apache HttpClient only serves the {@link RestClient}s; the
+	 * {@link WebClient}s use the JDK HttpClient.
+	 */
+	private static class HttpComponentsPool implements Pool {
+
+		private final CloseableHttpClient httpClient;
+
+		private final JdkPool jdkPool;
+
+		HttpComponentsPool(Transport transport, Executor executor) {
+			ConnectionConfig.Builder connectionConfig = ConnectionConfig.custom();
+			if (transport.connectTimeout() != null) {
+				connectionConfig.setConnectTimeout(Timeout.of(transport.connectTimeout()));
+			}
+			if (transport.readTimeout() != null) {
+				connectionConfig.setSocketTimeout(Timeout.of(transport.readTimeout()));
+			}
+			HttpClientBuilder httpClient = HttpClients.custom()
+				.setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+					.setMaxConnTotal(transport.maxConnections())
+					.setMaxConnPerRoute(transport.maxConnectionsPerRoute())
+					.setDefaultConnectionConfig(connectionConfig.build())
+					.build())
+				.evictExpiredConnections();
+			if (transport.maxIdleTime() != null) {
+				httpClient
+					.evictIdleConnections(TimeValue.of(transport.maxIdleTime().toMillis(), TimeUnit.MILLISECONDS));
+			}
+			if (!transport.compression()) {
+				httpClient.disableContentCompression();
+			}
+			this.httpClient = httpClient.build();
+			this.jdkPool = new JdkPool(transport, executor);
+		}
+
+		@Override
+		public ClientHttpRequestFactory requestFactory() {
+			return new HttpComponentsClientHttpRequestFactory(this.httpClient);
+		}
+
+		@Override
+		public ClientHttpConnector connector() {
+			return this.jdkPool.connector();
+		}
+
+		@Override
+		public void dispose() {
+			try {
+				this.httpClient.close();
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to close the HTTP client", ex);
+			}
+		}
+
+	}
+
+}
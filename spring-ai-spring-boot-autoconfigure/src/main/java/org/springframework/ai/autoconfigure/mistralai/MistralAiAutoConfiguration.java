@@ -17,12 +17,17 @@ package org.springframework.ai.autoconfigure.mistralai;
 
 import java.util.List;
 
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClientAutoConfiguration;
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClients;
 import org.springframework.ai.autoconfigure.retry.SpringAiRetryAutoConfiguration;
 import org.springframework.ai.mistralai.MistralAiChatModel;
 import org.springframework.ai.mistralai.MistralAiEmbeddingModel;
 import org.springframework.ai.mistralai.api.MistralAiApi;
 import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.model.function.FunctionCallExecutor;
 import org.springframework.ai.model.function.FunctionCallbackContext;
+import org.springframework.ai.retry.ReactiveRetry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -49,8 +54,8 @@ import org.springframework.web.client.RestClient;
 @EnableConfigurationProperties({ MistralAiEmbeddingProperties.class, MistralAiCommonProperties.class,
 		MistralAiChatProperties.class })
 @ConditionalOnClass(MistralAiApi.class)
-@ImportAutoConfiguration(classes = { SpringAiRetryAutoConfiguration.class, RestClientAutoConfiguration.class,
-		WebClientAutoConfiguration.class })
+@ImportAutoConfiguration(classes = { SpringAiHttpClientAutoConfiguration.class, SpringAiRetryAutoConfiguration.class,
+		RestClientAutoConfiguration.class, WebClientAutoConfiguration.class })
 public class MistralAiAutoConfiguration {
 
 	@Bean
@@ -59,7 +64,9 @@ public class MistralAiAutoConfiguration {
 			matchIfMissing = true)
 	public MistralAiEmbeddingModel mistralAiEmbeddingModel(MistralAiCommonProperties commonProperties,
 			MistralAiEmbeddingProperties embeddingProperties, RestClient.Builder restClientBuilder,
-			RetryTemplate retryTemplate, ResponseErrorHandler responseErrorHandler) {
+			RetryTemplate retryTemplate, ResponseErrorHandler responseErrorHandler,
+			ObjectProvider<SpringAiHttpClients> httpClients) {
+		httpClients.ifAvailable(clients -> clients.configure("mistralai", restClientBuilder));
 
 		var mistralAiApi = mistralAiApi(embeddingProperties.getApiKey(), commonProperties.getApiKey(),
 				embeddingProperties.getBaseUrl(), commonProperties.getBaseUrl(), restClientBuilder,
@@ -76,7 +83,10 @@ public class MistralAiAutoConfiguration {
 	public MistralAiChatModel mistralAiChatModel(MistralAiCommonProperties commonProperties,
 			MistralAiChatProperties chatProperties, RestClient.Builder restClientBuilder,
 			List<FunctionCallback> toolFunctionCallbacks, FunctionCallbackContext functionCallbackContext,
-			RetryTemplate retryTemplate, ResponseErrorHandler responseErrorHandler) {
+			RetryTemplate retryTemplate, ObjectProvider<ReactiveRetry> reactiveRetry,
+			ObjectProvider<FunctionCallExecutor> functionCallExecutor, ResponseErrorHandler responseErrorHandler,
+			ObjectProvider<SpringAiHttpClients> httpClients) {
+		httpClients.ifAvailable(clients -> clients.configure("mistralai", restClientBuilder));
 
 		var mistralAiApi = mistralAiApi(chatProperties.getApiKey(), commonProperties.getApiKey(),
 				chatProperties.getBaseUrl(), commonProperties.getBaseUrl(), restClientBuilder, responseErrorHandler);
@@ -85,8 +95,11 @@ public class MistralAiAutoConfiguration {
 			chatProperties.getOptions().getFunctionCallbacks().addAll(toolFunctionCallbacks);
 		}
 
-		return new MistralAiChatModel(mistralAiApi, chatProperties.getOptions(), functionCallbackContext,
+		var chatModel = new MistralAiChatModel(mistralAiApi, chatProperties.getOptions(), functionCallbackContext,
 				retryTemplate);
+		reactiveRetry.ifAvailable(chatModel::setStreamRetry);
+		functionCallExecutor.ifAvailable(chatModel::setFunctionCallExecutor);
+		return chatModel;
 	}
 
 	private MistralAiApi mistralAiApi(String apiKey, String commonApiKey, String baseUrl, String commonBaseUrl,
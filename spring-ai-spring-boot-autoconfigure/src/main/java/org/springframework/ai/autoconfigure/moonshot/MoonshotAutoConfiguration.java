@@ -15,9 +15,12 @@
  */
 package org.springframework.ai.autoconfigure.moonshot;
 
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClients;
 import org.springframework.ai.autoconfigure.retry.SpringAiRetryAutoConfiguration;
 import org.springframework.ai.moonshot.MoonshotChatModel;
 import org.springframework.ai.moonshot.api.MoonshotApi;
+import org.springframework.ai.retry.ReactiveRetry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -45,12 +48,16 @@ public class MoonshotAutoConfiguration {
 			matchIfMissing = true)
 	public MoonshotChatModel moonshotChatModel(MoonshotCommonProperties commonProperties,
 			MoonshotChatProperties chatProperties, RestClient.Builder restClientBuilder, RetryTemplate retryTemplate,
-			ResponseErrorHandler responseErrorHandler) {
+			ObjectProvider<ReactiveRetry> reactiveRetry, ResponseErrorHandler responseErrorHandler,
+			ObjectProvider<SpringAiHttpClients> httpClients) {
+		httpClients.ifAvailable(clients -> clients.configure("moonshot", restClientBuilder));
 
 		var moonshotApi = moonshotApi(chatProperties.getApiKey(), commonProperties.getApiKey(),
 				chatProperties.getBaseUrl(), commonProperties.getBaseUrl(), restClientBuilder, responseErrorHandler);
 
-		return new MoonshotChatModel(moonshotApi, chatProperties.getOptions(), retryTemplate);
+		var chatModel = new MoonshotChatModel(moonshotApi, chatProperties.getOptions(), retryTemplate);
+		reactiveRetry.ifAvailable(chatModel::setStreamRetry);
+		return chatModel;
 	}
 
 	private MoonshotApi moonshotApi(String apiKey, String commonApiKey, String baseUrl, String commonBaseUrl,
@@ -17,8 +17,11 @@ package org.springframework.ai.autoconfigure.openai;
 
 import java.util.List;
 
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClientAutoConfiguration;
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClients;
 import org.springframework.ai.autoconfigure.retry.SpringAiRetryAutoConfiguration;
 import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.model.function.FunctionCallExecutor;
 import org.springframework.ai.model.function.FunctionCallbackContext;
 import org.springframework.ai.openai.OpenAiAudioSpeechModel;
 import org.springframework.ai.openai.OpenAiAudioTranscriptionModel;
@@ -28,6 +31,9 @@ import org.springframework.ai.openai.OpenAiImageModel;
 import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.ai.openai.api.OpenAiAudioApi;
 import org.springframework.ai.openai.api.OpenAiImageApi;
+import org.springframework.ai.retry.RateLimiterRegistry;
+import org.springframework.ai.retry.ReactiveRetry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -56,10 +62,15 @@ import org.springframework.web.reactive.function.client.WebClient;
 @EnableConfigurationProperties({ OpenAiConnectionProperties.class, OpenAiChatProperties.class,
 		OpenAiEmbeddingProperties.class, OpenAiImageProperties.class, OpenAiAudioTranscriptionProperties.class,
 		OpenAiAudioSpeechProperties.class })
-@ImportAutoConfiguration(classes = { SpringAiRetryAutoConfiguration.class, RestClientAutoConfiguration.class,
-		WebClientAutoConfiguration.class })
+@ImportAutoConfiguration(classes = { SpringAiHttpClientAutoConfiguration.class, SpringAiRetryAutoConfiguration.class,
+		RestClientAutoConfiguration.class, WebClientAutoConfiguration.class })
 public class OpenAiAutoConfiguration {
 
+	/**
+	 * The provider of the rate limiters, shared by the chat and the embedding models.
+	 */
+	private static final String PROVIDER = "openai";
+
 	@Bean
 	@ConditionalOnMissingBean
 	@ConditionalOnProperty(prefix = OpenAiChatProperties.CONFIG_PREFIX, name = "enabled", havingValue = "true",
@@ -68,7 +79,10 @@ public class OpenAiAutoConfiguration {
 			OpenAiChatProperties chatProperties, RestClient.Builder restClientBuilder,
 			WebClient.Builder webClientBuilder, List<FunctionCallback> toolFunctionCallbacks,
 			FunctionCallbackContext functionCallbackContext, RetryTemplate retryTemplate,
-			ResponseErrorHandler responseErrorHandler) {
+			ObjectProvider<ReactiveRetry> reactiveRetry, ObjectProvider<FunctionCallExecutor> functionCallExecutor,
+			ObjectProvider<RateLimiterRegistry> rateLimiterRegistry, ResponseErrorHandler responseErrorHandler,
+			ObjectProvider<SpringAiHttpClients> httpClients) {
+		httpClients.ifAvailable(clients -> clients.configure(PROVIDER, restClientBuilder, webClientBuilder));
 
 		var openAiApi = openAiApi(chatProperties.getBaseUrl(), commonProperties.getBaseUrl(),
 				chatProperties.getApiKey(), commonProperties.getApiKey(), restClientBuilder, webClientBuilder,
@@ -78,7 +92,14 @@ public class OpenAiAutoConfiguration {
 			chatProperties.getOptions().getFunctionCallbacks().addAll(toolFunctionCallbacks);
 		}
 
-		return new OpenAiChatModel(openAiApi, chatProperties.getOptions(), functionCallbackContext, retryTemplate);
+		var chatModel = new OpenAiChatModel(openAiApi, chatProperties.getOptions(), functionCallbackContext,
+				retryTemplate);
+		reactiveRetry.ifAvailable(chatModel::setStreamRetry);
+		functionCallExecutor.ifAvailable(chatModel::setFunctionCallExecutor);
+		String apiKey = resolveApiKey(chatProperties.getApiKey(), commonProperties.getApiKey());
+		rateLimiterRegistry.ifAvailable(
+				registry -> chatModel.setRateLimiters(model -> registry.getRateLimiter(PROVIDER, model, apiKey)));
+		return chatModel;
 	}
 
 	@Bean
@@ -88,14 +109,20 @@ public class OpenAiAutoConfiguration {
 	public OpenAiEmbeddingModel openAiEmbeddingModel(OpenAiConnectionProperties commonProperties,
 			OpenAiEmbeddingProperties embeddingProperties, RestClient.Builder restClientBuilder,
 			WebClient.Builder webClientBuilder, RetryTemplate retryTemplate,
-			ResponseErrorHandler responseErrorHandler) {
+			ObjectProvider<RateLimiterRegistry> rateLimiterRegistry, ResponseErrorHandler responseErrorHandler,
+			ObjectProvider<SpringAiHttpClients> httpClients) {
+		httpClients.ifAvailable(clients -> clients.configure(PROVIDER, restClientBuilder, webClientBuilder));
 
 		var openAiApi = openAiApi(embeddingProperties.getBaseUrl(), commonProperties.getBaseUrl(),
 				embeddingProperties.getApiKey(), commonProperties.getApiKey(), restClientBuilder, webClientBuilder,
 				responseErrorHandler, "embedding");
 
-		return new OpenAiEmbeddingModel(openAiApi, embeddingProperties.getMetadataMode(),
+		var embeddingModel = new OpenAiEmbeddingModel(openAiApi, embeddingProperties.getMetadataMode(),
 				embeddingProperties.getOptions(), retryTemplate);
+		String apiKey = resolveApiKey(embeddingProperties.getApiKey(), commonProperties.getApiKey());
+		rateLimiterRegistry.ifAvailable(
+				registry -> embeddingModel.setRateLimiters(model -> registry.getRateLimiter(PROVIDER, model, apiKey)));
+		return embeddingModel;
 	}
 
 	private OpenAiApi openAiApi(String baseUrl, String commonBaseUrl, String apiKey, String commonApiKey,
@@ -107,7 +134,7 @@ public class OpenAiAutoConfiguration {
 				"OpenAI base URL must be set.  Use the connection property: spring.ai.openai.base-url or spring.ai.openai."
 						+ modelType + ".base-url property.");
 
-		String resolvedApiKey = StringUtils.hasText(apiKey) ? apiKey : commonApiKey;
+		String resolvedApiKey = resolveApiKey(apiKey, commonApiKey);
 		Assert.hasText(resolvedApiKey,
 				"OpenAI API key must be set. Use the connection property: spring.ai.openai.api-key or spring.ai.openai."
 						+ modelType + ".api-key property.");
@@ -116,13 +143,18 @@ public class OpenAiAutoConfiguration {
 				responseErrorHandler);
 	}
 
+	private static String resolveApiKey(String apiKey, String commonApiKey) {
+		return StringUtils.hasText(apiKey) ? apiKey : commonApiKey;
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	@ConditionalOnProperty(prefix = OpenAiImageProperties.CONFIG_PREFIX, name = "enabled", havingValue = "true",
 			matchIfMissing = true)
 	public OpenAiImageModel openAiImageModel(OpenAiConnectionProperties commonProperties,
 			OpenAiImageProperties imageProperties, RestClient.Builder restClientBuilder, RetryTemplate retryTemplate,
-			ResponseErrorHandler responseErrorHandler) {
+			ResponseErrorHandler responseErrorHandler, ObjectProvider<SpringAiHttpClients> httpClients) {
+		httpClients.ifAvailable(clients -> clients.configure(PROVIDER, restClientBuilder));
 
 		String apiKey = StringUtils.hasText(imageProperties.getApiKey()) ? imageProperties.getApiKey()
 				: commonProperties.getApiKey();
@@ -147,7 +179,8 @@ public class OpenAiAutoConfiguration {
 	public OpenAiAudioTranscriptionModel openAiAudioTranscriptionModel(OpenAiConnectionProperties commonProperties,
 			OpenAiAudioTranscriptionProperties transcriptionProperties, RetryTemplate retryTemplate,
 			RestClient.Builder restClientBuilder, WebClient.Builder webClientBuilder,
-			ResponseErrorHandler responseErrorHandler) {
+			ResponseErrorHandler responseErrorHandler, ObjectProvider<SpringAiHttpClients> httpClients) {
+		httpClients.ifAvailable(clients -> clients.configure(PROVIDER, restClientBuilder, webClientBuilder));
 
 		String apiKey = StringUtils.hasText(transcriptionProperties.getApiKey()) ? transcriptionProperties.getApiKey()
 				: commonProperties.getApiKey();
@@ -175,7 +208,9 @@ public class OpenAiAutoConfiguration {
 			matchIfMissing = true)
 	public OpenAiAudioSpeechModel openAiAudioSpeechClient(OpenAiConnectionProperties commonProperties,
 			OpenAiAudioSpeechProperties speechProperties, RestClient.Builder restClientBuilder,
-			WebClient.Builder webClientBuilder, ResponseErrorHandler responseErrorHandler) {
+			WebClient.Builder webClientBuilder, ResponseErrorHandler responseErrorHandler,
+			ObjectProvider<SpringAiHttpClients> httpClients) {
+		httpClients.ifAvailable(clients -> clients.configure(PROVIDER, restClientBuilder, webClientBuilder));
 
 		String apiKey = StringUtils.hasText(speechProperties.getApiKey()) ? speechProperties.getApiKey()
 				: commonProperties.getApiKey();
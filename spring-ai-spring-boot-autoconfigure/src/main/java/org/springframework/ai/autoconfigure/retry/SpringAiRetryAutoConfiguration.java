@@ -22,12 +22,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.RateLimiter;
+import org.springframework.ai.retry.RateLimiterRegistry;
+import org.springframework.ai.retry.ReactiveRetry;
 import org.springframework.ai.retry.TransientAiException;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.retry.RetryCallback;
@@ -37,6 +42,8 @@ import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 /**
  * @author Christian Tzolov
@@ -83,27 +90,66 @@ public class SpringAiRetryAutoConfiguration {
 					String error = StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
 					String message = String.format("%s - %s", response.getStatusCode().value(), error);
 
-					// Explicitly configured transient codes
-					if (properties.getOnHttpCodes().contains(response.getStatusCode().value())) {
+					if (isTransient(response.getStatusCode(), properties)) {
 						throw new TransientAiException(message);
 					}
-
-					// onClientErrors - If true, do not throw a NonTransientAiException,
-					// and do not attempt retry for 4xx client error codes, false by
-					// default.
-					if (!properties.isOnClientErrors() && response.getStatusCode().is4xxClientError()) {
-						throw new NonTransientAiException(message);
-					}
-
-					// Explicitly configured non-transient codes
-					if (!CollectionUtils.isEmpty(properties.getExcludeOnHttpCodes())
-							&& properties.getExcludeOnHttpCodes().contains(response.getStatusCode().value())) {
-						throw new NonTransientAiException(message);
-					}
-					throw new TransientAiException(message);
+					throw new NonTransientAiException(message);
 				}
 			}
 		};
 	}
 
+	/**
+	 * Retries the streaming requests failing before their first response, with the same
+	 * backoff and the same transient HTTP status codes as the {@link RetryTemplate}.
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public ReactiveRetry reactiveRetry(SpringAiRetryProperties properties) {
+		return ReactiveRetry.builder()
+			.withMaxAttempts(properties.getMaxAttempts())
+			.withBackoff(properties.getBackoff().getInitialInterval(), properties.getBackoff().getMultiplier(),
+					properties.getBackoff().getMaxInterval())
+			.withRetryOn(ex -> ex instanceof TransientAiException || ex instanceof WebClientRequestException
+					|| (ex instanceof WebClientResponseException responseException
+							&& isTransient(responseException.getStatusCode(), properties)))
+			.build();
+	}
+
+	/**
+	 * Rate limiters shared by the models of a provider, model and API key, seeded with
+	 * the configured limits.
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = SpringAiRetryProperties.CONFIG_PREFIX + ".rate-limit", name = "enabled",
+			havingValue = "true")
+	public RateLimiterRegistry rateLimiterRegistry(SpringAiRetryProperties properties) {
+		SpringAiRetryProperties.RateLimit rateLimit = properties.getRateLimit();
+		return new RateLimiterRegistry(() -> RateLimiter.builder()
+			.withRequestsPerMinute(rateLimit.getRequestsPerMinute())
+			.withTokensPerMinute(rateLimit.getTokensPerMinute())
+			.withMaxWait(rateLimit.getMaxWait())
+			.build());
+	}
+
+	private static boolean isTransient(HttpStatusCode statusCode, SpringAiRetryProperties properties) {
+
+		// Explicitly configured transient codes
+		if (properties.getOnHttpCodes().contains(statusCode.value())) {
+			return true;
+		}
+
+		// onClientErrors - If true, do not throw a NonTransientAiException,
+		// and do not attempt retry for 4xx client error codes, false by
+		// default.
+		if (!properties.isOnClientErrors() && statusCode.is4xxClientError()) {
+			return false;
+		}
+
+		// Explicitly configured non-transient codes
+		return CollectionUtils.isEmpty(properties.getExcludeOnHttpCodes())
+				|| !properties.getExcludeOnHttpCodes().contains(statusCode.value());
+	}
+
 }
@@ -59,6 +59,12 @@ public class SpringAiRetryProperties {
 	 */
 	private List<Integer> onHttpCodes = new ArrayList<>();
 
+	/**
+	 * Client-side rate limit properties.
+	 */
+	@NestedConfigurationProperty
+	private RateLimit rateLimit = new RateLimit();
+
 	/**
 	 * Exponential Backoff properties.
 	 */
@@ -105,6 +111,68 @@ public class SpringAiRetryProperties {
 
 	}
 
+	/**
+	 * Client-side rate limit properties. The limits are adapted to the rate limit headers
+	 * reported by the providers.
+	 */
+	public static class RateLimit {
+
+		/**
+		 * Enable the client-side rate limiting of the requests.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Initial limit of requests per minute, until reported by the provider. 0 for not
+		 * limited.
+		 */
+		private long requestsPerMinute = 0;
+
+		/**
+		 * Initial limit of tokens per minute, until reported by the provider. 0 for not
+		 * limited.
+		 */
+		private long tokensPerMinute = 0;
+
+		/**
+		 * Maximum wait of a request for the rate limit before it is rejected.
+		 */
+		private Duration maxWait = Duration.ofMinutes(1);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public long getRequestsPerMinute() {
+			return this.requestsPerMinute;
+		}
+
+		public void setRequestsPerMinute(long requestsPerMinute) {
+			this.requestsPerMinute = requestsPerMinute;
+		}
+
+		public long getTokensPerMinute() {
+			return this.tokensPerMinute;
+		}
+
+		public void setTokensPerMinute(long tokensPerMinute) {
+			this.tokensPerMinute = tokensPerMinute;
+		}
+
+		public Duration getMaxWait() {
+			return this.maxWait;
+		}
+
+		public void setMaxWait(Duration maxWait) {
+			this.maxWait = maxWait;
+		}
+
+	}
+
 	public int getMaxAttempts() {
 		return this.maxAttempts;
 	}
@@ -117,6 +185,10 @@ public class SpringAiRetryProperties {
 		return this.backoff;
 	}
 
+	public RateLimit getRateLimit() {
+		return this.rateLimit;
+	}
+
 	public List<Integer> getExcludeOnHttpCodes() {
 		return this.excludeOnHttpCodes;
 	}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.autoconfigure.thread;
+
+import org.springframework.ai.model.function.FunctionCallExecutor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Auto-configuration running the blocking work of the models on virtual threads, when
+ * enabled with {@code spring.threads.virtual.enabled}. The shared HTTP transport, when
+ * enabled, also runs on virtual threads, as configured by the
+ * {@link org.springframework.ai.autoconfigure.http.SpringAiHttpClientAutoConfiguration}.
+ *
+ * @since 1.0.0
+ */
+@AutoConfiguration
+@ConditionalOnClass(FunctionCallExecutor.class)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class SpringAiVirtualThreadsAutoConfiguration {
+
+	/**
+	 * The concurrent or timed function calls of the chat models, and those of a stream,
+	 * run on virtual threads. The rounds of a stream wait for them on the bounded
+	 * elastic scheduler.
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public FunctionCallExecutor functionCallExecutor() {
+		return FunctionCallExecutor.builder()
+			.withExecutor(new VirtualThreadTaskExecutor("spring-ai-function-"))
+			.build();
+	}
+
+}
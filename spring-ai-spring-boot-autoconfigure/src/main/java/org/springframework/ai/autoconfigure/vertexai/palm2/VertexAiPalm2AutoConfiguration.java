@@ -15,10 +15,13 @@
  */
 package org.springframework.ai.autoconfigure.vertexai.palm2;
 
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClientAutoConfiguration;
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClients;
 import org.springframework.ai.autoconfigure.retry.SpringAiRetryAutoConfiguration;
 import org.springframework.ai.vertexai.palm2.VertexAiPaLm2ChatModel;
 import org.springframework.ai.vertexai.palm2.VertexAiPaLm2EmbeddingModel;
 import org.springframework.ai.vertexai.palm2.api.VertexAiPaLm2Api;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -34,15 +37,16 @@ import org.springframework.web.client.RestClient;
 @ConditionalOnClass(VertexAiPaLm2Api.class)
 @EnableConfigurationProperties({ VertexAiPalm2ConnectionProperties.class, VertexAiPlam2ChatProperties.class,
 		VertexAiPalm2EmbeddingProperties.class })
-@ImportAutoConfiguration(classes = { SpringAiRetryAutoConfiguration.class, RestClientAutoConfiguration.class,
-		WebClientAutoConfiguration.class })
+@ImportAutoConfiguration(classes = { SpringAiHttpClientAutoConfiguration.class, SpringAiRetryAutoConfiguration.class,
+		RestClientAutoConfiguration.class, WebClientAutoConfiguration.class })
 public class VertexAiPalm2AutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
 	public VertexAiPaLm2Api vertexAiApi(VertexAiPalm2ConnectionProperties connectionProperties,
 			VertexAiPalm2EmbeddingProperties embeddingAiProperties, VertexAiPlam2ChatProperties chatProperties,
-			RestClient.Builder restClientBuilder) {
+			RestClient.Builder restClientBuilder, ObjectProvider<SpringAiHttpClients> httpClients) {
+		httpClients.ifAvailable(clients -> clients.configure("vertexai", restClientBuilder));
 
 		return new VertexAiPaLm2Api(connectionProperties.getBaseUrl(), connectionProperties.getApiKey(),
 				chatProperties.getModel(), embeddingAiProperties.getModel(), restClientBuilder);
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.autoconfigure.http;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.autoconfigure.http.HttpTransportProperties.Engine;
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClients.Transport;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ReactorNettyClientRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpringAiHttpClientAutoConfigurationIT {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(SpringAiHttpClientAutoConfiguration.class))
+		.withPropertyValues("spring.ai.http.enabled=true");
+
+	@Test
+	void providersInheritTheSharedTransport() {
+		this.contextRunner
+			.withPropertyValues("spring.ai.http.read-timeout=2m", "spring.ai.http.providers.ollama.read-timeout=10m",
+					"spring.ai.http.providers.ollama.max-connections-per-route=4")
+			.run((context) -> {
+				SpringAiHttpClients httpClients = context.getBean(SpringAiHttpClients.class);
+
+				Transport openai = httpClients.resolve("openai");
+				assertThat(openai.engine()).isEqualTo(Engine.REACTOR_NETTY);
+				assertThat(openai.connectTimeout()).isEqualTo(Duration.ofSeconds(10));
+				assertThat(openai.readTimeout()).isEqualTo(Duration.ofMinutes(2));
+				assertThat(openai.maxConnectionsPerRoute()).isEqualTo(500);
+				assertThat(httpClients.resolve("anthropic")).isEqualTo(openai);
+
+				Transport ollama = httpClients.resolve("ollama");
+				assertThat(ollama.readTimeout()).isEqualTo(Duration.ofMinutes(10));
+				assertThat(ollama.maxConnectionsPerRoute()).isEqualTo(4);
+				assertThat(ollama.connectTimeout()).isEqualTo(Duration.ofSeconds(10));
+			});
+	}
+
+	@Test
+	void restClientUsesTheEngineOfTheProvider() {
+		this.contextRunner.withPropertyValues("spring.ai.http.providers.ollama.engine=apache-http-components")
+			.run((context) -> {
+				SpringAiHttpClients httpClients = context.getBean(SpringAiHttpClients.class);
+
+				RestClient.Builder openai = RestClient.builder();
+				httpClients.configure("openai", openai);
+				assertThat(ReflectionTestUtils.getField(openai, "requestFactory"))
+					.isInstanceOf(ReactorNettyClientRequestFactory.class);
+
+				RestClient.Builder ollama = RestClient.builder();
+				httpClients.configure("ollama", ollama);
+				assertThat(ReflectionTestUtils.getField(ollama, "requestFactory"))
+					.isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+			});
+	}
+
+	@Test
+	void sharedTransportIsOptIn() {
+		new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(SpringAiHttpClientAutoConfiguration.class))
+			.run((context) -> assertThat(context).doesNotHaveBean(SpringAiHttpClients.class));
+		this.contextRunner.withPropertyValues("spring.ai.http.enabled=false")
+			.run((context) -> assertThat(context).doesNotHaveBean(SpringAiHttpClients.class));
+	}
+
+}
@@ -17,6 +17,8 @@ package org.springframework.ai.autoconfigure.retry;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.ai.retry.RateLimiterRegistry;
+import org.springframework.ai.retry.ReactiveRetry;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.web.client.RestClientAutoConfiguration;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
@@ -38,7 +40,17 @@ public class SpringAiRetryAutoConfigurationIT {
 		this.contextRunner.run((context) -> {
 			assertThat(context).hasSingleBean(RetryTemplate.class);
 			assertThat(context).hasSingleBean(ResponseErrorHandler.class);
+			assertThat(context).hasSingleBean(ReactiveRetry.class);
+			assertThat(context).doesNotHaveBean(RateLimiterRegistry.class);
 		});
 	}
 
+	@Test
+	void testRateLimitAutoConfiguration() {
+		this.contextRunner
+			.withPropertyValues("spring.ai.retry.rate-limit.enabled=true",
+					"spring.ai.retry.rate-limit.tokens-per-minute=100000")
+			.run((context) -> assertThat(context).hasSingleBean(RateLimiterRegistry.class));
+	}
+
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 - 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.ai.autoconfigure.thread;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClientAutoConfiguration;
+import org.springframework.ai.autoconfigure.http.SpringAiHttpClients;
+import org.springframework.ai.model.function.FunctionCallExecutor;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.ReactorNettyClientRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpringAiVirtualThreadsAutoConfigurationIT {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(SpringAiVirtualThreadsAutoConfiguration.class,
+				SpringAiHttpClientAutoConfiguration.class))
+		.withPropertyValues("spring.ai.http.enabled=true");
+
+	@Test
+	void platformThreadsByDefault() {
+		this.contextRunner.run((context) -> {
+			assertThat(context).doesNotHaveBean(FunctionCallExecutor.class);
+			assertThat(requestFactory(context.getBean(SpringAiHttpClients.class)))
+				.isInstanceOf(ReactorNettyClientRequestFactory.class);
+		});
+	}
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	void virtualThreads() {
+		this.contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run((context) -> {
+			assertThat(context).hasSingleBean(FunctionCallExecutor.class);
+			assertThat(requestFactory(context.getBean(SpringAiHttpClients.class)))
+				.isInstanceOf(JdkClientHttpRequestFactory.class);
+		});
+	}
+
+	private static Object requestFactory(SpringAiHttpClients httpClients) {
+		RestClient.Builder restClientBuilder = RestClient.builder();
+		httpClients.configure("openai", restClientBuilder);
+		return ReflectionTestUtils.getField(restClientBuilder, "requestFactory");
+	}
+
+}